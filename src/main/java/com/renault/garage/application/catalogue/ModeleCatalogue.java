@@ -0,0 +1,55 @@
+package com.renault.garage.application.catalogue;
+
+import com.renault.garage.domain.model.ModeleVehicule;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Catalogue en mémoire des modèles de véhicules
+ * Les lectures portent sur un instantané immuable ; un rechargement construit un nouvel instantané
+ * puis le publie d'une seule écriture volatile : un lecteur voit l'ancien catalogue ou le nouveau,
+ * jamais un mélange, et ne prend aucun verrou.
+ */
+@Component
+public class ModeleCatalogue {
+    
+    private static final Comparator<ModeleVehicule> ORDRE = Comparator
+        .comparing(ModeleVehicule::brand)
+        .thenComparing(ModeleVehicule::nomModele)
+        .thenComparing(ModeleVehicule::id);
+    
+    private volatile Instantane instantane = Instantane.VIDE;
+    
+    /**
+     * État du catalogue à un instant donné
+     * @param generation incrémentée à chaque remplacement
+     * @param modeles modèles triés par marque puis nom
+     */
+    public record Instantane(long generation, Map<UUID, ModeleVehicule> parId, List<ModeleVehicule> modeles) {
+        
+        static final Instantane VIDE = new Instantane(0, Map.of(), List.of());
+        
+        public Optional<ModeleVehicule> get(UUID id) {
+            return id == null ? Optional.empty() : Optional.ofNullable(parId.get(id));
+        }
+    }
+    
+    public Instantane instantane() {
+        return instantane;
+    }
+    
+    public Optional<ModeleVehicule> get(UUID id) {
+        return instantane.get(id);
+    }
+    
+    /**
+     * Remplace tout le catalogue
+     */
+    public void remplacer(Collection<ModeleVehicule> modeles) {
+        Map<UUID, ModeleVehicule> parId = new HashMap<>(modeles.size() * 2);
+        modeles.forEach(m -> parId.put(m.id(), m));
+        List<ModeleVehicule> tries = parId.values().stream().sorted(ORDRE).toList();
+        instantane = new Instantane(instantane.generation() + 1, Map.copyOf(parId), tries);
+    }
+}
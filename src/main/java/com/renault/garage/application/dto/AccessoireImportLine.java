@@ -0,0 +1,32 @@
+package com.renault.garage.application.dto;
+
+import com.renault.garage.domain.model.TypeAccessoire;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO - Ligne d'un import d'accessoires (NDJSON ou CSV)
+ * erreurLecture est renseignée quand la ligne n'a pas pu être décodée ; les autres champs sont alors nuls
+ */
+public record AccessoireImportLine(
+    long ligne,
+    UUID vehiculeId,
+    String nom,
+    String description,
+    BigDecimal prix,
+    TypeAccessoire type,
+    String erreurLecture
+) {
+    
+    public AccessoireImportLine(long ligne, UUID vehiculeId, String nom, String description,
+                                BigDecimal prix, TypeAccessoire type) {
+        this(ligne, vehiculeId, nom, description, prix, type, null);
+    }
+    
+    /**
+     * Ligne non décodable, rejetée avec le message fourni
+     */
+    public static AccessoireImportLine illisible(long ligne, String erreur) {
+        return new AccessoireImportLine(ligne, null, null, null, null, null, erreur);
+    }
+}
@@ -0,0 +1,22 @@
+package com.renault.garage.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO - Compte rendu d'un import d'accessoires
+ * erreurs ne détaille que les premières lignes rejetées ; rejetes donne le total
+ */
+public record AccessoireImportResponse(
+    long lignesLues,
+    long importes,
+    long rejetes,
+    List<LigneRejetee> erreurs,
+    long dureeMs,
+    long lignesParSeconde
+) {
+    
+    /**
+     * Ligne rejetée et motif du rejet
+     */
+    public record LigneRejetee(long ligne, String message) {}
+}
@@ -0,0 +1,21 @@
+package com.renault.garage.application.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.Map;
+
+/**
+ * DTO - Requête de création d'un modèle de véhicule
+ */
+public record CreateModeleVehiculeRequest(
+    @NotBlank(message = "Le nom du modèle est obligatoire")
+    @Size(max = 255, message = "Le nom du modèle ne peut pas dépasser 255 caractères")
+    String nomModele,
+    
+    @NotBlank(message = "La marque est obligatoire")
+    @Size(max = 100, message = "La marque ne peut pas dépasser 100 caractères")
+    String brand,
+    
+    String description,
+    
+    Map<String, Object> specifications
+) {}
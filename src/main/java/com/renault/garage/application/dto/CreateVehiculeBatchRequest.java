@@ -0,0 +1,14 @@
+package com.renault.garage.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+/**
+ * DTO - Requête de création de plusieurs véhicules dans un garage
+ */
+public record CreateVehiculeBatchRequest(
+    @NotEmpty(message = "La liste des véhicules ne peut pas être vide")
+    @Size(max = 50, message = "Un lot ne peut pas dépasser la capacité d'un garage (50 véhicules)")
+    List<@Valid @NotNull CreateVehiculeRequest> vehicules
+) {}
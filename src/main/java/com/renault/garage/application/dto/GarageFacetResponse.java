@@ -0,0 +1,21 @@
+package com.renault.garage.application.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO - Résultat d'une recherche à facettes sur les garages
+ * facettes : nom de facette -> valeur -> nombre de garages correspondants
+ */
+public record GarageFacetResponse(
+    List<GarageFacetHit> garages,
+    long totalElements,
+    Map<String, Map<String, Long>> facettes
+) {
+    
+    /**
+     * Garage retourné par l'index de facettes
+     */
+    public record GarageFacetHit(UUID id, String name, String ville) {}
+}
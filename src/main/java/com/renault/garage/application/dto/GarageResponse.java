@@ -1,5 +1,8 @@
 package com.renault.garage.application.dto;
 
+import com.renault.garage.domain.model.TypeCarburant;
+
+import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,6 +21,9 @@ public record GarageResponse(
     Map<DayOfWeek, List<OpeningTimeDTO>> horairesOuverture,
     int nombreVehicules,
     int capaciteRestante,
+    Map<TypeCarburant, Integer> vehiculesParCarburant,
+    int nombreAccessoires,
+    BigDecimal valeurAccessoires,
     LocalDateTime createdAt,
     LocalDateTime updatedAt
 ) {}
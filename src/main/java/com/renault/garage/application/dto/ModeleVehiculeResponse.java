@@ -0,0 +1,17 @@
+package com.renault.garage.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO - Réponse pour un modèle de véhicule
+ */
+public record ModeleVehiculeResponse(
+    UUID id,
+    String nomModele,
+    String brand,
+    String description,
+    Map<String, Object> specifications,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,20 @@
+package com.renault.garage.application.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.Map;
+
+/**
+ * DTO - Requête de mise à jour d'un modèle de véhicule
+ * Les champs absents sont conservés
+ */
+public record UpdateModeleVehiculeRequest(
+    @Size(max = 255, message = "Le nom du modèle ne peut pas dépasser 255 caractères")
+    String nomModele,
+    
+    @Size(max = 100, message = "La marque ne peut pas dépasser 100 caractères")
+    String brand,
+    
+    String description,
+    
+    Map<String, Object> specifications
+) {}
@@ -6,11 +6,14 @@ import java.util.UUID;
 
 /**
  * DTO - Réponse pour un véhicule
+ * nomModele et brandModele proviennent du catalogue en mémoire (null si le modèle est inconnu)
  */
 public record VehiculeResponse(
     UUID id,
     UUID garageId,
     UUID modeleId,
+    String nomModele,
+    String brandModele,
     String brand,
     int anneeFabrication,
     TypeCarburant typeCarburant,
@@ -0,0 +1,246 @@
+package com.renault.garage.application.facet;
+
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de facettes en mémoire des garages
+ * Chaque garage reçoit un ordinal entier ; chaque valeur de facette (carburant, type d'accessoire, ville)
+ * possède un bitmap compressé des ordinaux concernés. Un filtre devient une union (OR) des valeurs
+ * sélectionnées dans une facette, puis une intersection (AND) entre facettes.
+ * Les facettes sont portées par le garage : "DIESEL" et "GPS" sélectionnent les garages ayant
+ * au moins un véhicule diesel et au moins un accessoire GPS, pas forcément sur le même véhicule.
+ * Thread-safe : lectures concurrentes, écritures exclusives.
+ */
+public class GarageFacetIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinaux = new HashMap<>();
+    private final List<Entree> entrees = new ArrayList<>();
+    private final Deque<Integer> ordinauxLibres = new ArrayDeque<>();
+
+    private final RoaringBitmap tous = new RoaringBitmap();
+    private final Map<TypeCarburant, RoaringBitmap> parCarburant = new EnumMap<>(TypeCarburant.class);
+    private final Map<TypeAccessoire, RoaringBitmap> parAccessoire = new EnumMap<>(TypeAccessoire.class);
+    private final Map<String, RoaringBitmap> parVille = new HashMap<>();
+
+    /**
+     * Valeurs de facettes d'un garage
+     */
+    public record Entree(UUID garageId,
+                         String name,
+                         String ville,
+                         Set<TypeCarburant> carburants,
+                         Set<TypeAccessoire> accessoires) {
+
+        public Entree {
+            carburants = carburants.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(carburants));
+            accessoires = accessoires.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(accessoires));
+        }
+    }
+
+    /**
+     * Résultat d'une recherche : page de garages, total et comptes par valeur de facette
+     * Les comptes d'une facette ignorent la sélection de cette même facette (facettes disjonctives)
+     */
+    public record Resultat(long total,
+                           List<Entree> garages,
+                           Map<TypeCarburant, Long> carburants,
+                           Map<TypeAccessoire, Long> accessoires,
+                           Map<String, Long> villes) {}
+
+    /**
+     * Remplace tout le contenu de l'index
+     */
+    public void remplacer(Collection<Entree> nouvellesEntrees) {
+        lock.writeLock().lock();
+        try {
+            ordinaux.clear();
+            entrees.clear();
+            ordinauxLibres.clear();
+            tous.clear();
+            parCarburant.clear();
+            parAccessoire.clear();
+            parVille.clear();
+            nouvellesEntrees.forEach(this::ajouter);
+            tous.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute ou met à jour les facettes d'un garage
+     */
+    public void enregistrer(Entree entree) {
+        lock.writeLock().lock();
+        try {
+            retirer(entree.garageId());
+            ajouter(entree);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un garage de l'index
+     */
+    public void supprimer(UUID garageId) {
+        lock.writeLock().lock();
+        try {
+            retirer(garageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinaux.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtre les garages ; un ensemble vide signifie "pas de filtre" pour la facette
+     */
+    public Resultat rechercher(Set<TypeCarburant> carburants,
+                               Set<TypeAccessoire> accessoires,
+                               Set<String> villes,
+                               int offset,
+                               int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap filtreCarburant = union(parCarburant, carburants);
+            RoaringBitmap filtreAccessoire = union(parAccessoire, accessoires);
+            RoaringBitmap filtreVille = union(parVille, villes);
+
+            RoaringBitmap resultat = intersection(filtreCarburant, filtreAccessoire, filtreVille);
+
+            return new Resultat(
+                resultat.getLongCardinality(),
+                page(resultat, offset, limit),
+                compter(parCarburant, intersection(filtreAccessoire, filtreVille)),
+                compter(parAccessoire, intersection(filtreCarburant, filtreVille)),
+                compterVilles(intersection(filtreCarburant, filtreAccessoire))
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ajouter(Entree entree) {
+        int ordinal = ordinauxLibres.isEmpty() ? entrees.size() : ordinauxLibres.pop();
+        if (ordinal == entrees.size()) {
+            entrees.add(entree);
+        } else {
+            entrees.set(ordinal, entree);
+        }
+        ordinaux.put(entree.garageId(), ordinal);
+        tous.add(ordinal);
+        entree.carburants().forEach(c -> parCarburant.computeIfAbsent(c, k -> new RoaringBitmap()).add(ordinal));
+        entree.accessoires().forEach(a -> parAccessoire.computeIfAbsent(a, k -> new RoaringBitmap()).add(ordinal));
+        if (entree.ville() != null) {
+            parVille.computeIfAbsent(entree.ville(), k -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    private void retirer(UUID garageId) {
+        Integer ordinal = ordinaux.remove(garageId);
+        if (ordinal == null) {
+            return;
+        }
+        Entree ancienne = entrees.set(ordinal, null);
+        tous.remove(ordinal);
+        ancienne.carburants().forEach(c -> retirerDe(parCarburant, c, ordinal));
+        ancienne.accessoires().forEach(a -> retirerDe(parAccessoire, a, ordinal));
+        if (ancienne.ville() != null) {
+            retirerDe(parVille, ancienne.ville(), ordinal);
+        }
+        ordinauxLibres.push(ordinal);
+    }
+
+    private static <K> void retirerDe(Map<K, RoaringBitmap> facette, K valeur, int ordinal) {
+        RoaringBitmap bitmap = facette.get(valeur);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                facette.remove(valeur);
+            }
+        }
+    }
+
+    // Union des bitmaps des valeurs sélectionnées, null si la facette n'est pas filtrée
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> facette, Set<K> valeurs) {
+        if (valeurs == null || valeurs.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (K valeur : valeurs) {
+            RoaringBitmap bitmap = facette.get(valeur);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    // Le bitmap retourné n'est que lu : aucune copie n'est nécessaire
+    private RoaringBitmap intersection(RoaringBitmap... filtres) {
+        RoaringBitmap resultat = null;
+        for (RoaringBitmap filtre : filtres) {
+            if (filtre != null) {
+                resultat = resultat == null ? filtre : RoaringBitmap.and(resultat, filtre);
+            }
+        }
+        return resultat != null ? resultat : tous;
+    }
+
+    private static <K> Map<K, Long> compter(Map<K, RoaringBitmap> facette, RoaringBitmap base) {
+        Map<K, Long> comptes = new LinkedHashMap<>();
+        facette.forEach((valeur, bitmap) -> {
+            long compte = RoaringBitmap.andCardinality(base, bitmap);
+            if (compte > 0) {
+                comptes.put(valeur, compte);
+            }
+        });
+        return comptes;
+    }
+
+    // Les villes sont nombreuses : sur une base plus petite que le nombre de villes,
+    // parcourir les garages retenus coûte moins qu'une intersection par ville
+    private Map<String, Long> compterVilles(RoaringBitmap base) {
+        if (base.getCardinality() >= parVille.size()) {
+            return compter(parVille, base);
+        }
+        Map<String, Long> comptes = new LinkedHashMap<>();
+        base.forEach((int ordinal) -> {
+            String ville = entrees.get(ordinal).ville();
+            if (ville != null) {
+                comptes.merge(ville, 1L, Long::sum);
+            }
+        });
+        return comptes;
+    }
+    
+    private List<Entree> page(RoaringBitmap resultat, int offset, int limit) {
+        if (offset >= resultat.getCardinality() || limit <= 0) {
+            return List.of();
+        }
+        List<Entree> page = new ArrayList<>(Math.min(limit, resultat.getCardinality() - offset));
+        PeekableIntIterator it = resultat.getIntIterator();
+        it.advanceIfNeeded(resultat.select(offset));
+        while (it.hasNext() && page.size() < limit) {
+            page.add(entrees.get(it.next()));
+        }
+        return page;
+    }
+}
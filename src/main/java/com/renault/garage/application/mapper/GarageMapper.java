@@ -46,9 +46,18 @@ public class GarageMapper {
     }
     
     /**
-     * Convertit une entité Garage en GarageResponse
+     * Convertit une entité Garage en GarageResponse, sans véhicule ni accessoire (garage créé)
      */
     public GarageResponse toResponse(Garage garage) {
+        return toResponse(GarageSummary.vide(garage));
+    }
+    
+    /**
+     * Convertit un résumé de garage en GarageResponse
+     * Les compteurs viennent du résumé (garage_summary), pas d'un recomptage des véhicules
+     */
+    public GarageResponse toResponse(GarageSummary summary) {
+        Garage garage = summary.garage();
         AddressDTO addressDTO = new AddressDTO(
             garage.getAddress().rue(),
             garage.getAddress().ville(),
@@ -73,8 +82,11 @@ public class GarageMapper {
             garage.getTelephone(),
             garage.getEmail(),
             horairesDTO,
-            garage.getVehicules().size(),
+            garage.getNombreVehicules(),
             garage.getCapaciteRestante(),
+            summary.vehiculesParCarburant(),
+            summary.nombreAccessoires(),
+            summary.valeurAccessoires(),
             garage.getCreatedAt(),
             garage.getUpdatedAt()
         );
@@ -0,0 +1,23 @@
+package com.renault.garage.application.mapper;
+
+import com.renault.garage.application.dto.ModeleVehiculeResponse;
+import com.renault.garage.domain.model.ModeleVehicule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper - Conversion entre le domaine ModeleVehicule et les DTOs
+ */
+@Component
+public class ModeleVehiculeMapper {
+    
+    public ModeleVehiculeResponse toResponse(ModeleVehicule modele) {
+        return new ModeleVehiculeResponse(
+            modele.id(),
+            modele.nomModele(),
+            modele.brand(),
+            modele.description(),
+            modele.specifications(),
+            modele.createdAt()
+        );
+    }
+}
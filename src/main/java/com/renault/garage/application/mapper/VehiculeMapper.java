@@ -1,5 +1,7 @@
 package com.renault.garage.application.mapper;
 
+import com.renault.garage.application.catalogue.ModeleCatalogue;
+import com.renault.garage.domain.model.ModeleVehicule;
 import com.renault.garage.domain.model.Vehicule;
 import com.renault.garage.application.dto.*;
 import org.springframework.stereotype.Component;
@@ -10,6 +12,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class VehiculeMapper {
     
+    private final ModeleCatalogue modeleCatalogue;
+    
+    public VehiculeMapper(ModeleCatalogue modeleCatalogue) {
+        this.modeleCatalogue = modeleCatalogue;
+    }
+    
     /**
      * Convertit un CreateVehiculeRequest en entité Vehicule
      */
@@ -24,12 +32,16 @@ public class VehiculeMapper {
     
     /**
      * Convertit une entité Vehicule en VehiculeResponse
+     * Le modèle est lu dans le catalogue en mémoire : aucune requête par véhicule
      */
     public VehiculeResponse toResponse(Vehicule vehicule) {
+        ModeleVehicule modele = modeleCatalogue.get(vehicule.getModeleId()).orElse(null);
         return new VehiculeResponse(
             vehicule.getId(),
             vehicule.getGarageId(),
             vehicule.getModeleId(),
+            modele != null ? modele.nomModele() : null,
+            modele != null ? modele.brand() : null,
             vehicule.getBrand(),
             vehicule.getAnneeFabrication(),
             vehicule.getTypeCarburant(),
@@ -0,0 +1,171 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.AccessoireImportLine;
+import com.renault.garage.application.dto.AccessoireImportResponse;
+import com.renault.garage.application.dto.AccessoireImportResponse.LigneRejetee;
+import com.renault.garage.domain.event.AccessoireCreatedEvent;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.Accessoire;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Application Service - Import en masse d'accessoires
+ * Les lignes sont consommées au fil de l'eau et traitées par lots : pour chaque lot, une requête
+ * résout le garage de tous les véhicules cités, puis les accessoires valides sont insérés par
+ * INSERT groupés dans une transaction propre au lot. Un lot en échec n'annule pas les précédents.
+ * Les lignes invalides sont rejetées individuellement sans interrompre l'import.
+ * Les garages touchés par un lot sont retirés du cache après son commit (compteurs d'accessoires).
+ */
+@Service
+public class AccessoireImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AccessoireImportService.class);
+    
+    static final int TAILLE_LOT = 1_000;
+    static final int MAX_ERREURS_DETAILLEES = 1_000;
+    private static final long LIGNES_PAR_LOG = 100_000;
+    
+    private final AccessoireRepository accessoireRepository;
+    private final VehiculeRepository vehiculeRepository;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache garagesCache;
+    
+    public AccessoireImportService(AccessoireRepository accessoireRepository,
+                                   VehiculeRepository vehiculeRepository,
+                                   DomainEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   CacheManager cacheManager) {
+        this.accessoireRepository = accessoireRepository;
+        this.vehiculeRepository = vehiculeRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.garagesCache = cacheManager.getCache(GarageService.GARAGES_CACHE);
+    }
+    
+    /**
+     * Importe les accessoires lus
+     * @param lignes lignes décodées, consommées une seule fois
+     * @param garageId si renseigné, seuls les véhicules de ce garage sont acceptés
+     */
+    public AccessoireImportResponse importer(Iterator<AccessoireImportLine> lignes, UUID garageId) {
+        long debut = System.nanoTime();
+        Rapport rapport = new Rapport();
+        List<AccessoireImportLine> lot = new ArrayList<>(TAILLE_LOT);
+        
+        while (lignes.hasNext()) {
+            AccessoireImportLine ligne = lignes.next();
+            rapport.lues++;
+            if (ligne.erreurLecture() != null) {
+                rapport.rejeter(ligne.ligne(), ligne.erreurLecture());
+            } else if (ligne.vehiculeId() == null) {
+                rapport.rejeter(ligne.ligne(), "Le véhicule est obligatoire");
+            } else {
+                lot.add(ligne);
+            }
+            if (lot.size() == TAILLE_LOT) {
+                importerLot(lot, garageId, rapport);
+                lot.clear();
+            }
+            if (rapport.lues % LIGNES_PAR_LOG == 0) {
+                logger.info("📦 Import accessoires : {} lignes lues, {} importées, {} rejetées",
+                    rapport.lues, rapport.importes, rapport.rejetes);
+            }
+        }
+        if (!lot.isEmpty()) {
+            importerLot(lot, garageId, rapport);
+        }
+        
+        long dureeMs = Math.max(1, (System.nanoTime() - debut) / 1_000_000);
+        logger.info("✅ Import accessoires terminé : {} lignes en {} ms ({} importées, {} rejetées)",
+            rapport.lues, dureeMs, rapport.importes, rapport.rejetes);
+        return new AccessoireImportResponse(rapport.lues, rapport.importes, rapport.rejetes,
+            List.copyOf(rapport.erreurs), dureeMs, rapport.lues * 1_000 / dureeMs);
+    }
+    
+    private void importerLot(List<AccessoireImportLine> lot, UUID garageId, Rapport rapport) {
+        List<AccessoireImportLine> acceptees = new ArrayList<>(lot.size());
+        // Rejets du lot reportés au rapport après la transaction : en cas d'échec, chaque ligne garde son motif
+        List<LigneRejetee> rejetees = new ArrayList<>();
+        List<AccessoireCreatedEvent> events = new ArrayList<>(lot.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<UUID, UUID> garages = vehiculeRepository.findGarageIdsByIds(
+                    lot.stream().map(AccessoireImportLine::vehiculeId).collect(Collectors.toSet()));
+                
+                List<Accessoire> accessoires = new ArrayList<>(lot.size());
+                Set<UUID> garagesTouches = new HashSet<>();
+                for (AccessoireImportLine ligne : lot) {
+                    UUID garageDuVehicule = garages.get(ligne.vehiculeId());
+                    if (garageDuVehicule == null) {
+                        rejetees.add(new LigneRejetee(ligne.ligne(), "Véhicule non trouvé: " + ligne.vehiculeId()));
+                    } else if (garageId != null && !garageId.equals(garageDuVehicule)) {
+                        rejetees.add(new LigneRejetee(ligne.ligne(),
+                            "Vehicule " + ligne.vehiculeId() + " n'appartient pas au garage " + garageId));
+                    } else {
+                        try {
+                            Accessoire accessoire = new Accessoire(
+                                ligne.nom(), ligne.description(), ligne.prix(), ligne.type());
+                            accessoire.setVehiculeId(ligne.vehiculeId());
+                            accessoires.add(accessoire);
+                            acceptees.add(ligne);
+                            garagesTouches.add(garageDuVehicule);
+                            events.add(new AccessoireCreatedEvent(accessoire.getId(), ligne.vehiculeId(),
+                                garageDuVehicule, accessoire.getType().name()));
+                        } catch (IllegalArgumentException | NullPointerException e) {
+                            rejetees.add(new LigneRejetee(ligne.ligne(), e.getMessage()));
+                        }
+                    }
+                }
+                accessoireRepository.insertAll(accessoires);
+                // Outbox écrit dans la transaction du lot : aucun événement pour un lot annulé
+                eventPublisher.publishAll(events);
+                // Éviction reportée après le commit du lot (cache transactionnel, voir CacheConfig)
+                garagesTouches.forEach(garagesCache::evict);
+            });
+        } catch (RuntimeException e) {
+            // Toute erreur (base, publication, bug) n'annule que ce lot : l'import continue avec le suivant
+            String cause = cause(e);
+            logger.warn("⚠️  Lot d'accessoires annulé ({} lignes): {}", lot.size(), cause, e);
+            rejetees.forEach(rejet -> rapport.rejeter(rejet.ligne(), rejet.message()));
+            Set<Long> dejaRejetees = rejetees.stream().map(LigneRejetee::ligne).collect(Collectors.toSet());
+            lot.stream()
+                .filter(ligne -> !dejaRejetees.contains(ligne.ligne()))
+                .forEach(ligne -> rapport.rejeter(ligne.ligne(), "Lot annulé: " + cause));
+            return;
+        }
+        rejetees.forEach(rejet -> rapport.rejeter(rejet.ligne(), rejet.message()));
+        rapport.importes += acceptees.size();
+    }
+    
+    private static String cause(RuntimeException e) {
+        Throwable racine = e instanceof DataAccessException dae ? dae.getMostSpecificCause() : e;
+        return racine.getMessage() != null ? racine.getMessage() : racine.getClass().getSimpleName();
+    }
+    
+    private static final class Rapport {
+        private long lues;
+        private long importes;
+        private long rejetes;
+        private final List<LigneRejetee> erreurs = new ArrayList<>();
+        
+        void rejeter(long ligne, String message) {
+            rejetes++;
+            if (erreurs.size() < MAX_ERREURS_DETAILLEES) {
+                erreurs.add(new LigneRejetee(ligne, message));
+            }
+        }
+    }
+}
@@ -2,78 +2,91 @@ package com.renault.garage.application.service;
 
 import com.renault.garage.application.dto.*;
 import com.renault.garage.application.mapper.AccessoireMapper;
+import com.renault.garage.domain.event.AccessoireCreatedEvent;
+import com.renault.garage.domain.event.AccessoireDeletedEvent;
+import com.renault.garage.domain.event.AccessoireUpdatedEvent;
+import com.renault.garage.domain.event.DomainEventPublisher;
 import com.renault.garage.domain.exception.AccessoireNotFoundException;
 import com.renault.garage.domain.exception.VehiculeNotFoundException;
 import com.renault.garage.domain.model.Accessoire;
 import com.renault.garage.domain.model.Vehicule;
 import com.renault.garage.domain.repository.AccessoireRepository;
 import com.renault.garage.domain.repository.VehiculeRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
  * Application Service - Gestion des accessoires d'un véhicule
  */
 @Service
+@Transactional
 public class AccessoireService {
 
     private final AccessoireRepository accessoireRepository;
     private final VehiculeRepository vehiculeRepository;
     private final AccessoireMapper accessoireMapper;
+    private final DomainEventPublisher eventPublisher;
 
     public AccessoireService(AccessoireRepository accessoireRepository,
                              VehiculeRepository vehiculeRepository,
-                             AccessoireMapper accessoireMapper) {
+                             AccessoireMapper accessoireMapper,
+                             DomainEventPublisher eventPublisher) {
         this.accessoireRepository = accessoireRepository;
         this.vehiculeRepository = vehiculeRepository;
         this.accessoireMapper = accessoireMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
     public AccessoireResponse create(UUID garageId, UUID vehiculeId, CreateAccessoireRequest request) {
-        Vehicule vehicule = vehiculeRepository.findById(vehiculeId)
-                .orElseThrow(() -> new VehiculeNotFoundException("Vehicule non trouvé: " + vehiculeId));
-        if (!vehicule.getGarageId().equals(garageId)) {
-            throw new VehiculeNotFoundException("Vehicule " + vehiculeId + " n'appartient pas au garage " + garageId);
-        }
+        Vehicule vehicule = vehiculeRepository.findById(garageId, vehiculeId)
+                .orElseThrow(() -> vehiculeNonTrouve(garageId, vehiculeId));
         Accessoire accessoire = accessoireMapper.toDomain(request);
-        accessoire.setId(UUID.randomUUID());
         vehicule.ajouterAccessoire(accessoire);
-        Accessoire saved = accessoireRepository.save(accessoire);
+        Accessoire saved = accessoireRepository.insert(accessoire);
+        eventPublisher.publish(new AccessoireCreatedEvent(saved.getId(), vehiculeId, garageId, saved.getType().name()));
         return accessoireMapper.toResponse(saved);
     }
 
-    public List<AccessoireResponse> list(UUID vehiculeId) {
-        // Vérifie que le véhicule existe
-        if (!vehiculeRepository.existsById(vehiculeId)) {
-            throw new VehiculeNotFoundException("Vehicule non trouvé: " + vehiculeId);
+    @Transactional(readOnly = true)
+    public Window<AccessoireResponse> list(UUID garageId, UUID vehiculeId, ScrollPosition position, int limit) {
+        // Vérifie que le véhicule existe dans ce garage
+        if (!vehiculeRepository.existsById(garageId, vehiculeId)) {
+            throw vehiculeNonTrouve(garageId, vehiculeId);
         }
-        return accessoireRepository.findByVehiculeId(vehiculeId)
-                .stream().map(accessoireMapper::toResponse).toList();
+        return accessoireRepository.findByVehiculeId(vehiculeId, position, limit).map(accessoireMapper::toResponse);
     }
 
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
     public AccessoireResponse update(UUID garageId, UUID vehiculeId, UUID accessoireId, UpdateAccessoireRequest request) {
-        Vehicule vehicule = vehiculeRepository.findById(vehiculeId)
-                .orElseThrow(() -> new VehiculeNotFoundException("Vehicule non trouvé: " + vehiculeId));
-        if (!vehicule.getGarageId().equals(garageId)) {
-            throw new VehiculeNotFoundException("Vehicule " + vehiculeId + " n'appartient pas au garage " + garageId);
+        if (!vehiculeRepository.existsById(garageId, vehiculeId)) {
+            throw vehiculeNonTrouve(garageId, vehiculeId);
         }
-        Accessoire accessoire = accessoireRepository.findById(accessoireId)
+        Accessoire accessoire = accessoireRepository.findById(vehiculeId, accessoireId)
                 .orElseThrow(() -> new AccessoireNotFoundException("Accessoire non trouvé: " + accessoireId));
         accessoire.update(request.nom(), request.description(), request.prix(), request.type());
         Accessoire saved = accessoireRepository.save(accessoire);
+        eventPublisher.publish(new AccessoireUpdatedEvent(saved.getId(), vehiculeId, garageId, saved.getType().name()));
         return accessoireMapper.toResponse(saved);
     }
 
-    public void delete(UUID vehiculeId, UUID accessoireId) {
-        // Vérifie que le véhicule existe
-        if (!vehiculeRepository.existsById(vehiculeId)) {
-            throw new VehiculeNotFoundException("Vehicule non trouvé: " + vehiculeId);
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
+    public void delete(UUID garageId, UUID vehiculeId, UUID accessoireId) {
+        if (!vehiculeRepository.existsById(garageId, vehiculeId)) {
+            throw vehiculeNonTrouve(garageId, vehiculeId);
         }
-        // Vérifie que l'accessoire existe
-        accessoireRepository.findById(accessoireId)
-                .orElseThrow(() -> new AccessoireNotFoundException("Accessoire non trouvé: " + accessoireId));
-        accessoireRepository.deleteById(accessoireId);
+        if (!accessoireRepository.deleteById(vehiculeId, accessoireId)) {
+            throw new AccessoireNotFoundException("Accessoire non trouvé: " + accessoireId);
+        }
+        eventPublisher.publish(new AccessoireDeletedEvent(accessoireId, vehiculeId, garageId));
+    }
+
+    private static VehiculeNotFoundException vehiculeNonTrouve(UUID garageId, UUID vehiculeId) {
+        return new VehiculeNotFoundException("Vehicule " + vehiculeId + " non trouvé dans le garage " + garageId);
     }
 }
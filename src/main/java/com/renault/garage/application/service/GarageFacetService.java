@@ -0,0 +1,142 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.GarageFacetResponse;
+import com.renault.garage.application.facet.GarageFacetIndex;
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service - Recherche à facettes des garages (carburant × type d'accessoire × ville)
+ * L'index est construit au démarrage puis tenu à jour garage par garage à partir des événements domaine
+ */
+@Service
+public class GarageFacetService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GarageFacetService.class);
+    private static final int TAILLE_LOT = 1000;
+    
+    private final GarageRepository garageRepository;
+    private final VehiculeRepository vehiculeRepository;
+    private final AccessoireRepository accessoireRepository;
+    private final GarageFacetIndex index = new GarageFacetIndex();
+    
+    // Garages modifiés pendant une reconstruction, rejoués une fois l'index remplacé
+    private final Set<UUID> modifiesPendantReconstruction = ConcurrentHashMap.newKeySet();
+    private volatile boolean reconstructionEnCours;
+    
+    public GarageFacetService(GarageRepository garageRepository,
+                              VehiculeRepository vehiculeRepository,
+                              AccessoireRepository accessoireRepository) {
+        this.garageRepository = garageRepository;
+        this.vehiculeRepository = vehiculeRepository;
+        this.accessoireRepository = accessoireRepository;
+    }
+    
+    /**
+     * Reconstruit entièrement l'index depuis la base, par lots de garages
+     */
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long debut = System.currentTimeMillis();
+        reconstructionEnCours = true;
+        try {
+            List<GarageFacetIndex.Entree> entrees = new ArrayList<>();
+            Window<Garage> lot;
+            ScrollPosition position = ScrollPosition.keyset();
+            do {
+                lot = garageRepository.findAll(position, TAILLE_LOT);
+                entrees.addAll(toEntrees(lot.getContent()));
+                if (!lot.isEmpty()) {
+                    position = lot.positionAt(lot.size() - 1);
+                }
+            } while (lot.hasNext());
+            index.remplacer(entrees);
+        } finally {
+            reconstructionEnCours = false;
+        }
+        Set<UUID> aRejouer = new HashSet<>(modifiesPendantReconstruction);
+        modifiesPendantReconstruction.removeAll(aRejouer);
+        aRejouer.forEach(this::refresh);
+        logger.info("Index de facettes construit: {} garages en {} ms", index.size(), System.currentTimeMillis() - debut);
+    }
+    
+    /**
+     * Recalcule les facettes d'un garage (ou le retire s'il n'existe plus)
+     */
+    @Transactional(readOnly = true)
+    public void refresh(UUID garageId) {
+        if (reconstructionEnCours) {
+            modifiesPendantReconstruction.add(garageId);
+        }
+        garageRepository.findById(garageId)
+            .ifPresentOrElse(
+                garage -> toEntrees(List.of(garage)).forEach(index::enregistrer),
+                () -> index.supprimer(garageId));
+    }
+    
+    /**
+     * Filtre les garages par carburant, type d'accessoire et ville
+     * Valeurs d'une même facette combinées en OU, facettes combinées en ET
+     * @throws IllegalArgumentException si le numéro de page est négatif
+     */
+    public GarageFacetResponse search(Set<TypeCarburant> carburants,
+                                      Set<TypeAccessoire> accessoires,
+                                      Set<String> villes,
+                                      int page,
+                                      int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Le numéro de page doit être positif ou nul");
+        }
+        // Borné pour qu'un numéro de page démesuré donne une page vide plutôt qu'un offset négatif
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        GarageFacetIndex.Resultat resultat = index.rechercher(carburants, accessoires, villes, offset, size);
+        
+        List<GarageFacetResponse.GarageFacetHit> garages = resultat.garages()
+            .stream()
+            .map(e -> new GarageFacetResponse.GarageFacetHit(e.garageId(), e.name(), e.ville()))
+            .toList();
+        
+        Map<String, Map<String, Long>> facettes = new LinkedHashMap<>();
+        facettes.put("typeCarburant", parNom(resultat.carburants(), Enum::name));
+        facettes.put("typeAccessoire", parNom(resultat.accessoires(), Enum::name));
+        facettes.put("ville", parNom(resultat.villes(), Function.identity()));
+        
+        return new GarageFacetResponse(garages, resultat.total(), facettes);
+    }
+    
+    private List<GarageFacetIndex.Entree> toEntrees(List<Garage> garages) {
+        List<UUID> ids = garages.stream().map(Garage::getId).toList();
+        Map<UUID, Set<TypeCarburant>> carburants = vehiculeRepository.findTypesCarburantByGarageIds(ids);
+        Map<UUID, Set<TypeAccessoire>> accessoires = accessoireRepository.findTypesAccessoireByGarageIds(ids);
+        return garages.stream()
+            .map(g -> new GarageFacetIndex.Entree(
+                g.getId(),
+                g.getName(),
+                g.getAddress().ville(),
+                carburants.getOrDefault(g.getId(), Set.of()),
+                accessoires.getOrDefault(g.getId(), Set.of())))
+            .toList();
+    }
+    
+    private static <K> Map<String, Long> parNom(Map<K, Long> comptes, Function<K, String> nom) {
+        return comptes.entrySet()
+            .stream()
+            .collect(Collectors.toMap(e -> nom.apply(e.getKey()), Map.Entry::getValue,
+                (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,123 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.domain.repository.GaragePurgeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Service - Purge définitive des garages supprimés logiquement
+ * Accessoires, puis véhicules, puis le garage : chaque lot est une transaction courte,
+ * suivie d'une pause, pour ne pas monopoliser verrous et journal aux heures de pointe.
+ * Métriques : garage.purge.pending (garages en attente), garage.purge.rows (lignes supprimées
+ * par table), garage.purge.batch (durée d'un lot).
+ */
+@Service
+public class GaragePurgeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GaragePurgeService.class);
+    private static final int GARAGES_PAR_PASSE = 100;
+    
+    private final GaragePurgeRepository purgeRepository;
+    private final TransactionTemplate transaction;
+    private final int tailleLot;
+    private final Duration pause;
+    
+    private final AtomicLong enAttente = new AtomicLong();
+    private final Counter accessoiresPurges;
+    private final Counter vehiculesPurges;
+    private final Counter garagesPurges;
+    private final Timer dureeLot;
+    
+    public GaragePurgeService(GaragePurgeRepository purgeRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${garage.purge.batch-size:500}") int tailleLot,
+                              @Value("${garage.purge.pause:100ms}") Duration pause) {
+        this.purgeRepository = purgeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.tailleLot = tailleLot;
+        this.pause = pause;
+        
+        Gauge.builder("garage.purge.pending", enAttente, AtomicLong::get)
+            .description("Garages supprimés en attente de purge")
+            .register(meterRegistry);
+        this.accessoiresPurges = lignesPurgees(meterRegistry, "accessoires");
+        this.vehiculesPurges = lignesPurgees(meterRegistry, "vehicules");
+        this.garagesPurges = lignesPurgees(meterRegistry, "garages");
+        this.dureeLot = Timer.builder("garage.purge.batch")
+            .description("Durée d'un lot de purge")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Purge tous les garages en attente, les plus anciens d'abord
+     * S'arrête proprement si le thread est interrompu (arrêt de l'application)
+     * @return nombre de garages purgés
+     */
+    public int purger() {
+        enAttente.set(purgeRepository.countGaragesSupprimes());
+        int purges = 0;
+        try {
+            List<UUID> garages;
+            do {
+                garages = purgeRepository.findGaragesSupprimes(GARAGES_PAR_PASSE);
+                for (UUID garageId : garages) {
+                    purgerGarage(garageId);
+                    purges++;
+                    enAttente.decrementAndGet();
+                }
+            } while (garages.size() == GARAGES_PAR_PASSE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Purge interrompue après {} garages", purges);
+        }
+        return purges;
+    }
+    
+    private void purgerGarage(UUID garageId) throws InterruptedException {
+        long debut = System.currentTimeMillis();
+        long accessoires = purgerParLots(garageId, purgeRepository::supprimerAccessoires, accessoiresPurges);
+        long vehicules = purgerParLots(garageId, purgeRepository::supprimerVehicules, vehiculesPurges);
+        transaction.executeWithoutResult(status -> purgeRepository.supprimerGarage(garageId));
+        garagesPurges.increment();
+        logger.info("Garage {} purgé: {} véhicules, {} accessoires en {} ms",
+            garageId, vehicules, accessoires, System.currentTimeMillis() - debut);
+    }
+    
+    // Lots successifs jusqu'à ce qu'un lot incomplet signale qu'il ne reste plus rien
+    private long purgerParLots(UUID garageId, ToIntBiFunction<UUID, Integer> lot, Counter compteur)
+            throws InterruptedException {
+        long total = 0;
+        int supprimes;
+        do {
+            supprimes = dureeLot.record(() -> transaction.execute(status -> lot.applyAsInt(garageId, tailleLot)));
+            compteur.increment(supprimes);
+            total += supprimes;
+            if (supprimes > 0 && !pause.isZero()) {
+                Thread.sleep(pause.toMillis());
+            }
+        } while (supprimes == tailleLot);
+        return total;
+    }
+    
+    private static Counter lignesPurgees(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("garage.purge.rows")
+            .description("Lignes supprimées par la purge des garages")
+            .tag("table", table)
+            .register(meterRegistry);
+    }
+}
@@ -1,19 +1,28 @@
 package com.renault.garage.application.service;
 
 import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.GarageSummary;
 import com.renault.garage.domain.model.TypeCarburant;
-import com.renault.garage.domain.model.Vehicule;
-import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
 import com.renault.garage.domain.repository.GarageRepository;
-import com.renault.garage.domain.repository.VehiculeRepository;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
 import com.renault.garage.domain.exception.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.event.GarageCreatedEvent;
+import com.renault.garage.domain.event.GarageDeletedEvent;
+import com.renault.garage.domain.event.GarageUpdatedEvent;
 import com.renault.garage.application.dto.*;
 import com.renault.garage.application.mapper.GarageMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,17 +34,25 @@ import java.util.UUID;
 @Transactional
 public class GarageService {
     
+    /**
+     * Cache des garages lus par ID, invalidé par toute écriture sur le garage ou ses véhicules
+     */
+    public static final String GARAGES_CACHE = "garages";
+    
     private final GarageRepository garageRepository;
+    private final GarageSummaryRepository summaryRepository;
+    private final GarageCapaciteRepository capaciteRepository;
     private final GarageMapper garageMapper;
-    private final VehiculeRepository vehiculeRepository;
-    private final AccessoireRepository accessoireRepository;
+    private final DomainEventPublisher eventPublisher;
     
-    public GarageService(GarageRepository garageRepository, GarageMapper garageMapper,
-                         VehiculeRepository vehiculeRepository, AccessoireRepository accessoireRepository) {
+    public GarageService(GarageRepository garageRepository, GarageSummaryRepository summaryRepository,
+                         GarageCapaciteRepository capaciteRepository, GarageMapper garageMapper,
+                         DomainEventPublisher eventPublisher) {
         this.garageRepository = garageRepository;
+        this.summaryRepository = summaryRepository;
+        this.capaciteRepository = capaciteRepository;
         this.garageMapper = garageMapper;
-        this.vehiculeRepository = vehiculeRepository;
-        this.accessoireRepository = accessoireRepository;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -44,6 +61,9 @@ public class GarageService {
     public GarageResponse createGarage(CreateGarageRequest request) {
         Garage garage = garageMapper.toDomain(request);
         Garage savedGarage = garageRepository.save(garage);
+        capaciteRepository.initialiser(savedGarage.getId());
+        eventPublisher.publish(new GarageCreatedEvent(
+            savedGarage.getId(), savedGarage.getName(), savedGarage.getAddress().ville()));
         return garageMapper.toResponse(savedGarage);
     }
     
@@ -51,12 +71,13 @@ public class GarageService {
      * Récupère un garage par son ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = GARAGES_CACHE, key = "#id")
     public GarageResponse getGarageById(UUID id) {
-        Garage garage = garageRepository.findById(id)
+        GarageSummary summary = summaryRepository.findById(id)
             .orElseThrow(() -> new GarageNotFoundException(
                 "Garage non trouvé avec l'ID: " + id
             ));
-        return garageMapper.toResponse(garage);
+        return garageMapper.toResponse(summary);
     }
     
     /**
@@ -64,7 +85,7 @@ public class GarageService {
      */
     @Transactional(readOnly = true)
     public GarageListResponse getAllGarages(Pageable pageable) {
-        Page<Garage> garagePage = garageRepository.findAll(pageable);
+        Page<GarageSummary> garagePage = summaryRepository.findAll(pageable);
         
         List<GarageResponse> garages = garagePage.getContent()
             .stream()
@@ -79,9 +100,18 @@ public class GarageService {
         );
     }
     
+    /**
+     * Parcourt les garages par curseur (tri par nom puis ID), sans COUNT(*)
+     */
+    @Transactional(readOnly = true)
+    public Window<GarageResponse> scrollGarages(ScrollPosition position, int limit) {
+        return summaryRepository.findAll(position, limit).map(garageMapper::toResponse);
+    }
+    
     /**
      * Met à jour un garage
      */
+    @CacheEvict(cacheNames = GARAGES_CACHE, key = "#id")
     public GarageResponse updateGarage(UUID id, UpdateGarageRequest request) {
         Garage garage = garageRepository.findById(id)
             .orElseThrow(() -> new GarageNotFoundException(
@@ -97,58 +127,66 @@ public class GarageService {
         );
         
         Garage updatedGarage = garageRepository.save(garage);
-        return garageMapper.toResponse(updatedGarage);
+        eventPublisher.publish(new GarageUpdatedEvent(
+            updatedGarage.getId(), updatedGarage.getName(), updatedGarage.getAddress().ville()));
+        // Résumé recopié par l'enregistrement : compteurs de véhicules et d'accessoires inchangés
+        return garageMapper.toResponse(summaryRepository.findById(updatedGarage.getId())
+            .orElseGet(() -> GarageSummary.vide(updatedGarage)));
     }
     
     /**
      * Supprime un garage
+     * Suppression logique : le garage et ses véhicules disparaissent aussitôt des lectures,
+     * les lignes sont purgées par lots en arrière-plan (voir GaragePurgeService)
      */
+    @CacheEvict(cacheNames = GARAGES_CACHE, key = "#id")
     public void deleteGarage(UUID id) {
-        if (!garageRepository.existsById(id)) {
+        if (!garageRepository.marquerSupprime(id)) {
             throw new GarageNotFoundException(
                 "Garage non trouvé avec l'ID: " + id
             );
         }
-        garageRepository.deleteById(id);
+        capaciteRepository.supprimer(id);
+        eventPublisher.publish(new GarageDeletedEvent(id));
     }
     
     /**
      * Recherche des garages par ville
      */
     @Transactional(readOnly = true)
-    public List<GarageResponse> findGaragesByVille(String ville) {
-        return garageRepository.findByVille(ville)
+    public Window<GarageResponse> findGaragesByVille(String ville, ScrollPosition position, int limit) {
+        return summaryRepository.findByVille(ville, position, limit).map(garageMapper::toResponse);
+    }
+    
+    /**
+     * Recherche des garages par nom
+     */
+    @Transactional(readOnly = true)
+    public Window<GarageResponse> findGaragesByName(String name, ScrollPosition position, int limit) {
+        return summaryRepository.findByNameContaining(name, position, limit).map(garageMapper::toResponse);
+    }
+
+    /**
+     * Recherche des garages d'une ville ouverts à un instant donné (heure locale du garage)
+     */
+    @Transactional(readOnly = true)
+    public List<GarageResponse> findGaragesOuvertsA(String ville, LocalDateTime instant, Pageable pageable) {
+        return summaryRepository.findOuvertsA(ville, instant.getDayOfWeek(), instant.toLocalTime(), pageable)
             .stream()
             .map(garageMapper::toResponse)
             .toList();
     }
     
     /**
-     * Recherche des garages par nom
+     * Recherche des garages par type de carburant des véhicules et disponibilité d'un accessoire par nom (contient)
+     * Une seule requête paginée (résumés des garages, semi-jointure véhicules / accessoires)
      */
     @Transactional(readOnly = true)
-    public List<GarageResponse> findGaragesByName(String name) {
-        return garageRepository.findByNameContaining(name)
+    public List<GarageResponse> searchByFuelAndAccessoryName(TypeCarburant typeCarburant, String accessoireNom,
+                                                             Pageable pageable) {
+        return summaryRepository.findByTypeCarburantAndAccessoireNom(typeCarburant, accessoireNom, pageable)
             .stream()
             .map(garageMapper::toResponse)
             .toList();
     }
-
-        /**
-         * Recherche des garages par type de carburant des véhicules et disponibilité d'un accessoire par nom (contient)
-         */
-        @Transactional(readOnly = true)
-        public List<GarageResponse> searchByFuelAndAccessoryName(TypeCarburant typeCarburant, String accessoireNom) {
-        List<Vehicule> vehicules = vehiculeRepository.findByTypeCarburant(typeCarburant);
-        return vehicules.stream()
-            .filter(v -> accessoireRepository.findByVehiculeId(v.getId()).stream()
-                .anyMatch(a -> a.getNom() != null && a.getNom().toLowerCase().contains(accessoireNom.toLowerCase())))
-            .map(Vehicule::getGarageId)
-            .distinct()
-            .map(garageId -> garageRepository.findById(garageId)
-                .orElse(null))
-            .filter(g -> g != null)
-            .map(garageMapper::toResponse)
-                .toList();
-        }
 }
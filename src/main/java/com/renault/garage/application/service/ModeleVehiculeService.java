@@ -0,0 +1,117 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.catalogue.ModeleCatalogue;
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.mapper.ModeleVehiculeMapper;
+import com.renault.garage.domain.exception.ModeleVehiculeNotFoundException;
+import com.renault.garage.domain.exception.ModeleVehiculeUtiliseException;
+import com.renault.garage.domain.model.ModeleVehicule;
+import com.renault.garage.domain.repository.ModeleVehiculeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application Service - Catalogue des modèles de véhicules
+ * Les lectures sont servies par l'instantané en mémoire (ModeleCatalogue) ; chaque modification
+ * recharge le catalogue après le commit. Les autres instances le rechargent périodiquement
+ * (garage.modeles.refresh-interval).
+ */
+@Service
+@Transactional
+public class ModeleVehiculeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ModeleVehiculeService.class);
+    
+    private final ModeleVehiculeRepository modeleRepository;
+    private final ModeleCatalogue catalogue;
+    private final ModeleVehiculeMapper modeleMapper;
+    private final TransactionTemplate rechargement;
+    
+    public ModeleVehiculeService(ModeleVehiculeRepository modeleRepository,
+                                 ModeleCatalogue catalogue,
+                                 ModeleVehiculeMapper modeleMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.modeleRepository = modeleRepository;
+        this.catalogue = catalogue;
+        this.modeleMapper = modeleMapper;
+        // Transaction d'écriture : lu sur le primaire, le catalogue n'attend pas le rattrapage des répliques
+        this.rechargement = new TransactionTemplate(transactionManager);
+        this.rechargement.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ModeleVehiculeResponse> list() {
+        return catalogue.instantane().modeles().stream()
+            .map(modeleMapper::toResponse)
+            .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public ModeleVehiculeResponse get(UUID id) {
+        return catalogue.get(id)
+            .map(modeleMapper::toResponse)
+            .orElseThrow(() -> new ModeleVehiculeNotFoundException("Modèle non trouvé: " + id));
+    }
+    
+    public ModeleVehiculeResponse create(CreateModeleVehiculeRequest request) {
+        ModeleVehicule saved = modeleRepository.save(ModeleVehicule.creer(
+            request.nomModele(), request.brand(), request.description(), request.specifications()));
+        rechargerApresCommit();
+        return modeleMapper.toResponse(saved);
+    }
+    
+    public ModeleVehiculeResponse update(UUID id, UpdateModeleVehiculeRequest request) {
+        ModeleVehicule modele = modeleRepository.findById(id)
+            .orElseThrow(() -> new ModeleVehiculeNotFoundException("Modèle non trouvé: " + id));
+        ModeleVehicule saved = modeleRepository.save(modele.modifier(
+            request.nomModele(), request.brand(), request.description(), request.specifications()));
+        rechargerApresCommit();
+        return modeleMapper.toResponse(saved);
+    }
+    
+    public void delete(UUID id) {
+        if (modeleRepository.estUtilise(id)) {
+            throw new ModeleVehiculeUtiliseException("Modèle utilisé par des véhicules: " + id);
+        }
+        if (!modeleRepository.deleteById(id)) {
+            throw new ModeleVehiculeNotFoundException("Modèle non trouvé: " + id);
+        }
+        rechargerApresCommit();
+    }
+    
+    /**
+     * Relit tout le catalogue et publie le nouvel instantané
+     * Sérialisé : deux rechargements concurrents ne peuvent pas publier un état plus ancien en dernier
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void recharger() {
+        List<ModeleVehicule> modeles = rechargement.execute(status -> modeleRepository.findAll());
+        catalogue.remplacer(modeles);
+        logger.debug("Catalogue des modèles rechargé: {} modèles (génération {})",
+            modeles.size(), catalogue.instantane().generation());
+    }
+    
+    private void rechargerApresCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recharger();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recharger();
+            }
+        });
+    }
+}
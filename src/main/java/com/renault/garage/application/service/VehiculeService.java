@@ -2,20 +2,27 @@ package com.renault.garage.application.service;
 
 import com.renault.garage.domain.model.Garage;
 import com.renault.garage.domain.model.Vehicule;
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
 import com.renault.garage.domain.repository.GarageRepository;
 import com.renault.garage.domain.repository.VehiculeRepository;
 import com.renault.garage.domain.exception.*;
 import com.renault.garage.domain.event.DomainEventPublisher;
 import com.renault.garage.domain.event.VehiculeCreatedEvent;
+import com.renault.garage.domain.event.VehiculeDeletedEvent;
+import com.renault.garage.domain.event.VehiculeUpdatedEvent;
 import com.renault.garage.application.dto.*;
 import com.renault.garage.application.mapper.VehiculeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,15 +37,18 @@ public class VehiculeService {
     
     private final VehiculeRepository vehiculeRepository;
     private final GarageRepository garageRepository;
+    private final GarageCapaciteRepository capaciteRepository;
     private final VehiculeMapper vehiculeMapper;
     private final DomainEventPublisher eventPublisher;
     
     public VehiculeService(VehiculeRepository vehiculeRepository,
                           GarageRepository garageRepository,
+                          GarageCapaciteRepository capaciteRepository,
                           VehiculeMapper vehiculeMapper,
                           DomainEventPublisher eventPublisher) {
         this.vehiculeRepository = vehiculeRepository;
         this.garageRepository = garageRepository;
+        this.capaciteRepository = capaciteRepository;
         this.vehiculeMapper = vehiculeMapper;
         this.eventPublisher = eventPublisher;
     }
@@ -46,6 +56,7 @@ public class VehiculeService {
     /**
      * Crée un nouveau véhicule dans un garage
      */
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
     public VehiculeResponse createVehicule(UUID garageId, CreateVehiculeRequest request) {
         logger.info("🚗 Création d'un nouveau véhicule pour le garage {}", garageId);
         
@@ -53,32 +64,26 @@ public class VehiculeService {
             .orElseThrow(() -> new GarageNotFoundException(
                 "Garage non trouvé avec l'ID: " + garageId
             ));
-
-        // Vérifier la capacité actuelle de manière robuste côté persistance
-        long currentCount = vehiculeRepository.countByGarageId(garageId);
-        if (currentCount >= Garage.getMaxCapacity()) {
-            throw new CapaciteGarageDepasseeException(
-                "Le garage a atteint sa capacité maximale de " + Garage.getMaxCapacity() + " véhicules"
-            );
-        }
         
         Vehicule vehicule = vehiculeMapper.toDomain(request);
         
-        // Utiliser la méthode du garage pour ajouter le véhicule (règle métier de capacité)
+        // Utiliser la méthode du garage pour ajouter le véhicule (règle métier de capacité,
+        // appliquée sur le nombre de véhicules persistés chargé avec le garage)
         garage.ajouterVehicule(vehicule);
         
-        garageRepository.save(garage);
+        // Le nombre chargé peut être dépassé par une création concurrente : la réservation
+        // atomique de la place fait foi
+        if (!capaciteRepository.reserver(garageId, 1, Garage.getMaxCapacity())) {
+            throw new CapaciteGarageDepasseeException(
+                "Le garage a atteint sa capacité maximale de " + Garage.getMaxCapacity() + " véhicules"
+            );
+        }
+        
         Vehicule savedVehicule = vehiculeRepository.save(vehicule);
+        garageRepository.marquerModifie(garageId, garage.getUpdatedAt());
         
         // 📢 Publier l'événement de création
-        VehiculeCreatedEvent event = new VehiculeCreatedEvent(
-            savedVehicule.getId(),
-            savedVehicule.getGarageId(),
-            savedVehicule.getBrand(),
-            savedVehicule.getAnneeFabrication(),
-            savedVehicule.getTypeCarburant().name()
-        );
-        eventPublisher.publish(event);
+        eventPublisher.publish(createdEvent(savedVehicule));
         
         logger.info("✅ Véhicule créé avec succès: {}", savedVehicule.getId());
         
@@ -86,11 +91,59 @@ public class VehiculeService {
     }
     
     /**
-     * Récupère un véhicule par son ID
+     * Crée plusieurs véhicules dans un garage en une seule opération
+     * Capacité réservée une fois pour tout le lot (tout ou rien), INSERT groupés, date de
+     * modification du garage reportée une fois, événements enregistrés en une seule opération dans l'outbox
+     */
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
+    public List<VehiculeResponse> createVehicules(UUID garageId, List<CreateVehiculeRequest> requests) {
+        logger.info("🚗 Création de {} véhicules pour le garage {}", requests.size(), garageId);
+        
+        if (!garageRepository.existsById(garageId)) {
+            throw new GarageNotFoundException(
+                "Garage non trouvé avec l'ID: " + garageId
+            );
+        }
+        
+        if (!capaciteRepository.reserver(garageId, requests.size(), Garage.getMaxCapacity())) {
+            throw new CapaciteGarageDepasseeException(
+                "Capacité insuffisante pour ajouter " + requests.size() + " véhicules (capacité maximale de "
+                    + Garage.getMaxCapacity() + " véhicules)"
+            );
+        }
+        
+        List<Vehicule> vehicules = requests.stream()
+            .map(vehiculeMapper::toDomain)
+            .toList();
+        vehicules.forEach(v -> v.setGarageId(garageId));
+        
+        List<Vehicule> savedVehicules = vehiculeRepository.insertAll(vehicules);
+        garageRepository.marquerModifie(garageId, LocalDateTime.now());
+        eventPublisher.publishAll(savedVehicules.stream().map(this::createdEvent).toList());
+        
+        logger.info("✅ {} véhicules créés dans le garage {}", savedVehicules.size(), garageId);
+        
+        return savedVehicules.stream()
+            .map(vehiculeMapper::toResponse)
+            .toList();
+    }
+    
+    private VehiculeCreatedEvent createdEvent(Vehicule vehicule) {
+        return new VehiculeCreatedEvent(
+            vehicule.getId(),
+            vehicule.getGarageId(),
+            vehicule.getBrand(),
+            vehicule.getAnneeFabrication(),
+            vehicule.getTypeCarburant().name()
+        );
+    }
+    
+    /**
+     * Récupère un véhicule d'un garage par son ID
      */
     @Transactional(readOnly = true)
-    public VehiculeResponse getVehiculeById(UUID id) {
-        Vehicule vehicule = vehiculeRepository.findById(id)
+    public VehiculeResponse getVehiculeById(UUID garageId, UUID id) {
+        Vehicule vehicule = vehiculeRepository.findById(garageId, id)
             .orElseThrow(() -> new VehiculeNotFoundException(
                 "Véhicule non trouvé avec l'ID: " + id
             ));
@@ -98,27 +151,26 @@ public class VehiculeService {
     }
     
     /**
-     * Récupère tous les véhicules d'un garage
+     * Récupère les véhicules d'un garage par curseur
      */
     @Transactional(readOnly = true)
-    public List<VehiculeResponse> getVehiculesByGarageId(UUID garageId) {
+    public Window<VehiculeResponse> getVehiculesByGarageId(UUID garageId, ScrollPosition position, int limit) {
         if (!garageRepository.existsById(garageId)) {
             throw new GarageNotFoundException(
                 "Garage non trouvé avec l'ID: " + garageId
             );
         }
         
-        return vehiculeRepository.findByGarageId(garageId)
-            .stream()
-            .map(vehiculeMapper::toResponse)
-            .toList();
+        return vehiculeRepository.findByGarageId(garageId, position, limit).map(vehiculeMapper::toResponse);
     }
     
     /**
      * Met à jour un véhicule
+     * Le changement de carburant modifie les compteurs du garage : entrée du cache invalidée
      */
-    public VehiculeResponse updateVehicule(UUID id, UpdateVehiculeRequest request) {
-        Vehicule vehicule = vehiculeRepository.findById(id)
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
+    public VehiculeResponse updateVehicule(UUID garageId, UUID id, UpdateVehiculeRequest request) {
+        Vehicule vehicule = vehiculeRepository.findById(garageId, id)
             .orElseThrow(() -> new VehiculeNotFoundException(
                 "Véhicule non trouvé avec l'ID: " + id
             ));
@@ -131,26 +183,34 @@ public class VehiculeService {
         );
         
         Vehicule updatedVehicule = vehiculeRepository.save(vehicule);
+        eventPublisher.publish(new VehiculeUpdatedEvent(
+            updatedVehicule.getId(),
+            updatedVehicule.getGarageId(),
+            updatedVehicule.getTypeCarburant().name()
+        ));
         return vehiculeMapper.toResponse(updatedVehicule);
     }
     
     /**
      * Supprime un véhicule
      */
+    @CacheEvict(cacheNames = GarageService.GARAGES_CACHE, key = "#garageId")
     public void deleteVehicule(UUID garageId, UUID vehiculeId) {
         Garage garage = garageRepository.findById(garageId)
             .orElseThrow(() -> new GarageNotFoundException(
                 "Garage non trouvé avec l'ID: " + garageId
             ));
         
-        if (!vehiculeRepository.existsById(vehiculeId)) {
+        if (!vehiculeRepository.existsById(garageId, vehiculeId)) {
             throw new VehiculeNotFoundException(
                 "Véhicule non trouvé avec l'ID: " + vehiculeId
             );
         }
         
         garage.supprimerVehicule(vehiculeId);
-        garageRepository.save(garage);
-        vehiculeRepository.deleteById(vehiculeId);
+        garageRepository.marquerModifie(garageId, garage.getUpdatedAt());
+        vehiculeRepository.deleteById(garageId, vehiculeId);
+        capaciteRepository.liberer(garageId, 1);
+        eventPublisher.publish(new VehiculeDeletedEvent(vehiculeId, garageId));
     }
 }
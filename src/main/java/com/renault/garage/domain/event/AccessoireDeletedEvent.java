@@ -0,0 +1,61 @@
+package com.renault.garage.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement domaine publié lors de la suppression d'un accessoire
+ * Sérialisable pour Kafka
+ */
+@Topic(EventTopics.ACCESSOIRE_EVENTS)
+public final class AccessoireDeletedEvent implements DomainEvent, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final UUID accessoireId;
+    private final UUID vehiculeId;
+    private final UUID garageId;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public AccessoireDeletedEvent(
+            @JsonProperty("accessoireId") UUID accessoireId,
+            @JsonProperty("vehiculeId") UUID vehiculeId,
+            @JsonProperty("garageId") UUID garageId) {
+        this.accessoireId = accessoireId;
+        this.vehiculeId = vehiculeId;
+        this.garageId = garageId;
+        this.occurredOn = LocalDateTime.now();
+    }
+    
+    public UUID getAccessoireId() {
+        return accessoireId;
+    }
+    
+    public UUID getVehiculeId() {
+        return vehiculeId;
+    }
+    
+    @Override
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccessoireDeletedEvent{" +
+                "accessoireId=" + accessoireId +
+                ", vehiculeId=" + vehiculeId +
+                ", garageId=" + garageId +
+                ", occurredOn=" + occurredOn +
+                '}';
+    }
+}
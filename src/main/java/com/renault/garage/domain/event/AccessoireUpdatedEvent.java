@@ -0,0 +1,69 @@
+package com.renault.garage.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement domaine publié lors de la mise à jour d'un accessoire
+ * Sérialisable pour Kafka
+ */
+@Topic(EventTopics.ACCESSOIRE_EVENTS)
+public final class AccessoireUpdatedEvent implements DomainEvent, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final UUID accessoireId;
+    private final UUID vehiculeId;
+    private final UUID garageId;
+    private final String type;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public AccessoireUpdatedEvent(
+            @JsonProperty("accessoireId") UUID accessoireId,
+            @JsonProperty("vehiculeId") UUID vehiculeId,
+            @JsonProperty("garageId") UUID garageId,
+            @JsonProperty("type") String type) {
+        this.accessoireId = accessoireId;
+        this.vehiculeId = vehiculeId;
+        this.garageId = garageId;
+        this.type = type;
+        this.occurredOn = LocalDateTime.now();
+    }
+    
+    public UUID getAccessoireId() {
+        return accessoireId;
+    }
+    
+    public UUID getVehiculeId() {
+        return vehiculeId;
+    }
+    
+    @Override
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "AccessoireUpdatedEvent{" +
+                "accessoireId=" + accessoireId +
+                ", vehiculeId=" + vehiculeId +
+                ", garageId=" + garageId +
+                ", type='" + type + '\'' +
+                ", occurredOn=" + occurredOn +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.renault.garage.domain.event;
+
+/**
+ * Événement domaine publiable
+ * Hiérarchie fermée : la liste des événements est connue à la compilation, chacun déclare son
+ * topic (@Topic) et sa clé de partitionnement. Un nouveau type doit être ajouté à permits,
+ * sinon il ne compile pas ; sans @Topic, l'application ne démarre pas.
+ */
+public sealed interface DomainEvent extends GarageEvent permits
+        GarageCreatedEvent, GarageUpdatedEvent, GarageDeletedEvent,
+        VehiculeCreatedEvent, VehiculeUpdatedEvent, VehiculeDeletedEvent,
+        AccessoireCreatedEvent, AccessoireUpdatedEvent, AccessoireDeletedEvent {
+    
+    /**
+     * Clé de partitionnement : le garage, pour que tous ses événements suivent le même ordre
+     */
+    default String partitionKey() {
+        return getGarageId() != null ? getGarageId().toString() : "unknown";
+    }
+}
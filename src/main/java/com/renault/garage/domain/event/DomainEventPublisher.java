@@ -1,8 +1,11 @@
 package com.renault.garage.domain.event;
 
+import java.util.Collection;
+
 /**
  * Interface pour publier les événements domaine
  * Abstraction pour découpler le domaine de l'infrastructure
+ * Appelée dans la transaction métier : un événement n'est émis que si elle est validée
  */
 public interface DomainEventPublisher {
     
@@ -10,5 +13,14 @@ public interface DomainEventPublisher {
      * Publie un événement domaine
      * @param event L'événement à publier
      */
-    void publish(Object event);
+    void publish(DomainEvent event);
+    
+    /**
+     * Publie un lot d'événements domaine
+     * Les implémentations peuvent regrouper les écritures (une seule opération pour tout le lot)
+     * @param events Les événements à publier, dans l'ordre
+     */
+    default void publishAll(Collection<? extends DomainEvent> events) {
+        events.forEach(this::publish);
+    }
 }
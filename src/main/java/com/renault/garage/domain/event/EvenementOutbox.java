@@ -0,0 +1,34 @@
+package com.renault.garage.domain.event;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Événement domaine en attente de publication (table outbox)
+ * Enregistré dans la transaction métier qui l'a produit, déjà sérialisé pour son topic ;
+ * le relais l'envoie tel quel puis le supprime.
+ * @param id rang d'insertion (null avant enregistrement), ordre d'envoi des événements
+ * @param garageId garage concerné, null pour un événement sans garage
+ * @param topic topic de destination
+ * @param cle clé de partitionnement
+ * @param type nom simple de la classe de l'événement
+ * @param payload valeur du message, octets envoyés tels quels
+ */
+public record EvenementOutbox(
+    Long id,
+    UUID garageId,
+    String topic,
+    String cle,
+    String type,
+    byte[] payload,
+    LocalDateTime createdAt
+) {
+    public EvenementOutbox {
+        Objects.requireNonNull(topic, "Le topic ne peut pas être null");
+        Objects.requireNonNull(cle, "La clé ne peut pas être null");
+        Objects.requireNonNull(type, "Le type ne peut pas être null");
+        Objects.requireNonNull(payload, "Le contenu ne peut pas être null");
+        Objects.requireNonNull(createdAt, "La date de création ne peut pas être null");
+    }
+}
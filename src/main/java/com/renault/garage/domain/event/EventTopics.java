@@ -0,0 +1,16 @@
+package com.renault.garage.domain.event;
+
+/**
+ * Noms des topics des événements domaine
+ * Déclarés ici pour que chaque événement porte le sien (@Topic) sans dépendre de l'infrastructure
+ */
+public final class EventTopics {
+    
+    public static final String VEHICULE_CREATED = "vehicule.created";
+    public static final String GARAGE_EVENTS = "garage.events";
+    public static final String VEHICULE_EVENTS = "vehicule.events";
+    public static final String ACCESSOIRE_EVENTS = "accessoire.events";
+    
+    private EventTopics() {
+    }
+}
@@ -0,0 +1,61 @@
+package com.renault.garage.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement domaine publié lors de la création d'un garage
+ * Sérialisable pour Kafka
+ */
+@Topic(EventTopics.GARAGE_EVENTS)
+public final class GarageCreatedEvent implements DomainEvent, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final UUID garageId;
+    private final String name;
+    private final String ville;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public GarageCreatedEvent(
+            @JsonProperty("garageId") UUID garageId,
+            @JsonProperty("name") String name,
+            @JsonProperty("ville") String ville) {
+        this.garageId = garageId;
+        this.name = name;
+        this.ville = ville;
+        this.occurredOn = LocalDateTime.now();
+    }
+    
+    @Override
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getVille() {
+        return ville;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "GarageCreatedEvent{" +
+                "garageId=" + garageId +
+                ", name='" + name + '\'' +
+                ", ville='" + ville + '\'' +
+                ", occurredOn=" + occurredOn +
+                '}';
+    }
+}
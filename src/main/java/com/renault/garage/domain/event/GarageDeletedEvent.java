@@ -0,0 +1,45 @@
+package com.renault.garage.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement domaine publié lors de la suppression d'un garage
+ * Sérialisable pour Kafka
+ */
+@Topic(EventTopics.GARAGE_EVENTS)
+public final class GarageDeletedEvent implements DomainEvent, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final UUID garageId;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public GarageDeletedEvent(
+            @JsonProperty("garageId") UUID garageId) {
+        this.garageId = garageId;
+        this.occurredOn = LocalDateTime.now();
+    }
+    
+    @Override
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "GarageDeletedEvent{" +
+                "garageId=" + garageId +
+                ", occurredOn=" + occurredOn +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.renault.garage.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Événement domaine rattaché à un garage
+ * Le garageId sert de clé de partitionnement et permet aux projections de ne recalculer que le garage concerné
+ */
+public interface GarageEvent {
+    
+    UUID getGarageId();
+}
@@ -0,0 +1,19 @@
+package com.renault.garage.domain.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Topic de publication d'un type d'événement domaine
+ * Obligatoire sur chaque classe permise par DomainEvent : lu une seule fois par classe, au démarrage
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Topic {
+    
+    String value();
+}
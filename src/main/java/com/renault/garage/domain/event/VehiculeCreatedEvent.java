@@ -11,7 +11,8 @@ import java.util.UUID;
  * Événement domaine publié lors de la création d'un véhicule
  * Sérialisable pour Kafka
  */
-public class VehiculeCreatedEvent implements Serializable {
+@Topic(EventTopics.VEHICULE_CREATED)
+public final class VehiculeCreatedEvent implements DomainEvent, Serializable {
     
     private static final long serialVersionUID = 1L;
     
@@ -41,6 +42,7 @@ public class VehiculeCreatedEvent implements Serializable {
         return vehiculeId;
     }
     
+    @Override
     public UUID getGarageId() {
         return garageId;
     }
@@ -0,0 +1,61 @@
+package com.renault.garage.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement domaine publié lors de la mise à jour d'un véhicule
+ * Sérialisable pour Kafka
+ */
+@Topic(EventTopics.VEHICULE_EVENTS)
+public final class VehiculeUpdatedEvent implements DomainEvent, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final UUID vehiculeId;
+    private final UUID garageId;
+    private final String typeCarburant;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public VehiculeUpdatedEvent(
+            @JsonProperty("vehiculeId") UUID vehiculeId,
+            @JsonProperty("garageId") UUID garageId,
+            @JsonProperty("typeCarburant") String typeCarburant) {
+        this.vehiculeId = vehiculeId;
+        this.garageId = garageId;
+        this.typeCarburant = typeCarburant;
+        this.occurredOn = LocalDateTime.now();
+    }
+    
+    public UUID getVehiculeId() {
+        return vehiculeId;
+    }
+    
+    @Override
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public String getTypeCarburant() {
+        return typeCarburant;
+    }
+    
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String toString() {
+        return "VehiculeUpdatedEvent{" +
+                "vehiculeId=" + vehiculeId +
+                ", garageId=" + garageId +
+                ", typeCarburant='" + typeCarburant + '\'' +
+                ", occurredOn=" + occurredOn +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package com.renault.garage.domain.exception;
+
+/**
+ * Exception levée lorsqu'un modèle de véhicule n'est pas trouvé
+ */
+public class ModeleVehiculeNotFoundException extends RuntimeException {
+    public ModeleVehiculeNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.renault.garage.domain.exception;
+
+/**
+ * Exception levée lors de la suppression d'un modèle encore référencé par des véhicules
+ */
+public class ModeleVehiculeUtiliseException extends RuntimeException {
+    public ModeleVehiculeUtiliseException(String message) {
+        super(message);
+    }
+}
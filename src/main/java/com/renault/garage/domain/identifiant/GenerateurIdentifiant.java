@@ -0,0 +1,12 @@
+package com.renault.garage.domain.identifiant;
+
+import java.util.UUID;
+
+/**
+ * Port - Génération des identifiants des agrégats (garages, véhicules, accessoires...)
+ */
+@FunctionalInterface
+public interface GenerateurIdentifiant {
+    
+    UUID nouveau();
+}
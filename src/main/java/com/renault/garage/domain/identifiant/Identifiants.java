@@ -0,0 +1,24 @@
+package com.renault.garage.domain.identifiant;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Point d'accès des agrégats à la génération d'identifiants
+ * UUID v7 par défaut ; le générateur est remplaçable au démarrage (voir IdentifiantConfig)
+ */
+public final class Identifiants {
+    
+    private static volatile GenerateurIdentifiant generateur = new UuidV7Generateur();
+    
+    private Identifiants() {
+    }
+    
+    public static UUID nouveau() {
+        return generateur.nouveau();
+    }
+    
+    public static void utiliser(GenerateurIdentifiant nouveauGenerateur) {
+        generateur = Objects.requireNonNull(nouveauGenerateur, "Le générateur ne peut pas être null");
+    }
+}
@@ -0,0 +1,67 @@
+package com.renault.garage.domain.identifiant;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Générateur d'UUID version 7 (RFC 9562) : horodatage Unix en millisecondes sur 48 bits,
+ * compteur sur 12 bits (rand_a), 62 bits aléatoires (rand_b)
+ * Les clés successives sont croissantes : les insertions s'ajoutent en fin d'index B-tree
+ * au lieu de se disperser sur toutes ses pages comme les UUID v4.
+ * Monotone dans l'instance : dans la même milliseconde le compteur est incrémenté ; s'il déborde,
+ * ou si l'horloge recule, l'horodatage de la dernière clé est prolongé plutôt que de revenir en arrière.
+ */
+public final class UuidV7Generateur implements GenerateurIdentifiant {
+    
+    private static final int COMPTEUR_MAX = 0xFFF;
+    // Le compteur démarre dans la moitié basse : au moins 2048 clés par milliseconde avant débordement
+    private static final int COMPTEUR_DEPART = 1 << 11;
+    
+    private final LongSupplier horloge;
+    private final SecureRandom aleatoire = new SecureRandom();
+    
+    private long dernierInstant = -1;
+    private int compteur;
+    
+    public UuidV7Generateur() {
+        this(System::currentTimeMillis);
+    }
+    
+    UuidV7Generateur(LongSupplier horloge) {
+        this.horloge = horloge;
+    }
+    
+    @Override
+    public UUID nouveau() {
+        long instant;
+        int sequence;
+        synchronized (this) {
+            long maintenant = horloge.getAsLong();
+            if (maintenant > dernierInstant) {
+                dernierInstant = maintenant;
+                compteur = aleatoire.nextInt(COMPTEUR_DEPART);
+            } else if (compteur < COMPTEUR_MAX) {
+                compteur++;
+            } else {
+                dernierInstant++;
+                compteur = 0;
+            }
+            instant = dernierInstant;
+            sequence = compteur;
+        }
+        long msb = (instant << 16) | 0x7000L | sequence;
+        long lsb = (aleatoire.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+    
+    /**
+     * Horodatage (millisecondes Unix) porté par un UUID v7
+     */
+    public static long instant(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID de version " + uuid.version() + ", version 7 attendue: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -1,5 +1,7 @@
 package com.renault.garage.domain.model;
 
+import com.renault.garage.domain.identifiant.Identifiants;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -23,7 +25,7 @@ public class Accessoire {
      */
     public Accessoire(String nom, String description, 
                      BigDecimal prix, TypeAccessoire type) {
-        this.id = UUID.randomUUID();
+        this.id = Identifiants.nouveau();
         this.nom = Objects.requireNonNull(nom, "Le nom ne peut pas être null");
         this.description = description;
         this.prix = Objects.requireNonNull(prix, "Le prix ne peut pas être null");
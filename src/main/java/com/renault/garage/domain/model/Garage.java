@@ -1,6 +1,7 @@
 package com.renault.garage.domain.model;
 
 import com.renault.garage.domain.exception.CapaciteGarageDepasseeException;
+import com.renault.garage.domain.identifiant.Identifiants;
 
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
@@ -18,16 +19,20 @@ public class Garage {
     private String email;
     private Map<DayOfWeek, List<OpeningTime>> horairesOuverture;
     private List<Vehicule> vehicules;
+    // Nombre de véhicules persistés : renseigné à la reconstruction sans charger les véhicules
+    private int nombreVehicules;
     private static final int MAX_CAPACITY = 50;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Version de persistance (verrouillage optimiste), null tant que le garage n'est pas enregistré
+    private Long version;
 
     /**
      * Constructeur pour créer un nouveau garage
      */
     public Garage(String name, Address address, String telephone, 
                   String email, Map<DayOfWeek, List<OpeningTime>> horairesOuverture) {
-        this.id = UUID.randomUUID();
+        this.id = Identifiants.nouveau();
         this.name = Objects.requireNonNull(name, "Le nom ne peut pas être null");
         this.address = Objects.requireNonNull(address, "L'adresse ne peut pas être null");
         this.telephone = Objects.requireNonNull(telephone, "Le téléphone ne peut pas être null");
@@ -48,21 +53,26 @@ public class Garage {
      * @throws CapaciteGarageDepasseeException si le garage est plein
      */
     public void ajouterVehicule(Vehicule vehicule) {
-        if (vehicules.size() >= MAX_CAPACITY) {
+        if (estPlein()) {
             throw new CapaciteGarageDepasseeException(
                 "Le garage a atteint sa capacité maximale de " + MAX_CAPACITY + " véhicules"
             );
         }
         vehicules.add(vehicule);
+        nombreVehicules++;
         vehicule.setGarageId(this.id);
         this.updatedAt = LocalDateTime.now();
     }
 
     /**
      * Supprime un véhicule du garage
+     * Le véhicule est supposé appartenir au garage, même s'il n'a pas été chargé
      */
     public void supprimerVehicule(UUID vehiculeId) {
         vehicules.removeIf(v -> v.getId().equals(vehiculeId));
+        if (nombreVehicules > 0) {
+            nombreVehicules--;
+        }
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -70,14 +80,14 @@ public class Garage {
      * Vérifie si le garage est plein
      */
     public boolean estPlein() {
-        return vehicules.size() >= MAX_CAPACITY;
+        return nombreVehicules >= MAX_CAPACITY;
     }
 
     /**
      * Retourne la capacité restante du garage
      */
     public int getCapaciteRestante() {
-        return MAX_CAPACITY - vehicules.size();
+        return MAX_CAPACITY - nombreVehicules;
     }
 
     /**
@@ -160,15 +170,22 @@ public class Garage {
     public List<Vehicule> getVehicules() { 
         return Collections.unmodifiableList(vehicules); 
     }
+    public int getNombreVehicules() { return nombreVehicules; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
     public static int getMaxCapacity() { return MAX_CAPACITY; }
 
     // Setters pour la reconstruction depuis la base de données
     public void setId(UUID id) { this.id = id; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-    protected void setVehicules(List<Vehicule> vehicules) { this.vehicules = vehicules; }
+    public void setVersion(Long version) { this.version = version; }
+    public void setNombreVehicules(int nombreVehicules) { this.nombreVehicules = nombreVehicules; }
+    protected void setVehicules(List<Vehicule> vehicules) {
+        this.vehicules = vehicules;
+        this.nombreVehicules = vehicules.size();
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -189,7 +206,7 @@ public class Garage {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", ville='" + address.ville() + '\'' +
-                ", nombreVehicules=" + vehicules.size() +
+                ", nombreVehicules=" + nombreVehicules +
                 '}';
     }
 }
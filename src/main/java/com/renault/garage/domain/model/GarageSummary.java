@@ -0,0 +1,34 @@
+package com.renault.garage.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read Model - Résumé d'un garage servi par les listes et recherches
+ * Le garage (nombre de véhicules renseigné) et ses compteurs agrégés, tenus à jour
+ * dans la transaction de chaque écriture de véhicule ou d'accessoire
+ */
+public record GarageSummary(
+    Garage garage,
+    Map<TypeCarburant, Integer> vehiculesParCarburant,
+    int nombreAccessoires,
+    BigDecimal valeurAccessoires
+) {
+    public GarageSummary {
+        Objects.requireNonNull(garage, "Le garage ne peut pas être null");
+        Map<TypeCarburant, Integer> parCarburant = new EnumMap<>(TypeCarburant.class);
+        parCarburant.putAll(vehiculesParCarburant);
+        vehiculesParCarburant = Collections.unmodifiableMap(parCarburant);
+        Objects.requireNonNull(valeurAccessoires, "La valeur des accessoires ne peut pas être null");
+    }
+
+    /**
+     * Résumé d'un garage sans véhicule ni accessoire
+     */
+    public static GarageSummary vide(Garage garage) {
+        return new GarageSummary(garage, Map.of(), 0, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,60 @@
+package com.renault.garage.domain.model;
+
+import com.renault.garage.domain.identifiant.Identifiants;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Value Object - Modèle de véhicule du catalogue
+ * Immuable : une modification produit un nouveau modèle de même identifiant
+ */
+public record ModeleVehicule(
+    UUID id,
+    String nomModele,
+    String brand,
+    String description,
+    Map<String, Object> specifications,
+    LocalDateTime createdAt
+) {
+    public ModeleVehicule {
+        Objects.requireNonNull(id, "L'ID du modèle ne peut pas être null");
+        Objects.requireNonNull(nomModele, "Le nom du modèle ne peut pas être null");
+        Objects.requireNonNull(brand, "La marque ne peut pas être null");
+        Objects.requireNonNull(createdAt, "La date de création ne peut pas être null");
+        
+        if (nomModele.isBlank()) {
+            throw new IllegalArgumentException("Le nom du modèle ne peut pas être vide");
+        }
+        if (brand.isBlank()) {
+            throw new IllegalArgumentException("La marque ne peut pas être vide");
+        }
+        // Les valeurs JSON peuvent être null : Map.copyOf ne convient pas
+        specifications = specifications == null || specifications.isEmpty()
+            ? Map.of()
+            : Collections.unmodifiableMap(new LinkedHashMap<>(specifications));
+    }
+    
+    /**
+     * Crée un nouveau modèle
+     */
+    public static ModeleVehicule creer(String nomModele, String brand, String description,
+                                       Map<String, Object> specifications) {
+        return new ModeleVehicule(Identifiants.nouveau(), nomModele, brand, description, specifications, LocalDateTime.now());
+    }
+    
+    /**
+     * Retourne une copie du modèle avec les champs renseignés remplacés
+     */
+    public ModeleVehicule modifier(String nomModele, String brand, String description,
+                                   Map<String, Object> specifications) {
+        return new ModeleVehicule(
+            id,
+            nomModele != null ? nomModele : this.nomModele,
+            brand != null ? brand : this.brand,
+            description != null ? description : this.description,
+            specifications != null ? specifications : this.specifications,
+            createdAt
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package com.renault.garage.domain.model;
 
+import com.renault.garage.domain.identifiant.Identifiants;
+
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.*;
@@ -18,13 +20,15 @@ public class Vehicule {
     private List<Accessoire> accessoires;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Version de persistance (verrouillage optimiste), null tant que le véhicule n'est pas enregistré
+    private Long version;
 
     /**
      * Constructeur pour créer un nouveau véhicule
      */
     public Vehicule(UUID modeleId, String brand, int anneeFabrication, 
                     TypeCarburant typeCarburant) {
-        this.id = UUID.randomUUID();
+        this.id = Identifiants.nouveau();
         this.modeleId = Objects.requireNonNull(modeleId, "Le modèle ID ne peut pas être null");
         this.brand = Objects.requireNonNull(brand, "La marque ne peut pas être null");
         this.anneeFabrication = anneeFabrication;
@@ -109,6 +113,7 @@ public class Vehicule {
     }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
 
     // Setters
     public void setGarageId(UUID garageId) { 
@@ -120,6 +125,7 @@ public class Vehicule {
     public void setId(UUID id) { this.id = id; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public void setVersion(Long version) { this.version = version; }
     protected void setAccessoires(List<Accessoire> accessoires) { this.accessoires = accessoires; }
 
     @Override
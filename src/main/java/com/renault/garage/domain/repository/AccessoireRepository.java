@@ -2,9 +2,14 @@ package com.renault.garage.domain.repository;
 
 import com.renault.garage.domain.model.Accessoire;
 import com.renault.garage.domain.model.TypeAccessoire;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -18,9 +23,20 @@ public interface AccessoireRepository {
     Accessoire save(Accessoire accessoire);
     
     /**
-     * Trouve un accessoire par son ID
+     * Insère un accessoire nouveau, sans lecture préalable
      */
-    Optional<Accessoire> findById(UUID id);
+    Accessoire insert(Accessoire accessoire);
+    
+    /**
+     * Insère des accessoires nouveaux en lot, sans recharger leurs véhicules
+     * Les véhicules référencés doivent exister (vérifié par l'appelant)
+     */
+    void insertAll(List<Accessoire> accessoires);
+    
+    /**
+     * Trouve un accessoire d'un véhicule par son ID
+     */
+    Optional<Accessoire> findById(UUID vehiculeId, UUID id);
     
     /**
      * Récupère tous les accessoires d'un véhicule
@@ -28,22 +44,28 @@ public interface AccessoireRepository {
     List<Accessoire> findByVehiculeId(UUID vehiculeId);
     
     /**
-     * Trouve les accessoires par type
+     * Récupère les accessoires d'un véhicule par curseur (tri par date de création puis ID)
      */
-    List<Accessoire> findByType(TypeAccessoire type);
+    Window<Accessoire> findByVehiculeId(UUID vehiculeId, ScrollPosition position, int limit);
     
     /**
-     * Supprime un accessoire par son ID
+     * Trouve les accessoires par type
      */
-    void deleteById(UUID id);
+    List<Accessoire> findByType(TypeAccessoire type);
     
     /**
-     * Vérifie si un accessoire existe par son ID
+     * Supprime un accessoire d'un véhicule
+     * @return false si l'accessoire n'existe pas sur ce véhicule
      */
-    boolean existsById(UUID id);
+    boolean deleteById(UUID vehiculeId, UUID id);
     
     /**
      * Compte le nombre d'accessoires d'un véhicule
      */
     long countByVehiculeId(UUID vehiculeId);
+    
+    /**
+     * Récupère, pour chaque garage fourni, les types d'accessoires montés sur ses véhicules
+     */
+    Map<UUID, Set<TypeAccessoire>> findTypesAccessoireByGarageIds(Collection<UUID> garageIds);
 }
@@ -0,0 +1,33 @@
+package com.renault.garage.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Port - Réservation atomique des places d'un garage
+ * Le contrôle de capacité et l'incrément forment une seule opération : deux créations
+ * concurrentes dans le même garage ne peuvent pas dépasser la capacité maximale.
+ * La réservation fait partie de la transaction appelante et est annulée avec elle.
+ */
+public interface GarageCapaciteRepository {
+    
+    /**
+     * Initialise le compteur d'un nouveau garage (aucune place occupée)
+     */
+    void initialiser(UUID garageId);
+    
+    /**
+     * Réserve des places dans un garage
+     * @return false si la réservation dépasserait la capacité maximale
+     */
+    boolean reserver(UUID garageId, int nombre, int capaciteMax);
+    
+    /**
+     * Libère des places après suppression de véhicules
+     */
+    void liberer(UUID garageId, int nombre);
+    
+    /**
+     * Supprime le compteur d'un garage supprimé
+     */
+    void supprimer(UUID garageId);
+}
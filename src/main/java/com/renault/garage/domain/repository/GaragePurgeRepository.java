@@ -0,0 +1,39 @@
+package com.renault.garage.domain.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port - Purge définitive des garages supprimés
+ * Chaque opération supprime un lot borné de lignes : l'appelant découpe la purge
+ * en transactions courtes plutôt qu'en une cascade unique.
+ */
+public interface GaragePurgeRepository {
+    
+    /**
+     * Garages supprimés en attente de purge, les plus anciens d'abord
+     */
+    List<UUID> findGaragesSupprimes(int limite);
+    
+    /**
+     * Nombre de garages supprimés en attente de purge
+     */
+    long countGaragesSupprimes();
+    
+    /**
+     * Supprime au plus limite accessoires des véhicules du garage
+     * @return nombre d'accessoires supprimés
+     */
+    int supprimerAccessoires(UUID garageId, int limite);
+    
+    /**
+     * Supprime au plus limite véhicules du garage (leurs accessoires doivent être purgés)
+     * @return nombre de véhicules supprimés
+     */
+    int supprimerVehicules(UUID garageId, int limite);
+    
+    /**
+     * Supprime la ligne du garage une fois ses véhicules purgés
+     */
+    void supprimerGarage(UUID garageId);
+}
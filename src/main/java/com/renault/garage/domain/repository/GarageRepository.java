@@ -2,9 +2,10 @@ package com.renault.garage.domain.repository;
 
 import com.renault.garage.domain.model.Garage;
 import com.renault.garage.domain.model.TypeCarburant;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +13,7 @@ import java.util.UUID;
 /**
  * Port - Interface du repository pour les Garages
  * Définit le contrat pour la persistance des garages (Hexagonal Architecture)
+ * Les listes et recherches sont servies par les résumés (voir GarageSummaryRepository)
  */
 public interface GarageRepository {
     
@@ -21,19 +23,20 @@ public interface GarageRepository {
     Garage save(Garage garage);
     
     /**
-     * Trouve un garage par son ID
+     * Enregistre la modification d'un garage sans réécrire ses données (ajout ou retrait
+     * d'un véhicule) : seule la date de mise à jour change, sans contrôle de version
      */
-    Optional<Garage> findById(UUID id);
+    void marquerModifie(UUID id, LocalDateTime instant);
     
     /**
-     * Récupère tous les garages avec pagination
+     * Trouve un garage par son ID
      */
-    Page<Garage> findAll(Pageable pageable);
+    Optional<Garage> findById(UUID id);
     
     /**
-     * Trouve les garages par ville
+     * Parcourt tous les garages par curseur (tri par nom puis ID), sans comptage
      */
-    List<Garage> findByVille(String ville);
+    Window<Garage> findAll(ScrollPosition position, int limit);
     
     /**
      * Trouve les garages qui contiennent des véhicules d'un type de carburant spécifique
@@ -45,6 +48,13 @@ public interface GarageRepository {
      */
     void deleteById(UUID id);
     
+    /**
+     * Supprime logiquement un garage : il disparaît aussitôt des lectures, ses véhicules
+     * et accessoires sont purgés plus tard par lots
+     * @return false si le garage n'existe pas (ou est déjà supprimé)
+     */
+    boolean marquerSupprime(UUID id);
+    
     /**
      * Vérifie si un garage existe par son ID
      */
@@ -54,9 +64,4 @@ public interface GarageRepository {
      * Compte le nombre total de garages
      */
     long count();
-    
-    /**
-     * Trouve les garages par nom (recherche partielle)
-     */
-    List<Garage> findByNameContaining(String name);
 }
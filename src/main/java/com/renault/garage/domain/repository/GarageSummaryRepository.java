@@ -0,0 +1,60 @@
+package com.renault.garage.domain.repository;
+
+import com.renault.garage.domain.model.GarageSummary;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port - Lecture des résumés de garages (table garage_summary)
+ * Une ligne par garage non supprimé, écrite par les adapters des garages, véhicules et accessoires
+ * dans la même transaction que la donnée source : les lectures n'ont ni jointure ni agrégat.
+ */
+public interface GarageSummaryRepository {
+    
+    /**
+     * Trouve le résumé d'un garage par son ID
+     */
+    Optional<GarageSummary> findById(UUID id);
+    
+    /**
+     * Récupère tous les garages avec pagination
+     */
+    Page<GarageSummary> findAll(Pageable pageable);
+    
+    /**
+     * Parcourt tous les garages par curseur (tri par nom puis ID), sans comptage
+     */
+    Window<GarageSummary> findAll(ScrollPosition position, int limit);
+    
+    /**
+     * Trouve les garages d'une ville par curseur (tri par nom puis ID)
+     */
+    Window<GarageSummary> findByVille(String ville, ScrollPosition position, int limit);
+    
+    /**
+     * Trouve les garages par nom (recherche partielle), au plus limit résultats
+     * En mode LIKE : curseur sur (nom, ID) ; en mode trigrammes : les plus similaires d'abord, curseur sur le rang
+     */
+    Window<GarageSummary> findByNameContaining(String name, ScrollPosition position, int limit);
+    
+    /**
+     * Trouve les garages ayant des véhicules d'un type de carburant donné
+     * équipés d'un accessoire dont le nom contient la chaîne fournie (insensible à la casse)
+     */
+    Slice<GarageSummary> findByTypeCarburantAndAccessoireNom(TypeCarburant typeCarburant, String accessoireNom,
+                                                             Pageable pageable);
+    
+    /**
+     * Trouve les garages d'une ville ouverts le jour et à l'heure donnés (précision au quart d'heure)
+     */
+    Slice<GarageSummary> findOuvertsA(String ville, DayOfWeek jour, LocalTime heure, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.renault.garage.domain.repository;
+
+import com.renault.garage.domain.model.ModeleVehicule;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port - Catalogue des modèles de véhicules
+ */
+public interface ModeleVehiculeRepository {
+    
+    ModeleVehicule save(ModeleVehicule modele);
+    
+    Optional<ModeleVehicule> findById(UUID id);
+    
+    /**
+     * Charge tout le catalogue (quelques centaines de modèles au plus)
+     */
+    List<ModeleVehicule> findAll();
+    
+    /**
+     * Indique si des véhicules, y compris ceux d'un garage en attente de purge, référencent le modèle
+     */
+    boolean estUtilise(UUID id);
+    
+    /**
+     * @return false si le modèle n'existe pas
+     */
+    boolean deleteById(UUID id);
+}
@@ -0,0 +1,37 @@
+package com.renault.garage.domain.repository;
+
+import com.renault.garage.domain.event.EvenementOutbox;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Port - Outbox des événements domaine
+ * Les événements sont enregistrés dans la transaction appelante (annulés avec elle) ;
+ * le relais les lit par lots dans l'ordre d'insertion et ne les supprime qu'une fois envoyés.
+ */
+public interface OutboxRepository {
+    
+    /**
+     * Enregistre un événement dans la transaction appelante
+     */
+    void ajouter(EvenementOutbox evenement);
+    
+    /**
+     * Enregistre des événements dans la transaction appelante, dans l'ordre
+     */
+    void ajouterTous(List<EvenementOutbox> evenements);
+    
+    /**
+     * Verrouille au plus limite événements, les plus anciens d'abord, les transmet à envoi
+     * puis les supprime, dans une même transaction. Une exception levée par envoi annule
+     * la transaction : les événements restent dans l'outbox pour le passage suivant.
+     * @return nombre d'événements envoyés et supprimés
+     */
+    int traiterLot(int limite, Consumer<List<EvenementOutbox>> envoi);
+    
+    /**
+     * Nombre d'événements en attente d'envoi
+     */
+    long compter();
+}
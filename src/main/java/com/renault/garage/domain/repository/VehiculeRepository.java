@@ -4,9 +4,14 @@ import com.renault.garage.domain.model.TypeCarburant;
 import com.renault.garage.domain.model.Vehicule;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,14 +25,19 @@ public interface VehiculeRepository {
     Vehicule save(Vehicule vehicule);
     
     /**
-     * Trouve un véhicule par son ID
+     * Insère des véhicules nouveaux en lot (INSERT groupés, sans lecture préalable)
      */
-    Optional<Vehicule> findById(UUID id);
+    List<Vehicule> insertAll(List<Vehicule> vehicules);
     
     /**
-     * Récupère tous les véhicules d'un garage
+     * Trouve un véhicule d'un garage par son ID
      */
-    List<Vehicule> findByGarageId(UUID garageId);
+    Optional<Vehicule> findById(UUID garageId, UUID id);
+    
+    /**
+     * Récupère les véhicules d'un garage par curseur (tri par date de création puis ID)
+     */
+    Window<Vehicule> findByGarageId(UUID garageId, ScrollPosition position, int limit);
     
     /**
      * Récupère tous les véhicules d'un garage avec pagination
@@ -35,9 +45,9 @@ public interface VehiculeRepository {
     Page<Vehicule> findByGarageId(UUID garageId, Pageable pageable);
     
     /**
-     * Trouve les véhicules par modèle
+     * Trouve les véhicules d'un modèle par curseur (tri par date de création puis ID)
      */
-    List<Vehicule> findByModeleId(UUID modeleId);
+    Window<Vehicule> findByModeleId(UUID modeleId, ScrollPosition position, int limit);
     
     /**
      * Trouve les véhicules par type de carburant
@@ -50,17 +60,27 @@ public interface VehiculeRepository {
     List<Vehicule> findByBrand(String brand);
     
     /**
-     * Supprime un véhicule par son ID
+     * Supprime un véhicule d'un garage et ses accessoires
      */
-    void deleteById(UUID id);
+    void deleteById(UUID garageId, UUID id);
     
     /**
-     * Vérifie si un véhicule existe par son ID
+     * Vérifie si un véhicule existe dans un garage
      */
-    boolean existsById(UUID id);
+    boolean existsById(UUID garageId, UUID id);
     
     /**
      * Compte le nombre de véhicules dans un garage
      */
     long countByGarageId(UUID garageId);
+    
+    /**
+     * Garage de chacun des véhicules fournis, en une requête ; les véhicules inconnus sont absents
+     */
+    Map<UUID, UUID> findGarageIdsByIds(Collection<UUID> vehiculeIds);
+    
+    /**
+     * Récupère, pour chaque garage fourni, les types de carburant de ses véhicules
+     */
+    Map<UUID, Set<TypeCarburant>> findTypesCarburantByGarageIds(Collection<UUID> garageIds);
 }
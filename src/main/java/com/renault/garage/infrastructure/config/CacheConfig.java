@@ -0,0 +1,46 @@
+package com.renault.garage.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.renault.garage.application.service.GarageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration du cache des garages
+ * Caffeine borne le cache en taille avec une admission W-TinyLFU : un garage lu une seule fois
+ * n'évince pas les garages fréquemment consultés.
+ * Les évictions sont reportées après le commit de la transaction d'écriture, pour qu'une lecture
+ * concurrente ne remette pas en cache l'état précédent avant que la modification soit visible.
+ * Statistiques exposées par Actuator (cache.gets, cache.evictions, ...)
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${garage.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${garage.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats());
+        cacheManager.setCacheNames(List.of(GarageService.GARAGES_CACHE));
+        cacheManager.setAllowNullValues(false);
+        
+        logger.info("Cache des garages: taille max={}, expiration={}", maximumSize, expireAfterWrite);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,28 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.application.service.GaragePurgeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Configuration de la purge périodique des garages supprimés
+ * garage.purge.enabled = false désactive la purge (les garages supprimés restent masqués)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "garage.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class GaragePurgeConfig {
+    
+    private final GaragePurgeService garagePurgeService;
+    
+    public GaragePurgeConfig(GaragePurgeService garagePurgeService) {
+        this.garagePurgeService = garagePurgeService;
+    }
+    
+    @Scheduled(initialDelayString = "${garage.purge.interval:PT30S}", fixedDelayString = "${garage.purge.interval:PT30S}")
+    public void purgerGaragesSupprimes() {
+        garagePurgeService.purger();
+    }
+}
@@ -0,0 +1,36 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.domain.identifiant.GenerateurIdentifiant;
+import com.renault.garage.domain.identifiant.Identifiants;
+import com.renault.garage.domain.identifiant.UuidV7Generateur;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Configuration de la génération des identifiants
+ * garage.ids.generator = uuid-v7 | uuid-v4
+ * uuid-v7 (défaut) : clés ordonnées dans le temps, insertions en fin d'index ;
+ * uuid-v4 : clés aléatoires historiques
+ */
+@Configuration
+public class IdentifiantConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IdentifiantConfig.class);
+    
+    @Bean
+    public GenerateurIdentifiant generateurIdentifiant(@Value("${garage.ids.generator:uuid-v7}") String generateur) {
+        GenerateurIdentifiant generateurIdentifiant = switch (generateur.toLowerCase()) {
+            case "uuid-v7" -> new UuidV7Generateur();
+            case "uuid-v4" -> UUID::randomUUID;
+            default -> throw new IllegalStateException("Générateur d'identifiants inconnu: " + generateur);
+        };
+        Identifiants.utiliser(generateurIdentifiant);
+        logger.info("Générateur d'identifiants: {}", generateur);
+        return generateurIdentifiant;
+    }
+}
@@ -1,8 +1,12 @@
 package com.renault.garage.infrastructure.config;
 
+import com.renault.garage.domain.event.EventTopics;
+import com.renault.garage.infrastructure.event.CodecAvroEvenements;
+import com.renault.garage.infrastructure.event.EvenementDeserializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,11 +16,17 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -32,20 +42,38 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:garage-service-group}")
     private String consumerGroupId;
     
-    public static final String VEHICULE_CREATED_TOPIC = "vehicule.created";
+    @Value("${garage.kafka.producer.profile:throughput}")
+    private String profilProducteur;
+    
+    @Value("${garage.kafka.consumer.batch.max-size:500}")
+    private int tailleMaxLot;
+    
+    @Value("${garage.kafka.consumer.batch.max-wait:500ms}")
+    private Duration attenteMaxLot;
+    
+    @Value("${garage.kafka.consumer.batch.min-bytes:65536}")
+    private int octetsMinLot;
+    
+    private final CodecAvroEvenements codecAvro;
+    
+    public KafkaConfig(CodecAvroEvenements codecAvro) {
+        this.codecAvro = codecAvro;
+    }
+    
+    public static final String VEHICULE_CREATED_TOPIC = EventTopics.VEHICULE_CREATED;
+    public static final String VEHICULE_CREATED_DLT = VEHICULE_CREATED_TOPIC + ".DLT";
+    public static final String GARAGE_EVENTS_TOPIC = EventTopics.GARAGE_EVENTS;
+    public static final String VEHICULE_EVENTS_TOPIC = EventTopics.VEHICULE_EVENTS;
+    public static final String ACCESSOIRE_EVENTS_TOPIC = EventTopics.ACCESSOIRE_EVENTS;
     
     /**
      * Configuration du Producer Kafka
      */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> config = new HashMap<>();
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        Map<String, Object> config = producerConfig(bootstrapServers, ProfilProducteur.parse(profilProducteur));
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        config.put(ProducerConfig.ACKS_CONFIG, "all");
         config.put(ProducerConfig.RETRIES_CONFIG, 3);
-        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
         config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
         
         return new DefaultKafkaProducerFactory<>(config);
@@ -56,23 +84,59 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
     
+    /**
+     * Producer du relais de l'outbox : valeurs déjà sérialisées, envoyées telles quelles
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> outboxProducerFactory() {
+        Map<String, Object> config = producerConfig(bootstrapServers, ProfilProducteur.parse(profilProducteur));
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+    
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(ProducerFactory<String, byte[]> outboxProducerFactory) {
+        return new KafkaTemplate<>(outboxProducerFactory);
+    }
+    
+    /**
+     * Configuration commune des producers, sérialiseur de valeur excepté : acks=all, idempotence
+     * (ordre conservé par partition, donc par garage), puis les réglages du profil choisi
+     */
+    public static Map<String, Object> producerConfig(String bootstrapServers, ProfilProducteur profil) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.putAll(profil.proprietes());
+        return config;
+    }
+    
     /**
      * Configuration du Consumer Kafka
+     * Valeurs JSON ou Avro, reconnues message par message (EvenementDeserializer) ; un message
+     * illisible arrive avec une valeur nulle (ErrorHandlingDeserializer)
      */
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupId);
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.renault.garage.domain.event.VehiculeCreatedEvent");
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         
-        return new DefaultKafkaConsumerFactory<>(config);
+        return consumerFactory(config);
+    }
+    
+    // Un désérialiseur par consumer
+    private ConsumerFactory<String, Object> consumerFactory(Map<String, Object> config) {
+        return new DefaultKafkaConsumerFactory<>(config, StringDeserializer::new,
+                () -> new ErrorHandlingDeserializer<>(new EvenementDeserializer(codecAvro)));
     }
     
     @Bean
@@ -81,11 +145,46 @@ public class KafkaConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setConcurrency(3); // 3 consumers en parallèle
-        factory.getContainerProperties().setAckMode(
-                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(gestionnaireErreurs());
+        return factory;
+    }
+    
+    /**
+     * Écoute par lots : au plus max-size messages par poll ; le broker attend jusqu'à max-wait
+     * d'avoir min-bytes à renvoyer. Un lot en échec est rejoué depuis le message fautif
+     * (BatchListenerFailedException), voir gestionnaireErreurs.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        Map<String, Object> config = new HashMap<>(consumerFactory().getConfigurationProperties());
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, tailleMaxLot);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) attenteMaxLot.toMillis());
+        config.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, octetsMinLot);
+        
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory(config));
+        factory.setConcurrency(3); // un consumer par partition
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(gestionnaireErreurs());
         return factory;
     }
     
+    /**
+     * Message en échec rejoué jusqu'à 3 fois, une seconde d'intervalle (un schéma Avro inconnu peut
+     * entre-temps apparaître dans le registre), puis publié sur le topic <topic>.DLT, même partition.
+     * Un message indécodable (DeserializationException) y part sans nouvel essai, avec ses octets
+     * d'origine ; les autres sont republiés en JSON.
+     */
+    private DefaultErrorHandler gestionnaireErreurs() {
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, outboxKafkaTemplate(outboxProducerFactory()));
+        templates.put(Object.class, kafkaTemplate());
+        return new DefaultErrorHandler(new DeadLetterPublishingRecoverer(templates), new FixedBackOff(1000L, 3L));
+    }
+    
     /**
      * Création automatique du topic Kafka
      */
@@ -98,4 +197,43 @@ public class KafkaConfig {
                 .config("compression.type", "snappy")
                 .build();
     }
+    
+    /**
+     * Messages de vehicule.created en échec définitif (autant de partitions que le topic d'origine)
+     */
+    @Bean
+    public NewTopic vehiculeCreatedDeadLetterTopic() {
+        return TopicBuilder.name(VEHICULE_CREATED_DLT)
+                .partitions(3)
+                .replicas(1)
+                .config("retention.ms", "1209600000") // 14 jours
+                .build();
+    }
+    
+    /**
+     * Topics du cycle de vie des garages, véhicules et accessoires (clé = garageId)
+     */
+    @Bean
+    public NewTopic garageEventsTopic() {
+        return lifecycleTopic(GARAGE_EVENTS_TOPIC);
+    }
+    
+    @Bean
+    public NewTopic vehiculeEventsTopic() {
+        return lifecycleTopic(VEHICULE_EVENTS_TOPIC);
+    }
+    
+    @Bean
+    public NewTopic accessoireEventsTopic() {
+        return lifecycleTopic(ACCESSOIRE_EVENTS_TOPIC);
+    }
+    
+    private NewTopic lifecycleTopic(String name) {
+        return TopicBuilder.name(name)
+                .partitions(3)
+                .replicas(1)
+                .config("retention.ms", "604800000") // 7 jours
+                .config("compression.type", "snappy")
+                .build();
+    }
 }
@@ -0,0 +1,35 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.application.service.ModeleVehiculeService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Configuration du chargement du catalogue des modèles
+ * Chargé au démarrage, puis rechargé périodiquement pour prendre en compte
+ * les modifications faites par les autres instances
+ */
+@Configuration
+@EnableScheduling
+public class ModeleCatalogueConfig {
+    
+    private final ModeleVehiculeService modeleVehiculeService;
+    
+    public ModeleCatalogueConfig(ModeleVehiculeService modeleVehiculeService) {
+        this.modeleVehiculeService = modeleVehiculeService;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void chargerCatalogue() {
+        modeleVehiculeService.recharger();
+    }
+    
+    @Scheduled(initialDelayString = "${garage.modeles.refresh-interval:PT5M}",
+               fixedDelayString = "${garage.modeles.refresh-interval:PT5M}")
+    public void rechargerCatalogue() {
+        modeleVehiculeService.recharger();
+    }
+}
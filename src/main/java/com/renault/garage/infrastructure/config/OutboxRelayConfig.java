@@ -0,0 +1,28 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.infrastructure.event.OutboxRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Configuration du relais périodique de l'outbox vers Kafka
+ * garage.outbox.enabled = false désactive le relais (les événements s'accumulent dans l'outbox)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "garage.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayConfig {
+    
+    private final OutboxRelay outboxRelay;
+    
+    public OutboxRelayConfig(OutboxRelay outboxRelay) {
+        this.outboxRelay = outboxRelay;
+    }
+    
+    @Scheduled(initialDelayString = "${garage.outbox.interval:PT0.2S}", fixedDelayString = "${garage.outbox.interval:PT0.2S}")
+    public void relayerOutbox() {
+        outboxRelay.relayer();
+    }
+}
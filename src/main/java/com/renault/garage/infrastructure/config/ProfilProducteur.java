@@ -0,0 +1,52 @@
+package com.renault.garage.infrastructure.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Profil de réglage des producers Kafka (garage.kafka.producer.profile)
+ * Les deux profils gardent acks=all et l'idempotence (au plus 5 requêtes en vol) : seul
+ * le regroupement des envois change, jamais la durabilité ni l'ordre par partition.
+ */
+public enum ProfilProducteur {
+    
+    /** Lots larges et compressés : un envoi attend jusqu'à 20 ms que son lot se remplisse */
+    THROUGHPUT(Map.of(
+        ProducerConfig.LINGER_MS_CONFIG, 20,
+        ProducerConfig.BATCH_SIZE_CONFIG, 262_144,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy",
+        ProducerConfig.BUFFER_MEMORY_CONFIG, 67_108_864L
+    )),
+    
+    /** Envoi immédiat, sans compression : latence minimale par événement, plus de requêtes */
+    LATENCY(Map.of(
+        ProducerConfig.LINGER_MS_CONFIG, 0,
+        ProducerConfig.BATCH_SIZE_CONFIG, 16_384,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"
+    ));
+    
+    private final Map<String, Object> proprietes;
+    
+    ProfilProducteur(Map<String, Object> proprietes) {
+        this.proprietes = proprietes;
+    }
+    
+    /**
+     * Propriétés du producer propres au profil, à ajouter à la configuration commune
+     */
+    public Map<String, Object> proprietes() {
+        return proprietes;
+    }
+    
+    /**
+     * throughput | latency
+     */
+    public static ProfilProducteur parse(String valeur) {
+        return switch (valeur.toLowerCase()) {
+            case "throughput" -> THROUGHPUT;
+            case "latency" -> LATENCY;
+            default -> throw new IllegalStateException("Profil de producer Kafka inconnu: " + valeur);
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.infrastructure.persistence.routing.LectureApresEcriture;
+import com.renault.garage.infrastructure.persistence.routing.ReplicaRoutingDataSource;
+import com.renault.garage.infrastructure.persistence.routing.Replique;
+import com.renault.garage.infrastructure.persistence.routing.StrategieReplique;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration des répliques en lecture (désactivée par défaut)
+ * garage.datasource.replicas.enabled = true : les transactions readOnly sont routées vers les URL
+ * de garage.datasource.replicas.urls (mêmes identifiants et pilote que spring.datasource)
+ */
+@Configuration
+@ConditionalOnProperty(name = "garage.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+    
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            @Value("${garage.datasource.replicas.urls}") List<String> urls,
+            @Value("${garage.datasource.replicas.strategy:round-robin}") String strategie,
+            @Value("${garage.datasource.replicas.read-your-writes-window:5s}") Duration fenetre,
+            @Value("${garage.datasource.replicas.lag-query:}") String requeteRetard,
+            @Value("${garage.datasource.replicas.max-lag:10s}") Duration retardMax,
+            @Value("${garage.datasource.replicas.check-interval:5s}") Duration intervalle,
+            @Value("${garage.datasource.replicas.connection-timeout:2s}") Duration delaiConnexion) {
+        HikariDataSource primaire = pool(properties, properties.determineUrl(), "primaire");
+        List<Replique> repliques = new ArrayList<>();
+        for (String url : urls) {
+            String nom = "replique-" + (repliques.size() + 1);
+            HikariDataSource pool = pool(properties, url, nom);
+            // Une réplique injoignable doit céder vite la place au primaire
+            pool.setConnectionTimeout(delaiConnexion.toMillis());
+            repliques.add(new Replique(nom, pool));
+        }
+        
+        ReplicaRoutingDataSource routage = new ReplicaRoutingDataSource(primaire, repliques,
+            StrategieReplique.parse(strategie), new LectureApresEcriture(fenetre), requeteRetard, retardMax);
+        routage.demarrerVerification(intervalle);
+        
+        logger.info("Répliques en lecture: {} ({}), lecture de ses écritures {}, retard max {}",
+            urls.size(), strategie, fenetre, retardMax);
+        return routage;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+    
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String nom) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .build();
+        pool.setPoolName(nom);
+        return pool;
+    }
+}
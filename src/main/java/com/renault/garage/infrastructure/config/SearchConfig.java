@@ -0,0 +1,52 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.infrastructure.persistence.adapter.SearchMode;
+import com.renault.garage.infrastructure.persistence.adapter.Sgbd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration du mode de recherche textuelle
+ * garage.search.mode = auto | like | trigram
+ * En mode auto, les index trigrammes ne sont utilisés que sur PostgreSQL avec l'extension pg_trgm installée
+ * (H2, ou une base créée sans Flyway, retombe sur LIKE)
+ */
+@Configuration
+public class SearchConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SearchConfig.class);
+    
+    @Bean
+    public SearchMode searchMode(@Value("${garage.search.mode:auto}") String mode, Sgbd sgbd, DataSource dataSource) {
+        SearchMode searchMode = switch (mode.toLowerCase()) {
+            case "like" -> SearchMode.LIKE;
+            case "trigram" -> SearchMode.TRIGRAM;
+            case "auto" -> sgbd == Sgbd.POSTGRESQL && hasTrigramExtension(dataSource) ? SearchMode.TRIGRAM : SearchMode.LIKE;
+            default -> throw new IllegalStateException("Mode de recherche inconnu: " + mode);
+        };
+        logger.info("Mode de recherche textuelle: {}", searchMode);
+        return searchMode;
+    }
+    
+    private boolean hasTrigramExtension(DataSource dataSource) {
+        try {
+            Boolean installee = new JdbcTemplate(dataSource).queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class);
+            if (!Boolean.TRUE.equals(installee)) {
+                logger.warn("Extension pg_trgm absente, recherche en mode LIKE");
+                return false;
+            }
+            return true;
+        } catch (DataAccessException e) {
+            logger.warn("Impossible de vérifier l'extension pg_trgm, recherche en mode LIKE", e);
+            return false;
+        }
+    }
+}
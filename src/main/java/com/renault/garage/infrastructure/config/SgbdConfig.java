@@ -0,0 +1,35 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.infrastructure.persistence.adapter.Sgbd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Détection du SGBD de la base principale, partagée par les composants qui ont une variante PostgreSQL
+ * Un SGBD non détecté est traité comme AUTRE : requêtes portables uniquement
+ */
+@Configuration
+public class SgbdConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SgbdConfig.class);
+    
+    @Bean
+    public Sgbd sgbd(DataSource dataSource) {
+        try {
+            String produit = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            Sgbd sgbd = "PostgreSQL".equalsIgnoreCase(produit) ? Sgbd.POSTGRESQL : Sgbd.AUTRE;
+            logger.info("SGBD détecté: {} ({})", produit, sgbd);
+            return sgbd;
+        } catch (MetaDataAccessException e) {
+            logger.warn("Impossible de détecter le SGBD, requêtes propres à PostgreSQL désactivées", e);
+            return Sgbd.AUTRE;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.renault.garage.infrastructure.config;
+
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
+import com.renault.garage.domain.repository.GaragePurgeRepository;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
+import com.renault.garage.domain.repository.ModeleVehiculeRepository;
+import com.renault.garage.domain.repository.OutboxRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import com.renault.garage.infrastructure.persistence.adapter.AccessoireRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.GarageCapaciteRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.GaragePurgeRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.GarageRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.GarageSummaryRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.ModeleVehiculeRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.OutboxRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.adapter.SearchMode;
+import com.renault.garage.infrastructure.persistence.adapter.VehiculeRepositoryAdapter;
+import com.renault.garage.infrastructure.persistence.sharding.AnneauShards;
+import com.renault.garage.infrastructure.persistence.sharding.ShardRoutingDataSource;
+import com.renault.garage.infrastructure.persistence.sharding.ShardRoutingDataSource.Shard;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedAccessoireRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedGarageCapaciteRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedGaragePurgeRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedGarageRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedGarageSummaryRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedModeleVehiculeRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedOutboxRepository;
+import com.renault.garage.infrastructure.persistence.sharding.ShardedVehiculeRepository;
+import com.renault.garage.infrastructure.persistence.sharding.Shards;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration du sharding par garage (désactivé par défaut)
+ * garage.sharding.enabled = true : spring.datasource est le shard de référence (shard-0), chaque URL
+ * de garage.sharding.urls un shard supplémentaire (mêmes identifiants et pilote). Un garage, ses
+ * véhicules, accessoires, compteur de capacité, résumé et événements en attente (outbox) vivent
+ * sur le shard désigné par l'anneau de hachage cohérent ; les repositories du domaine sont
+ * remplacés par leurs versions réparties.
+ * Les nouveaux shards s'ajoutent en fin de liste : l'ordre fixe le nom, donc la place sur l'anneau.
+ * Non combinable avec les répliques en lecture (les deux remplacent le DataSource principal).
+ */
+@Configuration
+@ConditionalOnProperty(name = "garage.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+    
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(
+            DataSourceProperties properties,
+            @Value("${garage.sharding.urls}") List<String> urls) {
+        List<Shard> shards = new ArrayList<>();
+        shards.add(shard(properties, properties.determineUrl(), 0));
+        for (String url : urls) {
+            shards.add(shard(properties, url, shards.size()));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+    
+    @Bean(destroyMethod = "close")
+    public Shards shards(ShardRoutingDataSource shardRoutingDataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${garage.sharding.virtual-nodes:128}") int noeudsVirtuels,
+                         @Value("${garage.sharding.scatter-pool-size:16}") int threadsDiffusion) {
+        List<String> noms = shardRoutingDataSource.getShards().stream().map(Shard::nom).toList();
+        logger.info("Sharding par garage: {} shards {}, {} nœuds virtuels chacun", noms.size(), noms, noeudsVirtuels);
+        return new Shards(new AnneauShards(noms, noeudsVirtuels), transactionManager, threadsDiffusion);
+    }
+    
+    /**
+     * Schéma créé par Hibernate (ddl-auto create ou create-drop, bases embarquées) : Hibernate ne
+     * l'a créé que sur le shard de référence, il est recréé ici sur chacun des autres.
+     * Sinon chaque shard reçoit les mêmes migrations Flyway.
+     */
+    @Bean
+    public SmartInitializingSingleton schemaShards(EntityManagerFactory entityManagerFactory, Shards shards) {
+        return () -> {
+            Object ddlAuto = entityManagerFactory.getProperties().get("hibernate.hbm2ddl.auto");
+            if (!Set.of("create", "create-drop").contains(String.valueOf(ddlAuto))) {
+                return;
+            }
+            var schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+            for (int shard = 1; shard < shards.getNombreShards(); shard++) {
+                shards.surShard(shard, () -> {
+                    schemaManager.dropMappedObjects(false);
+                    schemaManager.exportMappedObjects(false);
+                    return null;
+                });
+            }
+        };
+    }
+    
+    @Bean
+    @Primary
+    public GarageRepository shardedGarageRepository(GarageRepositoryAdapter adapter, Shards shards) {
+        return new ShardedGarageRepository(adapter, shards);
+    }
+    
+    @Bean
+    @Primary
+    public GarageSummaryRepository shardedGarageSummaryRepository(GarageSummaryRepositoryAdapter adapter,
+                                                                  Shards shards, SearchMode searchMode) {
+        return new ShardedGarageSummaryRepository(adapter, shards, searchMode);
+    }
+    
+    @Bean
+    @Primary
+    public VehiculeRepository shardedVehiculeRepository(VehiculeRepositoryAdapter adapter, Shards shards) {
+        return new ShardedVehiculeRepository(adapter, shards);
+    }
+    
+    @Bean
+    @Primary
+    public AccessoireRepository shardedAccessoireRepository(AccessoireRepositoryAdapter adapter,
+                                                            VehiculeRepositoryAdapter vehicules, Shards shards) {
+        return new ShardedAccessoireRepository(adapter, vehicules, shards);
+    }
+    
+    @Bean
+    @Primary
+    public GarageCapaciteRepository shardedGarageCapaciteRepository(GarageCapaciteRepositoryAdapter adapter,
+                                                                    Shards shards) {
+        return new ShardedGarageCapaciteRepository(adapter, shards);
+    }
+    
+    @Bean
+    @Primary
+    public GaragePurgeRepository shardedGaragePurgeRepository(GaragePurgeRepositoryAdapter adapter, Shards shards) {
+        return new ShardedGaragePurgeRepository(adapter, shards);
+    }
+    
+    @Bean
+    @Primary
+    public ModeleVehiculeRepository shardedModeleVehiculeRepository(ModeleVehiculeRepositoryAdapter adapter,
+                                                                    Shards shards) {
+        return new ShardedModeleVehiculeRepository(adapter, shards);
+    }
+    
+    @Bean
+    @Primary
+    public OutboxRepository shardedOutboxRepository(OutboxRepositoryAdapter adapter, Shards shards) {
+        return new ShardedOutboxRepository(adapter, shards);
+    }
+    
+    private static Shard shard(DataSourceProperties properties, String url, int index) {
+        String nom = "shard-" + index;
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .build();
+        pool.setPoolName(nom);
+        return new Shard(nom, pool);
+    }
+}
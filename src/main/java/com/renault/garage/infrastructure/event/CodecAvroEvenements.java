@@ -0,0 +1,215 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.domain.event.*;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.MissingSchemaException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Encodage binaire Avro des événements domaine (single-object encoding)
+ * Message : marqueur C3 01, empreinte du schéma d'écriture sur 8 octets (RegistreSchemas), puis
+ * les valeurs des champs, sans leurs noms : UUID sur 16 octets, entiers et dates en varint.
+ * À la lecture, le schéma d'écriture est résolu contre le schéma courant du type : champs ajoutés
+ * lus à leur valeur par défaut, champs retirés ignorés.
+ * Correspondance explicite champ par champ pour chaque type, à la manière des classes générées par
+ * avro-tools ; un type sans correspondance ou sans schéma empêche l'application de démarrer.
+ */
+@Component
+public class CodecAvroEvenements {
+    
+    private static final Schema UUID_SCHEMA = Schema.createFixed("Uuid", null, "com.renault.garage.domain.event", 16);
+    
+    private final RegistreSchemas registre;
+    private final Map<Class<?>, Schema> schemas = new HashMap<>();
+    private final Map<Class<?>, BinaryMessageEncoder<GenericRecord>> encodeurs = new HashMap<>();
+    private final Map<Class<?>, Correspondance<?>> parType = new HashMap<>();
+    private final Map<String, Correspondance<?>> parNom = new HashMap<>();
+    private final Map<String, BinaryMessageDecoder<GenericRecord>> decodeurs = new HashMap<>();
+    
+    public CodecAvroEvenements(RegistreSchemas registre) {
+        this.registre = registre;
+        for (Correspondance<?> correspondance : CORRESPONDANCES) {
+            parType.put(correspondance.type(), correspondance);
+            parNom.put(correspondance.type().getName(), correspondance);
+        }
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            if (!parType.containsKey(type)) {
+                throw new IllegalStateException("Événement domaine sans correspondance Avro: " + type.getName());
+            }
+            Schema schema = registre.courant(type.getName());
+            schemas.put(type, schema);
+            encodeurs.put(type, new BinaryMessageEncoder<>(GenericData.get(), schema));
+            decodeurs.put(type.getName(), new BinaryMessageDecoder<>(GenericData.get(), schema, registre));
+        }
+    }
+    
+    /**
+     * Vrai si les octets commencent par le marqueur Avro (un message JSON commence par '{')
+     */
+    public static boolean estAvro(byte[] donnees) {
+        return donnees != null && donnees.length >= 10 && donnees[0] == (byte) 0xC3 && donnees[1] == (byte) 0x01;
+    }
+    
+    public byte[] encoder(DomainEvent event) {
+        BinaryMessageEncoder<GenericRecord> encodeur = encodeurs.get(event.getClass());
+        if (encodeur == null) {
+            throw new IllegalArgumentException("Type d'événement non enregistré: " + event.getClass().getName());
+        }
+        GenericRecord record = new GenericData.Record(schemas.get(event.getClass()));
+        ecrire(parType.get(event.getClass()), event, record);
+        // Écriture directe dans un tampon à la taille d'un message, sans la copie de encode(record)
+        ByteArrayOutputStream message = new ByteArrayOutputStream(128);
+        try {
+            encodeur.encode(record, message);
+            return message.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Relit un message : le schéma d'écriture (empreinte de l'en-tête) désigne le type
+     * @throws MissingSchemaException si l'empreinte est inconnue du registre
+     */
+    public DomainEvent decoder(byte[] donnees) {
+        long empreinte = ByteBuffer.wrap(donnees, 2, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        Schema ecrivain = registre.findByFingerprint(empreinte);
+        if (ecrivain == null) {
+            throw new MissingSchemaException("Schéma Avro inconnu, empreinte " + Long.toHexString(empreinte));
+        }
+        BinaryMessageDecoder<GenericRecord> decodeur = decodeurs.get(ecrivain.getFullName());
+        Correspondance<?> correspondance = parNom.get(ecrivain.getFullName());
+        if (decodeur == null || correspondance == null) {
+            throw new IllegalArgumentException("Type d'événement non enregistré: " + ecrivain.getFullName());
+        }
+        try {
+            return correspondance.lire().apply(decodeur.decode(donnees));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static <E extends DomainEvent> void ecrire(Correspondance<E> correspondance, DomainEvent event,
+                                                        GenericRecord record) {
+        correspondance.ecrire().accept(correspondance.type().cast(event), record);
+    }
+    
+    /**
+     * Écriture et lecture des champs d'un type d'événement
+     * occurredOn est écrit comme en JSON ; à la lecture, les constructeurs datent l'événement
+     */
+    private record Correspondance<E extends DomainEvent>(Class<E> type,
+                                                         BiConsumer<E, GenericRecord> ecrire,
+                                                         Function<GenericRecord, E> lire) {
+    }
+    
+    private static final List<Correspondance<?>> CORRESPONDANCES = List.of(
+        new Correspondance<>(GarageCreatedEvent.class, (e, r) -> {
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("name", e.getName());
+            r.put("ville", e.getVille());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new GarageCreatedEvent(uuid(r.get("garageId")), texte(r.get("name")), texte(r.get("ville")))),
+        new Correspondance<>(GarageUpdatedEvent.class, (e, r) -> {
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("name", e.getName());
+            r.put("ville", e.getVille());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new GarageUpdatedEvent(uuid(r.get("garageId")), texte(r.get("name")), texte(r.get("ville")))),
+        new Correspondance<>(GarageDeletedEvent.class, (e, r) -> {
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new GarageDeletedEvent(uuid(r.get("garageId")))),
+        new Correspondance<>(VehiculeCreatedEvent.class, (e, r) -> {
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("brand", e.getBrand());
+            r.put("anneeFabrication", e.getAnneeFabrication());
+            r.put("typeCarburant", e.getTypeCarburant());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new VehiculeCreatedEvent(uuid(r.get("vehiculeId")), uuid(r.get("garageId")), texte(r.get("brand")),
+            (Integer) r.get("anneeFabrication"), texte(r.get("typeCarburant")))),
+        new Correspondance<>(VehiculeUpdatedEvent.class, (e, r) -> {
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("typeCarburant", e.getTypeCarburant());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new VehiculeUpdatedEvent(uuid(r.get("vehiculeId")), uuid(r.get("garageId")),
+            texte(r.get("typeCarburant")))),
+        new Correspondance<>(VehiculeDeletedEvent.class, (e, r) -> {
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new VehiculeDeletedEvent(uuid(r.get("vehiculeId")), uuid(r.get("garageId")))),
+        new Correspondance<>(AccessoireCreatedEvent.class, (e, r) -> {
+            r.put("accessoireId", uuid(e.getAccessoireId()));
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("type", e.getType());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new AccessoireCreatedEvent(uuid(r.get("accessoireId")), uuid(r.get("vehiculeId")),
+            uuid(r.get("garageId")), texte(r.get("type")))),
+        new Correspondance<>(AccessoireUpdatedEvent.class, (e, r) -> {
+            r.put("accessoireId", uuid(e.getAccessoireId()));
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("type", e.getType());
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new AccessoireUpdatedEvent(uuid(r.get("accessoireId")), uuid(r.get("vehiculeId")),
+            uuid(r.get("garageId")), texte(r.get("type")))),
+        new Correspondance<>(AccessoireDeletedEvent.class, (e, r) -> {
+            r.put("accessoireId", uuid(e.getAccessoireId()));
+            r.put("vehiculeId", uuid(e.getVehiculeId()));
+            r.put("garageId", uuid(e.getGarageId()));
+            r.put("occurredOn", micros(e.getOccurredOn()));
+        }, r -> new AccessoireDeletedEvent(uuid(r.get("accessoireId")), uuid(r.get("vehiculeId")),
+            uuid(r.get("garageId"))))
+    );
+    
+    private static GenericFixed uuid(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        ByteBuffer octets = ByteBuffer.allocate(16);
+        octets.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        return new GenericData.Fixed(UUID_SCHEMA, octets.array());
+    }
+    
+    private static UUID uuid(Object valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        ByteBuffer octets = ByteBuffer.wrap(((GenericFixed) valeur).bytes());
+        return new UUID(octets.getLong(), octets.getLong());
+    }
+    
+    private static String texte(Object valeur) {
+        return valeur != null ? valeur.toString() : null;
+    }
+    
+    private static long micros(LocalDateTime date) {
+        if (date == null) {
+            return 0L;
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + date.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,49 @@
+package com.renault.garage.infrastructure.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Désérialiseur Kafka des événements domaine, quel que soit leur format
+ * Le format est reconnu message par message (marqueur Avro ou JSON) : passer un topic de JSON
+ * à Avro, ou l'inverse, ne demande pas de vider le topic ni de redéployer les consumers ensemble.
+ * Le JSON est lu par un JsonDeserializer configuré par les propriétés du consumer.
+ */
+public class EvenementDeserializer implements Deserializer<Object> {
+    
+    private final CodecAvroEvenements codecAvro;
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+    
+    public EvenementDeserializer(CodecAvroEvenements codecAvro) {
+        this.codecAvro = codecAvro;
+    }
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+    
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (CodecAvroEvenements.estAvro(data)) {
+            return codecAvro.decoder(data);
+        }
+        return json.deserialize(topic, data);
+    }
+    
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (CodecAvroEvenements.estAvro(data)) {
+            return codecAvro.decoder(data);
+        }
+        return json.deserialize(topic, headers, data);
+    }
+    
+    @Override
+    public void close() {
+        json.close();
+    }
+}
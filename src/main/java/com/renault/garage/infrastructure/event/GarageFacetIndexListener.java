@@ -0,0 +1,98 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.application.service.GarageFacetService;
+import com.renault.garage.domain.event.GarageEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Listener - Maintien de l'index de facettes des garages
+ * Construit l'index au démarrage puis recalcule le garage concerné après chaque événement validé.
+ * Les recalculs passent par un exécuteur dédié (hors pool @Async partagé) et sont regroupés par garage :
+ * tant qu'un recalcul est en attente, les événements suivants du même garage ne planifient rien de plus.
+ */
+@Component
+public class GarageFacetIndexListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GarageFacetIndexListener.class);
+    
+    private static final int CAPACITE_FILE = 1000;
+    
+    private final GarageFacetService garageFacetService;
+    private final Executor executor;
+    private final Set<UUID> enAttente = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public GarageFacetIndexListener(GarageFacetService garageFacetService) {
+        this(garageFacetService, executeurDedie());
+    }
+    
+    GarageFacetIndexListener(GarageFacetService garageFacetService, Executor executor) {
+        this.garageFacetService = garageFacetService;
+        this.executor = executor;
+    }
+    
+    /**
+     * Un seul thread suffit (recalcul en mémoire d'un garage) ; file pleine -> recalcul dans le thread appelant
+     * plutôt qu'un rejet silencieux qui ferait dériver l'index
+     */
+    private static ThreadPoolTaskExecutor executeurDedie() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(CAPACITE_FILE);
+        executor.setThreadNamePrefix("facet-index-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        garageFacetService.rebuild();
+    }
+    
+    /**
+     * Exécuté après le commit de la transaction émettrice pour relire l'état validé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGarageEvent(GarageEvent event) {
+        UUID garageId = event.getGarageId();
+        if (!enAttente.add(garageId)) {
+            logger.debug("Mise à jour de l'index de facettes déjà planifiée pour le garage {}", garageId);
+            return;
+        }
+        executor.execute(() -> {
+            // Retiré avant la relecture : un événement validé pendant le recalcul en planifie un nouveau
+            enAttente.remove(garageId);
+            logger.debug("Mise à jour de l'index de facettes pour le garage {}", garageId);
+            try {
+                garageFacetService.refresh(garageId);
+            } catch (RuntimeException e) {
+                logger.error("Échec de la mise à jour de l'index de facettes pour le garage {}", garageId, e);
+            }
+        });
+    }
+    
+    @PreDestroy
+    void arreter() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
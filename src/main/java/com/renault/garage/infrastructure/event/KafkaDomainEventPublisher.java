@@ -1,97 +1,104 @@
 package com.renault.garage.infrastructure.event;
 
+import com.renault.garage.domain.event.DomainEvent;
 import com.renault.garage.domain.event.DomainEventPublisher;
-import com.renault.garage.infrastructure.config.KafkaConfig;
+import com.renault.garage.domain.event.EvenementOutbox;
+import com.renault.garage.domain.repository.OutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Implémentation Kafka du publisher d'événements domaine
- * Publie les événements vers les topics Kafka
+ * Implémentation Kafka du publisher d'événements domaine (outbox transactionnel)
+ * Chaque événement est sérialisé pour son topic et enregistré dans l'outbox, dans la transaction
+ * métier : il n'est publié que si elle est validée, et la requête n'attend jamais le broker.
+ * OutboxRelay l'envoie ensuite vers Kafka, octets inchangés.
+ * Topic lu dans RegistreEvenements, clé portée par l'événement : ni réflexion ni aiguillage par nom.
+ * Format choisi par topic : Avro binaire (CodecAvroEvenements) pour les topics listés dans
+ * garage.serialization.avro-topics, JSON (même JsonSerializer que le producer) pour les autres.
  */
 @Component
 public class KafkaDomainEventPublisher implements DomainEventPublisher {
     
     private static final Logger logger = LoggerFactory.getLogger(KafkaDomainEventPublisher.class);
     
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
+    private final RegistreEvenements registre;
     private final ApplicationEventPublisher applicationEventPublisher;
-
-    public KafkaDomainEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
-                                     ApplicationEventPublisher applicationEventPublisher) {
-        this.kafkaTemplate = kafkaTemplate;
+    private final JsonSerializer<Object> serializer = new JsonSerializer<>();
+    private final CodecAvroEvenements codecAvro;
+    private final Set<String> topicsAvro;
+    
+    public KafkaDomainEventPublisher(OutboxRepository outboxRepository,
+                                     RegistreEvenements registre,
+                                     ApplicationEventPublisher applicationEventPublisher,
+                                     CodecAvroEvenements codecAvro,
+                                     @Value("${garage.serialization.avro-topics:}") Set<String> topicsAvro) {
+        this.outboxRepository = outboxRepository;
+        this.registre = registre;
         this.applicationEventPublisher = applicationEventPublisher;
+        // Même configuration que la valeur du producer (KafkaConfig) : pas d'en-têtes de type
+        this.serializer.setAddTypeInfo(false);
+        this.codecAvro = codecAvro;
+        this.topicsAvro = Set.copyOf(topicsAvro);
+        if (!registre.topics().containsAll(this.topicsAvro)) {
+            throw new IllegalStateException("garage.serialization.avro-topics " + this.topicsAvro
+                + " : topics attendus parmi " + registre.topics());
+        }
     }
     
     @Override
-    public void publish(Object event) {
-        String topic = determineTopicFromEvent(event);
-        String key = extractKeyFromEvent(event);
-        
-        logger.info("📢 [KAFKA PUBLISHER] Publication de l'événement: {} vers le topic: {}", 
-                    event.getClass().getSimpleName(), topic);
+    public void publish(DomainEvent event) {
+        EvenementOutbox evenement = toOutbox(event);
+        outboxRepository.ajouter(evenement);
+        logger.info("📢 [KAFKA PUBLISHER] Événement {} enregistré pour le topic: {}",
+                    evenement.type(), evenement.topic());
         logger.debug("Détails de l'événement: {}", event);
-
-        // Publier également un événement Spring interne pour les listeners @EventListener
-        try {
-            applicationEventPublisher.publishEvent(event);
-            logger.debug("📣 Événement Spring publié: {}", event.getClass().getSimpleName());
-        } catch (Exception e) {
-            logger.warn("⚠️  Impossible de publier l'événement Spring: {}", e.getMessage());
-        }
-        
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, event);
-        
-        future.whenComplete((result, ex) -> {
-            if (ex == null) {
-                logger.info("✅ [KAFKA] Événement publié avec succès sur le topic '{}' - partition: {}, offset: {}", 
-                           topic, 
-                           result.getRecordMetadata().partition(), 
-                           result.getRecordMetadata().offset());
-            } else {
-                logger.error("❌ [KAFKA] Échec de publication de l'événement: {}", ex.getMessage(), ex);
-            }
-        });
+        publishSpringEvent(event);
     }
     
     /**
-     * Détermine le topic Kafka en fonction du type d'événement
+     * Publie un lot d'événements : enregistrés dans l'outbox en une seule opération
      */
-    private String determineTopicFromEvent(Object event) {
-        String eventClassName = event.getClass().getSimpleName();
-        
-        // Mapping des événements vers les topics
-        switch (eventClassName) {
-            case "VehiculeCreatedEvent":
-                return KafkaConfig.VEHICULE_CREATED_TOPIC;
-            default:
-                logger.warn("⚠️  Type d'événement inconnu: {}, utilisation du topic par défaut", eventClassName);
-                return "garage.events.unknown";
+    @Override
+    public void publishAll(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
         }
+        List<EvenementOutbox> evenements = events.stream().map(this::toOutbox).toList();
+        outboxRepository.ajouterTous(evenements);
+        logger.info("📢 [KAFKA PUBLISHER] Lot de {} événements enregistré", events.size());
+        events.forEach(this::publishSpringEvent);
     }
     
-    /**
-     * Extrait une clé de partitionnement de l'événement
-     * Permet de garantir l'ordre des événements pour une même clé
-     */
-    private String extractKeyFromEvent(Object event) {
-        // Pour VehiculeCreatedEvent, on utilise le garageId comme clé
-        // Tous les événements d'un même garage iront dans la même partition
-        if (event.getClass().getSimpleName().equals("VehiculeCreatedEvent")) {
-            try {
-                var method = event.getClass().getMethod("getGarageId");
-                Object garageId = method.invoke(event);
-                return garageId != null ? garageId.toString() : "unknown";
-            } catch (Exception e) {
-                logger.warn("Impossible d'extraire la clé de l'événement: {}", e.getMessage());
-            }
+    private EvenementOutbox toOutbox(DomainEvent event) {
+        String topic = registre.topic(event);
+        return new EvenementOutbox(
+            null,
+            event.getGarageId(),
+            topic,
+            event.partitionKey(),
+            event.getClass().getSimpleName(),
+            topicsAvro.contains(topic) ? codecAvro.encoder(event) : serializer.serialize(topic, event),
+            LocalDateTime.now()
+        );
+    }
+    
+    // Événement Spring interne pour les listeners @EventListener / @TransactionalEventListener
+    private void publishSpringEvent(DomainEvent event) {
+        try {
+            applicationEventPublisher.publishEvent(event);
+            logger.debug("📣 Événement Spring publié: {}", event.getClass().getSimpleName());
+        } catch (Exception e) {
+            logger.warn("⚠️  Impossible de publier l'événement Spring: {}", e.getMessage());
         }
-        return "default";
     }
 }
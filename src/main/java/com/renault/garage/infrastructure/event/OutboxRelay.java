@@ -0,0 +1,115 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.domain.event.EvenementOutbox;
+import com.renault.garage.domain.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relais de l'outbox vers Kafka
+ * Chaque lot est envoyé d'un bloc (envois asynchrones regroupés par le producer, un seul flush),
+ * dans l'ordre d'insertion, puis supprimé une fois tous les accusés reçus. Un échec annule le lot,
+ * renvoyé en entier au passage suivant : livraison au moins une fois, doublons possibles.
+ * Métriques : garage.outbox.pending (événements en attente), garage.outbox.sent (événements
+ * envoyés), garage.outbox.failures (lots en échec), garage.outbox.batch (durée d'un lot).
+ */
+@Component
+public class OutboxRelay {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final int tailleLot;
+    private final Duration delaiEnvoi;
+    
+    private final AtomicLong enAttente = new AtomicLong();
+    private final Counter envoyes;
+    private final Counter echecs;
+    private final Timer dureeLot;
+    
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${garage.outbox.batch-size:500}") int tailleLot,
+                       @Value("${garage.outbox.send-timeout:30s}") Duration delaiEnvoi) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.tailleLot = tailleLot;
+        this.delaiEnvoi = delaiEnvoi;
+        
+        Gauge.builder("garage.outbox.pending", enAttente, AtomicLong::get)
+            .description("Événements domaine en attente d'envoi vers Kafka")
+            .register(meterRegistry);
+        this.envoyes = Counter.builder("garage.outbox.sent")
+            .description("Événements domaine envoyés vers Kafka par le relais")
+            .register(meterRegistry);
+        this.echecs = Counter.builder("garage.outbox.failures")
+            .description("Lots de l'outbox dont l'envoi a échoué")
+            .register(meterRegistry);
+        this.dureeLot = Timer.builder("garage.outbox.batch")
+            .description("Durée d'envoi d'un lot de l'outbox")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Envoie les événements en attente, lot après lot, jusqu'à vider l'outbox ou rencontrer un échec
+     * @return nombre d'événements envoyés
+     */
+    public int relayer() {
+        int total = 0;
+        try {
+            int lot;
+            do {
+                lot = dureeLot.record(() -> outboxRepository.traiterLot(tailleLot, this::envoyer));
+                envoyes.increment(lot);
+                total += lot;
+            } while (lot >= tailleLot);
+            // Dernier lot incomplet : l'outbox était vide, pas de comptage à chaque passage
+            enAttente.set(0);
+        } catch (RuntimeException e) {
+            echecs.increment();
+            logger.warn("⚠️  [OUTBOX] Envoi interrompu après {} événements, nouvel essai au prochain passage: {}",
+                total, e.getMessage());
+            enAttente.set(outboxRepository.compter());
+        }
+        if (total > 0) {
+            logger.debug("📤 [OUTBOX] {} événements envoyés vers Kafka", total);
+        }
+        return total;
+    }
+    
+    private void envoyer(List<EvenementOutbox> lot) {
+        CompletableFuture<?>[] envois = lot.stream()
+            .map(evenement -> kafkaTemplate.send(evenement.topic(), evenement.cle(), evenement.payload()))
+            .toArray(CompletableFuture[]::new);
+        kafkaTemplate.flush();
+        try {
+            CompletableFuture.allOf(envois).get(delaiEnvoi.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new KafkaException("Échec d'envoi d'un lot de " + lot.size() + " événements", e.getCause());
+        } catch (TimeoutException e) {
+            throw new KafkaException("Lot de " + lot.size() + " événements non acquitté après " + delaiEnvoi, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Envoi d'un lot d'événements interrompu", e);
+        }
+    }
+}
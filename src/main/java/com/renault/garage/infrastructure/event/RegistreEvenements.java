@@ -0,0 +1,65 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.domain.event.DomainEvent;
+import com.renault.garage.domain.event.Topic;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registre des types d'événements domaine et de leur topic
+ * Construit au démarrage à partir des classes permises par DomainEvent : une classe sans @Topic,
+ * ou dont le topic n'est pas déclaré (beans NewTopic de KafkaConfig), empêche l'application
+ * de démarrer. À la publication, le topic est une simple lecture dans une table par classe.
+ */
+@Component
+public class RegistreEvenements {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RegistreEvenements.class);
+    
+    private final Map<Class<?>, String> topics;
+    
+    public RegistreEvenements(Collection<NewTopic> topicsDeclares) {
+        Set<String> declares = topicsDeclares.stream().map(NewTopic::name).collect(Collectors.toSet());
+        Map<Class<?>, String> parType = new HashMap<>();
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            Topic topic = type.getAnnotation(Topic.class);
+            if (topic == null) {
+                throw new IllegalStateException("Événement domaine sans @Topic: " + type.getName());
+            }
+            if (!declares.contains(topic.value())) {
+                throw new IllegalStateException("Topic '" + topic.value() + "' de " + type.getSimpleName()
+                    + " non déclaré parmi " + declares);
+            }
+            parType.put(type, topic.value());
+        }
+        this.topics = Map.copyOf(parType);
+        logger.info("📚 {} types d'événements domaine enregistrés sur {} topics",
+            topics.size(), Set.copyOf(topics.values()).size());
+    }
+    
+    /**
+     * Topic de l'événement, résolu au démarrage pour sa classe
+     */
+    public String topic(DomainEvent event) {
+        String topic = topics.get(event.getClass());
+        if (topic == null) {
+            throw new IllegalArgumentException("Type d'événement non enregistré: " + event.getClass().getName());
+        }
+        return topic;
+    }
+    
+    /**
+     * Topics sur lesquels au moins un type d'événement est publié
+     */
+    public Set<String> topics() {
+        return Set.copyOf(topics.values());
+    }
+}
@@ -0,0 +1,207 @@
+package com.renault.garage.infrastructure.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Registre local des schémas Avro des événements domaine (tient lieu de schema registry, sans réseau)
+ * Un schéma est identifié par son empreinte (CRC-64-AVRO de sa forme canonique), écrite en tête de
+ * chaque message : toute instance qui connaît le schéma d'écriture relit le message, sans
+ * identifiant attribué par un serveur. Sources :
+ * - classpath:avro/Type-vN.avsc, versions livrées avec l'application (la plus haute est le schéma
+ *   courant du type, utilisé en écriture et en lecture) ;
+ * - si garage.serialization.registry.path est renseigné, les fichiers .avsc de ce répertoire,
+ *   partagé entre instances : les schémas livrés y sont ajoutés au démarrage, et une instance plus
+ *   ancienne y trouve les schémas plus récents dont elle doit relire les messages.
+ * Règle d'évolution (FULL_TRANSITIVE) : chaque version d'un type lit les données de toutes les
+ * autres et inversement, soit en pratique ajout ou retrait de champs ayant une valeur par défaut.
+ * Un schéma incompatible empêche l'application de démarrer.
+ */
+@Component
+public class RegistreSchemas implements SchemaStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RegistreSchemas.class);
+    
+    private static final Pattern VERSION = Pattern.compile("(.+)-v(\\d+)\\.avsc");
+    
+    private final Path repertoire;
+    private final Map<Long, Schema> parEmpreinte = new ConcurrentHashMap<>();
+    private final Map<String, List<Schema>> versions = new HashMap<>();
+    private final Map<String, Schema> courants = new HashMap<>();
+    
+    public RegistreSchemas(@Value("${garage.serialization.registry.path:}") String repertoire) {
+        this.repertoire = repertoire.isBlank() ? null : Path.of(repertoire);
+        if (this.repertoire != null) {
+            chargerRepertoire();
+        }
+        chargerClasspath();
+        logger.info("📚 {} schémas Avro enregistrés pour {} types d'événements{}", parEmpreinte.size(),
+            versions.size(), this.repertoire != null ? " (répertoire " + this.repertoire + ")" : "");
+    }
+    
+    /**
+     * Enregistre un schéma s'il est nouveau, après vérification de la règle d'évolution
+     * @return l'empreinte du schéma
+     * @throws IllegalStateException si le schéma est incompatible avec une version du même type
+     */
+    public long enregistrer(Schema schema) {
+        return enregistrer(schema, true);
+    }
+    
+    // Les schémas lus dans le répertoire n'y sont pas réécrits
+    private synchronized long enregistrer(Schema schema, boolean ecrire) {
+        long empreinte = SchemaNormalization.parsingFingerprint64(schema);
+        if (parEmpreinte.containsKey(empreinte)) {
+            return empreinte;
+        }
+        List<Schema> precedentes = versions.computeIfAbsent(schema.getFullName(), nom -> new ArrayList<>());
+        for (Schema precedente : precedentes) {
+            verifierLecture(schema, precedente);
+            verifierLecture(precedente, schema);
+        }
+        precedentes.add(schema);
+        parEmpreinte.put(empreinte, schema);
+        if (ecrire) {
+            ecrire(schema, empreinte);
+        }
+        return empreinte;
+    }
+    
+    /**
+     * Schéma courant du type (dernière version livrée)
+     */
+    public Schema courant(String nomComplet) {
+        Schema schema = courants.get(nomComplet);
+        if (schema == null) {
+            throw new IllegalArgumentException("Aucun schéma Avro livré pour " + nomComplet);
+        }
+        return schema;
+    }
+    
+    /**
+     * Schéma d'écriture d'un message ; une empreinte inconnue relance la lecture du répertoire partagé
+     * (schéma publié depuis le démarrage par une instance plus récente) avant de conclure à son absence
+     * @return le schéma, ou null s'il reste inconnu
+     */
+    @Override
+    public Schema findByFingerprint(long empreinte) {
+        Schema schema = parEmpreinte.get(empreinte);
+        if (schema == null && repertoire != null) {
+            relireRepertoire(empreinte);
+            schema = parEmpreinte.get(empreinte);
+        }
+        return schema;
+    }
+    
+    private static void verifierLecture(Schema lecteur, Schema ecrivain) {
+        SchemaCompatibility.SchemaPairCompatibility compatibilite =
+            SchemaCompatibility.checkReaderWriterCompatibility(lecteur, ecrivain);
+        if (compatibilite.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+            throw new IllegalStateException("Schéma Avro " + lecteur.getFullName()
+                + " incompatible avec une version déjà enregistrée: " + compatibilite.getDescription());
+        }
+    }
+    
+    private void chargerClasspath() {
+        try {
+            Resource[] fichiers = new PathMatchingResourcePatternResolver().getResources("classpath*:avro/*.avsc");
+            List<Resource> tries = Stream.of(fichiers)
+                .filter(fichier -> fichier.getFilename() != null && VERSION.matcher(fichier.getFilename()).matches())
+                .sorted(Comparator.comparingInt(RegistreSchemas::version))
+                .toList();
+            for (Resource fichier : tries) {
+                Schema schema;
+                try (InputStream contenu = fichier.getInputStream()) {
+                    schema = new Schema.Parser().parse(contenu);
+                }
+                enregistrer(schema);
+                // Versions triées : la dernière lue est la version courante
+                courants.put(schema.getFullName(), schema);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture des schémas Avro livrés impossible", e);
+        }
+    }
+    
+    private void chargerRepertoire() {
+        try {
+            Files.createDirectories(repertoire);
+            try (Stream<Path> fichiers = Files.list(repertoire)) {
+                for (Path fichier : fichiers.filter(f -> f.toString().endsWith(".avsc")).sorted().toList()) {
+                    enregistrer(new Schema.Parser().parse(fichier.toFile()), false);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture du registre de schémas " + repertoire + " impossible", e);
+        }
+    }
+    
+    // Mêmes fichiers qu'au démarrage ; un fichier illisible ou incompatible n'empêche pas de lire les autres
+    private void relireRepertoire(long empreinte) {
+        List<Path> candidats;
+        try (Stream<Path> fichiers = Files.list(repertoire)) {
+            candidats = fichiers.filter(f -> f.toString().endsWith(".avsc")).sorted().toList();
+        } catch (IOException e) {
+            logger.warn("⚠️  Relecture du registre de schémas {} impossible pour l'empreinte {}: {}",
+                repertoire, Long.toHexString(empreinte), e.getMessage());
+            return;
+        }
+        for (Path fichier : candidats) {
+            try {
+                Schema schema = new Schema.Parser().parse(fichier.toFile());
+                if (!parEmpreinte.containsKey(SchemaNormalization.parsingFingerprint64(schema))) {
+                    enregistrer(schema, false);
+                    logger.info("📚 Schéma Avro {} chargé depuis {}", schema.getFullName(), fichier);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("⚠️  Schéma Avro {} ignoré: {}", fichier, e.getMessage());
+            }
+        }
+    }
+    
+    // Un fichier par schéma, nommé d'après son empreinte : écrit une seule fois, par déplacement atomique
+    private void ecrire(Schema schema, long empreinte) {
+        if (repertoire == null) {
+            return;
+        }
+        Path cible = repertoire.resolve(schema.getFullName() + "-" + Long.toHexString(empreinte) + ".avsc");
+        if (Files.exists(cible)) {
+            return;
+        }
+        try {
+            Path temporaire = Files.createTempFile(repertoire, schema.getName(), ".tmp");
+            Files.writeString(temporaire, schema.toString(true));
+            Files.move(temporaire, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Écriture du schéma " + schema.getFullName() + " impossible", e);
+        }
+    }
+    
+    private static int version(Resource fichier) {
+        Matcher matcher = VERSION.matcher(fichier.getFilename());
+        return matcher.matches() ? Integer.parseInt(matcher.group(2)) : 0;
+    }
+}
@@ -2,23 +2,36 @@ package com.renault.garage.infrastructure.event;
 
 import com.renault.garage.domain.event.VehiculeCreatedEvent;
 import com.renault.garage.infrastructure.config.KafkaConfig;
+import org.apache.avro.message.MissingSchemaException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Consumer Kafka des événements de véhicule
  * Écoute le topic Kafka et traite les événements de manière asynchrone
+ * garage.kafka.consumer.mode choisit l'écoute par lots (batch, défaut) ou message par message (record)
  */
 @Component
 public class VehiculeKafkaConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(VehiculeKafkaConsumer.class);
+    private static final LogAccessor logAccessor = new LogAccessor(VehiculeKafkaConsumer.class);
     
     /**
      * Consomme les événements de création de véhicule depuis Kafka
@@ -29,9 +42,11 @@ public class VehiculeKafkaConsumer {
      * @param acknowledgment Pour l'acquittement manuel
      */
     @KafkaListener(
+        id = "vehicule-created-record",
         topics = KafkaConfig.VEHICULE_CREATED_TOPIC,
         groupId = "${spring.kafka.consumer.group-id:garage-service-group}",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{'${garage.kafka.consumer.mode:batch}' == 'record'}"
     )
     public void onVehiculeCreated(
             @Payload VehiculeCreatedEvent event,
@@ -57,7 +72,7 @@ public class VehiculeKafkaConsumer {
                 acknowledgment.acknowledge();
                 logger.debug("✅ Message acquitté - partition: {}, offset: {}", partition, offset);
             }
-            
+        
         } catch (Exception e) {
             logger.error("❌ [KAFKA CONSUMER] Erreur lors du traitement de l'événement: {}", 
                         e.getMessage(), e);
@@ -67,6 +82,95 @@ public class VehiculeKafkaConsumer {
         }
     }
     
+    /**
+     * Consomme les événements de création de véhicule par lots (au plus garage.kafka.consumer.batch.max-size)
+     * Synchronisation puis notification sont faites véhicule par véhicule, statistiques et indexation
+     * une fois pour le lot. La notification n'est envoyée qu'une fois la synchronisation réussie :
+     * un message rejoué après un échec de synchronisation ne notifie pas deux fois.
+     * Un seul acquittement par lot. Un échec sur le message i, de traitement ou de lecture, termine
+     * le lot pour les messages précédents puis lève BatchListenerFailedException(i) : le gestionnaire
+     * d'erreurs commite les offsets avant i et rejoue le lot à partir de i, puis publie le message
+     * sur le topic DLT (KafkaConfig). Un schéma Avro inconnu est rejoué (le registre est relu à chaque
+     * lecture) ; un message corrompu part directement sur le DLT.
+     * Un échec des statistiques ou de l'indexation du lot est journalisé sans changer cette issue :
+     * les messages concernés sont déjà synchronisés et notifiés, les rejouer notifierait deux fois.
+     * 
+     * @param records Les messages du lot, dans l'ordre des partitions
+     * @param acknowledgment Pour l'acquittement manuel du lot
+     */
+    @KafkaListener(
+        id = "vehicule-created-batch",
+        topics = KafkaConfig.VEHICULE_CREATED_TOPIC,
+        groupId = "${spring.kafka.consumer.group-id:garage-service-group}",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        autoStartup = "#{'${garage.kafka.consumer.mode:batch}' == 'batch'}"
+    )
+    public void onVehiculesCreated(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        List<VehiculeCreatedEvent> traites = new ArrayList<>(records.size());
+        
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Object> record = records.get(i);
+            if (!(record.value() instanceof VehiculeCreatedEvent event)) {
+                logger.error("❌ [KAFKA CONSUMER] Message illisible {}/{} - partition: {}, offset: {}",
+                            i + 1, records.size(), record.partition(), record.offset());
+                terminerLot(traites);
+                throw new BatchListenerFailedException("Message illisible", causeIllisible(record), i);
+            }
+            try {
+                logger.debug("🚗 [KAFKA CONSUMER] {} - partition: {}, offset: {}",
+                            event, record.partition(), record.offset());
+                syncWithExternalSystem(event);
+                sendNotification(event);
+                traites.add(event);
+            } catch (RuntimeException e) {
+                logger.error("❌ [KAFKA CONSUMER] Échec du message {}/{} (partition: {}, offset: {}): {}",
+                            i + 1, records.size(), record.partition(), record.offset(), e.getMessage(), e);
+                // Les messages précédents sont traités jusqu'au bout avant que leurs offsets soient commités
+                terminerLot(traites);
+                throw new BatchListenerFailedException("Erreur de traitement de l'événement", e, i);
+            }
+        }
+        
+        terminerLot(traites);
+        if (acknowledgment != null) {
+            acknowledgment.acknowledge();
+        }
+        logger.info("✅ [KAFKA CONSUMER] Lot de {} véhicules traité", traites.size());
+    }
+    
+    /**
+     * Valeur nulle : échec de désérialisation signalé par ErrorHandlingDeserializer dans l'en-tête.
+     * Un schéma inconnu est renvoyé seul pour que le gestionnaire d'erreurs rejoue le message ;
+     * DeserializationException et ClassCastException ne sont pas rejouées.
+     */
+    private static RuntimeException causeIllisible(ConsumerRecord<String, Object> record) {
+        DeserializationException echec = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, logAccessor);
+        if (echec == null) {
+            String type = record.value() == null ? "null" : record.value().getClass().getName();
+            return new ClassCastException("VehiculeCreatedEvent attendu, reçu " + type);
+        }
+        if (echec.getCause() instanceof MissingSchemaException schemaInconnu) {
+            return schemaInconnu;
+        }
+        return echec;
+    }
+    
+    // Étapes traitées une fois par lot, sans effet sur l'acquittement ni sur le rejeu des messages
+    private void terminerLot(List<VehiculeCreatedEvent> traites) {
+        if (traites.isEmpty()) {
+            return;
+        }
+        try {
+            updateStatistics(traites);
+            indexVehicules(traites);
+        } catch (RuntimeException e) {
+            logger.error("❌ [KAFKA CONSUMER] Statistiques ou indexation non mises à jour pour {} véhicules {}: {}",
+                        traites.size(), traites.stream().map(VehiculeCreatedEvent::getVehiculeId).toList(),
+                        e.getMessage(), e);
+        }
+    }
+    
     /**
      * Traite la création du véhicule
      * Exemples de traitements possibles :
@@ -94,15 +198,15 @@ public class VehiculeKafkaConsumer {
             
             logger.info("✅ [KAFKA] Événement traité avec succès pour le véhicule {}", 
                        event.getVehiculeId());
-            
+        
         } catch (Exception e) {
             logger.error("❌ Erreur lors du traitement métier: {}", e.getMessage(), e);
             throw e; // Relance l'exception pour déclencher le retry Kafka
         }
     }
     
-    private void sendNotification(VehiculeCreatedEvent event) {
-        logger.info("📧 [Notification] Envoi d'email pour le nouveau véhicule {} dans le garage {}", 
+    void sendNotification(VehiculeCreatedEvent event) {
+        logger.debug("📧 [Notification] Envoi d'email pour le nouveau véhicule {} dans le garage {}", 
                     event.getBrand(), event.getGarageId());
         // Implémentation de l'envoi de notification
         // Ex: emailService.send(...)
@@ -115,8 +219,8 @@ public class VehiculeKafkaConsumer {
         // Ex: statisticsService.incrementVehicleCount(...)
     }
     
-    private void syncWithExternalSystem(VehiculeCreatedEvent event) {
-        logger.info("🔄 [Synchronisation] Mise à jour du système externe pour le véhicule {}", 
+    void syncWithExternalSystem(VehiculeCreatedEvent event) {
+        logger.debug("🔄 [Synchronisation] Mise à jour du système externe pour le véhicule {}", 
                     event.getVehiculeId());
         // Implémentation de la synchronisation
         // Ex: externalSystemClient.syncVehicule(...)
@@ -128,4 +232,18 @@ public class VehiculeKafkaConsumer {
         // Implémentation de l'indexation
         // Ex: elasticsearchService.index(...)
     }
+    
+    void updateStatistics(List<VehiculeCreatedEvent> events) {
+        Map<String, Integer> parCarburant = new TreeMap<>();
+        events.forEach(event -> parCarburant.merge(event.getTypeCarburant(), 1, Integer::sum));
+        logger.info("📊 [Statistiques] Mise à jour: +{} véhicules {}", events.size(), parCarburant);
+        // Une seule mise à jour des stats pour le lot
+        // Ex: statisticsService.incrementVehicleCounts(...)
+    }
+    
+    void indexVehicules(List<VehiculeCreatedEvent> events) {
+        logger.info("🔍 [Indexation] Indexation groupée de {} véhicules dans Elasticsearch", events.size());
+        // Une seule requête d'indexation pour le lot
+        // Ex: elasticsearchService.bulkIndex(...)
+    }
 }
@@ -6,53 +6,116 @@ import com.renault.garage.domain.repository.AccessoireRepository;
 import com.renault.garage.infrastructure.persistence.entity.TypeAccessoireEntity;
 import com.renault.garage.infrastructure.persistence.jpa.AccessoireJpaEntity;
 import com.renault.garage.infrastructure.persistence.jpa.SpringDataAccessoireRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageSummaryRepository;
 import com.renault.garage.infrastructure.persistence.jpa.SpringDataVehiculeRepository;
-import com.renault.garage.infrastructure.persistence.jpa.VehiculeJpaEntity;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.math.BigDecimal;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Adapter - Implémentation du AccessoireRepository utilisant JPA
+ * Le nombre et la valeur des accessoires du résumé du garage (garage_summary) sont ajustés dans
+ * la même transaction
  */
 @Component
 public class AccessoireRepositoryAdapter implements AccessoireRepository {
     
     private final SpringDataAccessoireRepository jpaRepository;
     private final SpringDataVehiculeRepository vehiculeRepository;
+    private final SpringDataGarageSummaryRepository summaryRepository;
     
     public AccessoireRepositoryAdapter(
             SpringDataAccessoireRepository jpaRepository,
-            SpringDataVehiculeRepository vehiculeRepository) {
+            SpringDataVehiculeRepository vehiculeRepository,
+            SpringDataGarageSummaryRepository summaryRepository) {
         this.jpaRepository = jpaRepository;
         this.vehiculeRepository = vehiculeRepository;
+        this.summaryRepository = summaryRepository;
     }
     
     @Override
+    @Transactional
     public Accessoire save(Accessoire accessoire) {
+        // Prix enregistré avant la mise à jour : accessoire déjà chargé -> lu dans le contexte de persistance,
+        // sinon relu sur la seule partition du véhicule (jamais par ID seul, qui parcourt toutes les partitions)
+        AccessoireJpaEntity charge = jpaRepository.getReferenceById(accessoire.getId());
+        BigDecimal ancienPrix = Hibernate.isInitialized(charge)
+            ? charge.getPrix()
+            : jpaRepository.findByVehicule_IdAndId(accessoire.getVehiculeId(), accessoire.getId())
+                .map(AccessoireJpaEntity::getPrix)
+                .orElse(null);
+        if (ancienPrix == null) {
+            return insert(accessoire);
+        }
+        AccessoireJpaEntity saved = jpaRepository.save(toEntity(accessoire));
+        if (ancienPrix.compareTo(saved.getPrix()) != 0) {
+            summaryRepository.ajusterAccessoiresDuVehicule(accessoire.getVehiculeId(), 0,
+                saved.getPrix().subtract(ancienPrix));
+        }
+        return toDomain(saved);
+    }
+    
+    @Override
+    @Transactional
+    public Accessoire insert(Accessoire accessoire) {
         AccessoireJpaEntity entity = toEntity(accessoire);
+        entity.marquerNouveau();
         AccessoireJpaEntity saved = jpaRepository.save(entity);
+        summaryRepository.ajusterAccessoiresDuVehicule(accessoire.getVehiculeId(), 1, saved.getPrix());
         return toDomain(saved);
     }
     
     @Override
-    public Optional<Accessoire> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
+    @Transactional
+    public void insertAll(List<Accessoire> accessoires) {
+        if (accessoires.isEmpty()) {
+            return;
+        }
+        List<AccessoireJpaEntity> entities = accessoires.stream()
+            .map(this::toEntity)
+            .toList();
+        entities.forEach(AccessoireJpaEntity::marquerNouveau);
+        jpaRepository.saveAll(entities);
+        
+        // Un UPDATE du résumé par garage pour tout le lot
+        Map<UUID, UUID> garages = vehiculeRepository.findGarageIdsByIdIn(
+                accessoires.stream().map(Accessoire::getVehiculeId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(
+                SpringDataVehiculeRepository.VehiculeGarage::getVehiculeId,
+                SpringDataVehiculeRepository.VehiculeGarage::getGarageId));
+        accessoires.stream()
+            .collect(Collectors.groupingBy(a -> garages.get(a.getVehiculeId())))
+            .forEach((garageId, duGarage) -> summaryRepository.ajusterAccessoires(garageId, duGarage.size(),
+                duGarage.stream().map(Accessoire::getPrix).reduce(BigDecimal.ZERO, BigDecimal::add)));
+    }
+    
+    @Override
+    public Optional<Accessoire> findById(UUID vehiculeId, UUID id) {
+        return jpaRepository.findByVehicule_IdAndId(vehiculeId, id).map(this::toDomain);
     }
     
     @Override
     public List<Accessoire> findByVehiculeId(UUID vehiculeId) {
-        VehiculeJpaEntity vehicule = vehiculeRepository.findById(vehiculeId)
-                .orElseThrow(() -> new IllegalArgumentException("Vehicule not found: " + vehiculeId));
-        return jpaRepository.findByVehicule(vehicule)
+        return jpaRepository.findByVehicule_Id(vehiculeId)
             .stream()
             .map(this::toDomain)
             .collect(Collectors.toList());
     }
     
+    @Override
+    public Window<Accessoire> findByVehiculeId(UUID vehiculeId, ScrollPosition position, int limit) {
+        return jpaRepository.findByVehicule_IdOrderByCreatedAtAscIdAsc(vehiculeId, position, Limit.of(limit))
+            .map(this::toDomain);
+    }
+    
     @Override
     public List<Accessoire> findByType(TypeAccessoire type) {
         TypeAccessoireEntity entityType = toEntityType(type);
@@ -63,20 +126,28 @@ public class AccessoireRepositoryAdapter implements AccessoireRepository {
     }
     
     @Override
-    public void deleteById(UUID id) {
-        jpaRepository.deleteById(id);
+    @Transactional
+    public boolean deleteById(UUID vehiculeId, UUID id) {
+        summaryRepository.retirerAccessoire(vehiculeId, id);
+        return jpaRepository.supprimer(vehiculeId, id) > 0;
     }
     
     @Override
-    public boolean existsById(UUID id) {
-        return jpaRepository.existsById(id);
+    public long countByVehiculeId(UUID vehiculeId) {
+        return jpaRepository.countByVehicule_Id(vehiculeId);
     }
     
     @Override
-    public long countByVehiculeId(UUID vehiculeId) {
-        VehiculeJpaEntity vehicule = vehiculeRepository.findById(vehiculeId)
-                .orElseThrow(() -> new IllegalArgumentException("Vehicule not found: " + vehiculeId));
-        return jpaRepository.countByVehicule(vehicule);
+    public Map<UUID, Set<TypeAccessoire>> findTypesAccessoireByGarageIds(Collection<UUID> garageIds) {
+        if (garageIds.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findTypesAccessoireByGarageIdIn(garageIds)
+            .stream()
+            .collect(Collectors.groupingBy(
+                SpringDataAccessoireRepository.GarageTypeAccessoire::getGarageId,
+                Collectors.mapping(ligne -> toDomainType(ligne.getType()),
+                    Collectors.toCollection(() -> EnumSet.noneOf(TypeAccessoire.class)))));
     }
     
     // Conversion Entity -> Domain
@@ -89,6 +160,7 @@ public class AccessoireRepositoryAdapter implements AccessoireRepository {
         );
         
         accessoire.setId(entity.getId());
+        // L'ID d'un proxy est lu sans l'initialiser
         accessoire.setVehiculeId(entity.getVehicule().getId());
         accessoire.setCreatedAt(entity.getCreatedAt());
         
@@ -99,12 +171,8 @@ public class AccessoireRepositoryAdapter implements AccessoireRepository {
     private AccessoireJpaEntity toEntity(Accessoire accessoire) {
         AccessoireJpaEntity entity = new AccessoireJpaEntity();
         entity.setId(accessoire.getId());
-        
-        // Charger le VehiculeJpaEntity
-        VehiculeJpaEntity vehicule = vehiculeRepository.findById(accessoire.getVehiculeId())
-                .orElseThrow(() -> new IllegalArgumentException("Vehicule not found: " + accessoire.getVehiculeId()));
-        entity.setVehicule(vehicule);
-        
+        // Référence (proxy) : seule la clé étrangère est utile, le véhicule n'est pas chargé
+        entity.setVehicule(vehiculeRepository.getReferenceById(accessoire.getVehiculeId()));
         entity.setNom(accessoire.getNom());
         entity.setDescription(accessoire.getDescription());
         entity.setPrix(accessoire.getPrix());
@@ -0,0 +1,63 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.model.OpeningTime;
+import com.renault.garage.infrastructure.persistence.jpa.CreneauxHebdomadaires;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodage des horaires d'ouverture en bitmap de quarts d'heure (voir CreneauxHebdomadaires)
+ * Un quart d'heure n'est marqué ouvert que s'il est entièrement couvert par un créneau :
+ * un garage ouvert de 08:10 à 12:05 est considéré ouvert de 08:15 à 12:00.
+ * Une fermeture à 23:59 (LocalTime ne représente pas 24:00) vaut fin de journée.
+ */
+final class CreneauxCodec {
+    
+    static final int MINUTES_PAR_CRENEAU = 15;
+    static final int CRENEAUX_PAR_JOUR = 24 * 60 / MINUTES_PAR_CRENEAU;
+    private static final int DERNIERE_MINUTE = 24 * 60 - 1;
+    
+    private CreneauxCodec() {}
+    
+    static CreneauxHebdomadaires encoder(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        long[] mots = new long[CreneauxHebdomadaires.MOTS];
+        horaires.forEach((jour, creneaux) -> {
+            for (OpeningTime ot : creneaux) {
+                // Premier quart commençant à ou après l'ouverture, premier quart non terminé à la fermeture
+                int premier = (minutes(ot.startTime()) + MINUTES_PAR_CRENEAU - 1) / MINUTES_PAR_CRENEAU;
+                int fermeture = minutes(ot.endTime());
+                int fin = fermeture >= DERNIERE_MINUTE ? CRENEAUX_PAR_JOUR : fermeture / MINUTES_PAR_CRENEAU;
+                for (int n = premier; n < fin; n++) {
+                    int bit = index(jour, n);
+                    mots[bit >>> 6] |= 1L << (bit & 63);
+                }
+            }
+        });
+        return CreneauxHebdomadaires.of(mots);
+    }
+    
+    /**
+     * Rang du mot contenant le quart d'heure de l'instant donné
+     */
+    static int mot(DayOfWeek jour, LocalTime heure) {
+        return index(jour, minutes(heure) / MINUTES_PAR_CRENEAU) >>> 6;
+    }
+    
+    /**
+     * Masque du quart d'heure de l'instant donné dans son mot
+     */
+    static long masque(DayOfWeek jour, LocalTime heure) {
+        return 1L << (index(jour, minutes(heure) / MINUTES_PAR_CRENEAU) & 63);
+    }
+    
+    private static int index(DayOfWeek jour, int creneau) {
+        return (jour.getValue() - 1) * CRENEAUX_PAR_JOUR + creneau;
+    }
+    
+    private static int minutes(LocalTime heure) {
+        return heure.getHour() * 60 + heure.getMinute();
+    }
+}
@@ -0,0 +1,61 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageCapaciteRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Adapter - Implémentation du GarageCapaciteRepository utilisant JPA
+ * Une réservation est un unique UPDATE conditionnel : seule la ligne du garage concerné
+ * est verrouillée, jusqu'à la fin de la transaction appelante. Les garages antérieurs à la
+ * table des compteurs reçoivent leur ligne à la première réservation.
+ * Sur PostgreSQL, la création du compteur est un INSERT ... ON CONFLICT DO NOTHING : deux premières
+ * réservations concurrentes ne se heurtent pas sur la clé primaire.
+ */
+@Component
+public class GarageCapaciteRepositoryAdapter implements GarageCapaciteRepository {
+    
+    private final SpringDataGarageCapaciteRepository jpaRepository;
+    private final boolean insertionSansConflit;
+    
+    public GarageCapaciteRepositoryAdapter(SpringDataGarageCapaciteRepository jpaRepository, Sgbd sgbd) {
+        this.jpaRepository = jpaRepository;
+        this.insertionSansConflit = sgbd == Sgbd.POSTGRESQL;
+    }
+    
+    @Override
+    public void initialiser(UUID garageId) {
+        creerCompteur(garageId);
+    }
+    
+    @Override
+    public boolean reserver(UUID garageId, int nombre, int capaciteMax) {
+        if (jpaRepository.reserver(garageId, nombre, capaciteMax) == 1) {
+            return true;
+        }
+        // Aucune ligne modifiée : garage plein, ou compteur pas encore créé (éventuellement par
+        // une transaction concurrente, d'où la nouvelle tentative quel que soit le résultat de la création)
+        creerCompteur(garageId);
+        return jpaRepository.reserver(garageId, nombre, capaciteMax) == 1;
+    }
+    
+    @Override
+    public void liberer(UUID garageId, int nombre) {
+        jpaRepository.liberer(garageId, nombre);
+    }
+    
+    @Override
+    public void supprimer(UUID garageId) {
+        jpaRepository.supprimer(garageId);
+    }
+    
+    private void creerCompteur(UUID garageId) {
+        if (insertionSansConflit) {
+            jpaRepository.initialiserSansConflit(garageId);
+        } else {
+            jpaRepository.initialiser(garageId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.repository.GaragePurgeRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataAccessoireRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataVehiculeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adapter - Implémentation du GaragePurgeRepository en SQL natif
+ * Les DELETE ... WHERE id IN (SELECT ... LIMIT n) bornent le nombre de lignes
+ * verrouillées et journalisées par transaction.
+ */
+@Component
+public class GaragePurgeRepositoryAdapter implements GaragePurgeRepository {
+    
+    private final SpringDataGarageRepository garageRepository;
+    private final SpringDataVehiculeRepository vehiculeRepository;
+    private final SpringDataAccessoireRepository accessoireRepository;
+    
+    public GaragePurgeRepositoryAdapter(SpringDataGarageRepository garageRepository,
+                                        SpringDataVehiculeRepository vehiculeRepository,
+                                        SpringDataAccessoireRepository accessoireRepository) {
+        this.garageRepository = garageRepository;
+        this.vehiculeRepository = vehiculeRepository;
+        this.accessoireRepository = accessoireRepository;
+    }
+    
+    @Override
+    public List<UUID> findGaragesSupprimes(int limite) {
+        return garageRepository.findIdsSupprimes(limite).stream().map(UUID::fromString).toList();
+    }
+    
+    @Override
+    public long countGaragesSupprimes() {
+        return garageRepository.countSupprimes();
+    }
+    
+    @Override
+    public int supprimerAccessoires(UUID garageId, int limite) {
+        return accessoireRepository.purgerParGarage(garageId, limite);
+    }
+    
+    @Override
+    public int supprimerVehicules(UUID garageId, int limite) {
+        return vehiculeRepository.purgerParGarage(garageId, limite);
+    }
+    
+    @Override
+    public void supprimerGarage(UUID garageId) {
+        garageRepository.purger(garageId);
+    }
+}
@@ -1,59 +1,65 @@
 package com.renault.garage.infrastructure.persistence.adapter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.renault.garage.domain.model.*;
 import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.infrastructure.persistence.jpa.CreneauxHebdomadaires;
 import com.renault.garage.infrastructure.persistence.jpa.GarageJpaEntity;
+import com.renault.garage.infrastructure.persistence.jpa.GarageSummaryJpaEntity;
 import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageSummaryRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataVehiculeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Adapter - Implémentation du GarageRepository utilisant JPA
  * Fait le pont entre le domaine et la couche de persistance
+ * Chaque écriture d'un garage est reportée sur son résumé (garage_summary) dans la même transaction
  */
 @Component
 public class GarageRepositoryAdapter implements GarageRepository {
     
     private final SpringDataGarageRepository jpaRepository;
-    private final ObjectMapper objectMapper;
+    private final SpringDataVehiculeRepository vehiculeRepository;
+    private final SpringDataGarageSummaryRepository summaryRepository;
+    private final HorairesCodec horairesCodec;
     
     public GarageRepositoryAdapter(SpringDataGarageRepository jpaRepository, 
-                                  ObjectMapper objectMapper) {
+                                  SpringDataVehiculeRepository vehiculeRepository,
+                                  SpringDataGarageSummaryRepository summaryRepository,
+                                  HorairesCodec horairesCodec) {
         this.jpaRepository = jpaRepository;
-        this.objectMapper = objectMapper;
+        this.vehiculeRepository = vehiculeRepository;
+        this.summaryRepository = summaryRepository;
+        this.horairesCodec = horairesCodec;
     }
     
     @Override
+    @Transactional
     public Garage save(Garage garage) {
         GarageJpaEntity entity = toEntity(garage);
         GarageJpaEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        recopierResume(saved, garage.getVersion() == null);
+        return toDomain(saved, garage.getNombreVehicules());
     }
     
     @Override
     public Optional<Garage> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
+        return jpaRepository.findWithNombreVehiculesById(id)
+            .map(ligne -> toDomain(ligne.getGarage(), (int) ligne.getNombreVehicules()));
     }
     
     @Override
-    public Page<Garage> findAll(Pageable pageable) {
-        return jpaRepository.findAll(pageable).map(this::toDomain);
-    }
-    
-    @Override
-    public List<Garage> findByVille(String ville) {
-        return jpaRepository.findByVille(ville)
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public Window<Garage> findAll(ScrollPosition position, int limit) {
+        return withCounts(jpaRepository.findAllByOrderByNameAscIdAsc(position, Limit.of(limit)));
     }
     
     @Override
@@ -63,8 +69,27 @@ public class GarageRepositoryAdapter implements GarageRepository {
     }
     
     @Override
+    @Transactional
     public void deleteById(UUID id) {
-        jpaRepository.deleteById(id);
+        summaryRepository.supprimer(id);
+        jpaRepository.supprimer(id);
+    }
+    
+    @Override
+    @Transactional
+    public void marquerModifie(UUID id, LocalDateTime instant) {
+        jpaRepository.marquerModifie(id, instant);
+        summaryRepository.marquerModifie(id, instant);
+    }
+    
+    @Override
+    @Transactional
+    public boolean marquerSupprime(UUID id) {
+        if (jpaRepository.marquerSupprime(id, LocalDateTime.now()) != 1) {
+            return false;
+        }
+        summaryRepository.supprimer(id);
+        return true;
     }
     
     @Override
@@ -77,16 +102,53 @@ public class GarageRepositoryAdapter implements GarageRepository {
         return jpaRepository.count();
     }
     
-    @Override
-    public List<Garage> findByNameContaining(String name) {
-        return jpaRepository.findByNameContainingIgnoreCase(name)
+    // Nombre de véhicules de toute une page en une requête GROUP BY (pas de N+1)
+    private Map<UUID, Integer> countVehicules(List<GarageJpaEntity> entities) {
+        if (entities.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ids = entities.stream().map(GarageJpaEntity::getId).toList();
+        return vehiculeRepository.countByGarageIdIn(ids)
             .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+            .collect(Collectors.toMap(
+                SpringDataVehiculeRepository.GarageVehiculeCount::getGarageId,
+                c -> (int) c.getNombre()));
+    }
+    
+    private Window<Garage> withCounts(Window<GarageJpaEntity> window) {
+        Map<UUID, Integer> nombres = countVehicules(window.getContent());
+        return window.map(entity -> toDomain(entity, nombres));
+    }
+    
+    // Colonnes du garage recopiées dans son résumé, dans la transaction de l'enregistrement ;
+    // les compteurs d'un nouveau résumé partent de zéro (garage sans véhicule)
+    private void recopierResume(GarageJpaEntity garage, boolean nouveau) {
+        GarageSummaryJpaEntity resume = nouveau ? null : summaryRepository.findById(garage.getId()).orElse(null);
+        if (resume == null) {
+            resume = new GarageSummaryJpaEntity();
+            resume.setId(garage.getId());
+            resume.marquerNouveau();
+        }
+        resume.setName(garage.getName());
+        resume.setRue(garage.getRue());
+        resume.setVille(garage.getVille());
+        resume.setCodePostal(garage.getCodePostal());
+        resume.setPays(garage.getPays());
+        resume.setTelephone(garage.getTelephone());
+        resume.setEmail(garage.getEmail());
+        resume.setHorairesOuverture(garage.getHorairesOuverture());
+        resume.setCreneaux(CreneauxHebdomadaires.of(garage.getCreneaux().toMots()));
+        resume.setCreatedAt(garage.getCreatedAt());
+        resume.setUpdatedAt(garage.getUpdatedAt());
+        summaryRepository.save(resume);
+    }
+    
+    private Garage toDomain(GarageJpaEntity entity, Map<UUID, Integer> nombresVehicules) {
+        return toDomain(entity, nombresVehicules.getOrDefault(entity.getId(), 0));
     }
     
     // Conversion Entity -> Domain
-    private Garage toDomain(GarageJpaEntity entity) {
+    private Garage toDomain(GarageJpaEntity entity, int nombreVehicules) {
         Address address = new Address(
             entity.getRue(),
             entity.getVille(),
@@ -94,7 +156,7 @@ public class GarageRepositoryAdapter implements GarageRepository {
             entity.getPays()
         );
         
-        Map<DayOfWeek, List<OpeningTime>> horaires = deserializeHoraires(entity.getHorairesOuverture());
+        Map<DayOfWeek, List<OpeningTime>> horaires = horairesCodec.lire(entity.getHorairesOuverture());
         
         Garage garage = new Garage(
             entity.getName(),
@@ -107,6 +169,8 @@ public class GarageRepositoryAdapter implements GarageRepository {
         garage.setId(entity.getId());
         garage.setCreatedAt(entity.getCreatedAt());
         garage.setUpdatedAt(entity.getUpdatedAt());
+        garage.setNombreVehicules(nombreVehicules);
+        garage.setVersion(entity.getVersion());
         
         return garage;
     }
@@ -122,52 +186,11 @@ public class GarageRepositoryAdapter implements GarageRepository {
         entity.setPays(garage.getAddress().pays());
         entity.setTelephone(garage.getTelephone());
         entity.setEmail(garage.getEmail());
-        entity.setHorairesOuverture(serializeHoraires(garage.getHorairesOuverture()));
+        entity.setHorairesOuverture(horairesCodec.ecrire(garage.getHorairesOuverture()));
+        entity.setCreneaux(CreneauxCodec.encoder(garage.getHorairesOuverture()));
         entity.setCreatedAt(garage.getCreatedAt());
         entity.setUpdatedAt(garage.getUpdatedAt());
+        entity.setVersion(garage.getVersion());
         return entity;
     }
-    
-    // Sérialisation des horaires en JSON
-    private String serializeHoraires(Map<DayOfWeek, List<OpeningTime>> horaires) {
-        try {
-            Map<String, List<Map<String, String>>> jsonMap = new HashMap<>();
-            horaires.forEach((day, times) -> {
-                List<Map<String, String>> timesList = times.stream()
-                    .map(ot -> Map.of(
-                        "startTime", ot.startTime().toString(),
-                        "endTime", ot.endTime().toString()
-                    ))
-                    .collect(Collectors.toList());
-                jsonMap.put(day.name(), timesList);
-            });
-            return objectMapper.writeValueAsString(jsonMap);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Erreur lors de la sérialisation des horaires", e);
-        }
-    }
-    
-    // Désérialisation des horaires depuis JSON
-    @SuppressWarnings("unchecked")
-    private Map<DayOfWeek, List<OpeningTime>> deserializeHoraires(String json) {
-        try {
-            Map<String, List<Map<String, String>>> jsonMap = 
-                objectMapper.readValue(json, Map.class);
-            
-            Map<DayOfWeek, List<OpeningTime>> horaires = new HashMap<>();
-            jsonMap.forEach((dayStr, timesList) -> {
-                DayOfWeek day = DayOfWeek.valueOf(dayStr);
-                List<OpeningTime> times = timesList.stream()
-                    .map(timeMap -> new OpeningTime(
-                        LocalTime.parse(timeMap.get("startTime")),
-                        LocalTime.parse(timeMap.get("endTime"))
-                    ))
-                    .collect(Collectors.toList());
-                horaires.put(day, times);
-            });
-            return horaires;
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Erreur lors de la désérialisation des horaires", e);
-        }
-    }
 }
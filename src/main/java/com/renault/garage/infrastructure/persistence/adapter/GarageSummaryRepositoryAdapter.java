@@ -0,0 +1,128 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.model.*;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
+import com.renault.garage.infrastructure.persistence.jpa.GarageSummaryJpaEntity;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageSummaryRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Adapter - Implémentation du GarageSummaryRepository utilisant JPA
+ * Chaque lecture porte sur la seule table garage_summary (sauf la semi-jointure de la recherche
+ * carburant + accessoire) : ni comptage des véhicules, ni regroupement par page
+ */
+@Component
+public class GarageSummaryRepositoryAdapter implements GarageSummaryRepository {
+    
+    private final SpringDataGarageSummaryRepository jpaRepository;
+    private final HorairesCodec horairesCodec;
+    private final SearchMode searchMode;
+    
+    public GarageSummaryRepositoryAdapter(SpringDataGarageSummaryRepository jpaRepository,
+                                          HorairesCodec horairesCodec,
+                                          SearchMode searchMode) {
+        this.jpaRepository = jpaRepository;
+        this.horairesCodec = horairesCodec;
+        this.searchMode = searchMode;
+    }
+    
+    @Override
+    public Optional<GarageSummary> findById(UUID id) {
+        return jpaRepository.findById(id).map(this::toDomain);
+    }
+    
+    @Override
+    public Page<GarageSummary> findAll(Pageable pageable) {
+        return jpaRepository.findAll(pageable).map(this::toDomain);
+    }
+    
+    @Override
+    public Window<GarageSummary> findAll(ScrollPosition position, int limit) {
+        return jpaRepository.findAllByOrderByNameAscIdAsc(position, Limit.of(limit)).map(this::toDomain);
+    }
+    
+    @Override
+    public Window<GarageSummary> findByVille(String ville, ScrollPosition position, int limit) {
+        return jpaRepository.findByVilleOrderByNameAscIdAsc(ville, position, Limit.of(limit)).map(this::toDomain);
+    }
+    
+    @Override
+    public Window<GarageSummary> findByNameContaining(String name, ScrollPosition position, int limit) {
+        String nomRecherche = GarageSummaryJpaEntity.nomRecherche(name);
+        if (searchMode == SearchMode.TRIGRAM) {
+            // Classement par similarité : positionné par rang, un résultat de plus pour savoir s'il y a une suite
+            long debut = SearchMode.rang(position);
+            List<GarageSummary> garages = jpaRepository.searchByNameRanked(nomRecherche, debut, limit + 1)
+                .stream()
+                .map(this::toDomain)
+                .toList();
+            boolean suite = garages.size() > limit;
+            return Window.from(suite ? garages.subList(0, limit) : garages,
+                i -> ScrollPosition.offset(debut + i + 1), suite);
+        }
+        return jpaRepository.findByNomRechercheContainingOrderByNameAscIdAsc(nomRecherche, position, Limit.of(limit))
+            .map(this::toDomain);
+    }
+    
+    @Override
+    public Slice<GarageSummary> findByTypeCarburantAndAccessoireNom(TypeCarburant typeCarburant, String accessoireNom,
+                                                                    Pageable pageable) {
+        return jpaRepository.findByTypeCarburantAndAccessoireNom(typeCarburant, accessoireNom, pageable)
+            .map(this::toDomain);
+    }
+    
+    @Override
+    public Slice<GarageSummary> findOuvertsA(String ville, DayOfWeek jour, LocalTime heure, Pageable pageable) {
+        return jpaRepository.findOuvertsByVille(
+                ville, CreneauxCodec.mot(jour, heure), CreneauxCodec.masque(jour, heure), pageable)
+            .map(this::toDomain);
+    }
+    
+    // Conversion Entity -> Domain
+    private GarageSummary toDomain(GarageSummaryJpaEntity entity) {
+        Address address = new Address(
+            entity.getRue(),
+            entity.getVille(),
+            entity.getCodePostal(),
+            entity.getPays()
+        );
+        
+        Garage garage = new Garage(
+            entity.getName(),
+            address,
+            entity.getTelephone(),
+            entity.getEmail(),
+            horairesCodec.lire(entity.getHorairesOuverture())
+        );
+        garage.setId(entity.getId());
+        garage.setCreatedAt(entity.getCreatedAt());
+        garage.setUpdatedAt(entity.getUpdatedAt());
+        garage.setNombreVehicules(entity.getNombreVehicules());
+        
+        Map<TypeCarburant, Integer> parCarburant = new EnumMap<>(TypeCarburant.class);
+        ajouter(parCarburant, TypeCarburant.ESSENCE, entity.getVehiculesEssence());
+        ajouter(parCarburant, TypeCarburant.DIESEL, entity.getVehiculesDiesel());
+        ajouter(parCarburant, TypeCarburant.ELECTRIQUE, entity.getVehiculesElectrique());
+        ajouter(parCarburant, TypeCarburant.HYBRIDE, entity.getVehiculesHybride());
+        ajouter(parCarburant, TypeCarburant.GPL, entity.getVehiculesGpl());
+        
+        return new GarageSummary(garage, parCarburant, entity.getNombreAccessoires(), entity.getValeurAccessoires());
+    }
+    
+    // Seuls les carburants présents dans le garage
+    private static void ajouter(Map<TypeCarburant, Integer> parCarburant, TypeCarburant typeCarburant, int nombre) {
+        if (nombre > 0) {
+            parCarburant.put(typeCarburant, nombre);
+        }
+    }
+}
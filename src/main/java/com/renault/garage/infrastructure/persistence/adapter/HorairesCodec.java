@@ -0,0 +1,115 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.renault.garage.domain.model.OpeningTime;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Conversion des horaires d'ouverture vers et depuis la colonne JSON, avec canonicalisation
+ * La plupart des garages partagent quelques plannings types : chaque planning distinct n'est
+ * analysé qu'une fois, et tous les garages qui le partagent reçoivent la même instance immuable.
+ * Le JSON produit est déterministe (jours dans l'ordre de la semaine, créneaux dans l'ordre saisi).
+ * Instance unique partagée par les adapters garages et résumés : un planning n'est mis en cache qu'une fois.
+ */
+@Component
+final class HorairesCodec {
+    
+    private static final int MAX_PLANNINGS = 1_000;
+    
+    private record Planning(Map<DayOfWeek, List<OpeningTime>> horaires, String json) {}
+    
+    private final ObjectMapper objectMapper;
+    
+    // Contenu JSON lu en base -> planning canonique
+    private final Cache<String, Map<DayOfWeek, List<OpeningTime>>> parJson;
+    
+    // Contenu du planning (égalité de Map) -> instance canonique et son JSON
+    private final Cache<Map<DayOfWeek, List<OpeningTime>>, Planning> parContenu;
+    
+    HorairesCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.parJson = Caffeine.newBuilder().maximumSize(MAX_PLANNINGS).build();
+        this.parContenu = Caffeine.newBuilder().maximumSize(MAX_PLANNINGS).build();
+    }
+    
+    /**
+     * Horaires canoniques (immuables, partagés) correspondant au JSON
+     */
+    Map<DayOfWeek, List<OpeningTime>> lire(String json) {
+        Map<DayOfWeek, List<OpeningTime>> horaires = parJson.getIfPresent(json);
+        if (horaires == null) {
+            horaires = canonique(parser(json)).horaires();
+            parJson.put(json, horaires);
+        }
+        return horaires;
+    }
+    
+    /**
+     * JSON déterministe des horaires ; sans sérialisation si le planning est déjà connu
+     */
+    String ecrire(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        return canonique(horaires).json();
+    }
+    
+    private Planning canonique(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        Planning planning = parContenu.getIfPresent(horaires);
+        if (planning == null) {
+            // La clé conservée est une copie immuable : l'appelant peut modifier sa Map ensuite
+            Map<DayOfWeek, List<OpeningTime>> copie = copieImmuable(horaires);
+            planning = parContenu.asMap().computeIfAbsent(copie, k -> new Planning(k, serialiser(k)));
+        }
+        return planning;
+    }
+    
+    private static Map<DayOfWeek, List<OpeningTime>> copieImmuable(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        EnumMap<DayOfWeek, List<OpeningTime>> copie = new EnumMap<>(DayOfWeek.class);
+        horaires.forEach((jour, creneaux) -> copie.put(jour, List.copyOf(creneaux)));
+        return Collections.unmodifiableMap(copie);
+    }
+    
+    private String serialiser(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        ObjectNode racine = objectMapper.createObjectNode();
+        horaires.forEach((jour, creneaux) -> {
+            ArrayNode liste = racine.putArray(jour.name());
+            creneaux.forEach(ot -> liste.addObject()
+                .put("startTime", ot.startTime().toString())
+                .put("endTime", ot.endTime().toString()));
+        });
+        try {
+            return objectMapper.writeValueAsString(racine);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erreur lors de la sérialisation des horaires", e);
+        }
+    }
+    
+    private Map<DayOfWeek, List<OpeningTime>> parser(String json) {
+        try {
+            Map<DayOfWeek, List<OpeningTime>> horaires = new EnumMap<>(DayOfWeek.class);
+            Iterator<Map.Entry<String, JsonNode>> jours = objectMapper.readTree(json).fields();
+            while (jours.hasNext()) {
+                Map.Entry<String, JsonNode> jour = jours.next();
+                List<OpeningTime> creneaux = new ArrayList<>(jour.getValue().size());
+                for (JsonNode creneau : jour.getValue()) {
+                    creneaux.add(new OpeningTime(
+                        LocalTime.parse(creneau.get("startTime").asText()),
+                        LocalTime.parse(creneau.get("endTime").asText())
+                    ));
+                }
+                horaires.put(DayOfWeek.valueOf(jour.getKey()), creneaux);
+            }
+            return horaires;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erreur lors de la désérialisation des horaires", e);
+        }
+    }
+}
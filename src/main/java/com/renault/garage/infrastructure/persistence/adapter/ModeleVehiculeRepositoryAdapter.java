@@ -0,0 +1,73 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.model.ModeleVehicule;
+import com.renault.garage.domain.repository.ModeleVehiculeRepository;
+import com.renault.garage.infrastructure.persistence.jpa.ModeleVehiculeJpaEntity;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataModeleVehiculeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter - Implémentation du ModeleVehiculeRepository utilisant JPA
+ */
+@Component
+public class ModeleVehiculeRepositoryAdapter implements ModeleVehiculeRepository {
+    
+    private final SpringDataModeleVehiculeRepository jpaRepository;
+    
+    public ModeleVehiculeRepositoryAdapter(SpringDataModeleVehiculeRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+    
+    @Override
+    public ModeleVehicule save(ModeleVehicule modele) {
+        return toDomain(jpaRepository.save(toEntity(modele)));
+    }
+    
+    @Override
+    public Optional<ModeleVehicule> findById(UUID id) {
+        return jpaRepository.findById(id).map(this::toDomain);
+    }
+    
+    @Override
+    public List<ModeleVehicule> findAll() {
+        return jpaRepository.findAll().stream()
+            .map(this::toDomain)
+            .toList();
+    }
+    
+    @Override
+    public boolean estUtilise(UUID id) {
+        return jpaRepository.estUtilise(id);
+    }
+    
+    @Override
+    public boolean deleteById(UUID id) {
+        return jpaRepository.supprimer(id) > 0;
+    }
+    
+    private ModeleVehiculeJpaEntity toEntity(ModeleVehicule modele) {
+        ModeleVehiculeJpaEntity entity = new ModeleVehiculeJpaEntity();
+        entity.setId(modele.id());
+        entity.setNomModele(modele.nomModele());
+        entity.setBrand(modele.brand());
+        entity.setDescription(modele.description());
+        entity.setSpecifications(modele.specifications().isEmpty() ? null : modele.specifications());
+        entity.setCreatedAt(modele.createdAt());
+        return entity;
+    }
+    
+    private ModeleVehicule toDomain(ModeleVehiculeJpaEntity entity) {
+        return new ModeleVehicule(
+            entity.getId(),
+            entity.getNomModele(),
+            entity.getBrand(),
+            entity.getDescription(),
+            entity.getSpecifications(),
+            entity.getCreatedAt()
+        );
+    }
+}
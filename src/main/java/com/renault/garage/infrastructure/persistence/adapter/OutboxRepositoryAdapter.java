@@ -0,0 +1,82 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.event.EvenementOutbox;
+import com.renault.garage.domain.repository.OutboxRepository;
+import com.renault.garage.infrastructure.persistence.jpa.OutboxJpaEntity;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataOutboxRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Adapter - Implémentation de l'OutboxRepository utilisant JPA
+ * Un lot traité coûte un SELECT ... FOR UPDATE et un DELETE ... WHERE id IN (...)
+ */
+@Component
+public class OutboxRepositoryAdapter implements OutboxRepository {
+    
+    private final SpringDataOutboxRepository jpaRepository;
+    
+    public OutboxRepositoryAdapter(SpringDataOutboxRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+    
+    // MANDATORY : un événement n'est jamais enregistré hors de la transaction métier qui l'a produit
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajouter(EvenementOutbox evenement) {
+        jpaRepository.save(toEntity(evenement));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajouterTous(List<EvenementOutbox> evenements) {
+        jpaRepository.saveAll(evenements.stream().map(this::toEntity).toList());
+    }
+    
+    @Override
+    @Transactional
+    public int traiterLot(int limite, Consumer<List<EvenementOutbox>> envoi) {
+        List<OutboxJpaEntity> lot = jpaRepository.findByOrderByIdAsc(Limit.of(limite));
+        if (lot.isEmpty()) {
+            return 0;
+        }
+        envoi.accept(lot.stream().map(this::toDomain).toList());
+        jpaRepository.deleteAllByIdInBatch(lot.stream().map(OutboxJpaEntity::getId).toList());
+        return lot.size();
+    }
+    
+    @Override
+    public long compter() {
+        return jpaRepository.count();
+    }
+    
+    // Conversion Domain -> Entity
+    private OutboxJpaEntity toEntity(EvenementOutbox evenement) {
+        return new OutboxJpaEntity(
+            evenement.garageId(),
+            evenement.topic(),
+            evenement.cle(),
+            evenement.type(),
+            evenement.payload(),
+            evenement.createdAt()
+        );
+    }
+    
+    // Conversion Entity -> Domain
+    private EvenementOutbox toDomain(OutboxJpaEntity entity) {
+        return new EvenementOutbox(
+            entity.getId(),
+            entity.getGarageId(),
+            entity.getTopic(),
+            entity.getCle(),
+            entity.getType(),
+            entity.getPayload(),
+            entity.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Mode de recherche textuelle utilisé par les adapters
+ * LIKE : requêtes dérivées Spring Data (tous SGBD)
+ * TRIGRAM : requêtes natives PostgreSQL servies par les index pg_trgm et triées par similarité
+ */
+public enum SearchMode {
+    LIKE,
+    TRIGRAM;
+    
+    /**
+     * Nombre de résultats déjà renvoyés d'un classement par similarité (pas de clé de tri pour un curseur)
+     * @throws IllegalArgumentException si la position est un curseur sur clés, issu d'une autre recherche
+     */
+    public static long rang(ScrollPosition position) {
+        if (position instanceof OffsetScrollPosition offset) {
+            return offset.getOffset();
+        }
+        if (position.isInitial()) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Curseur de pagination invalide pour une recherche par similarité");
+    }
+}
@@ -0,0 +1,11 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+/**
+ * SGBD de la base principale, détecté une fois au démarrage (SgbdConfig)
+ * POSTGRESQL : requêtes natives propres à PostgreSQL autorisées (pg_trgm, ON CONFLICT)
+ * AUTRE : requêtes portables uniquement (H2 des tests, ou SGBD non détecté)
+ */
+public enum Sgbd {
+    POSTGRESQL,
+    AUTRE
+}
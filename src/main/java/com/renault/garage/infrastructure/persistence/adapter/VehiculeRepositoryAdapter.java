@@ -3,47 +3,88 @@ package com.renault.garage.infrastructure.persistence.adapter;
 import com.renault.garage.domain.model.TypeCarburant;
 import com.renault.garage.domain.model.Vehicule;
 import com.renault.garage.domain.repository.VehiculeRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataAccessoireRepository;
+import com.renault.garage.infrastructure.persistence.jpa.SpringDataGarageSummaryRepository;
 import com.renault.garage.infrastructure.persistence.jpa.SpringDataVehiculeRepository;
 import com.renault.garage.infrastructure.persistence.jpa.VehiculeJpaEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Adapter - Implémentation du VehiculeRepository utilisant JPA
+ * Les compteurs de véhicules du résumé du garage (garage_summary) sont ajustés dans la même transaction
  */
 @Component
 public class VehiculeRepositoryAdapter implements VehiculeRepository {
     
     private final SpringDataVehiculeRepository jpaRepository;
+    private final SpringDataAccessoireRepository accessoireRepository;
+    private final SpringDataGarageSummaryRepository summaryRepository;
+    private final SearchMode searchMode;
     
-    public VehiculeRepositoryAdapter(SpringDataVehiculeRepository jpaRepository) {
+    public VehiculeRepositoryAdapter(SpringDataVehiculeRepository jpaRepository,
+                                     SpringDataAccessoireRepository accessoireRepository,
+                                     SpringDataGarageSummaryRepository summaryRepository,
+                                     SearchMode searchMode) {
         this.jpaRepository = jpaRepository;
+        this.accessoireRepository = accessoireRepository;
+        this.summaryRepository = summaryRepository;
+        this.searchMode = searchMode;
     }
     
     @Override
+    @Transactional
     public Vehicule save(Vehicule vehicule) {
+        // Carburant enregistré avant la mise à jour (véhicule déjà chargé : lu dans le contexte de persistance)
+        TypeCarburant ancien = vehicule.getVersion() == null ? null : jpaRepository.findById(vehicule.getId())
+            .map(VehiculeJpaEntity::getTypeCarburant)
+            .orElse(null);
         VehiculeJpaEntity entity = toEntity(vehicule);
         VehiculeJpaEntity saved = jpaRepository.save(entity);
+        if (vehicule.getVersion() == null) {
+            summaryRepository.ajusterVehicules(saved.getGarageId(), Map.of(saved.getTypeCarburant(), 1));
+        } else if (ancien != null && ancien != saved.getTypeCarburant()) {
+            summaryRepository.ajusterVehicules(saved.getGarageId(), Map.of(ancien, -1, saved.getTypeCarburant(), 1));
+        }
         return toDomain(saved);
     }
     
     @Override
-    public Optional<Vehicule> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::toDomain);
-    }
-    
-    @Override
-    public List<Vehicule> findByGarageId(UUID garageId) {
-        return jpaRepository.findByGarageId(garageId)
+    @Transactional
+    public List<Vehicule> insertAll(List<Vehicule> vehicules) {
+        // Véhicules sans version : persist direct, INSERT groupés
+        List<VehiculeJpaEntity> entities = vehicules.stream()
+            .map(this::toEntity)
+            .toList();
+        List<Vehicule> saved = jpaRepository.saveAll(entities)
             .stream()
             .map(this::toDomain)
             .collect(Collectors.toList());
+        // Un UPDATE du résumé par garage pour tout le lot
+        saved.stream()
+            .collect(Collectors.groupingBy(Vehicule::getGarageId,
+                Collectors.groupingBy(Vehicule::getTypeCarburant, Collectors.summingInt(v -> 1))))
+            .forEach(summaryRepository::ajusterVehicules);
+        return saved;
+    }
+    
+    @Override
+    public Optional<Vehicule> findById(UUID garageId, UUID id) {
+        return jpaRepository.findByGarageIdAndId(garageId, id).map(this::toDomain);
+    }
+    
+    @Override
+    public Window<Vehicule> findByGarageId(UUID garageId, ScrollPosition position, int limit) {
+        return jpaRepository.findByGarageIdOrderByCreatedAtAscIdAsc(garageId, position, Limit.of(limit))
+            .map(this::toDomain);
     }
     
     @Override
@@ -52,11 +93,9 @@ public class VehiculeRepositoryAdapter implements VehiculeRepository {
     }
     
     @Override
-    public List<Vehicule> findByModeleId(UUID modeleId) {
-        return jpaRepository.findByModeleId(modeleId)
-            .stream()
-            .map(this::toDomain)
-            .collect(Collectors.toList());
+    public Window<Vehicule> findByModeleId(UUID modeleId, ScrollPosition position, int limit) {
+        return jpaRepository.findByModeleIdOrderByCreatedAtAscIdAsc(modeleId, position, Limit.of(limit))
+            .map(this::toDomain);
     }
     
     @Override
@@ -69,20 +108,27 @@ public class VehiculeRepositoryAdapter implements VehiculeRepository {
     
     @Override
     public List<Vehicule> findByBrand(String brand) {
-        return jpaRepository.findByBrandContainingIgnoreCase(brand)
-            .stream()
+        List<VehiculeJpaEntity> entities = searchMode == SearchMode.TRIGRAM
+            ? jpaRepository.searchByBrandRanked(brand)
+            : jpaRepository.findByBrandContainingIgnoreCase(brand);
+        return entities.stream()
             .map(this::toDomain)
             .collect(Collectors.toList());
     }
     
     @Override
-    public void deleteById(UUID id) {
-        jpaRepository.deleteById(id);
+    @Transactional
+    public void deleteById(UUID garageId, UUID id) {
+        // Le véhicule et ses accessoires quittent le résumé du garage, lus avant leur suppression
+        summaryRepository.retirerVehicule(garageId, id);
+        // Pas de clé étrangère en cascade vers une table partitionnée : accessoires supprimés d'abord
+        accessoireRepository.supprimerParVehicule(id);
+        jpaRepository.supprimer(garageId, id);
     }
     
     @Override
-    public boolean existsById(UUID id) {
-        return jpaRepository.existsById(id);
+    public boolean existsById(UUID garageId, UUID id) {
+        return jpaRepository.existsByGarageIdAndId(garageId, id);
     }
     
     @Override
@@ -90,6 +136,31 @@ public class VehiculeRepositoryAdapter implements VehiculeRepository {
         return jpaRepository.countByGarageId(garageId);
     }
     
+    @Override
+    public Map<UUID, UUID> findGarageIdsByIds(Collection<UUID> vehiculeIds) {
+        if (vehiculeIds.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findGarageIdsByIdIn(vehiculeIds)
+            .stream()
+            .collect(Collectors.toMap(
+                SpringDataVehiculeRepository.VehiculeGarage::getVehiculeId,
+                SpringDataVehiculeRepository.VehiculeGarage::getGarageId));
+    }
+    
+    @Override
+    public Map<UUID, Set<TypeCarburant>> findTypesCarburantByGarageIds(Collection<UUID> garageIds) {
+        if (garageIds.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findTypesCarburantByGarageIdIn(garageIds)
+            .stream()
+            .collect(Collectors.groupingBy(
+                SpringDataVehiculeRepository.GarageTypeCarburant::getGarageId,
+                Collectors.mapping(SpringDataVehiculeRepository.GarageTypeCarburant::getTypeCarburant,
+                    Collectors.toCollection(() -> EnumSet.noneOf(TypeCarburant.class)))));
+    }
+    
     // Conversion Entity -> Domain
     private Vehicule toDomain(VehiculeJpaEntity entity) {
         Vehicule vehicule = new Vehicule(
@@ -103,6 +174,7 @@ public class VehiculeRepositoryAdapter implements VehiculeRepository {
         vehicule.setGarageId(entity.getGarageId());
         vehicule.setCreatedAt(entity.getCreatedAt());
         vehicule.setUpdatedAt(entity.getUpdatedAt());
+        vehicule.setVersion(entity.getVersion());
         
         return vehicule;
     }
@@ -118,6 +190,7 @@ public class VehiculeRepositoryAdapter implements VehiculeRepository {
         entity.setTypeCarburant(vehicule.getTypeCarburant());
         entity.setCreatedAt(vehicule.getCreatedAt());
         entity.setUpdatedAt(vehicule.getUpdatedAt());
+        entity.setVersion(vehicule.getVersion());
         return entity;
     }
 }
@@ -2,19 +2,24 @@ package com.renault.garage.infrastructure.persistence.jpa;
 
 import com.renault.garage.infrastructure.persistence.entity.TypeAccessoireEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.PartitionKey;
+import org.springframework.data.domain.Persistable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * JPA Entity - Accessoire avec relation ManyToOne vers Vehicule
+ * Table partitionnée par hachage de vehicule_id sous PostgreSQL (V9) : UPDATE et DELETE de l'entité
+ * portent aussi sur vehicule_id, la lecture par ID se fait avec le véhicule (findByVehicule_IdAndId)
  */
 @Entity
 @Table(name = "accessoires", indexes = {
     @Index(name = "idx_accessoire_vehicule", columnList = "vehicule_id"),
-    @Index(name = "idx_accessoire_type", columnList = "type")
+    @Index(name = "idx_accessoire_type", columnList = "type"),
+    @Index(name = "idx_accessoire_vehicule_created", columnList = "vehicule_id, created_at, id")
 })
-public class AccessoireJpaEntity {
+public class AccessoireJpaEntity implements Persistable<UUID> {
     @Id
     @Column(columnDefinition = "UUID")
     private UUID id;
@@ -23,6 +28,11 @@ public class AccessoireJpaEntity {
     @JoinColumn(name = "vehicule_id", nullable = false)
     private VehiculeJpaEntity vehicule;
     
+    // Copie en lecture seule de la clé de partition, tenue à jour par setVehicule
+    @PartitionKey
+    @Column(name = "vehicule_id", columnDefinition = "UUID", insertable = false, updatable = false)
+    private UUID vehiculeId;
+    
     @Column(nullable = false)
     private String nom;
     
@@ -39,19 +49,39 @@ public class AccessoireJpaEntity {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    // Identifiant attribué par le domaine : marqueur d'insertion pour éviter le merge (voir VehiculeJpaEntity)
+    @Transient
+    private boolean nouveau;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
     
+    @PostPersist
+    @PostLoad
+    void marquerPersiste() { this.nouveau = false; }
+    
     // Constructeurs
     public AccessoireJpaEntity() {}
     
+    @Override
+    public boolean isNew() { return nouveau; }
+    
+    /**
+     * Marque l'entité comme à insérer (persist direct)
+     */
+    public void marquerNouveau() { this.nouveau = true; }
+    
     // Getters et Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
     public VehiculeJpaEntity getVehicule() { return vehicule; }
-    public void setVehicule(VehiculeJpaEntity vehicule) { this.vehicule = vehicule; }
+    public void setVehicule(VehiculeJpaEntity vehicule) {
+        this.vehicule = vehicule;
+        this.vehiculeId = vehicule != null ? vehicule.getId() : null;
+    }
+    public UUID getVehiculeId() { return vehiculeId; }
     public String getNom() { return nom; }
     public void setNom(String nom) { this.nom = nom; }
     public String getDescription() { return description; }
@@ -0,0 +1,74 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Embeddable - Créneaux d'ouverture de la semaine sous forme de bitmap
+ * 7 jours x 96 quarts d'heure = 672 bits répartis sur 11 colonnes BIGINT (creneaux_0 à creneaux_10) ;
+ * le bit du quart d'heure n du jour j (lundi = 0) est le bit (j * 96 + n) de la suite des mots.
+ * Dérivé des horaires JSON à chaque écriture : la recherche "ouvert à" se fait par bitand en SQL.
+ */
+@Embeddable
+public class CreneauxHebdomadaires {
+    
+    public static final int MOTS = 11;
+    
+    @Column(name = "creneaux_0", nullable = false)
+    private long mot0;
+    
+    @Column(name = "creneaux_1", nullable = false)
+    private long mot1;
+    
+    @Column(name = "creneaux_2", nullable = false)
+    private long mot2;
+    
+    @Column(name = "creneaux_3", nullable = false)
+    private long mot3;
+    
+    @Column(name = "creneaux_4", nullable = false)
+    private long mot4;
+    
+    @Column(name = "creneaux_5", nullable = false)
+    private long mot5;
+    
+    @Column(name = "creneaux_6", nullable = false)
+    private long mot6;
+    
+    @Column(name = "creneaux_7", nullable = false)
+    private long mot7;
+    
+    @Column(name = "creneaux_8", nullable = false)
+    private long mot8;
+    
+    @Column(name = "creneaux_9", nullable = false)
+    private long mot9;
+    
+    @Column(name = "creneaux_10", nullable = false)
+    private long mot10;
+    
+    public CreneauxHebdomadaires() {}
+    
+    public static CreneauxHebdomadaires of(long[] mots) {
+        if (mots.length != MOTS) {
+            throw new IllegalArgumentException("Bitmap de " + MOTS + " mots attendu: " + mots.length);
+        }
+        CreneauxHebdomadaires creneaux = new CreneauxHebdomadaires();
+        creneaux.mot0 = mots[0];
+        creneaux.mot1 = mots[1];
+        creneaux.mot2 = mots[2];
+        creneaux.mot3 = mots[3];
+        creneaux.mot4 = mots[4];
+        creneaux.mot5 = mots[5];
+        creneaux.mot6 = mots[6];
+        creneaux.mot7 = mots[7];
+        creneaux.mot8 = mots[8];
+        creneaux.mot9 = mots[9];
+        creneaux.mot10 = mots[10];
+        return creneaux;
+    }
+    
+    public long[] toMots() {
+        return new long[] {mot0, mot1, mot2, mot3, mot4, mot5, mot6, mot7, mot8, mot9, mot10};
+    }
+}
@@ -0,0 +1,37 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.util.UUID;
+
+/**
+ * JPA Entity - Compteur de capacité d'un garage
+ * Une ligne par garage portant le nombre de places occupées ; elle n'est modifiée
+ * que par des UPDATE conditionnels (voir SpringDataGarageCapaciteRepository)
+ */
+@Entity
+@Table(name = "garage_capacites")
+public class GarageCapaciteJpaEntity {
+    
+    @Id
+    @Column(name = "garage_id", columnDefinition = "UUID")
+    private UUID garageId;
+    
+    @Column(name = "nombre_vehicules", nullable = false)
+    private int nombreVehicules;
+    
+    protected GarageCapaciteJpaEntity() {
+    }
+    
+    public GarageCapaciteJpaEntity(UUID garageId, int nombreVehicules) {
+        this.garageId = garageId;
+        this.nombreVehicules = nombreVehicules;
+    }
+    
+    public UUID getGarageId() {
+        return garageId;
+    }
+    
+    public int getNombreVehicules() {
+        return nombreVehicules;
+    }
+}
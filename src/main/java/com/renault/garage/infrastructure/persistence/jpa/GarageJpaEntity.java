@@ -1,15 +1,26 @@
 package com.renault.garage.infrastructure.persistence.jpa;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * JPA Entity - Garage
  * Entité de persistance pour la table garages
+ * Un garage supprimé (deleted_at renseigné) est invisible de toutes les lectures JPA
+ * jusqu'à sa purge définitive (voir GaragePurgeService)
+ * Versionnée (verrouillage optimiste) ; les UPDATE ne portent que sur les colonnes modifiées
  */
 @Entity
-@Table(name = "garages")
+@Table(name = "garages", indexes = {
+    @Index(name = "idx_garage_name_id", columnList = "name, id"),
+    @Index(name = "idx_garage_ville_name_id", columnList = "ville, name, id"),
+    @Index(name = "idx_garage_deleted_at", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at IS NULL")
+@DynamicUpdate
 public class GarageJpaEntity {
     
     @Id
@@ -41,12 +52,23 @@ public class GarageJpaEntity {
     @Column(name = "horaires_ouverture", columnDefinition = "TEXT", nullable = false)
     private String horairesOuverture;
     
+    @Embedded
+    private CreneauxHebdomadaires creneaux = new CreneauxHebdomadaires();
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+    
+    // null : jamais enregistré, Spring Data fait alors un persist direct (pas de SELECT préalable)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructeurs
     public GarageJpaEntity() {}
     
@@ -78,9 +100,18 @@ public class GarageJpaEntity {
     public String getHorairesOuverture() { return horairesOuverture; }
     public void setHorairesOuverture(String horairesOuverture) { this.horairesOuverture = horairesOuverture; }
     
+    public CreneauxHebdomadaires getCreneaux() { return creneaux; }
+    public void setCreneaux(CreneauxHebdomadaires creneaux) { this.creneaux = creneaux; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
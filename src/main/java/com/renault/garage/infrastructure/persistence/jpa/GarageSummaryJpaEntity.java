@@ -0,0 +1,171 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * JPA Entity - Résumé d'un garage (table garage_summary)
+ * Copie des colonnes de garages lues par les listes, plus les compteurs de véhicules (total et par
+ * carburant) et d'accessoires (nombre et valeur totale). Les colonnes du garage sont recopiées à
+ * chaque enregistrement du garage ; les compteurs ne sont modifiés que par des UPDATE relatifs
+ * (voir SpringDataGarageSummaryRepository), sûrs entre transactions concurrentes.
+ * La ligne est supprimée avec le garage (suppression logique comprise) : aucun filtre deleted_at.
+ * Mêmes noms de propriétés que GarageJpaEntity : les tris et curseurs des API sont inchangés.
+ * nom_recherche porte le nom en minuscules, écrit avec lui : la recherche par nom ne dépend pas de la
+ * collation de name ("C" sur PostgreSQL, pour un tri identique sur tous les shards).
+ */
+@Entity
+@Table(name = "garage_summary", indexes = {
+    @Index(name = "idx_garage_summary_name_id", columnList = "name, garage_id"),
+    @Index(name = "idx_garage_summary_ville_name_id", columnList = "ville, name, garage_id")
+})
+@DynamicUpdate
+public class GarageSummaryJpaEntity implements Persistable<UUID> {
+    
+    @Id
+    @Column(name = "garage_id", columnDefinition = "UUID")
+    private UUID id;
+    
+    @Column(name = "name", nullable = false, length = 255)
+    private String name;
+    
+    @Column(name = "nom_recherche", nullable = false, length = 255)
+    private String nomRecherche;
+    
+    @Column(name = "rue", nullable = false, length = 255)
+    private String rue;
+    
+    @Column(name = "ville", nullable = false, length = 100)
+    private String ville;
+    
+    @Column(name = "code_postal", nullable = false, length = 10)
+    private String codePostal;
+    
+    @Column(name = "pays", nullable = false, length = 100)
+    private String pays;
+    
+    @Column(name = "telephone", nullable = false, length = 20)
+    private String telephone;
+    
+    @Column(name = "email", nullable = false, length = 255)
+    private String email;
+    
+    @Column(name = "horaires_ouverture", columnDefinition = "TEXT", nullable = false)
+    private String horairesOuverture;
+    
+    @Embedded
+    private CreneauxHebdomadaires creneaux = new CreneauxHebdomadaires();
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "nombre_vehicules", nullable = false)
+    private int nombreVehicules;
+    
+    @Column(name = "vehicules_essence", nullable = false)
+    private int vehiculesEssence;
+    
+    @Column(name = "vehicules_diesel", nullable = false)
+    private int vehiculesDiesel;
+    
+    @Column(name = "vehicules_electrique", nullable = false)
+    private int vehiculesElectrique;
+    
+    @Column(name = "vehicules_hybride", nullable = false)
+    private int vehiculesHybride;
+    
+    @Column(name = "vehicules_gpl", nullable = false)
+    private int vehiculesGpl;
+    
+    @Column(name = "nombre_accessoires", nullable = false)
+    private int nombreAccessoires;
+    
+    @Column(name = "valeur_accessoires", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valeurAccessoires = BigDecimal.ZERO;
+    
+    // Identifiant du garage : marqueur d'insertion pour éviter le merge (voir AccessoireJpaEntity)
+    @Transient
+    private boolean nouveau;
+    
+    @PostPersist
+    @PostLoad
+    void marquerPersiste() { this.nouveau = false; }
+    
+    // Constructeurs
+    public GarageSummaryJpaEntity() {}
+    
+    @Override
+    public boolean isNew() { return nouveau; }
+    
+    /**
+     * Marque l'entité comme à insérer (persist direct)
+     */
+    public void marquerNouveau() { this.nouveau = true; }
+    
+    // Getters et Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) {
+        this.name = name;
+        this.nomRecherche = nomRecherche(name);
+    }
+    
+    public String getNomRecherche() { return nomRecherche; }
+    
+    /**
+     * Forme recherchée d'un nom, appliquée aussi au texte saisi
+     */
+    public static String nomRecherche(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+    
+    public String getRue() { return rue; }
+    public void setRue(String rue) { this.rue = rue; }
+    
+    public String getVille() { return ville; }
+    public void setVille(String ville) { this.ville = ville; }
+    
+    public String getCodePostal() { return codePostal; }
+    public void setCodePostal(String codePostal) { this.codePostal = codePostal; }
+    
+    public String getPays() { return pays; }
+    public void setPays(String pays) { this.pays = pays; }
+    
+    public String getTelephone() { return telephone; }
+    public void setTelephone(String telephone) { this.telephone = telephone; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getHorairesOuverture() { return horairesOuverture; }
+    public void setHorairesOuverture(String horairesOuverture) { this.horairesOuverture = horairesOuverture; }
+    
+    public CreneauxHebdomadaires getCreneaux() { return creneaux; }
+    public void setCreneaux(CreneauxHebdomadaires creneaux) { this.creneaux = creneaux; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public int getNombreVehicules() { return nombreVehicules; }
+    public int getVehiculesEssence() { return vehiculesEssence; }
+    public int getVehiculesDiesel() { return vehiculesDiesel; }
+    public int getVehiculesElectrique() { return vehiculesElectrique; }
+    public int getVehiculesHybride() { return vehiculesHybride; }
+    public int getVehiculesGpl() { return vehiculesGpl; }
+    public int getNombreAccessoires() { return nombreAccessoires; }
+    public BigDecimal getValeurAccessoires() { return valeurAccessoires; }
+}
@@ -0,0 +1,59 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JPA Entity - Modèle de véhicule
+ * Entité de persistance pour la table modeles_vehicules (specifications : JSONB sous PostgreSQL, JSON sous H2)
+ */
+@Entity
+@Table(name = "modeles_vehicules")
+public class ModeleVehiculeJpaEntity {
+    
+    @Id
+    @Column(name = "id", columnDefinition = "UUID")
+    private UUID id;
+    
+    @Column(name = "nom_modele", nullable = false, length = 255)
+    private String nomModele;
+    
+    @Column(name = "brand", nullable = false, length = 100)
+    private String brand;
+    
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "specifications")
+    private Map<String, Object> specifications;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructeurs
+    public ModeleVehiculeJpaEntity() {}
+    
+    // Getters et Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public String getNomModele() { return nomModele; }
+    public void setNomModele(String nomModele) { this.nomModele = nomModele; }
+    
+    public String getBrand() { return brand; }
+    public void setBrand(String brand) { this.brand = brand; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Map<String, Object> getSpecifications() { return specifications; }
+    public void setSpecifications(Map<String, Object> specifications) { this.specifications = specifications; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
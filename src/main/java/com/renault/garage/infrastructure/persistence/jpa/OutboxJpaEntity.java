@@ -0,0 +1,59 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity - Événement domaine en attente de publication (table outbox_evenements)
+ * L'identifiant IDENTITY est attribué à l'insertion, après les verrous pris par l'écriture métier :
+ * pour un même garage, l'ordre des identifiants suit l'ordre de validation des transactions.
+ */
+@Entity
+@Table(name = "outbox_evenements")
+public class OutboxJpaEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "garage_id", columnDefinition = "UUID")
+    private UUID garageId;
+    
+    @Column(name = "topic", nullable = false, length = 255)
+    private String topic;
+    
+    @Column(name = "cle", nullable = false, length = 255)
+    private String cle;
+    
+    @Column(name = "type", nullable = false, length = 100)
+    private String type;
+    
+    @Column(name = "payload", nullable = false, length = 1_048_576)
+    private byte[] payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    protected OutboxJpaEntity() {
+    }
+    
+    public OutboxJpaEntity(UUID garageId, String topic, String cle, String type, byte[] payload,
+                           LocalDateTime createdAt) {
+        this.garageId = garageId;
+        this.topic = topic;
+        this.cle = cle;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() { return id; }
+    public UUID getGarageId() { return garageId; }
+    public String getTopic() { return topic; }
+    public String getCle() { return cle; }
+    public String getType() { return type; }
+    public byte[] getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
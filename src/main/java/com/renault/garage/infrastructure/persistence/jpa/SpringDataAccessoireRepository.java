@@ -1,22 +1,43 @@
 package com.renault.garage.infrastructure.persistence.jpa;
 
 import com.renault.garage.infrastructure.persistence.entity.TypeAccessoireEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA Repository pour AccessoireJpaEntity
+ * Les requêtes d'un véhicule filtrent sur vehicule_id, clé de partition de la table sous PostgreSQL :
+ * elles ne lisent qu'une partition. Celles par type ou par garage parcourent toutes les partitions.
  */
 @Repository
 public interface SpringDataAccessoireRepository extends JpaRepository<AccessoireJpaEntity, UUID> {
     
     /**
-     * Trouve les accessoires par véhicule
+     * Trouve un accessoire d'un véhicule (lecture d'une seule partition)
      */
-    List<AccessoireJpaEntity> findByVehicule(VehiculeJpaEntity vehicule);
+    Optional<AccessoireJpaEntity> findByVehicule_IdAndId(UUID vehiculeId, UUID id);
+    
+    /**
+     * Trouve les accessoires d'un véhicule par sa clé étrangère (sans charger le véhicule)
+     */
+    List<AccessoireJpaEntity> findByVehicule_Id(UUID vehiculeId);
+    
+    /**
+     * Trouve les accessoires d'un véhicule par curseur sur (createdAt, id)
+     */
+    Window<AccessoireJpaEntity> findByVehicule_IdOrderByCreatedAtAscIdAsc(UUID vehiculeId, ScrollPosition position,
+                                                                          Limit limit);
     
     /**
      * Trouve les accessoires par type
@@ -24,7 +45,49 @@ public interface SpringDataAccessoireRepository extends JpaRepository<Accessoire
     List<AccessoireJpaEntity> findByType(TypeAccessoireEntity type);
     
     /**
-     * Compte le nombre d'accessoires d'un véhicule
+     * Compte le nombre d'accessoires d'un véhicule par sa clé étrangère
+     */
+    long countByVehicule_Id(UUID vehiculeId);
+    
+    /**
+     * Supprime un accessoire d'un véhicule sans le charger au préalable
+     */
+    @Modifying
+    @Query("DELETE FROM AccessoireJpaEntity a WHERE a.vehiculeId = :vehiculeId AND a.id = :id")
+    int supprimer(@Param("vehiculeId") UUID vehiculeId, @Param("id") UUID id);
+    
+    /**
+     * Supprime tous les accessoires d'un véhicule (remplace la cascade de la clé étrangère,
+     * absente des tables partitionnées)
+     */
+    @Modifying
+    @Query("DELETE FROM AccessoireJpaEntity a WHERE a.vehiculeId = :vehiculeId")
+    int supprimerParVehicule(@Param("vehiculeId") UUID vehiculeId);
+    
+    /**
+     * Supprime au plus limite accessoires des véhicules d'un garage (purge par lots)
+     * Le prédicat sur vehicule_id (clé de partition, tête de la clé primaire) cible les seules partitions des véhicules du garage
+     */
+    @Modifying
+    @Query(value = "DELETE FROM accessoires " +
+                   "WHERE vehicule_id IN (SELECT v.id FROM vehicules v WHERE v.garage_id = :garageId) " +
+                   "AND id IN (SELECT a.id FROM accessoires a JOIN vehicules v ON v.id = a.vehicule_id " +
+                   "WHERE v.garage_id = :garageId LIMIT :limite)",
+           nativeQuery = true)
+    int purgerParGarage(@Param("garageId") UUID garageId, @Param("limite") int limite);
+    
+    /**
+     * Couples distincts (garage, type d'accessoire) pour les garages fournis
+     */
+    @Query("SELECT DISTINCT v.garageId AS garageId, a.type AS type " +
+           "FROM AccessoireJpaEntity a JOIN a.vehicule v WHERE v.garageId IN :garageIds")
+    List<GarageTypeAccessoire> findTypesAccessoireByGarageIdIn(@Param("garageIds") Collection<UUID> garageIds);
+    
+    /**
+     * Projection (garage, type d'accessoire)
      */
-    long countByVehicule(VehiculeJpaEntity vehicule);
+    interface GarageTypeAccessoire {
+        UUID getGarageId();
+        TypeAccessoireEntity getType();
+    }
 }
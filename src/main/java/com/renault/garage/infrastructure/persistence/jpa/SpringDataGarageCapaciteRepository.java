@@ -0,0 +1,65 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository pour GarageCapaciteJpaEntity
+ */
+@Repository
+public interface SpringDataGarageCapaciteRepository extends JpaRepository<GarageCapaciteJpaEntity, UUID> {
+    
+    /**
+     * Réserve des places si la capacité le permet : la condition et l'incrément sont évalués
+     * par la base sous le verrou de la ligne, deux réservations concurrentes ne peuvent donc
+     * pas dépasser le maximum
+     * @return 1 si la réservation est acceptée, 0 sinon (garage plein ou compteur absent)
+     */
+    @Modifying
+    @Query("UPDATE GarageCapaciteJpaEntity c SET c.nombreVehicules = c.nombreVehicules + :nombre " +
+           "WHERE c.garageId = :garageId AND c.nombreVehicules + :nombre <= :capaciteMax")
+    int reserver(@Param("garageId") UUID garageId, @Param("nombre") int nombre,
+                 @Param("capaciteMax") int capaciteMax);
+    
+    /**
+     * Libère des places, sans jamais descendre sous zéro
+     */
+    @Modifying
+    @Query("UPDATE GarageCapaciteJpaEntity c SET c.nombreVehicules = c.nombreVehicules - :nombre " +
+           "WHERE c.garageId = :garageId AND c.nombreVehicules >= :nombre")
+    int liberer(@Param("garageId") UUID garageId, @Param("nombre") int nombre);
+    
+    /**
+     * Crée le compteur d'un garage existant à partir de ses véhicules persistés
+     * Sans effet si le compteur existe déjà ou si le garage n'existe pas
+     * @return 1 si le compteur a été créé, 0 sinon
+     */
+    @Modifying
+    @Query("INSERT INTO GarageCapaciteJpaEntity (garageId, nombreVehicules) " +
+           "SELECT g.id, CAST((SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = g.id) AS Integer) " +
+           "FROM GarageJpaEntity g WHERE g.id = :garageId " +
+           "AND NOT EXISTS (SELECT 1 FROM GarageCapaciteJpaEntity c WHERE c.garageId = g.id)")
+    int initialiser(@Param("garageId") UUID garageId);
+    
+    /**
+     * Variante PostgreSQL de initialiser : ON CONFLICT DO NOTHING rend la création idempotente
+     * entre transactions concurrentes (la seconde attend la première puis n'insère rien)
+     * @return 1 si le compteur a été créé, 0 sinon
+     */
+    @Modifying
+    @Query(value = "INSERT INTO garage_capacites (garage_id, nombre_vehicules) " +
+                   "SELECT g.id, (SELECT COUNT(*) FROM vehicules v WHERE v.garage_id = g.id) " +
+                   "FROM garages g WHERE g.id = :garageId AND g.deleted_at IS NULL " +
+                   "ON CONFLICT (garage_id) DO NOTHING",
+           nativeQuery = true)
+    int initialiserSansConflit(@Param("garageId") UUID garageId);
+    
+    @Modifying
+    @Query("DELETE FROM GarageCapaciteJpaEntity c WHERE c.garageId = :garageId")
+    int supprimer(@Param("garageId") UUID garageId);
+}
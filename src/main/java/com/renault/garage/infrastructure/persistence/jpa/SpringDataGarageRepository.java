@@ -1,14 +1,17 @@
 package com.renault.garage.infrastructure.persistence.jpa;
 
-import com.renault.garage.domain.model.TypeCarburant;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -22,6 +25,11 @@ public interface SpringDataGarageRepository extends JpaRepository<GarageJpaEntit
      */
     List<GarageJpaEntity> findByVille(String ville);
     
+    /**
+     * Parcourt tous les garages par curseur sur (name, id)
+     */
+    Window<GarageJpaEntity> findAllByOrderByNameAscIdAsc(ScrollPosition position, Limit limit);
+    
     /**
      * Trouve les garages par nom contenant une chaîne
      */
@@ -33,4 +41,65 @@ public interface SpringDataGarageRepository extends JpaRepository<GarageJpaEntit
      */
     @Query("SELECT DISTINCT g FROM GarageJpaEntity g WHERE g.ville = :ville")
     List<GarageJpaEntity> findGaragesByVille(@Param("ville") String ville);
+    
+    /**
+     * Charge un garage et son nombre de véhicules en un seul aller-retour
+     */
+    @Query("SELECT g AS garage, (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = g.id) AS nombreVehicules " +
+           "FROM GarageJpaEntity g WHERE g.id = :id")
+    Optional<GarageAvecNombreVehicules> findWithNombreVehiculesById(@Param("id") UUID id);
+    
+    /**
+     * Supprime un garage par son ID sans le charger au préalable
+     */
+    @Modifying
+    @Query("DELETE FROM GarageJpaEntity g WHERE g.id = :id")
+    int supprimer(@Param("id") UUID id);
+    
+    /**
+     * Met à jour la seule date de modification d'un garage (ajout ou retrait d'un véhicule)
+     * La version n'est pas incrémentée : ces écritures ne modifient pas les données du garage
+     * et ne doivent ni entrer en conflit entre elles, ni invalider une édition en cours
+     */
+    @Modifying
+    @Query("UPDATE GarageJpaEntity g SET g.updatedAt = :instant WHERE g.id = :id")
+    int marquerModifie(@Param("id") UUID id, @Param("instant") LocalDateTime instant);
+    
+    /**
+     * Marque un garage comme supprimé ; aucune ligne modifiée s'il n'existe pas ou est déjà supprimé
+     */
+    @Modifying
+    @Query("UPDATE GarageJpaEntity g SET g.deletedAt = :instant, g.version = g.version + 1 " +
+           "WHERE g.id = :id AND g.deletedAt IS NULL")
+    int marquerSupprime(@Param("id") UUID id, @Param("instant") LocalDateTime instant);
+    
+    /**
+     * Garages supprimés en attente de purge, les plus anciens d'abord
+     * Requête native (la restriction de l'entité les masque) : ID en texte, portable H2 / PostgreSQL
+     */
+    @Query(value = "SELECT CAST(g.id AS VARCHAR) FROM garages g WHERE g.deleted_at IS NOT NULL " +
+                   "ORDER BY g.deleted_at LIMIT :limite",
+           nativeQuery = true)
+    List<String> findIdsSupprimes(@Param("limite") int limite);
+    
+    /**
+     * Nombre de garages supprimés en attente de purge
+     */
+    @Query(value = "SELECT COUNT(*) FROM garages g WHERE g.deleted_at IS NOT NULL", nativeQuery = true)
+    long countSupprimes();
+    
+    /**
+     * Supprime définitivement un garage marqué supprimé
+     */
+    @Modifying
+    @Query(value = "DELETE FROM garages WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purger(@Param("id") UUID id);
+    
+    /**
+     * Projection (garage, nombre de véhicules)
+     */
+    interface GarageAvecNombreVehicules {
+        GarageJpaEntity getGarage();
+        long getNombreVehicules();
+    }
 }
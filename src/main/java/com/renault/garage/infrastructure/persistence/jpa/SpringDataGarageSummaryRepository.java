@@ -0,0 +1,193 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import com.renault.garage.domain.model.TypeCarburant;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository pour GarageSummaryJpaEntity
+ * Lectures des listes et recherches sur la seule table garage_summary ; les compteurs sont
+ * ajustés par des UPDATE relatifs (valeur = valeur + delta) évalués par la base sous le verrou
+ * de la ligne : deux écritures concurrentes dans un même garage ne perdent aucun incrément.
+ * Le contexte de persistance est vidé après chaque ajustement : un résumé déjà chargé dans la
+ * transaction serait sinon relu avec ses anciens compteurs.
+ */
+@Repository
+public interface SpringDataGarageSummaryRepository extends JpaRepository<GarageSummaryJpaEntity, UUID> {
+    
+    /**
+     * Parcourt tous les garages par curseur sur (name, id)
+     */
+    Window<GarageSummaryJpaEntity> findAllByOrderByNameAscIdAsc(ScrollPosition position, Limit limit);
+    
+    /**
+     * Trouve les garages d'une ville par curseur sur (name, id), servi par idx_garage_summary_ville_name_id
+     */
+    Window<GarageSummaryJpaEntity> findByVilleOrderByNameAscIdAsc(String ville, ScrollPosition position, Limit limit);
+    
+    /**
+     * Trouve les garages dont le nom en minuscules contient une chaîne (déjà en minuscules),
+     * par curseur sur (name, id)
+     */
+    Window<GarageSummaryJpaEntity> findByNomRechercheContainingOrderByNameAscIdAsc(String nomRecherche,
+                                                                                   ScrollPosition position,
+                                                                                   Limit limit);
+    
+    /**
+     * Trouve les garages dont le nom en minuscules contient une chaîne (déjà en minuscules), triés par
+     * similarité (PostgreSQL uniquement)
+     * Le prédicat est servi par l'index GIN pg_trgm idx_garage_summary_nom_recherche_trgm ;
+     * l'ID départage les ex aequo pour que deux pages successives ne se recouvrent pas
+     */
+    @Query(value = "SELECT s.* FROM garage_summary s " +
+                   "WHERE s.nom_recherche LIKE concat('%', :#{escape(#name)}, '%') ESCAPE :#{escapeCharacter()} " +
+                   "ORDER BY similarity(s.nom_recherche, :name) DESC, s.name, s.id " +
+                   "LIMIT :limite OFFSET :debut",
+           nativeQuery = true)
+    List<GarageSummaryJpaEntity> searchByNameRanked(@Param("name") String name,
+                                                    @Param("debut") long debut,
+                                                    @Param("limite") int limite);
+    
+    /**
+     * Trouve les garages ayant un véhicule du type de carburant donné équipé d'un accessoire
+     * dont le nom contient la chaîne fournie (insensible à la casse)
+     * Le couple (carburant, accessoire) d'un même véhicule n'est pas résumable : semi-jointure
+     * sur les véhicules du garage, les lignes renvoyées viennent du résumé
+     */
+    @Query("SELECT s FROM GarageSummaryJpaEntity s WHERE EXISTS (" +
+           "SELECT 1 FROM VehiculeJpaEntity v, AccessoireJpaEntity a " +
+           "WHERE a.vehicule = v AND v.garageId = s.id " +
+           "AND v.typeCarburant = :typeCarburant " +
+           "AND LOWER(a.nom) LIKE LOWER(CONCAT('%', :#{escape(#accessoireNom)}, '%')) ESCAPE :#{escapeCharacter()})")
+    Slice<GarageSummaryJpaEntity> findByTypeCarburantAndAccessoireNom(
+        @Param("typeCarburant") TypeCarburant typeCarburant,
+        @Param("accessoireNom") String accessoireNom,
+        Pageable pageable);
+    
+    /**
+     * Trouve les garages d'une ville ouverts pendant le quart d'heure désigné par (mot, masque)
+     * Test de bit sur le bitmap des créneaux (voir CreneauxHebdomadaires)
+     */
+    @Query("SELECT s FROM GarageSummaryJpaEntity s WHERE s.ville = :ville " +
+           "AND bitand(CASE " +
+           "WHEN :mot = 0 THEN s.creneaux.mot0 WHEN :mot = 1 THEN s.creneaux.mot1 WHEN :mot = 2 THEN s.creneaux.mot2 " +
+           "WHEN :mot = 3 THEN s.creneaux.mot3 WHEN :mot = 4 THEN s.creneaux.mot4 WHEN :mot = 5 THEN s.creneaux.mot5 " +
+           "WHEN :mot = 6 THEN s.creneaux.mot6 WHEN :mot = 7 THEN s.creneaux.mot7 WHEN :mot = 8 THEN s.creneaux.mot8 " +
+           "WHEN :mot = 9 THEN s.creneaux.mot9 WHEN :mot = 10 THEN s.creneaux.mot10 " +
+           "END, CAST(:masque AS Long)) <> 0")
+    Slice<GarageSummaryJpaEntity> findOuvertsByVille(@Param("ville") String ville, @Param("mot") int mot,
+                                                     @Param("masque") long masque, Pageable pageable);
+    
+    /**
+     * Ajoute (ou retire, deltas négatifs) des véhicules au résumé d'un garage
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET " +
+           "s.nombreVehicules = s.nombreVehicules + :essence + :diesel + :electrique + :hybride + :gpl, " +
+           "s.vehiculesEssence = s.vehiculesEssence + :essence, " +
+           "s.vehiculesDiesel = s.vehiculesDiesel + :diesel, " +
+           "s.vehiculesElectrique = s.vehiculesElectrique + :electrique, " +
+           "s.vehiculesHybride = s.vehiculesHybride + :hybride, " +
+           "s.vehiculesGpl = s.vehiculesGpl + :gpl " +
+           "WHERE s.id = :garageId")
+    int ajusterVehicules(@Param("garageId") UUID garageId, @Param("essence") int essence,
+                         @Param("diesel") int diesel, @Param("electrique") int electrique,
+                         @Param("hybride") int hybride, @Param("gpl") int gpl);
+    
+    /**
+     * Ajoute (ou retire, deltas négatifs) des véhicules au résumé d'un garage, par carburant
+     */
+    default int ajusterVehicules(UUID garageId, Map<TypeCarburant, Integer> deltas) {
+        return ajusterVehicules(garageId,
+            deltas.getOrDefault(TypeCarburant.ESSENCE, 0),
+            deltas.getOrDefault(TypeCarburant.DIESEL, 0),
+            deltas.getOrDefault(TypeCarburant.ELECTRIQUE, 0),
+            deltas.getOrDefault(TypeCarburant.HYBRIDE, 0),
+            deltas.getOrDefault(TypeCarburant.GPL, 0));
+    }
+    
+    /**
+     * Ajoute (ou retire, deltas négatifs) des accessoires au résumé d'un garage
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET s.nombreAccessoires = s.nombreAccessoires + :nombre, " +
+           "s.valeurAccessoires = s.valeurAccessoires + :valeur WHERE s.id = :garageId")
+    int ajusterAccessoires(@Param("garageId") UUID garageId, @Param("nombre") int nombre,
+                           @Param("valeur") BigDecimal valeur);
+    
+    /**
+     * Ajoute (ou retire) des accessoires au résumé du garage d'un véhicule, sans lire le véhicule
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET s.nombreAccessoires = s.nombreAccessoires + :nombre, " +
+           "s.valeurAccessoires = s.valeurAccessoires + :valeur " +
+           "WHERE s.id = (SELECT v.garageId FROM VehiculeJpaEntity v WHERE v.id = :vehiculeId)")
+    int ajusterAccessoiresDuVehicule(@Param("vehiculeId") UUID vehiculeId, @Param("nombre") int nombre,
+                                     @Param("valeur") BigDecimal valeur);
+    
+    /**
+     * Retire du résumé de son garage un véhicule et ses accessoires, avant leur suppression
+     * Carburant et totaux lus par sous-requêtes dans le même UPDATE : rien n'est chargé au préalable,
+     * et un véhicule absent ne retire rien
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET " +
+           "s.nombreVehicules = s.nombreVehicules - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId), " +
+           "s.vehiculesEssence = s.vehiculesEssence - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId " +
+           "AND v.typeCarburant = com.renault.garage.domain.model.TypeCarburant.ESSENCE), " +
+           "s.vehiculesDiesel = s.vehiculesDiesel - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId " +
+           "AND v.typeCarburant = com.renault.garage.domain.model.TypeCarburant.DIESEL), " +
+           "s.vehiculesElectrique = s.vehiculesElectrique - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId " +
+           "AND v.typeCarburant = com.renault.garage.domain.model.TypeCarburant.ELECTRIQUE), " +
+           "s.vehiculesHybride = s.vehiculesHybride - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId " +
+           "AND v.typeCarburant = com.renault.garage.domain.model.TypeCarburant.HYBRIDE), " +
+           "s.vehiculesGpl = s.vehiculesGpl - (SELECT COUNT(v) FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :vehiculeId " +
+           "AND v.typeCarburant = com.renault.garage.domain.model.TypeCarburant.GPL), " +
+           "s.nombreAccessoires = s.nombreAccessoires - " +
+           "(SELECT COUNT(a) FROM AccessoireJpaEntity a WHERE a.vehiculeId = :vehiculeId), " +
+           "s.valeurAccessoires = s.valeurAccessoires - " +
+           "(SELECT COALESCE(SUM(a.prix), 0) FROM AccessoireJpaEntity a WHERE a.vehiculeId = :vehiculeId) " +
+           "WHERE s.id = :garageId")
+    int retirerVehicule(@Param("garageId") UUID garageId, @Param("vehiculeId") UUID vehiculeId);
+    
+    /**
+     * Retire un accessoire du résumé du garage de son véhicule, avant sa suppression
+     * Un accessoire absent ne retire rien
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET " +
+           "s.nombreAccessoires = s.nombreAccessoires - (SELECT COUNT(a) FROM AccessoireJpaEntity a " +
+           "WHERE a.vehiculeId = :vehiculeId AND a.id = :id), " +
+           "s.valeurAccessoires = s.valeurAccessoires - (SELECT COALESCE(SUM(a.prix), 0) FROM AccessoireJpaEntity a " +
+           "WHERE a.vehiculeId = :vehiculeId AND a.id = :id) " +
+           "WHERE s.id = (SELECT v.garageId FROM VehiculeJpaEntity v WHERE v.id = :vehiculeId)")
+    int retirerAccessoire(@Param("vehiculeId") UUID vehiculeId, @Param("id") UUID id);
+    
+    /**
+     * Reporte la date de modification d'un garage (voir SpringDataGarageRepository.marquerModifie)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GarageSummaryJpaEntity s SET s.updatedAt = :instant WHERE s.id = :id")
+    int marquerModifie(@Param("id") UUID id, @Param("instant") LocalDateTime instant);
+    
+    /**
+     * Retire le résumé d'un garage supprimé
+     */
+    @Modifying
+    @Query("DELETE FROM GarageSummaryJpaEntity s WHERE s.id = :id")
+    int supprimer(@Param("id") UUID id);
+}
@@ -0,0 +1,27 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository pour ModeleVehiculeJpaEntity
+ */
+@Repository
+public interface SpringDataModeleVehiculeRepository extends JpaRepository<ModeleVehiculeJpaEntity, UUID> {
+    
+    /**
+     * Requête native : la restriction des véhicules masque ceux des garages en attente de purge,
+     * qui bloquent pourtant la suppression (clé étrangère fk_vehicule_modele)
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM vehicules v WHERE v.modele_id = :modeleId)", nativeQuery = true)
+    boolean estUtilise(@Param("modeleId") UUID modeleId);
+    
+    @Modifying
+    @Query("DELETE FROM ModeleVehiculeJpaEntity m WHERE m.id = :id")
+    int supprimer(@Param("id") UUID id);
+}
@@ -0,0 +1,24 @@
+package com.renault.garage.infrastructure.persistence.jpa;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository pour OutboxJpaEntity
+ */
+@Repository
+public interface SpringDataOutboxRepository extends JpaRepository<OutboxJpaEntity, Long> {
+    
+    /**
+     * Plus anciens événements, verrouillés jusqu'à la fin de la transaction (SELECT ... FOR UPDATE)
+     * Sans SKIP LOCKED : deux relais concurrents se succèdent sur les mêmes lignes au lieu
+     * de se partager l'outbox, ce qui préserve l'ordre d'envoi par garage
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxJpaEntity> findByOrderByIdAsc(Limit limit);
+}
@@ -1,20 +1,38 @@
 package com.renault.garage.infrastructure.persistence.jpa;
 
 import com.renault.garage.domain.model.TypeCarburant;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA Repository pour VehiculeJpaEntity
+ * Les requêtes d'un garage filtrent sur garage_id, clé de partition de la table sous PostgreSQL :
+ * elles ne lisent qu'une partition. Celles par modèle, carburant, marque ou par liste d'ID
+ * parcourent toutes les partitions (index locaux à chaque partition).
  */
 @Repository
 public interface SpringDataVehiculeRepository extends JpaRepository<VehiculeJpaEntity, UUID> {
     
+    /**
+     * Trouve un véhicule d'un garage (lecture d'une seule partition)
+     */
+    Optional<VehiculeJpaEntity> findByGarageIdAndId(UUID garageId, UUID id);
+    
+    boolean existsByGarageIdAndId(UUID garageId, UUID id);
+    
     /**
      * Trouve les véhicules par garage ID
      */
@@ -25,11 +43,23 @@ public interface SpringDataVehiculeRepository extends JpaRepository<VehiculeJpaE
      */
     Page<VehiculeJpaEntity> findByGarageId(UUID garageId, Pageable pageable);
     
+    /**
+     * Trouve les véhicules d'un garage par curseur sur (createdAt, id)
+     */
+    Window<VehiculeJpaEntity> findByGarageIdOrderByCreatedAtAscIdAsc(UUID garageId, ScrollPosition position,
+                                                                     Limit limit);
+    
     /**
      * Trouve les véhicules par modèle ID
      */
     List<VehiculeJpaEntity> findByModeleId(UUID modeleId);
     
+    /**
+     * Trouve les véhicules d'un modèle par curseur sur (createdAt, id)
+     */
+    Window<VehiculeJpaEntity> findByModeleIdOrderByCreatedAtAscIdAsc(UUID modeleId, ScrollPosition position,
+                                                                     Limit limit);
+    
     /**
      * Trouve les véhicules par type de carburant
      */
@@ -40,8 +70,81 @@ public interface SpringDataVehiculeRepository extends JpaRepository<VehiculeJpaE
      */
     List<VehiculeJpaEntity> findByBrandContainingIgnoreCase(String brand);
     
+    /**
+     * Trouve les véhicules par marque, triés par similarité (PostgreSQL uniquement)
+     * Le prédicat sur lower(brand) est servi par l'index GIN pg_trgm idx_vehicule_brand_trgm
+     * Requête native : les véhicules des garages supprimés sont exclus explicitement
+     */
+    @Query(value = "SELECT v.* FROM vehicules v " +
+                   "WHERE lower(v.brand) LIKE lower(concat('%', :#{escape(#brand)}, '%')) ESCAPE :#{escapeCharacter()} " +
+                   "AND v.garage_id NOT IN (SELECT g.id FROM garages g WHERE g.deleted_at IS NOT NULL) " +
+                   "ORDER BY similarity(lower(v.brand), lower(:brand)) DESC, v.brand",
+           nativeQuery = true)
+    List<VehiculeJpaEntity> searchByBrandRanked(@Param("brand") String brand);
+    
     /**
      * Compte le nombre de véhicules dans un garage
      */
     long countByGarageId(UUID garageId);
+    
+    /**
+     * Supprime un véhicule d'un garage sans le charger au préalable
+     */
+    @Modifying
+    @Query("DELETE FROM VehiculeJpaEntity v WHERE v.garageId = :garageId AND v.id = :id")
+    int supprimer(@Param("garageId") UUID garageId, @Param("id") UUID id);
+    
+    /**
+     * Supprime au plus limite véhicules d'un garage (purge par lots)
+     * Le prédicat sur garage_id (clé de partition) limite la suppression à la partition du garage
+     */
+    @Modifying
+    @Query(value = "DELETE FROM vehicules WHERE garage_id = :garageId AND id IN " +
+                   "(SELECT v.id FROM vehicules v WHERE v.garage_id = :garageId LIMIT :limite)",
+           nativeQuery = true)
+    int purgerParGarage(@Param("garageId") UUID garageId, @Param("limite") int limite);
+    
+    /**
+     * Compte les véhicules de plusieurs garages en une seule requête agrégée
+     */
+    @Query("SELECT v.garageId AS garageId, COUNT(v) AS nombre " +
+           "FROM VehiculeJpaEntity v WHERE v.garageId IN :garageIds GROUP BY v.garageId")
+    List<GarageVehiculeCount> countByGarageIdIn(@Param("garageIds") Collection<UUID> garageIds);
+    
+    /**
+     * Projection (garage, nombre de véhicules)
+     */
+    interface GarageVehiculeCount {
+        UUID getGarageId();
+        long getNombre();
+    }
+    
+    /**
+     * Garage propriétaire de chacun des véhicules fournis (les ID inconnus sont absents du résultat)
+     */
+    @Query("SELECT v.id AS vehiculeId, v.garageId AS garageId FROM VehiculeJpaEntity v WHERE v.id IN :ids")
+    List<VehiculeGarage> findGarageIdsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Projection (véhicule, garage)
+     */
+    interface VehiculeGarage {
+        UUID getVehiculeId();
+        UUID getGarageId();
+    }
+    
+    /**
+     * Couples distincts (garage, type de carburant) pour les garages fournis
+     */
+    @Query("SELECT DISTINCT v.garageId AS garageId, v.typeCarburant AS typeCarburant " +
+           "FROM VehiculeJpaEntity v WHERE v.garageId IN :garageIds")
+    List<GarageTypeCarburant> findTypesCarburantByGarageIdIn(@Param("garageIds") Collection<UUID> garageIds);
+    
+    /**
+     * Projection (garage, type de carburant)
+     */
+    interface GarageTypeCarburant {
+        UUID getGarageId();
+        TypeCarburant getTypeCarburant();
+    }
 }
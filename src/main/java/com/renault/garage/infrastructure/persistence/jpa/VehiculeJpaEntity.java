@@ -2,22 +2,37 @@ package com.renault.garage.infrastructure.persistence.jpa;
 
 import com.renault.garage.domain.model.TypeCarburant;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.SQLRestriction;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * JPA Entity - Vehicule
  * Entité de persistance pour la table vehicules
+ * Les véhicules d'un garage supprimé en attente de purge sont masqués avec lui
+ * (sous-requête servie par idx_garage_deleted_at : peu de garages en attente)
+ * Versionnée (verrouillage optimiste) ; les UPDATE ne portent que sur les colonnes modifiées
+ * Table partitionnée par hachage de garage_id sous PostgreSQL (V9) : UPDATE et DELETE de l'entité
+ * portent aussi sur garage_id, la lecture par ID se fait avec le garage (findByGarageIdAndId)
  */
 @Entity
-@Table(name = "vehicules")
-public class VehiculeJpaEntity {
+@Table(name = "vehicules", indexes = {
+    @Index(name = "idx_vehicule_garage_created", columnList = "garage_id, created_at, id"),
+    @Index(name = "idx_vehicule_modele_created", columnList = "modele_id, created_at, id")
+})
+@SQLRestriction("garage_id NOT IN (SELECT g.id FROM garages g WHERE g.deleted_at IS NOT NULL)")
+@DynamicUpdate
+public class VehiculeJpaEntity implements Persistable<UUID> {
     
     @Id
     @Column(name = "id", columnDefinition = "UUID")
     private UUID id;
     
-    @Column(name = "garage_id", columnDefinition = "UUID", nullable = false)
+    @PartitionKey
+    @Column(name = "garage_id", columnDefinition = "UUID", nullable = false, updatable = false)
     private UUID garageId;
     
     @Column(name = "modele_id", columnDefinition = "UUID", nullable = false)
@@ -39,9 +54,18 @@ public class VehiculeJpaEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructeurs
     public VehiculeJpaEntity() {}
     
+    // Identifiant attribué par le domaine : la version, null tant que le véhicule n'est pas
+    // enregistré, distingue l'INSERT groupable du merge (SELECT préalable)
+    @Override
+    public boolean isNew() { return version == null; }
+    
     // Getters et Setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -66,4 +90,7 @@ public class VehiculeJpaEntity {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,87 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Lecture de ses propres écritures (read-your-writes) après une transaction d'écriture validée
+ * - dans la même requête HTTP, les lectures suivantes restent sur le primaire ;
+ * - le cookie GARAGE_RYW, posé pour la durée de la fenêtre, y maintient les requêtes suivantes
+ *   du même client le temps que les répliques rattrapent l'écriture.
+ * Hors requête HTTP (consommateurs Kafka...), aucune adhérence : les lectures suivent la stratégie.
+ */
+public class LectureApresEcriture {
+    
+    static final String COOKIE = "GARAGE_RYW";
+    private static final String ATTRIBUT = LectureApresEcriture.class.getName() + ".ecriture";
+    
+    private final Duration fenetre;
+    
+    public LectureApresEcriture(Duration fenetre) {
+        this.fenetre = fenetre;
+    }
+    
+    /**
+     * Vrai si le client courant a écrit récemment : la lecture doit être servie par le primaire
+     */
+    boolean primaireExigee() {
+        if (fenetre.isZero() || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributs)) {
+            return false;
+        }
+        if (attributs.getAttribute(ATTRIBUT, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Cookie[] cookies = attributs.getRequest().getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Connexion prise par une transaction d'écriture : le client est marqué au commit
+     */
+    void surTransactionEcriture() {
+        if (fenetre.isZero()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributs)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                marquer(attributs);
+            }
+        });
+    }
+    
+    private void marquer(ServletRequestAttributes attributs) {
+        if (attributs.getAttribute(ATTRIBUT, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributs.setAttribute(ATTRIBUT, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = attributs.getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, "1")
+                .maxAge(fenetre)
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+        }
+    }
+}
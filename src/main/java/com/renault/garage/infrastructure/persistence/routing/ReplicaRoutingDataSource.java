@@ -0,0 +1,157 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * DataSource de routage primaire / répliques
+ * Les transactions en lecture seule sont servies par une réplique disponible, tout le reste
+ * (écritures, accès hors transaction) par le primaire. Le drapeau lecture seule n'est connu qu'une
+ * fois la transaction démarrée : ce DataSource doit être enveloppé dans un
+ * LazyConnectionDataSourceProxy, qui ne demande la connexion physique qu'à la première requête.
+ * Repli sur le primaire si aucune réplique n'est disponible, si la connexion à la réplique échoue,
+ * ou pour un client ayant écrit récemment (voir LectureApresEcriture).
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private final DataSource primaire;
+    private final List<Replique> repliques;
+    private final StrategieReplique strategie;
+    private final LectureApresEcriture lectureApresEcriture;
+    private final String requeteRetard;
+    private final Duration retardMax;
+    private final AtomicInteger tour = new AtomicInteger();
+    private ScheduledExecutorService verification;
+    
+    /**
+     * @param requeteRetard requête renvoyant le retard de réplication en secondes, vide pour ne
+     *                      vérifier que la disponibilité
+     */
+    public ReplicaRoutingDataSource(DataSource primaire, List<Replique> repliques, StrategieReplique strategie,
+                                    LectureApresEcriture lectureApresEcriture, String requeteRetard,
+                                    Duration retardMax) {
+        this.primaire = primaire;
+        this.repliques = List.copyOf(repliques);
+        this.strategie = strategie;
+        this.lectureApresEcriture = lectureApresEcriture;
+        this.requeteRetard = requeteRetard;
+        this.retardMax = retardMax;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            lectureApresEcriture.surTransactionEcriture();
+            return primaire.getConnection();
+        }
+        if (lectureApresEcriture.primaireExigee()) {
+            return primaire.getConnection();
+        }
+        List<Replique> disponibles = repliques.stream().filter(Replique::isDisponible).toList();
+        if (disponibles.isEmpty()) {
+            return primaire.getConnection();
+        }
+        Replique replique = strategie.choisir(disponibles, tour);
+        try {
+            return replique.getConnection();
+        } catch (SQLException e) {
+            // La vérification périodique la remettra en service une fois joignable
+            replique.setDisponible(false);
+            logger.warn("Réplique {} injoignable, lecture sur le primaire: {}", replique.getNom(), e.getMessage());
+            return primaire.getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Identifiants fixés par la configuration des pools");
+    }
+    
+    /**
+     * Vérifie chaque réplique : connexion valide et, si configuré, retard sous le maximum toléré
+     */
+    public void verifierRepliques() {
+        for (Replique replique : repliques) {
+            boolean disponible = estDisponible(replique);
+            if (disponible != replique.isDisponible()) {
+                logger.info("Réplique {} {}", replique.getNom(), disponible ? "remise en service" : "écartée");
+            }
+            replique.setDisponible(disponible);
+        }
+    }
+    
+    private boolean estDisponible(Replique replique) {
+        try (Connection connexion = replique.getDataSource().getConnection()) {
+            if (requeteRetard == null || requeteRetard.isBlank()) {
+                return connexion.isValid(2);
+            }
+            try (Statement statement = connexion.createStatement();
+                 ResultSet resultat = statement.executeQuery(requeteRetard)) {
+                double secondes = resultat.next() ? resultat.getDouble(1) : 0;
+                if (secondes > retardMax.toMillis() / 1000.0) {
+                    logger.warn("Réplique {} en retard de {} s (max {})", replique.getNom(), secondes, retardMax);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.warn("Réplique {} indisponible: {}", replique.getNom(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Vérifie une première fois les répliques, puis démarre la vérification périodique (thread démon unique)
+     * Une réplique n'est donc jamais lue avant d'avoir été vérifiée.
+     */
+    public synchronized void demarrerVerification(Duration intervalle) {
+        if (verification == null) {
+            verifierRepliques();
+            verification = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "verification-repliques");
+                thread.setDaemon(true);
+                return thread;
+            });
+            verification.scheduleWithFixedDelay(this::verifierRepliques,
+                intervalle.toMillis(), intervalle.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    public List<Replique> getRepliques() {
+        return repliques;
+    }
+    
+    @Override
+    public synchronized void close() throws Exception {
+        if (verification != null) {
+            verification.shutdownNow();
+        }
+        for (DataSource dataSource : dataSources()) {
+            if (dataSource instanceof AutoCloseable fermable) {
+                fermable.close();
+            }
+        }
+    }
+    
+    private List<DataSource> dataSources() {
+        return Stream.concat(Stream.of(primaire), repliques.stream().map(Replique::getDataSource)).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplique en lecture : pool de connexions, connexions empruntées et disponibilité
+ */
+public final class Replique {
+    
+    private final String nom;
+    private final DataSource dataSource;
+    private final AtomicInteger connexionsActives = new AtomicInteger();
+    private volatile boolean disponible = true;
+    
+    public Replique(String nom, DataSource dataSource) {
+        this.nom = nom;
+        this.dataSource = dataSource;
+    }
+    
+    /**
+     * Emprunte une connexion comptée jusqu'à sa fermeture (stratégie least-connections)
+     */
+    Connection getConnection() throws SQLException {
+        Connection connexion = dataSource.getConnection();
+        connexionsActives.incrementAndGet();
+        AtomicBoolean fermee = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, methode, args) -> {
+                if ("close".equals(methode.getName()) && fermee.compareAndSet(false, true)) {
+                    connexionsActives.decrementAndGet();
+                }
+                try {
+                    return methode.invoke(connexion, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+    
+    public String getNom() { return nom; }
+    DataSource getDataSource() { return dataSource; }
+    int getConnexionsActives() { return connexionsActives.get(); }
+    public boolean isDisponible() { return disponible; }
+    void setDisponible(boolean disponible) { this.disponible = disponible; }
+}
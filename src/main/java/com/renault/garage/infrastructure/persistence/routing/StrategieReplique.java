@@ -0,0 +1,42 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Choix de la réplique servant une transaction en lecture seule
+ */
+public enum StrategieReplique {
+    
+    /** Tour à tour, quelle que soit la charge */
+    ROUND_ROBIN {
+        @Override
+        Replique choisir(List<Replique> disponibles, AtomicInteger tour) {
+            return disponibles.get(Math.floorMod(tour.getAndIncrement(), disponibles.size()));
+        }
+    },
+    
+    /** Réplique ayant le moins de connexions empruntées (la première en cas d'égalité) */
+    LEAST_CONNECTIONS {
+        @Override
+        Replique choisir(List<Replique> disponibles, AtomicInteger tour) {
+            return disponibles.stream()
+                .min(Comparator.comparingInt(Replique::getConnexionsActives))
+                .orElseThrow();
+        }
+    };
+    
+    abstract Replique choisir(List<Replique> disponibles, AtomicInteger tour);
+    
+    /**
+     * round-robin | least-connections
+     */
+    public static StrategieReplique parse(String valeur) {
+        return switch (valeur.toLowerCase()) {
+            case "round-robin" -> ROUND_ROBIN;
+            case "least-connections" -> LEAST_CONNECTIONS;
+            default -> throw new IllegalStateException("Stratégie de réplique inconnue: " + valeur);
+        };
+    }
+}
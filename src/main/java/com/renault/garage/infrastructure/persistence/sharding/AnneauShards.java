@@ -0,0 +1,69 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Anneau de hachage cohérent : garage -> shard
+ * Chaque shard occupe plusieurs points (nœuds virtuels) de l'anneau, placés d'après son nom ;
+ * un garage appartient au premier point qui suit le hachage de son ID. Ajouter un shard en fin
+ * de liste ne déplace qu'environ 1/N des garages, tous vers le nouveau shard.
+ * Le hachage ne dépend que des noms et des IDs : la répartition est identique d'une instance à l'autre.
+ */
+public final class AnneauShards {
+    
+    private final TreeMap<Long, Integer> points = new TreeMap<>();
+    private final int nombreShards;
+    
+    public AnneauShards(List<String> noms, int noeudsVirtuels) {
+        if (noms.isEmpty() || noeudsVirtuels < 1) {
+            throw new IllegalArgumentException("Au moins un shard et un nœud virtuel par shard sont requis");
+        }
+        for (int shard = 0; shard < noms.size(); shard++) {
+            for (int noeud = 0; noeud < noeudsVirtuels; noeud++) {
+                points.putIfAbsent(hacher(noms.get(shard) + "#" + noeud), shard);
+            }
+        }
+        this.nombreShards = noms.size();
+    }
+    
+    /**
+     * Index du shard portant le garage
+     */
+    public int shardDe(UUID garageId) {
+        Map.Entry<Long, Integer> point = points.ceilingEntry(hacher(garageId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+    
+    public int getNombreShards() {
+        return nombreShards;
+    }
+    
+    // Les UUIDv7 partagent leurs bits de poids fort (horodatage) : les deux moitiés sont mélangées
+    static long hacher(UUID id) {
+        return melanger(id.getMostSignificantBits() ^ melanger(id.getLeastSignificantBits()));
+    }
+    
+    // FNV-1a 64 bits sur l'UTF-8, puis mélange final
+    static long hacher(String valeur) {
+        long hache = 0xcbf29ce484222325L;
+        for (byte octet : valeur.getBytes(StandardCharsets.UTF_8)) {
+            hache ^= octet & 0xff;
+            hache *= 0x100000001b3L;
+        }
+        return melanger(hache);
+    }
+    
+    // Finalisation de MurmurHash3 (fmix64)
+    private static long melanger(long valeur) {
+        valeur ^= valeur >>> 33;
+        valeur *= 0xff51afd7ed558ccdL;
+        valeur ^= valeur >>> 33;
+        valeur *= 0xc4ceb9fe1a85ec53L;
+        valeur ^= valeur >>> 33;
+        return valeur;
+    }
+}
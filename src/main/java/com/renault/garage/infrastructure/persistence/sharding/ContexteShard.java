@@ -0,0 +1,82 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+
+/**
+ * Shard ciblé par le thread courant, et shard auquel la transaction courante est liée
+ * Le shard courant n'est lu qu'au moment où une connexion physique est demandée ; la transaction
+ * est liée au shard de sa première connexion jusqu'à sa fin (suspendue avec elle si une
+ * transaction REQUIRES_NEW s'intercale).
+ */
+public final class ContexteShard {
+    
+    private static final ThreadLocal<Integer> COURANT = new ThreadLocal<>();
+    private static final Object CLE_TRANSACTION = new Object();
+    
+    private ContexteShard() {
+    }
+    
+    /**
+     * Exécute l'action avec le shard donné comme shard courant, puis restaure le précédent
+     */
+    static <T> T executer(int shard, Supplier<T> action) {
+        Integer precedent = COURANT.get();
+        COURANT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (precedent == null) {
+                COURANT.remove();
+            } else {
+                COURANT.set(precedent);
+            }
+        }
+    }
+    
+    /**
+     * Shard courant, vide hors de toute opération routée
+     */
+    static OptionalInt courant() {
+        Integer shard = COURANT.get();
+        return shard == null ? OptionalInt.empty() : OptionalInt.of(shard);
+    }
+    
+    /**
+     * Shard de la connexion déjà prise par la transaction courante, vide si elle n'en a pas encore
+     */
+    static OptionalInt shardDeLaTransaction() {
+        Object shard = TransactionSynchronizationManager.getResource(CLE_TRANSACTION);
+        return shard == null ? OptionalInt.empty() : OptionalInt.of((Integer) shard);
+    }
+    
+    /**
+     * Lie la transaction courante au shard de sa connexion (sans effet hors transaction ou si déjà liée)
+     */
+    static void lierTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(CLE_TRANSACTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(CLE_TRANSACTION, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CLE_TRANSACTION);
+            }
+            
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(CLE_TRANSACTION, shard);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CLE_TRANSACTION);
+            }
+        });
+    }
+}
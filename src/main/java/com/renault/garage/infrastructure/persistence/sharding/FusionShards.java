@@ -0,0 +1,143 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Fusion des réponses des shards
+ * Chaque shard renvoie ses propres premiers éléments dans l'ordre demandé : la fusion trie leur
+ * réunion avec le même ordre puis coupe à la taille demandée. L'ordre Java doit donc être celui
+ * des bases : UUID comparés octet par octet (non signés), chaînes par point de code (collation "C"
+ * des colonnes triées sur PostgreSQL, migration V15).
+ */
+final class FusionShards {
+    
+    /**
+     * Ordre des UUID en base (PostgreSQL, H2), différent de UUID.compareTo qui compare des long signés
+     */
+    static final Comparator<UUID> ORDRE_UUID = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    
+    /**
+     * Ordre des textes sous la collation "C" (octets UTF-8, soit points de code), différent de
+     * String.compareTo pour les caractères hors plan de base
+     */
+    static final Comparator<String> ORDRE_TEXTE = (a, b) -> {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Boolean.compare(i < a.length(), j < b.length());
+    };
+    
+    private FusionShards() {
+    }
+    
+    /**
+     * Fenêtres par curseur : les limit premiers éléments de la réunion, positionnés par leurs clés de tri
+     */
+    static <T> Window<T> fenetre(List<Window<T>> fenetres, Comparator<T> ordre, int limit,
+                                 Function<T, Map<String, Object>> cles) {
+        List<T> reunion = trier(fenetres, ordre);
+        boolean suite = reunion.size() > limit || fenetres.stream().anyMatch(Window::hasNext);
+        List<T> contenu = reunion.subList(0, Math.min(limit, reunion.size()));
+        return Window.from(contenu, i -> ScrollPosition.forward(cles.apply(contenu.get(i))), suite);
+    }
+    
+    /**
+     * Fenêtres classées par pertinence, positionnées par rang : entrelacement des classements de chaque
+     * shard (lus depuis le début), dont on garde les limit éléments qui suivent les debut premiers
+     */
+    static <T> Window<T> entrelacer(List<Window<T>> fenetres, long debut, int limit) {
+        int fin = Math.toIntExact(debut + limit);
+        List<T> reunion = new ArrayList<>();
+        for (int rang = 0; reunion.size() <= fin; rang++) {
+            boolean restant = false;
+            for (Window<T> fenetre : fenetres) {
+                if (rang < fenetre.size() && reunion.size() <= fin) {
+                    reunion.add(fenetre.getContent().get(rang));
+                    restant = true;
+                }
+            }
+            if (!restant) {
+                break;
+            }
+        }
+        boolean suite = reunion.size() > fin || fenetres.stream().anyMatch(Window::hasNext);
+        List<T> contenu = reunion.subList((int) Math.min(debut, reunion.size()), Math.min(fin, reunion.size()));
+        return Window.from(contenu, i -> ScrollPosition.offset(debut + i + 1), suite);
+    }
+    
+    /**
+     * Requête à envoyer à chaque shard pour une page : tout ce qui précède la page, depuis le début
+     */
+    static Pageable jusquA(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort());
+    }
+    
+    static <T> Page<T> page(List<Page<T>> pages, Comparator<T> ordre, Pageable pageable) {
+        List<T> reunion = trier(pages, ordre);
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(decouper(reunion, pageable), pageable, total);
+    }
+    
+    static <T> Slice<T> tranche(List<Slice<T>> tranches, Comparator<T> ordre, Pageable pageable) {
+        List<T> reunion = trier(tranches, ordre);
+        boolean suite = tranches.stream().anyMatch(Slice::hasNext)
+            || pageable.isPaged() && reunion.size() > pageable.getOffset() + pageable.getPageSize();
+        return new SliceImpl<>(decouper(reunion, pageable), pageable, suite);
+    }
+    
+    static <T> List<T> concatener(List<? extends Collection<T>> listes) {
+        List<T> reunion = new ArrayList<>();
+        listes.forEach(reunion::addAll);
+        return reunion;
+    }
+    
+    static <K, V> Map<K, V> reunir(List<Map<K, V>> maps) {
+        Map<K, V> reunion = new HashMap<>();
+        maps.forEach(reunion::putAll);
+        return reunion;
+    }
+    
+    private static <T> List<T> trier(List<? extends Iterable<T>> reponses, Comparator<T> ordre) {
+        List<T> reunion = new ArrayList<>();
+        reponses.forEach(reponse -> reponse.forEach(reunion::add));
+        reunion.sort(ordre);
+        return reunion;
+    }
+    
+    private static <T> List<T> decouper(List<T> reunion, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return reunion;
+        }
+        int debut = (int) Math.min(pageable.getOffset(), reunion.size());
+        return reunion.subList(debut, Math.min(debut + pageable.getPageSize(), reunion.size()));
+    }
+}
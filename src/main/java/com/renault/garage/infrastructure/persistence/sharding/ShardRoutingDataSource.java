@@ -0,0 +1,61 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+/**
+ * DataSource de routage entre shards
+ * La connexion est prise sur le shard courant (voir ContexteShard), à défaut sur le shard de
+ * référence (index 0) qui porte aussi les données non partagées (catalogue des modèles).
+ * Comme pour les répliques, ce DataSource doit être enveloppé dans un LazyConnectionDataSourceProxy :
+ * la connexion physique n'est demandée qu'à la première requête, une fois le shard connu.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    /**
+     * Shard : nom stable (position sur l'anneau) et pool de connexions
+     */
+    public record Shard(String nom, DataSource dataSource) {}
+    
+    public static final int SHARD_REFERENCE = 0;
+    
+    private final List<Shard> shards;
+    
+    public ShardRoutingDataSource(List<Shard> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un shard est requis");
+        }
+        this.shards = List.copyOf(shards);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        int shard = ContexteShard.courant().orElse(SHARD_REFERENCE);
+        Connection connexion = shards.get(shard).dataSource().getConnection();
+        ContexteShard.lierTransaction(shard);
+        return connexion;
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Identifiants fixés par la configuration des pools");
+    }
+    
+    public List<Shard> getShards() {
+        return shards;
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable fermable) {
+                fermable.close();
+            }
+        }
+    }
+}
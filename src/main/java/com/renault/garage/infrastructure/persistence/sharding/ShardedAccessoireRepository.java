@@ -0,0 +1,139 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.model.Accessoire;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * AccessoireRepository réparti : un accessoire vit sur le shard du garage de son véhicule
+ * Les opérations ne connaissent que le véhicule. Dans une transaction déjà liée à un shard, c'est
+ * celui où le service vient de vérifier le véhicule ; sinon le véhicule est localisé par une
+ * requête diffusée (un véhicule inconnu n'a aucun accessoire).
+ */
+public class ShardedAccessoireRepository implements AccessoireRepository {
+    
+    private final AccessoireRepository delegue;
+    private final VehiculeRepository vehicules;
+    private final Shards shards;
+    
+    /**
+     * @param vehicules repository des véhicules d'un shard (adapter non réparti)
+     */
+    public ShardedAccessoireRepository(AccessoireRepository delegue, VehiculeRepository vehicules, Shards shards) {
+        this.delegue = delegue;
+        this.vehicules = vehicules;
+        this.shards = shards;
+    }
+    
+    @Override
+    public Accessoire save(Accessoire accessoire) {
+        int shard = localiser(accessoire.getVehiculeId())
+            .orElseThrow(() -> new IllegalArgumentException("Véhicule non trouvé: " + accessoire.getVehiculeId()));
+        return shards.surShard(shard, () -> delegue.save(accessoire));
+    }
+    
+    @Override
+    public Accessoire insert(Accessoire accessoire) {
+        int shard = localiser(accessoire.getVehiculeId())
+            .orElseThrow(() -> new IllegalArgumentException("Véhicule non trouvé: " + accessoire.getVehiculeId()));
+        return shards.surShard(shard, () -> delegue.insert(accessoire));
+    }
+    
+    @Override
+    public void insertAll(List<Accessoire> accessoires) {
+        Map<UUID, Integer> localisation = localiser(
+            accessoires.stream().map(Accessoire::getVehiculeId).collect(Collectors.toSet()));
+        Map<Integer, List<Accessoire>> lots = new TreeMap<>(accessoires.stream().collect(Collectors.groupingBy(a -> {
+            Integer shard = localisation.get(a.getVehiculeId());
+            if (shard == null) {
+                throw new IllegalArgumentException("Véhicule non trouvé: " + a.getVehiculeId());
+            }
+            return shard;
+        })));
+        shards.ecrire(lots, lot -> {
+            delegue.insertAll(lot);
+            return lot.size();
+        });
+    }
+    
+    @Override
+    public Optional<Accessoire> findById(UUID vehiculeId, UUID id) {
+        OptionalInt shard = localiser(vehiculeId);
+        return shard.isPresent()
+            ? shards.surShard(shard.getAsInt(), () -> delegue.findById(vehiculeId, id))
+            : Optional.empty();
+    }
+    
+    @Override
+    public List<Accessoire> findByVehiculeId(UUID vehiculeId) {
+        OptionalInt shard = localiser(vehiculeId);
+        return shard.isPresent()
+            ? shards.surShard(shard.getAsInt(), () -> delegue.findByVehiculeId(vehiculeId))
+            : List.of();
+    }
+    
+    @Override
+    public Window<Accessoire> findByVehiculeId(UUID vehiculeId, ScrollPosition position, int limit) {
+        OptionalInt shard = localiser(vehiculeId);
+        return shard.isPresent()
+            ? shards.surShard(shard.getAsInt(), () -> delegue.findByVehiculeId(vehiculeId, position, limit))
+            : Window.from(List.of(), ScrollPosition::offset, false);
+    }
+    
+    @Override
+    public List<Accessoire> findByType(TypeAccessoire type) {
+        return FusionShards.concatener(shards.diffuser(shard -> delegue.findByType(type)));
+    }
+    
+    @Override
+    public boolean deleteById(UUID vehiculeId, UUID id) {
+        OptionalInt shard = localiser(vehiculeId);
+        return shard.isPresent() && shards.surShard(shard.getAsInt(), () -> delegue.deleteById(vehiculeId, id));
+    }
+    
+    @Override
+    public long countByVehiculeId(UUID vehiculeId) {
+        OptionalInt shard = localiser(vehiculeId);
+        return shard.isPresent() ? shards.surShard(shard.getAsInt(), () -> delegue.countByVehiculeId(vehiculeId)) : 0;
+    }
+    
+    @Override
+    public Map<UUID, Set<TypeAccessoire>> findTypesAccessoireByGarageIds(Collection<UUID> garageIds) {
+        Map<Integer, List<UUID>> groupes = shards.parShard(garageIds, Function.identity());
+        return FusionShards.reunir(shards.diffuser(groupes.keySet(),
+            shard -> delegue.findTypesAccessoireByGarageIds(groupes.get(shard))));
+    }
+    
+    private OptionalInt localiser(UUID vehiculeId) {
+        OptionalInt lie = ContexteShard.shardDeLaTransaction();
+        if (lie.isPresent()) {
+            return lie;
+        }
+        Integer shard = localiser(Set.of(vehiculeId)).get(vehiculeId);
+        return shard == null ? OptionalInt.empty() : OptionalInt.of(shard);
+    }
+    
+    // Chaque shard ne connaît que ses véhicules : le shard qui répond est celui du véhicule
+    private Map<UUID, Integer> localiser(Set<UUID> vehiculeIds) {
+        Map<UUID, Integer> localisation = new HashMap<>();
+        for (Map<UUID, UUID> garages : shards.diffuser(shard -> vehicules.findGarageIdsByIds(vehiculeIds))) {
+            garages.forEach((vehiculeId, garageId) -> localisation.put(vehiculeId, shards.shardDe(garageId)));
+        }
+        return localisation;
+    }
+}
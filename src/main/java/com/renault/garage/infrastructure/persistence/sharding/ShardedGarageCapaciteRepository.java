@@ -0,0 +1,39 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
+
+import java.util.UUID;
+
+/**
+ * GarageCapaciteRepository réparti : le compteur vit sur le shard du garage, avec ses véhicules
+ */
+public class ShardedGarageCapaciteRepository implements GarageCapaciteRepository {
+    
+    private final GarageCapaciteRepository delegue;
+    private final Shards shards;
+    
+    public ShardedGarageCapaciteRepository(GarageCapaciteRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    @Override
+    public void initialiser(UUID garageId) {
+        shards.surGarage(garageId, () -> delegue.initialiser(garageId));
+    }
+    
+    @Override
+    public boolean reserver(UUID garageId, int nombre, int capaciteMax) {
+        return shards.surGarage(garageId, () -> delegue.reserver(garageId, nombre, capaciteMax));
+    }
+    
+    @Override
+    public void liberer(UUID garageId, int nombre) {
+        shards.surGarage(garageId, () -> delegue.liberer(garageId, nombre));
+    }
+    
+    @Override
+    public void supprimer(UUID garageId) {
+        shards.surGarage(garageId, () -> delegue.supprimer(garageId));
+    }
+}
@@ -0,0 +1,50 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.repository.GaragePurgeRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * GaragePurgeRepository réparti : les garages à purger sont cherchés sur tous les shards,
+ * chaque lot de suppression s'exécute sur le shard du garage
+ */
+public class ShardedGaragePurgeRepository implements GaragePurgeRepository {
+    
+    private final GaragePurgeRepository delegue;
+    private final Shards shards;
+    
+    public ShardedGaragePurgeRepository(GaragePurgeRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    /**
+     * Les plus anciens de chaque shard, tronqués à la limite : l'ordre global n'est qu'approché
+     */
+    @Override
+    public List<UUID> findGaragesSupprimes(int limite) {
+        List<UUID> garages = FusionShards.concatener(shards.diffuser(shard -> delegue.findGaragesSupprimes(limite)));
+        return garages.subList(0, Math.min(limite, garages.size()));
+    }
+    
+    @Override
+    public long countGaragesSupprimes() {
+        return shards.diffuser(shard -> delegue.countGaragesSupprimes()).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    @Override
+    public int supprimerAccessoires(UUID garageId, int limite) {
+        return shards.surGarage(garageId, () -> delegue.supprimerAccessoires(garageId, limite));
+    }
+    
+    @Override
+    public int supprimerVehicules(UUID garageId, int limite) {
+        return shards.surGarage(garageId, () -> delegue.supprimerVehicules(garageId, limite));
+    }
+    
+    @Override
+    public void supprimerGarage(UUID garageId) {
+        shards.surGarage(garageId, () -> delegue.supprimerGarage(garageId));
+    }
+}
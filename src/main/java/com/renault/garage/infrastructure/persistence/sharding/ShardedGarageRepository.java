@@ -0,0 +1,89 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.GarageRepository;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * GarageRepository réparti : chaque garage vit sur le shard de son ID
+ * Le parcours complet et la recherche par carburant sont diffusés à tous les shards puis fusionnés ;
+ * les listes et recherches des API passent par ShardedGarageSummaryRepository.
+ */
+public class ShardedGarageRepository implements GarageRepository {
+    
+    private static final Comparator<Garage> PAR_NOM = Comparator
+        .comparing(Garage::getName, FusionShards.ORDRE_TEXTE)
+        .thenComparing(Garage::getId, FusionShards.ORDRE_UUID);
+    
+    private final GarageRepository delegue;
+    private final Shards shards;
+    
+    public ShardedGarageRepository(GarageRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    @Override
+    public Garage save(Garage garage) {
+        return shards.surGarage(garage.getId(), () -> delegue.save(garage));
+    }
+    
+    @Override
+    public void marquerModifie(UUID id, LocalDateTime instant) {
+        shards.surGarage(id, () -> delegue.marquerModifie(id, instant));
+    }
+    
+    @Override
+    public Optional<Garage> findById(UUID id) {
+        return shards.surGarage(id, () -> delegue.findById(id));
+    }
+    
+    @Override
+    public Window<Garage> findAll(ScrollPosition position, int limit) {
+        return parNom(shards.diffuser(shard -> delegue.findAll(position, limit)), limit);
+    }
+    
+    @Override
+    public List<Garage> findByTypeCarburant(TypeCarburant typeCarburant) {
+        return FusionShards.concatener(shards.diffuser(shard -> delegue.findByTypeCarburant(typeCarburant)));
+    }
+    
+    @Override
+    public void deleteById(UUID id) {
+        shards.surGarage(id, () -> delegue.deleteById(id));
+    }
+    
+    @Override
+    public boolean marquerSupprime(UUID id) {
+        return shards.surGarage(id, () -> delegue.marquerSupprime(id));
+    }
+    
+    @Override
+    public boolean existsById(UUID id) {
+        return shards.surGarage(id, () -> delegue.existsById(id));
+    }
+    
+    @Override
+    public long count() {
+        return shards.diffuser(shard -> delegue.count()).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    private static Window<Garage> parNom(List<Window<Garage>> fenetres, int limit) {
+        return FusionShards.fenetre(fenetres, PAR_NOM, limit, garage -> {
+            Map<String, Object> cles = new LinkedHashMap<>();
+            cles.put("name", garage.getName());
+            cles.put("id", garage.getId());
+            return cles;
+        });
+    }
+}
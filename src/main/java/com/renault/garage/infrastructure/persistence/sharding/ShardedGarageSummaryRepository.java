@@ -0,0 +1,145 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.GarageSummary;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
+import com.renault.garage.infrastructure.persistence.adapter.SearchMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * GarageSummaryRepository réparti : le résumé d'un garage vit sur le shard du garage
+ * Les listes et recherches sont diffusées à tous les shards puis fusionnées dans l'ordre de la requête.
+ */
+public class ShardedGarageSummaryRepository implements GarageSummaryRepository {
+    
+    private static final Comparator<GarageSummary> PAR_NOM = Comparator
+        .comparing((GarageSummary summary) -> summary.garage().getName(), FusionShards.ORDRE_TEXTE)
+        .thenComparing(summary -> summary.garage().getId(), FusionShards.ORDRE_UUID);
+    
+    // Propriétés triables de GarageSummaryJpaEntity, lues sur le modèle du domaine
+    private static final Map<String, Function<Garage, Comparable<?>>> PROPRIETES = Map.of(
+        "id", Garage::getId,
+        "name", Garage::getName,
+        "ville", g -> g.getAddress().ville(),
+        "codePostal", g -> g.getAddress().codePostal(),
+        "pays", g -> g.getAddress().pays(),
+        "telephone", Garage::getTelephone,
+        "email", Garage::getEmail,
+        "createdAt", Garage::getCreatedAt,
+        "updatedAt", Garage::getUpdatedAt,
+        "nombreVehicules", Garage::getNombreVehicules
+    );
+    
+    // Colonnes texte, en collation "C" sur PostgreSQL
+    private static final Set<String> TEXTES = Set.of("name", "ville", "codePostal", "pays", "telephone", "email");
+    
+    private final GarageSummaryRepository delegue;
+    private final Shards shards;
+    private final SearchMode searchMode;
+    
+    public ShardedGarageSummaryRepository(GarageSummaryRepository delegue, Shards shards, SearchMode searchMode) {
+        this.delegue = delegue;
+        this.shards = shards;
+        this.searchMode = searchMode;
+    }
+    
+    @Override
+    public Optional<GarageSummary> findById(UUID id) {
+        return shards.surGarage(id, () -> delegue.findById(id));
+    }
+    
+    @Override
+    public Page<GarageSummary> findAll(Pageable pageable) {
+        Pageable requete = FusionShards.jusquA(pageable);
+        return FusionShards.page(shards.diffuser(shard -> delegue.findAll(requete)), ordre(pageable.getSort()), pageable);
+    }
+    
+    @Override
+    public Window<GarageSummary> findAll(ScrollPosition position, int limit) {
+        return parNom(shards.diffuser(shard -> delegue.findAll(position, limit)), limit);
+    }
+    
+    @Override
+    public Window<GarageSummary> findByVille(String ville, ScrollPosition position, int limit) {
+        return parNom(shards.diffuser(shard -> delegue.findByVille(ville, position, limit)), limit);
+    }
+    
+    @Override
+    public Window<GarageSummary> findByNameContaining(String name, ScrollPosition position, int limit) {
+        if (searchMode == SearchMode.TRIGRAM) {
+            // Similarité non exposée par le domaine : les meilleurs de chaque shard, à tour de rôle.
+            // Le rang fusionné ne se traduit pas en rang par shard : chacun renvoie tout ce qui précède la fin de la fenêtre
+            long debut = SearchMode.rang(position);
+            int jusquA = Math.toIntExact(debut + limit);
+            return FusionShards.entrelacer(shards.diffuser(shard ->
+                delegue.findByNameContaining(name, ScrollPosition.offset(), jusquA)), debut, limit);
+        }
+        return parNom(shards.diffuser(shard -> delegue.findByNameContaining(name, position, limit)), limit);
+    }
+    
+    @Override
+    public Slice<GarageSummary> findByTypeCarburantAndAccessoireNom(TypeCarburant typeCarburant, String accessoireNom,
+                                                                    Pageable pageable) {
+        Pageable requete = FusionShards.jusquA(pageable);
+        return FusionShards.tranche(shards.diffuser(shard ->
+                delegue.findByTypeCarburantAndAccessoireNom(typeCarburant, accessoireNom, requete)),
+            ordre(pageable.getSort()), pageable);
+    }
+    
+    @Override
+    public Slice<GarageSummary> findOuvertsA(String ville, DayOfWeek jour, LocalTime heure, Pageable pageable) {
+        Pageable requete = FusionShards.jusquA(pageable);
+        return FusionShards.tranche(shards.diffuser(shard -> delegue.findOuvertsA(ville, jour, heure, requete)),
+            ordre(pageable.getSort()), pageable);
+    }
+    
+    private static Window<GarageSummary> parNom(List<Window<GarageSummary>> fenetres, int limit) {
+        return FusionShards.fenetre(fenetres, PAR_NOM, limit, summary -> {
+            Map<String, Object> cles = new LinkedHashMap<>();
+            cles.put("name", summary.garage().getName());
+            cles.put("id", summary.garage().getId());
+            return cles;
+        });
+    }
+    
+    /**
+     * Ordre Java équivalent au tri de la requête ; NULL en dernier en ordre croissant, comme PostgreSQL,
+     * textes par point de code
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparator<GarageSummary> ordre(Sort sort) {
+        Comparator<Garage> ordre = (a, b) -> 0;
+        for (Sort.Order critere : sort) {
+            Function<Garage, Comparable<?>> propriete = PROPRIETES.get(critere.getProperty());
+            if (propriete == null) {
+                throw new IllegalArgumentException("Tri non supporté entre shards: " + critere.getProperty());
+            }
+            Comparator<Comparable> valeurs = Comparator.nullsLast(Comparator.<Comparable>naturalOrder());
+            if (critere.getProperty().equals("id")) {
+                valeurs = Comparator.nullsLast((Comparator) FusionShards.ORDRE_UUID);
+            } else if (TEXTES.contains(critere.getProperty())) {
+                valeurs = Comparator.nullsLast((Comparator) FusionShards.ORDRE_TEXTE);
+            }
+            Comparator<Garage> comparateur = Comparator.comparing(g -> (Comparable) propriete.apply(g), valeurs);
+            ordre = ordre.thenComparing(critere.isAscending() ? comparateur : comparateur.reversed());
+        }
+        return Comparator.comparing(GarageSummary::garage, ordre.thenComparing(Garage::getId, FusionShards.ORDRE_UUID));
+    }
+}
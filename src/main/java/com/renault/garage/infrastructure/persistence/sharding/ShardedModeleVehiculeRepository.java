@@ -0,0 +1,48 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.model.ModeleVehicule;
+import com.renault.garage.domain.repository.ModeleVehiculeRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ModeleVehiculeRepository réparti : le catalogue vit sur le shard de référence, ses véhicules
+ * sur tous les shards
+ */
+public class ShardedModeleVehiculeRepository implements ModeleVehiculeRepository {
+    
+    private final ModeleVehiculeRepository delegue;
+    private final Shards shards;
+    
+    public ShardedModeleVehiculeRepository(ModeleVehiculeRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    @Override
+    public ModeleVehicule save(ModeleVehicule modele) {
+        return shards.surShard(ShardRoutingDataSource.SHARD_REFERENCE, () -> delegue.save(modele));
+    }
+    
+    @Override
+    public Optional<ModeleVehicule> findById(UUID id) {
+        return shards.surShard(ShardRoutingDataSource.SHARD_REFERENCE, () -> delegue.findById(id));
+    }
+    
+    @Override
+    public List<ModeleVehicule> findAll() {
+        return shards.surShard(ShardRoutingDataSource.SHARD_REFERENCE, delegue::findAll);
+    }
+    
+    @Override
+    public boolean estUtilise(UUID id) {
+        return shards.diffuser(shard -> delegue.estUtilise(id)).contains(true);
+    }
+    
+    @Override
+    public boolean deleteById(UUID id) {
+        return shards.surShard(ShardRoutingDataSource.SHARD_REFERENCE, () -> delegue.deleteById(id));
+    }
+}
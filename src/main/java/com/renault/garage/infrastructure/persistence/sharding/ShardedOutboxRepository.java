@@ -0,0 +1,70 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.event.EvenementOutbox;
+import com.renault.garage.domain.repository.OutboxRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * OutboxRepository réparti : chaque événement est enregistré sur le shard de son garage,
+ * dans la même transaction que l'écriture qui l'a produit (shard de référence pour un
+ * événement sans garage). Le relais vide les shards l'un après l'autre ; un garage ne vivant
+ * que sur un shard, l'ordre de ses événements est préservé.
+ */
+public class ShardedOutboxRepository implements OutboxRepository {
+    
+    private static final int SHARD_REFERENCE = 0;
+    
+    private final OutboxRepository delegue;
+    private final Shards shards;
+    
+    public ShardedOutboxRepository(OutboxRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    @Override
+    public void ajouter(EvenementOutbox evenement) {
+        shards.surShard(shardDe(evenement), () -> {
+            delegue.ajouter(evenement);
+            return null;
+        });
+    }
+    
+    /**
+     * Les événements des autres shards que celui de la transaction appelante y sont validés
+     * aussitôt, comme les écritures réparties qui les ont produits (voir Shards.ecrire)
+     */
+    @Override
+    public void ajouterTous(List<EvenementOutbox> evenements) {
+        Map<Integer, List<EvenementOutbox>> lots = new TreeMap<>();
+        for (EvenementOutbox evenement : evenements) {
+            lots.computeIfAbsent(shardDe(evenement), k -> new ArrayList<>()).add(evenement);
+        }
+        shards.ecrire(lots, lot -> {
+            delegue.ajouterTous(lot);
+            return null;
+        });
+    }
+    
+    @Override
+    public int traiterLot(int limite, Consumer<List<EvenementOutbox>> envoi) {
+        return shards.surChaqueShard(shard -> delegue.traiterLot(limite, envoi))
+            .stream()
+            .mapToInt(Integer::intValue)
+            .sum();
+    }
+    
+    @Override
+    public long compter() {
+        return shards.diffuser(shard -> delegue.compter()).stream().mapToLong(Long::longValue).sum();
+    }
+    
+    private int shardDe(EvenementOutbox evenement) {
+        return evenement.garageId() == null ? SHARD_REFERENCE : shards.shardDe(evenement.garageId());
+    }
+}
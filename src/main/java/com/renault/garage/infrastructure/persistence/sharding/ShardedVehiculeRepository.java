@@ -0,0 +1,114 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.model.Vehicule;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * VehiculeRepository réparti : un véhicule vit sur le shard de son garage
+ * Les recherches par modèle, carburant ou marque et la résolution véhicule -> garage sont diffusées.
+ */
+public class ShardedVehiculeRepository implements VehiculeRepository {
+    
+    private static final Comparator<Vehicule> PAR_CREATION = Comparator
+        .comparing(Vehicule::getCreatedAt)
+        .thenComparing(Vehicule::getId, FusionShards.ORDRE_UUID);
+    
+    private final VehiculeRepository delegue;
+    private final Shards shards;
+    
+    public ShardedVehiculeRepository(VehiculeRepository delegue, Shards shards) {
+        this.delegue = delegue;
+        this.shards = shards;
+    }
+    
+    @Override
+    public Vehicule save(Vehicule vehicule) {
+        return shards.surGarage(vehicule.getGarageId(), () -> delegue.save(vehicule));
+    }
+    
+    @Override
+    public List<Vehicule> insertAll(List<Vehicule> vehicules) {
+        return FusionShards.concatener(shards.ecrire(shards.parShard(vehicules, Vehicule::getGarageId), delegue::insertAll));
+    }
+    
+    @Override
+    public Optional<Vehicule> findById(UUID garageId, UUID id) {
+        return shards.surGarage(garageId, () -> delegue.findById(garageId, id));
+    }
+    
+    @Override
+    public Window<Vehicule> findByGarageId(UUID garageId, ScrollPosition position, int limit) {
+        return shards.surGarage(garageId, () -> delegue.findByGarageId(garageId, position, limit));
+    }
+    
+    @Override
+    public Page<Vehicule> findByGarageId(UUID garageId, Pageable pageable) {
+        return shards.surGarage(garageId, () -> delegue.findByGarageId(garageId, pageable));
+    }
+    
+    @Override
+    public Window<Vehicule> findByModeleId(UUID modeleId, ScrollPosition position, int limit) {
+        return FusionShards.fenetre(shards.diffuser(shard -> delegue.findByModeleId(modeleId, position, limit)),
+            PAR_CREATION, limit, vehicule -> {
+                Map<String, Object> cles = new LinkedHashMap<>();
+                cles.put("createdAt", vehicule.getCreatedAt());
+                cles.put("id", vehicule.getId());
+                return cles;
+            });
+    }
+    
+    @Override
+    public List<Vehicule> findByTypeCarburant(TypeCarburant typeCarburant) {
+        return FusionShards.concatener(shards.diffuser(shard -> delegue.findByTypeCarburant(typeCarburant)));
+    }
+    
+    @Override
+    public List<Vehicule> findByBrand(String brand) {
+        return FusionShards.concatener(shards.diffuser(shard -> delegue.findByBrand(brand)));
+    }
+    
+    @Override
+    public void deleteById(UUID garageId, UUID id) {
+        shards.surGarage(garageId, () -> delegue.deleteById(garageId, id));
+    }
+    
+    @Override
+    public boolean existsById(UUID garageId, UUID id) {
+        return shards.surGarage(garageId, () -> delegue.existsById(garageId, id));
+    }
+    
+    @Override
+    public long countByGarageId(UUID garageId) {
+        return shards.surGarage(garageId, () -> delegue.countByGarageId(garageId));
+    }
+    
+    @Override
+    public Map<UUID, UUID> findGarageIdsByIds(Collection<UUID> vehiculeIds) {
+        if (vehiculeIds.isEmpty()) {
+            return Map.of();
+        }
+        return FusionShards.reunir(shards.diffuser(shard -> delegue.findGarageIdsByIds(vehiculeIds)));
+    }
+    
+    @Override
+    public Map<UUID, Set<TypeCarburant>> findTypesCarburantByGarageIds(Collection<UUID> garageIds) {
+        Map<Integer, List<UUID>> groupes = shards.parShard(garageIds, Function.identity());
+        return FusionShards.reunir(shards.diffuser(groupes.keySet(),
+            shard -> delegue.findTypesCarburantByGarageIds(groupes.get(shard))));
+    }
+}
@@ -0,0 +1,179 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Exécution des opérations de repository sur les shards
+ * - opération d'un garage : exécutée sur son shard, dans la transaction appelante ; une transaction
+ *   ne porte que sur un shard, en cibler un second est une erreur de programmation ;
+ * - requête transverse : diffusée en parallèle à chaque shard, chacun dans sa propre transaction
+ *   en lecture seule (les écritures non validées de l'appelant n'y sont pas visibles) ;
+ * - écriture répartie sur plusieurs shards : une transaction par shard, sans atomicité entre shards.
+ */
+public class Shards implements AutoCloseable {
+    
+    private final AnneauShards anneau;
+    private final ExecutorService diffusion;
+    private final TransactionTemplate lecture;
+    private final TransactionTemplate ecriture;
+    
+    public Shards(AnneauShards anneau, PlatformTransactionManager transactionManager, int threadsDiffusion) {
+        this.anneau = anneau;
+        AtomicInteger numero = new AtomicInteger();
+        this.diffusion = Executors.newFixedThreadPool(threadsDiffusion, r -> {
+            Thread thread = new Thread(r, "diffusion-shards-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lecture = new TransactionTemplate(transactionManager);
+        this.lecture.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lecture.setReadOnly(true);
+        this.ecriture = new TransactionTemplate(transactionManager);
+        this.ecriture.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public int getNombreShards() {
+        return anneau.getNombreShards();
+    }
+    
+    public int shardDe(UUID garageId) {
+        return anneau.shardDe(garageId);
+    }
+    
+    /**
+     * Exécute une opération sur le shard du garage, dans la transaction appelante
+     */
+    public <T> T surGarage(UUID garageId, Supplier<T> operation) {
+        return surShard(shardDe(garageId), operation);
+    }
+    
+    public void surGarage(UUID garageId, Runnable operation) {
+        surShard(shardDe(garageId), () -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Exécute une opération sur un shard, dans la transaction appelante
+     * @throws IllegalStateException si la transaction a déjà une connexion sur un autre shard
+     */
+    public <T> T surShard(int shard, Supplier<T> operation) {
+        OptionalInt lie = ContexteShard.shardDeLaTransaction();
+        if (lie.isPresent() && lie.getAsInt() != shard) {
+            throw new IllegalStateException("Transaction liée au shard " + lie.getAsInt()
+                + ", opération demandée sur le shard " + shard + " : une transaction ne porte que sur un shard");
+        }
+        return ContexteShard.executer(shard, operation);
+    }
+    
+    /**
+     * Diffuse une requête à tous les shards en parallèle
+     * @return résultats dans l'ordre des shards
+     */
+    public <T> List<T> diffuser(IntFunction<T> requete) {
+        return diffuser(IntStream.range(0, getNombreShards()).boxed().toList(), requete);
+    }
+    
+    /**
+     * Diffuse une requête aux shards donnés en parallèle
+     * @return résultats dans l'ordre des shards fournis
+     */
+    public <T> List<T> diffuser(Collection<Integer> cibles, IntFunction<T> requete) {
+        List<CompletableFuture<T>> reponses = cibles.stream()
+            .map(shard -> CompletableFuture.supplyAsync(() -> ContexteShard.executer(shard,
+                () -> lecture.execute(status -> requete.apply(shard))), diffusion))
+            .toList();
+        List<T> resultats = new ArrayList<>(reponses.size());
+        try {
+            for (CompletableFuture<T> reponse : reponses) {
+                resultats.add(reponse.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return resultats;
+    }
+    
+    /**
+     * Exécute une opération sur chaque shard, l'un après l'autre, chacune dans sa propre transaction
+     * en écriture validée aussitôt (hors de toute transaction appelante)
+     * @return résultats dans l'ordre des shards
+     */
+    public <T> List<T> surChaqueShard(IntFunction<T> operation) {
+        List<T> resultats = new ArrayList<>(getNombreShards());
+        for (int shard = 0; shard < getNombreShards(); shard++) {
+            int cible = shard;
+            resultats.add(ContexteShard.executer(cible, () -> ecriture.execute(status -> operation.apply(cible))));
+        }
+        return resultats;
+    }
+    
+    /**
+     * Regroupe des éléments par shard, shards dans l'ordre croissant
+     */
+    public <T> Map<Integer, List<T>> parShard(Collection<T> elements, Function<T, UUID> garage) {
+        Map<Integer, List<T>> groupes = new TreeMap<>();
+        for (T element : elements) {
+            groupes.computeIfAbsent(shardDe(garage.apply(element)), k -> new ArrayList<>()).add(element);
+        }
+        return groupes;
+    }
+    
+    /**
+     * Écrit des lots sur leurs shards respectifs
+     * Le lot du shard de la transaction appelante (ou le premier si elle n'en a pas encore) y est écrit ;
+     * chacun des autres dans une transaction propre, validée aussitôt : un échec ultérieur n'annule
+     * que la transaction appelante.
+     * @return résultats par lot, celui du shard de la transaction appelante en premier
+     */
+    public <T, R> List<R> ecrire(Map<Integer, List<T>> lots, Function<List<T>, R> operation) {
+        OptionalInt lie = OptionalInt.empty();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lie = ContexteShard.shardDeLaTransaction();
+            if (lie.isEmpty()) {
+                lie = lots.keySet().stream().mapToInt(Integer::intValue).findFirst();
+            }
+        }
+        OptionalInt principal = lie;
+        List<R> resultats = new ArrayList<>(lots.size());
+        if (principal.isPresent() && lots.containsKey(principal.getAsInt())) {
+            int shard = principal.getAsInt();
+            resultats.add(surShard(shard, () -> operation.apply(lots.get(shard))));
+        }
+        lots.forEach((shard, lot) -> {
+            if (principal.isEmpty() || shard != principal.getAsInt()) {
+                resultats.add(ContexteShard.executer(shard, () -> ecriture.execute(status -> operation.apply(lot))));
+            }
+        });
+        return resultats;
+    }
+    
+    @Override
+    public void close() {
+        diffusion.shutdownNow();
+    }
+}
@@ -43,15 +43,19 @@ public class AccessoireController {
     }
 
     @GetMapping
-    @Operation(summary = "Lister les accessoires", description = "Retourne la liste des accessoires d'un véhicule")
+    @Operation(summary = "Lister les accessoires",
+            description = "Retourne les accessoires d'un véhicule. Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste récupérée avec succès"),
             @ApiResponse(responseCode = "404", description = "Véhicule non trouvé")
     })
     public ResponseEntity<List<AccessoireResponse>> list(
-            @PathVariable UUID vehiculeId) {
-        List<AccessoireResponse> list = accessoireService.list(vehiculeId);
-        return ResponseEntity.ok(list);
+            @PathVariable UUID garageId,
+            @PathVariable UUID vehiculeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return CursorPagination.ok(accessoireService.list(
+                garageId, vehiculeId, CursorPagination.position(cursor), CursorPagination.limit(size)));
     }
 
     @PutMapping("/{accessoireId}")
@@ -76,9 +80,10 @@ public class AccessoireController {
             @ApiResponse(responseCode = "404", description = "Véhicule ou accessoire non trouvé")
     })
     public ResponseEntity<Void> delete(
+            @PathVariable UUID garageId,
             @PathVariable UUID vehiculeId,
             @PathVariable UUID accessoireId) {
-        accessoireService.delete(vehiculeId, accessoireId);
+        accessoireService.delete(garageId, vehiculeId, accessoireId);
         return ResponseEntity.noContent().build();
     }
 }
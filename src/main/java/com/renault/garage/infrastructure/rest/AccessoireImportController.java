@@ -0,0 +1,64 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.garage.application.dto.AccessoireImportResponse;
+import com.renault.garage.application.service.AccessoireImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * REST Controller - Import en masse d'accessoires (catalogues fournisseurs)
+ * Le corps est lu en flux, sans être chargé en mémoire
+ */
+@RestController
+@RequestMapping("/api/v1/accessoires/import")
+@Tag(name = "Accessoires", description = "API de gestion des accessoires d'un véhicule")
+public class AccessoireImportController {
+    
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+    
+    private final AccessoireImportService importService;
+    private final ObjectMapper objectMapper;
+    
+    public AccessoireImportController(AccessoireImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+    
+    @PostMapping(consumes = {NDJSON, CSV})
+    @Operation(summary = "Importer des accessoires en masse",
+            description = "Corps NDJSON (un accessoire par ligne) ou CSV avec en-tête vehiculeId,nom,description,prix,type. " +
+                    "Les lignes invalides sont rejetées individuellement et détaillées dans le compte rendu. " +
+                    "garageId restreint l'import aux véhicules de ce garage.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import terminé, compte rendu par ligne"),
+            @ApiResponse(responseCode = "400", description = "En-tête CSV absent ou incomplet")
+    })
+    public ResponseEntity<AccessoireImportResponse> importer(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(required = false) UUID garageId,
+            InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            AccessoireImportReader lignes = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? AccessoireImportReader.csv(reader)
+                : AccessoireImportReader.ndjson(reader, objectMapper);
+            return ResponseEntity.ok(importService.importer(lignes, garageId));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.renault.garage.application.dto.AccessoireImportLine;
+import com.renault.garage.domain.model.TypeAccessoire;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Lecture incrémentale d'un import d'accessoires
+ * Le corps de requête est lu ligne à ligne : seule la ligne courante est en mémoire.
+ * NDJSON : un objet JSON par ligne {"vehiculeId", "nom", "description", "prix", "type"}.
+ * CSV : ligne d'en-tête nommant ces colonnes (ordre libre), champs entre guillemets si besoin.
+ * Une ligne non décodable devient une ligne en erreur ; la lecture continue.
+ */
+final class AccessoireImportReader implements Iterator<AccessoireImportLine> {
+    
+    private static final List<String> COLONNES = List.of("vehiculeId", "nom", "description", "prix", "type");
+    
+    private record LigneJson(UUID vehiculeId, String nom, String description, BigDecimal prix, TypeAccessoire type) {}
+    
+    @FunctionalInterface
+    private interface Decodeur {
+        AccessoireImportLine decoder(long numero, String ligne);
+    }
+    
+    private final BufferedReader reader;
+    private Decodeur decodeur;
+    private long numero;
+    private AccessoireImportLine suivante;
+    
+    private AccessoireImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+    
+    static AccessoireImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        ObjectReader jsonReader = objectMapper.readerFor(LigneJson.class);
+        AccessoireImportReader lecteur = new AccessoireImportReader(reader);
+        lecteur.decodeur = (numero, ligne) -> decoderJson(jsonReader, numero, ligne);
+        return lecteur;
+    }
+    
+    /**
+     * @throws IllegalArgumentException si l'en-tête est absent ou incomplet
+     */
+    static AccessoireImportReader csv(BufferedReader reader) {
+        AccessoireImportReader lecteur = new AccessoireImportReader(reader);
+        String entete = lecteur.lireLigneNonVide();
+        if (entete == null) {
+            throw new IllegalArgumentException("Import CSV vide : ligne d'en-tête attendue");
+        }
+        int[] positions = positionsColonnes(champsCsv(entete));
+        lecteur.decodeur = (numero, ligne) -> decoderCsv(positions, numero, ligne);
+        return lecteur;
+    }
+    
+    // Position de chaque colonne attendue dans l'en-tête (-1 pour la description absente)
+    private static int[] positionsColonnes(List<String> entete) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < entete.size(); i++) {
+            index.put(entete.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] positions = new int[COLONNES.size()];
+        for (int c = 0; c < COLONNES.size(); c++) {
+            Integer position = index.get(COLONNES.get(c).toLowerCase(Locale.ROOT));
+            if (position == null && !"description".equals(COLONNES.get(c))) {
+                throw new IllegalArgumentException("Colonne CSV manquante: " + COLONNES.get(c));
+            }
+            positions[c] = position != null ? position : -1;
+        }
+        return positions;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (suivante == null) {
+            String ligne = lireLigneNonVide();
+            if (ligne != null) {
+                suivante = decodeur.decoder(numero, ligne);
+            }
+        }
+        return suivante != null;
+    }
+    
+    @Override
+    public AccessoireImportLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        AccessoireImportLine ligne = suivante;
+        suivante = null;
+        return ligne;
+    }
+    
+    private String lireLigneNonVide() {
+        try {
+            String ligne;
+            do {
+                ligne = reader.readLine();
+                numero++;
+            } while (ligne != null && ligne.isBlank());
+            return ligne;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur de lecture de l'import", e);
+        }
+    }
+    
+    private static AccessoireImportLine decoderJson(ObjectReader jsonReader, long numero, String ligne) {
+        try {
+            LigneJson json = jsonReader.readValue(ligne);
+            return new AccessoireImportLine(numero, json.vehiculeId(), json.nom(), json.description(),
+                json.prix(), json.type());
+        } catch (JsonProcessingException e) {
+            return AccessoireImportLine.illisible(numero, "JSON invalide: " + e.getOriginalMessage());
+        }
+    }
+    
+    private static AccessoireImportLine decoderCsv(int[] positions, long numero, String ligne) {
+        List<String> champs = champsCsv(ligne);
+        String colonne = COLONNES.get(0);
+        try {
+            UUID vehiculeId = UUID.fromString(champ(champs, positions[0]));
+            colonne = COLONNES.get(3);
+            BigDecimal prix = new BigDecimal(champ(champs, positions[3]));
+            colonne = COLONNES.get(4);
+            TypeAccessoire type = TypeAccessoire.valueOf(champ(champs, positions[4]).toUpperCase(Locale.ROOT));
+            String description = positions[2] >= 0 ? champ(champs, positions[2]) : "";
+            return new AccessoireImportLine(numero, vehiculeId, champ(champs, positions[1]),
+                description.isEmpty() ? null : description, prix, type);
+        } catch (IllegalArgumentException e) {
+            return AccessoireImportLine.illisible(numero, "Valeur invalide pour la colonne " + colonne);
+        }
+    }
+    
+    private static String champ(List<String> champs, int position) {
+        return position < champs.size() ? champs.get(position).trim() : "";
+    }
+    
+    // Découpage RFC 4180 d'une ligne : virgules, champs entre guillemets, "" pour un guillemet
+    static List<String> champsCsv(String ligne) {
+        List<String> champs = new ArrayList<>();
+        StringBuilder courant = new StringBuilder();
+        boolean entreGuillemets = false;
+        for (int i = 0; i < ligne.length(); i++) {
+            char c = ligne.charAt(i);
+            if (entreGuillemets) {
+                if (c == '"' && i + 1 < ligne.length() && ligne.charAt(i + 1) == '"') {
+                    courant.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreGuillemets = false;
+                } else {
+                    courant.append(c);
+                }
+            } else if (c == '"') {
+                entreGuillemets = true;
+            } else if (c == ',') {
+                champs.add(courant.toString());
+                courant.setLength(0);
+            } else {
+                courant.append(c);
+            }
+        }
+        champs.add(courant.toString());
+        return champs;
+    }
+}
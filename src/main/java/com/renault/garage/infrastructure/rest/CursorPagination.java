@@ -0,0 +1,122 @@
+package com.renault.garage.infrastructure.rest;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pagination par curseur opaque des endpoints de liste
+ * Le curseur encode (Base64 URL) les valeurs (clé de tri, id) du dernier élément renvoyé ;
+ * la page suivante est lue par un prédicat de positionnement au lieu d'un OFFSET. Seuls les
+ * classements sans clé de tri (recherche par similarité) encodent un rang.
+ * Le corps de réponse reste la liste des éléments, le curseur suivant est renvoyé dans l'en-tête X-Next-Cursor.
+ */
+final class CursorPagination {
+    
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_SIZE = 100;
+    
+    private static final char SEPARATEUR_CLES = '\u001e';
+    private static final char SEPARATEUR_VALEUR = '\u001f';
+    private static final String CLE_RANG = "offset";
+    
+    private CursorPagination() {
+    }
+    
+    /**
+     * Position de départ : début de liste si aucun curseur n'est fourni
+     */
+    static ScrollPosition position(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decode = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> cles = new LinkedHashMap<>();
+            for (String cle : decode.split(String.valueOf(SEPARATEUR_CLES))) {
+                String[] parties = cle.split(String.valueOf(SEPARATEUR_VALEUR), 3);
+                cles.put(parties[0], lireValeur(parties[1].charAt(0), parties[2]));
+            }
+            if (cles.size() == 1 && cles.get(CLE_RANG) instanceof Long rang) {
+                return ScrollPosition.offset(rang);
+            }
+            return ScrollPosition.forward(cles);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide", e);
+        }
+    }
+    
+    /**
+     * Taille de page bornée à MAX_SIZE
+     */
+    static int limit(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+    
+    /**
+     * Réponse 200 avec les éléments de la fenêtre et, s'il en reste, le curseur suivant en en-tête
+     */
+    static <T> ResponseEntity<List<T>> ok(Window<T> window) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (window.hasNext() && !window.isEmpty()) {
+            ScrollPosition suivante = window.positionAt(window.size() - 1);
+            if (suivante instanceof KeysetScrollPosition keyset) {
+                response.header(NEXT_CURSOR_HEADER, encoder(keyset.getKeys()));
+            } else if (suivante instanceof OffsetScrollPosition offset) {
+                response.header(NEXT_CURSOR_HEADER, encoder(Map.of(CLE_RANG, offset.getOffset())));
+            }
+        }
+        return response.body(window.getContent());
+    }
+    
+    private static String encoder(Map<String, ?> cles) {
+        StringBuilder sb = new StringBuilder();
+        cles.forEach((cle, valeur) -> {
+            if (!sb.isEmpty()) {
+                sb.append(SEPARATEUR_CLES);
+            }
+            sb.append(cle).append(SEPARATEUR_VALEUR).append(type(valeur)).append(SEPARATEUR_VALEUR).append(valeur);
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Le type est conservé pour lier le paramètre de la requête de positionnement avec le bon type JDBC
+    private static char type(Object valeur) {
+        if (valeur instanceof UUID) {
+            return 'u';
+        }
+        if (valeur instanceof LocalDateTime) {
+            return 't';
+        }
+        if (valeur instanceof String) {
+            return 's';
+        }
+        if (valeur instanceof Long) {
+            return 'n';
+        }
+        throw new IllegalStateException("Type de clé de curseur non supporté: " + valeur.getClass());
+    }
+    
+    private static Object lireValeur(char type, String valeur) {
+        return switch (type) {
+            case 'u' -> UUID.fromString(valeur);
+            case 't' -> LocalDateTime.parse(valeur);
+            case 's' -> valeur;
+            case 'n' -> Long.valueOf(valeur);
+            default -> throw new IllegalArgumentException("Type de clé inconnu: " + type);
+        };
+    }
+}
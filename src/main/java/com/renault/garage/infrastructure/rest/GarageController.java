@@ -1,7 +1,9 @@
 package com.renault.garage.infrastructure.rest;
 
 import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.GarageFacetService;
 import com.renault.garage.application.service.GarageService;
+import com.renault.garage.domain.model.TypeAccessoire;
 import com.renault.garage.domain.model.TypeCarburant;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,8 +17,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller - Gestion des garages
@@ -27,9 +35,11 @@ import java.util.UUID;
 public class GarageController {
     
     private final GarageService garageService;
+    private final GarageFacetService garageFacetService;
     
-    public GarageController(GarageService garageService) {
+    public GarageController(GarageService garageService, GarageFacetService garageFacetService) {
         this.garageService = garageService;
+        this.garageFacetService = garageFacetService;
     }
     
     @PostMapping
@@ -57,34 +67,55 @@ public class GarageController {
             @RequestParam(defaultValue = "ASC") String direction) {
         
         Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        Pageable pageable = PageRequest.of(page, CursorPagination.limit(size), Sort.by(sortDirection, sortBy));
         
         GarageListResponse response = garageService.getAllGarages(pageable);
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/scroll")
+    @Operation(summary = "Parcourir les garages par curseur", 
+               description = "Retourne les garages triés par nom puis ID, sans comptage total. " +
+                             "Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page de garages récupérée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Curseur invalide")
+    })
+    public ResponseEntity<List<GarageResponse>> scrollGarages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return CursorPagination.ok(garageService.scrollGarages(
+            CursorPagination.position(cursor), CursorPagination.limit(size)));
+    }
+    
     @GetMapping("/search/by-ville")
     @Operation(summary = "Rechercher des garages par ville", 
-               description = "Retourne tous les garages d'une ville donnée")
+               description = "Retourne les garages d'une ville donnée, triés par nom. Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des garages trouvés")
     })
     public ResponseEntity<List<GarageResponse>> searchByVille(
-            @RequestParam String ville) {
-        List<GarageResponse> garages = garageService.findGaragesByVille(ville);
-        return ResponseEntity.ok(garages);
+            @RequestParam String ville,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return CursorPagination.ok(garageService.findGaragesByVille(
+            ville, CursorPagination.position(cursor), CursorPagination.limit(size)));
     }
     
     @GetMapping("/search/by-name")
     @Operation(summary = "Rechercher des garages par nom", 
-               description = "Recherche des garages contenant le nom spécifié")
+               description = "Recherche des garages contenant le nom spécifié, triés par nom (classés par similarité en mode trigrammes). " +
+                             "Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Liste des garages trouvés")
+        @ApiResponse(responseCode = "200", description = "Liste des garages trouvés"),
+        @ApiResponse(responseCode = "400", description = "Curseur invalide")
     })
     public ResponseEntity<List<GarageResponse>> searchByName(
-            @RequestParam String name) {
-        List<GarageResponse> garages = garageService.findGaragesByName(name);
-        return ResponseEntity.ok(garages);
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return CursorPagination.ok(garageService.findGaragesByName(
+            name, CursorPagination.position(cursor), CursorPagination.limit(size)));
     }
 
     @GetMapping("/search")
@@ -95,10 +126,13 @@ public class GarageController {
     })
     public ResponseEntity<List<GarageResponse>> searchByFuelAndAccessory(
             @RequestParam String typeCarburant,
-            @RequestParam String accessoireNom) {
+            @RequestParam String accessoireNom,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
             TypeCarburant parsed = TypeCarburant.valueOf(typeCarburant.toUpperCase());
-            List<GarageResponse> garages = garageService.searchByFuelAndAccessoryName(parsed, accessoireNom);
+            Pageable pageable = PageRequest.of(page, CursorPagination.limit(size), Sort.by("name", "id"));
+            List<GarageResponse> garages = garageService.searchByFuelAndAccessoryName(parsed, accessoireNom, pageable);
             return ResponseEntity.ok(garages);
         } catch (IllegalArgumentException ex) {
             // typeCarburant invalide -> 400 Bad Request
@@ -106,6 +140,54 @@ public class GarageController {
         }
     }
     
+    @GetMapping("/search/open-at")
+    @Operation(summary = "Rechercher les garages d'une ville ouverts à un instant donné", 
+               description = "at au format ISO (ex. 2024-06-15T17:30), heure locale du garage. " +
+                             "Précision au quart d'heure : un quart d'heure n'est ouvert que s'il est entièrement couvert par les horaires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Liste des garages ouverts"),
+        @ApiResponse(responseCode = "400", description = "Instant invalide")
+    })
+    public ResponseEntity<List<GarageResponse>> searchOpenAt(
+            @RequestParam String ville,
+            @RequestParam String at,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        LocalDateTime instant;
+        try {
+            instant = LocalDateTime.parse(at);
+        } catch (DateTimeParseException ex) {
+            // at invalide -> 400 Bad Request
+            return ResponseEntity.badRequest().build();
+        }
+        Pageable pageable = PageRequest.of(page, CursorPagination.limit(size), Sort.by("name", "id"));
+        return ResponseEntity.ok(garageService.findGaragesOuvertsA(ville, instant, pageable));
+    }
+    
+    @GetMapping("/facets")
+    @Operation(summary = "Recherche à facettes des garages", 
+               description = "Filtre les garages par types de carburant, types d'accessoires et villes depuis l'index en mémoire. " +
+                             "Les valeurs d'un même paramètre sont combinées en OU, les paramètres entre eux en ET. " +
+                             "Retourne également le nombre de garages par valeur de facette")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Garages et comptes par facette"),
+        @ApiResponse(responseCode = "400", description = "Type de carburant ou d'accessoire invalide, ou page négative")
+    })
+    public ResponseEntity<GarageFacetResponse> searchFacets(
+            @RequestParam(required = false) List<String> typeCarburant,
+            @RequestParam(required = false) List<String> typeAccessoire,
+            @RequestParam(required = false) List<String> ville,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        GarageFacetResponse response = garageFacetService.search(
+            parseValeurs(typeCarburant, v -> TypeCarburant.valueOf(v.toUpperCase())),
+            parseValeurs(typeAccessoire, v -> TypeAccessoire.valueOf(v.toUpperCase())),
+            parseValeurs(ville, Function.identity()),
+            page,
+            CursorPagination.limit(size));
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Récupérer un garage par son ID", description = "Retourne les détails complets d'un garage")
     @ApiResponses(value = {
@@ -141,4 +223,12 @@ public class GarageController {
         garageService.deleteGarage(id);
         return ResponseEntity.noContent().build();
     }
+    
+    // Valeur invalide -> IllegalArgumentException -> 400 Bad Request
+    private static <T> Set<T> parseValeurs(List<String> valeurs, Function<String, T> parser) {
+        if (valeurs == null) {
+            return Set.of();
+        }
+        return valeurs.stream().map(parser).collect(Collectors.toCollection(HashSet::new));
+    }
 }
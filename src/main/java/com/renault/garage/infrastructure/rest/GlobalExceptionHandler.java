@@ -3,6 +3,7 @@ package com.renault.garage.infrastructure.rest;
 import com.renault.garage.domain.exception.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -72,6 +73,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    /**
+     * Gère les exceptions ModeleVehiculeNotFoundException
+     */
+    @ExceptionHandler(ModeleVehiculeNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleModeleNotFound(
+            ModeleVehiculeNotFoundException ex, WebRequest request) {
+        logger.warn("Modèle non trouvé: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            "MODELE_NOT_FOUND",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    
+    /**
+     * Gère les exceptions ModeleVehiculeUtiliseException
+     */
+    @ExceptionHandler(ModeleVehiculeUtiliseException.class)
+    public ResponseEntity<ErrorResponse> handleModeleUtilise(
+            ModeleVehiculeUtiliseException ex, WebRequest request) {
+        logger.warn("Modèle utilisé: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            "MODELE_IN_USE",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
     /**
      * Gère les exceptions CapaciteGarageDepasseeException
      */
@@ -128,6 +161,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    /**
+     * Gère les conflits de verrouillage optimiste (modification concurrente de la même ligne)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        logger.warn("Modification concurrente: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            "CONCURRENT_MODIFICATION",
+            "La ressource a été modifiée entre-temps. Veuillez relire puis réessayer.",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
     /**
      * Gère toutes les autres exceptions non gérées
      */
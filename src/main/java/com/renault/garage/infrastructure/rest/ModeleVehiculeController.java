@@ -0,0 +1,81 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.ModeleVehiculeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller - Catalogue des modèles de véhicules
+ */
+@RestController
+@RequestMapping("/api/v1/modeles")
+@Tag(name = "Modèles", description = "API du catalogue des modèles de véhicules")
+public class ModeleVehiculeController {
+
+    private final ModeleVehiculeService modeleVehiculeService;
+
+    public ModeleVehiculeController(ModeleVehiculeService modeleVehiculeService) {
+        this.modeleVehiculeService = modeleVehiculeService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Lister les modèles", description = "Retourne tout le catalogue, trié par marque puis nom")
+    @ApiResponse(responseCode = "200", description = "Catalogue récupéré avec succès")
+    public ResponseEntity<List<ModeleVehiculeResponse>> list() {
+        return ResponseEntity.ok(modeleVehiculeService.list());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Récupérer un modèle", description = "Retourne un modèle du catalogue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Modèle trouvé"),
+            @ApiResponse(responseCode = "404", description = "Modèle non trouvé")
+    })
+    public ResponseEntity<ModeleVehiculeResponse> get(@PathVariable UUID id) {
+        return ResponseEntity.ok(modeleVehiculeService.get(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Créer un modèle", description = "Ajoute un modèle au catalogue")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Modèle créé avec succès"),
+            @ApiResponse(responseCode = "400", description = "Données invalides")
+    })
+    public ResponseEntity<ModeleVehiculeResponse> create(@Valid @RequestBody CreateModeleVehiculeRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(modeleVehiculeService.create(request));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Mettre à jour un modèle", description = "Met à jour les champs renseignés d'un modèle")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Modèle mis à jour"),
+            @ApiResponse(responseCode = "404", description = "Modèle non trouvé")
+    })
+    public ResponseEntity<ModeleVehiculeResponse> update(
+            @PathVariable UUID id,
+            @Valid @RequestBody UpdateModeleVehiculeRequest request) {
+        return ResponseEntity.ok(modeleVehiculeService.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Supprimer un modèle", description = "Supprime un modèle qu'aucun véhicule n'utilise")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Modèle supprimé"),
+            @ApiResponse(responseCode = "404", description = "Modèle non trouvé"),
+            @ApiResponse(responseCode = "409", description = "Modèle utilisé par des véhicules")
+    })
+    public ResponseEntity<Void> delete(@PathVariable UUID id) {
+        modeleVehiculeService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
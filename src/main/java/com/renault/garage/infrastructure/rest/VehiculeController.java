@@ -43,17 +43,34 @@ public class VehiculeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Ajouter plusieurs véhicules à un garage", 
+               description = "Crée jusqu'à la capacité restante du garage en une requête. Tout ou rien : si le lot dépasse la capacité, aucun véhicule n'est créé.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Véhicules ajoutés avec succès"),
+        @ApiResponse(responseCode = "400", description = "Données invalides ou capacité insuffisante"),
+        @ApiResponse(responseCode = "404", description = "Garage non trouvé")
+    })
+    public ResponseEntity<List<VehiculeResponse>> createVehicules(
+            @PathVariable UUID garageId,
+            @Valid @RequestBody CreateVehiculeBatchRequest request) {
+        List<VehiculeResponse> response = vehiculeService.createVehicules(garageId, request.vehicules());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
     @GetMapping
     @Operation(summary = "Lister les véhicules d'un garage", 
-               description = "Retourne tous les véhicules d'un garage donné")
+               description = "Retourne les véhicules d'un garage donné (par défaut une page couvre la capacité du garage). Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des véhicules récupérée"),
         @ApiResponse(responseCode = "404", description = "Garage non trouvé")
     })
     public ResponseEntity<List<VehiculeResponse>> getVehiculesByGarage(
-            @PathVariable UUID garageId) {
-        List<VehiculeResponse> vehicules = vehiculeService.getVehiculesByGarageId(garageId);
-        return ResponseEntity.ok(vehicules);
+            @PathVariable UUID garageId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return CursorPagination.ok(vehiculeService.getVehiculesByGarageId(
+            garageId, CursorPagination.position(cursor), CursorPagination.limit(size)));
     }
     
     @GetMapping("/{vehiculeId}")
@@ -66,7 +83,7 @@ public class VehiculeController {
     public ResponseEntity<VehiculeResponse> getVehiculeById(
             @PathVariable UUID garageId,
             @PathVariable UUID vehiculeId) {
-        VehiculeResponse response = vehiculeService.getVehiculeById(vehiculeId);
+        VehiculeResponse response = vehiculeService.getVehiculeById(garageId, vehiculeId);
         return ResponseEntity.ok(response);
     }
     
@@ -82,7 +99,7 @@ public class VehiculeController {
             @PathVariable UUID garageId,
             @PathVariable UUID vehiculeId,
             @Valid @RequestBody UpdateVehiculeRequest request) {
-        VehiculeResponse response = vehiculeService.updateVehicule(vehiculeId, request);
+        VehiculeResponse response = vehiculeService.updateVehicule(garageId, vehiculeId, request);
         return ResponseEntity.ok(response);
     }
     
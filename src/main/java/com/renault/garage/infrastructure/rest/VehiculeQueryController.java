@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,21 +35,22 @@ public class VehiculeQueryController {
 
     @GetMapping
     @Operation(summary = "Lister les véhicules par modèle",
-               description = "Retourne tous les véhicules d'un modèle donné, tous garages confondus")
+               description = "Retourne les véhicules d'un modèle donné, tous garages confondus. Pagination par curseur : passer la valeur de l'en-tête X-Next-Cursor dans le paramètre cursor")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des véhicules récupérée")
     })
     public ResponseEntity<List<VehiculeResponse>> getVehiculesByModeleId(
-            @RequestParam(name = "modeleId") String modeleId) {
+            @RequestParam(name = "modeleId") String modeleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
             UUID parsed = UUID.fromString(modeleId);
-            List<VehiculeResponse> responses = vehiculeRepository.findByModeleId(parsed)
-                    .stream()
-                    .map(vehiculeMapper::toResponse)
-                    .toList();
-            return ResponseEntity.ok(responses);
+            Window<VehiculeResponse> responses = vehiculeRepository
+                    .findByModeleId(parsed, CursorPagination.position(cursor), CursorPagination.limit(size))
+                    .map(vehiculeMapper::toResponse);
+            return CursorPagination.ok(responses);
         } catch (IllegalArgumentException ex) {
-            // UUID invalide -> 400 Bad Request au lieu de 500
+            // UUID, curseur ou taille invalide -> 400 Bad Request au lieu de 500
             return ResponseEntity.badRequest().build();
         }
     }
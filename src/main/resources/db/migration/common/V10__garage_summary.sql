@@ -0,0 +1,74 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V10 - Table de lecture garage_summary
+-- ============================================================================
+
+-- Une ligne par garage non supprimé : colonnes lues par les listes et compteurs agrégés
+-- (véhicules, véhicules par carburant, nombre et valeur des accessoires). L'application la
+-- tient à jour dans la transaction de chaque écriture ; les listes et recherches ne lisent
+-- plus que cette table, sans jointure ni regroupement.
+CREATE TABLE IF NOT EXISTS garage_summary (
+    garage_id UUID PRIMARY KEY REFERENCES garages(id) ON DELETE CASCADE,
+    name VARCHAR(255) NOT NULL,
+    rue VARCHAR(255) NOT NULL,
+    ville VARCHAR(100) NOT NULL,
+    code_postal VARCHAR(10) NOT NULL,
+    pays VARCHAR(100) NOT NULL,
+    telephone VARCHAR(20) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    horaires_ouverture TEXT NOT NULL,
+    creneaux_0 BIGINT NOT NULL DEFAULT 0,
+    creneaux_1 BIGINT NOT NULL DEFAULT 0,
+    creneaux_2 BIGINT NOT NULL DEFAULT 0,
+    creneaux_3 BIGINT NOT NULL DEFAULT 0,
+    creneaux_4 BIGINT NOT NULL DEFAULT 0,
+    creneaux_5 BIGINT NOT NULL DEFAULT 0,
+    creneaux_6 BIGINT NOT NULL DEFAULT 0,
+    creneaux_7 BIGINT NOT NULL DEFAULT 0,
+    creneaux_8 BIGINT NOT NULL DEFAULT 0,
+    creneaux_9 BIGINT NOT NULL DEFAULT 0,
+    creneaux_10 BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    nombre_vehicules INTEGER NOT NULL DEFAULT 0,
+    vehicules_essence INTEGER NOT NULL DEFAULT 0,
+    vehicules_diesel INTEGER NOT NULL DEFAULT 0,
+    vehicules_electrique INTEGER NOT NULL DEFAULT 0,
+    vehicules_hybride INTEGER NOT NULL DEFAULT 0,
+    vehicules_gpl INTEGER NOT NULL DEFAULT 0,
+    nombre_accessoires INTEGER NOT NULL DEFAULT 0,
+    valeur_accessoires DECIMAL(14,2) NOT NULL DEFAULT 0
+);
+
+-- Listes par nom et par ville, curseur sur (name, garage_id)
+CREATE INDEX IF NOT EXISTS idx_garage_summary_name_id ON garage_summary (name, garage_id);
+CREATE INDEX IF NOT EXISTS idx_garage_summary_ville_name_id ON garage_summary (ville, name, garage_id);
+
+-- Reprise des garages existants
+INSERT INTO garage_summary (garage_id, name, rue, ville, code_postal, pays, telephone, email,
+                            horaires_ouverture, creneaux_0, creneaux_1, creneaux_2, creneaux_3,
+                            creneaux_4, creneaux_5, creneaux_6, creneaux_7, creneaux_8, creneaux_9,
+                            creneaux_10, created_at, updated_at)
+SELECT g.id, g.name, g.rue, g.ville, g.code_postal, g.pays, g.telephone, g.email,
+       g.horaires_ouverture, g.creneaux_0, g.creneaux_1, g.creneaux_2, g.creneaux_3,
+       g.creneaux_4, g.creneaux_5, g.creneaux_6, g.creneaux_7, g.creneaux_8, g.creneaux_9,
+       g.creneaux_10, g.created_at, g.updated_at
+FROM garages g
+WHERE g.deleted_at IS NULL
+  AND NOT EXISTS (SELECT 1 FROM garage_summary s WHERE s.garage_id = g.id);
+
+UPDATE garage_summary s SET
+    nombre_vehicules = (SELECT COUNT(*) FROM vehicules v WHERE v.garage_id = s.garage_id),
+    vehicules_essence = (SELECT COUNT(*) FROM vehicules v
+                         WHERE v.garage_id = s.garage_id AND v.type_carburant = 'ESSENCE'),
+    vehicules_diesel = (SELECT COUNT(*) FROM vehicules v
+                        WHERE v.garage_id = s.garage_id AND v.type_carburant = 'DIESEL'),
+    vehicules_electrique = (SELECT COUNT(*) FROM vehicules v
+                            WHERE v.garage_id = s.garage_id AND v.type_carburant = 'ELECTRIQUE'),
+    vehicules_hybride = (SELECT COUNT(*) FROM vehicules v
+                         WHERE v.garage_id = s.garage_id AND v.type_carburant = 'HYBRIDE'),
+    vehicules_gpl = (SELECT COUNT(*) FROM vehicules v
+                     WHERE v.garage_id = s.garage_id AND v.type_carburant = 'GPL'),
+    nombre_accessoires = (SELECT COUNT(*) FROM vehicules v JOIN accessoires a ON a.vehicule_id = v.id
+                          WHERE v.garage_id = s.garage_id),
+    valeur_accessoires = (SELECT COALESCE(SUM(a.prix), 0) FROM vehicules v JOIN accessoires a ON a.vehicule_id = v.id
+                          WHERE v.garage_id = s.garage_id);
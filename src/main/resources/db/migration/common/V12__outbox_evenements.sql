@@ -0,0 +1,16 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V12 - Outbox des événements domaine
+-- ============================================================================
+
+-- Événements enregistrés dans la transaction métier qui les produit, déjà sérialisés pour
+-- leur topic ; le relais (OutboxRelay) les envoie vers Kafka par lots, dans l'ordre des id,
+-- puis les supprime. La table reste donc presque vide en régime normal.
+CREATE TABLE IF NOT EXISTS outbox_evenements (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    garage_id UUID,
+    topic VARCHAR(255) NOT NULL,
+    cle VARCHAR(255) NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,11 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V14 - Nom en minuscules pour la recherche des garages
+-- ============================================================================
+
+-- La recherche par nom porte sur nom_recherche, écrit par l'application avec name : elle ne dépend
+-- plus de la collation de name, passée en "C" sur PostgreSQL (V15) pour le tri entre shards
+ALTER TABLE garage_summary ADD COLUMN IF NOT EXISTS nom_recherche VARCHAR(255);
+
+UPDATE garage_summary SET nom_recherche = lower(name) WHERE nom_recherche IS NULL;
+
+ALTER TABLE garage_summary ALTER COLUMN nom_recherche SET NOT NULL;
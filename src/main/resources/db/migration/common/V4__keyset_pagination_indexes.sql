@@ -0,0 +1,11 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V4 - Index composites pour la pagination par curseur (keyset)
+-- ============================================================================
+
+-- Chaque index couvre le filtre puis le tri (clé de tri, id) : une page profonde
+-- se lit par un simple parcours d'index à partir de la position du curseur
+CREATE INDEX IF NOT EXISTS idx_garage_name_id ON garages(name, id);
+CREATE INDEX IF NOT EXISTS idx_garage_ville_name_id ON garages(ville, name, id);
+CREATE INDEX IF NOT EXISTS idx_vehicule_garage_created ON vehicules(garage_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_vehicule_modele_created ON vehicules(modele_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_accessoire_vehicule_created ON accessoires(vehicule_id, created_at, id);
@@ -0,0 +1,16 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V5 - Compteurs de capacité des garages
+-- ============================================================================
+
+-- Une ligne par garage : la réservation d'une place est un UPDATE conditionnel
+-- sur cette ligne (nombre_vehicules + n <= capacité), atomique sans verrou de table
+CREATE TABLE IF NOT EXISTS garage_capacites (
+    garage_id UUID PRIMARY KEY REFERENCES garages(id) ON DELETE CASCADE,
+    nombre_vehicules INTEGER NOT NULL DEFAULT 0 CHECK (nombre_vehicules >= 0)
+);
+
+-- Reprise des garages existants
+INSERT INTO garage_capacites (garage_id, nombre_vehicules)
+SELECT g.id, (SELECT COUNT(*) FROM vehicules v WHERE v.garage_id = g.id)
+FROM garages g
+WHERE NOT EXISTS (SELECT 1 FROM garage_capacites c WHERE c.garage_id = g.id);
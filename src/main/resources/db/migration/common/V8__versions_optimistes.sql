@@ -0,0 +1,8 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V8 - Versions de verrouillage optimiste
+-- ============================================================================
+
+-- Chaque UPDATE de garage ou de véhicule vérifie et incrémente la version lue :
+-- une modification concurrente est détectée au lieu d'être écrasée
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicules ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
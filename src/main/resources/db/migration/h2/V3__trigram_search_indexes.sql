@@ -0,0 +1,9 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V3 (H2) - Repli sans pg_trgm
+-- ============================================================================
+
+-- H2 ne dispose pas d'index trigrammes : la recherche reste en mode LIKE,
+-- ces index B-tree servent uniquement les recherches par préfixe et les tris
+CREATE INDEX IF NOT EXISTS idx_garage_name ON garages(name);
+CREATE INDEX IF NOT EXISTS idx_vehicule_brand ON vehicules(brand);
+CREATE INDEX IF NOT EXISTS idx_accessoire_nom ON accessoires(nom);
@@ -0,0 +1,18 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V6 (H2) - Bitmap hebdomadaire des créneaux d'ouverture
+-- ============================================================================
+
+-- Mêmes colonnes que la version PostgreSQL. H2 n'a pas les fonctions JSON nécessaires
+-- à la reprise : les garages existants restent fermés pour la recherche "ouvert à"
+-- jusqu'à leur prochaine mise à jour
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_0 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_1 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_2 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_3 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_4 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_5 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_6 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_7 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_8 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_9 BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS creneaux_10 BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V7 (H2) - Suppression logique des garages
+-- ============================================================================
+
+-- Même colonne que la version PostgreSQL ; H2 n'a pas d'index partiel
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_garage_deleted_at ON garages (deleted_at);
@@ -0,0 +1,6 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V11 (PostgreSQL) - Recherche par nom sur garage_summary
+-- ============================================================================
+
+-- Même index que idx_garage_name_trgm (V3), sur la table désormais lue par la recherche par nom
+CREATE INDEX IF NOT EXISTS idx_garage_summary_name_trgm ON garage_summary USING GIN (lower(name) gin_trgm_ops);
@@ -0,0 +1,56 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V13 (PostgreSQL) - Créneaux fermant à 23:59
+-- ============================================================================
+
+-- Une fermeture à 23:59 vaut fin de journée : la reprise V6 laissait le dernier quart
+-- d'heure (23:45 -> 24:00) fermé. Ajout de ce bit aux garages concernés, sans toucher aux autres,
+-- et à leur ligne garage_summary (recopiée par V10, lue par la recherche des garages ouverts)
+WITH quarts AS (
+    SELECT g.id AS garage_id,
+           (CASE j.jour WHEN 'MONDAY' THEN 0 WHEN 'TUESDAY' THEN 1 WHEN 'WEDNESDAY' THEN 2 WHEN 'THURSDAY' THEN 3 WHEN 'FRIDAY' THEN 4 WHEN 'SATURDAY' THEN 5 WHEN 'SUNDAY' THEN 6 END) * 96 + 95 AS bit
+    FROM garages g
+    CROSS JOIN LATERAL jsonb_each(g.horaires_ouverture::jsonb) AS j(jour, creneaux)
+    CROSS JOIN LATERAL jsonb_array_elements(j.creneaux) AS c(creneau)
+    WHERE (c.creneau->>'endTime')::time >= TIME '23:59'
+      AND (c.creneau->>'startTime')::time <= TIME '23:45'
+),
+mots AS (
+    SELECT garage_id, bit / 64 AS mot, bit_or(1::bigint << (bit % 64)) AS valeur
+    FROM quarts
+    GROUP BY garage_id, bit / 64
+),
+pivot AS (
+    SELECT garage_id,
+           bit_or(valeur) FILTER (WHERE mot = 1) AS m1,
+           bit_or(valeur) FILTER (WHERE mot = 2) AS m2,
+           bit_or(valeur) FILTER (WHERE mot = 4) AS m4,
+           bit_or(valeur) FILTER (WHERE mot = 5) AS m5,
+           bit_or(valeur) FILTER (WHERE mot = 7) AS m7,
+           bit_or(valeur) FILTER (WHERE mot = 8) AS m8,
+           bit_or(valeur) FILTER (WHERE mot = 10) AS m10
+    FROM mots
+    GROUP BY garage_id
+),
+garages_corriges AS (
+    UPDATE garages g SET
+        creneaux_1 = g.creneaux_1 | COALESCE(p.m1, 0),
+        creneaux_2 = g.creneaux_2 | COALESCE(p.m2, 0),
+        creneaux_4 = g.creneaux_4 | COALESCE(p.m4, 0),
+        creneaux_5 = g.creneaux_5 | COALESCE(p.m5, 0),
+        creneaux_7 = g.creneaux_7 | COALESCE(p.m7, 0),
+        creneaux_8 = g.creneaux_8 | COALESCE(p.m8, 0),
+        creneaux_10 = g.creneaux_10 | COALESCE(p.m10, 0)
+    FROM pivot p
+    WHERE p.garage_id = g.id
+    RETURNING g.id
+)
+UPDATE garage_summary s SET
+    creneaux_1 = s.creneaux_1 | COALESCE(p.m1, 0),
+    creneaux_2 = s.creneaux_2 | COALESCE(p.m2, 0),
+    creneaux_4 = s.creneaux_4 | COALESCE(p.m4, 0),
+    creneaux_5 = s.creneaux_5 | COALESCE(p.m5, 0),
+    creneaux_7 = s.creneaux_7 | COALESCE(p.m7, 0),
+    creneaux_8 = s.creneaux_8 | COALESCE(p.m8, 0),
+    creneaux_10 = s.creneaux_10 | COALESCE(p.m10, 0)
+FROM pivot p
+WHERE p.garage_id = s.garage_id;
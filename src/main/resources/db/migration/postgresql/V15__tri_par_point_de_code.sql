@@ -0,0 +1,23 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V15 (PostgreSQL) - Tri des textes par point de code
+-- ============================================================================
+
+-- Les listes réparties entre shards sont fusionnées en Java (FusionShards.ORDRE_TEXTE) : chaque shard
+-- doit trier et positionner ses curseurs (name > :name) dans le même ordre, quelle que soit la locale
+-- de la base. Collation "C" sur les colonnes texte triées par ces listes ; les index qui les
+-- contiennent sont reconstruits par ALTER COLUMN TYPE.
+ALTER TABLE garages ALTER COLUMN name TYPE VARCHAR(255) COLLATE "C";
+
+ALTER TABLE garage_summary
+    ALTER COLUMN name TYPE VARCHAR(255) COLLATE "C",
+    ALTER COLUMN ville TYPE VARCHAR(100) COLLATE "C",
+    ALTER COLUMN code_postal TYPE VARCHAR(10) COLLATE "C",
+    ALTER COLUMN pays TYPE VARCHAR(100) COLLATE "C",
+    ALTER COLUMN telephone TYPE VARCHAR(20) COLLATE "C",
+    ALTER COLUMN email TYPE VARCHAR(255) COLLATE "C";
+
+-- Recherche par nom sur nom_recherche (V14) : lower(name) ne passerait plus en minuscules
+-- que les caractères ASCII sous la collation "C"
+DROP INDEX IF EXISTS idx_garage_summary_name_trgm;
+CREATE INDEX IF NOT EXISTS idx_garage_summary_nom_recherche_trgm
+    ON garage_summary USING GIN (nom_recherche gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V3 (PostgreSQL) - Index trigrammes pour la recherche par sous-chaîne
+-- ============================================================================
+
+-- Extension pg_trgm : index GIN utilisables par LIKE '%x%' et tri par similarité
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Les index portent sur lower(...) pour correspondre aux prédicats des requêtes de recherche
+CREATE INDEX IF NOT EXISTS idx_garage_name_trgm ON garages USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_vehicule_brand_trgm ON vehicules USING GIN (lower(brand) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_accessoire_nom_trgm ON accessoires USING GIN (lower(nom) gin_trgm_ops);
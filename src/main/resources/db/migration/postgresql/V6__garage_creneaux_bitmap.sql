@@ -0,0 +1,66 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V6 (PostgreSQL) - Bitmap hebdomadaire des créneaux d'ouverture
+-- ============================================================================
+
+-- 7 jours x 96 quarts d'heure = 672 bits sur 11 mots BIGINT, à côté de horaires_ouverture.
+-- Bit (jour * 96 + quart), lundi = 0 ; "ouvert à" devient un bitand sur un seul mot,
+-- évalué sur les lignes sélectionnées par idx_garage_ville_name_id
+ALTER TABLE garages
+    ADD COLUMN IF NOT EXISTS creneaux_0 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_1 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_2 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_3 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_4 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_5 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_6 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_7 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_8 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_9 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS creneaux_10 BIGINT NOT NULL DEFAULT 0;
+
+-- Reprise : quarts d'heure entièrement couverts par chaque créneau du JSON
+WITH quarts AS (
+    SELECT g.id AS garage_id,
+           (CASE j.jour WHEN 'MONDAY' THEN 0 WHEN 'TUESDAY' THEN 1 WHEN 'WEDNESDAY' THEN 2 WHEN 'THURSDAY' THEN 3 WHEN 'FRIDAY' THEN 4 WHEN 'SATURDAY' THEN 5 WHEN 'SUNDAY' THEN 6 END) * 96 + q AS bit
+    FROM garages g
+    CROSS JOIN LATERAL jsonb_each(g.horaires_ouverture::jsonb) AS j(jour, creneaux)
+    CROSS JOIN LATERAL jsonb_array_elements(j.creneaux) AS c(creneau)
+    CROSS JOIN LATERAL generate_series(
+        CEIL(EXTRACT(EPOCH FROM (c.creneau->>'startTime')::time) / 900)::int,
+        FLOOR(EXTRACT(EPOCH FROM (c.creneau->>'endTime')::time) / 900)::int - 1) AS q
+),
+mots AS (
+    SELECT garage_id, bit / 64 AS mot, bit_or(1::bigint << (bit % 64)) AS valeur
+    FROM quarts
+    GROUP BY garage_id, bit / 64
+),
+pivot AS (
+    SELECT garage_id,
+           bit_or(valeur) FILTER (WHERE mot = 0) AS m0,
+           bit_or(valeur) FILTER (WHERE mot = 1) AS m1,
+           bit_or(valeur) FILTER (WHERE mot = 2) AS m2,
+           bit_or(valeur) FILTER (WHERE mot = 3) AS m3,
+           bit_or(valeur) FILTER (WHERE mot = 4) AS m4,
+           bit_or(valeur) FILTER (WHERE mot = 5) AS m5,
+           bit_or(valeur) FILTER (WHERE mot = 6) AS m6,
+           bit_or(valeur) FILTER (WHERE mot = 7) AS m7,
+           bit_or(valeur) FILTER (WHERE mot = 8) AS m8,
+           bit_or(valeur) FILTER (WHERE mot = 9) AS m9,
+           bit_or(valeur) FILTER (WHERE mot = 10) AS m10
+    FROM mots
+    GROUP BY garage_id
+)
+UPDATE garages g SET
+    creneaux_0 = COALESCE(p.m0, 0),
+    creneaux_1 = COALESCE(p.m1, 0),
+    creneaux_2 = COALESCE(p.m2, 0),
+    creneaux_3 = COALESCE(p.m3, 0),
+    creneaux_4 = COALESCE(p.m4, 0),
+    creneaux_5 = COALESCE(p.m5, 0),
+    creneaux_6 = COALESCE(p.m6, 0),
+    creneaux_7 = COALESCE(p.m7, 0),
+    creneaux_8 = COALESCE(p.m8, 0),
+    creneaux_9 = COALESCE(p.m9, 0),
+    creneaux_10 = COALESCE(p.m10, 0)
+FROM pivot p
+WHERE p.garage_id = g.id;
@@ -0,0 +1,11 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V7 (PostgreSQL) - Suppression logique des garages
+-- ============================================================================
+
+-- Un garage supprimé est marqué (deleted_at) puis purgé par lots en arrière-plan :
+-- la cascade véhicules / accessoires ne s'exécute plus dans la transaction de la requête
+ALTER TABLE garages ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+-- Index partiel : seuls les garages en attente de purge (quelques lignes) y figurent,
+-- ce qui rend le filtre des véhicules masqués et la recherche du purgeur quasi gratuits
+CREATE INDEX IF NOT EXISTS idx_garage_deleted_at ON garages (deleted_at) WHERE deleted_at IS NOT NULL;
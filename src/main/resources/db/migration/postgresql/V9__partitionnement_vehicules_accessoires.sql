@@ -0,0 +1,100 @@
+-- ============================================================================
+-- MIGRATION FLYWAY V9 (PostgreSQL) - Partitionnement par hachage des véhicules et accessoires
+-- ============================================================================
+
+-- vehicules : 16 partitions par hachage de garage_id ; accessoires : 16 partitions par hachage
+-- de vehicule_id. Vacuum et maintenance des index portent sur des partitions 16 fois plus petites,
+-- et les requêtes d'un garage (ou d'un véhicule) ne lisent qu'une partition.
+-- Contraintes du partitionnement :
+--   - les clés primaires incluent la clé de partition : (garage_id, id) et (vehicule_id, id) ;
+--   - une clé étrangère ne peut pas viser vehicules(id) seul : fk_accessoire_vehicule disparaît,
+--     la suppression des accessoires d'un véhicule est faite par l'application.
+-- Les données sont recopiées dans la transaction de migration : à exécuter en fenêtre de maintenance.
+
+-- Tables partitionnées (sans clé primaire pendant la copie : les noms de l'ancienne table sont encore pris)
+CREATE TABLE vehicules_partitionnes (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    garage_id UUID NOT NULL,
+    modele_id UUID NOT NULL,
+    brand VARCHAR(100) NOT NULL,
+    annee_fabrication INTEGER NOT NULL,
+    type_carburant VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+) PARTITION BY HASH (garage_id);
+
+CREATE TABLE accessoires_partitionnes (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    vehicule_id UUID NOT NULL,
+    nom VARCHAR(255) NOT NULL,
+    description TEXT,
+    prix DECIMAL(10,2) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY HASH (vehicule_id);
+
+DO $$
+BEGIN
+    FOR reste IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE vehicules_p%s PARTITION OF vehicules_partitionnes '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(reste::text, 2, '0'), reste);
+        EXECUTE format('CREATE TABLE accessoires_p%s PARTITION OF accessoires_partitionnes '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(reste::text, 2, '0'), reste);
+    END LOOP;
+END $$;
+
+-- Copie puis remplacement des tables
+INSERT INTO vehicules_partitionnes (id, garage_id, modele_id, brand, annee_fabrication, type_carburant,
+                                    created_at, updated_at, version)
+SELECT id, garage_id, modele_id, brand, annee_fabrication, type_carburant, created_at, updated_at, version
+FROM vehicules;
+
+INSERT INTO accessoires_partitionnes (id, vehicule_id, nom, description, prix, type, created_at)
+SELECT id, vehicule_id, nom, description, prix, type, created_at
+FROM accessoires;
+
+DROP TABLE accessoires;
+DROP TABLE vehicules;
+
+ALTER TABLE vehicules_partitionnes RENAME TO vehicules;
+ALTER TABLE accessoires_partitionnes RENAME TO accessoires;
+
+-- Contraintes
+ALTER TABLE vehicules
+    ADD CONSTRAINT vehicules_pkey PRIMARY KEY (garage_id, id),
+    ADD CONSTRAINT fk_vehicule_garage FOREIGN KEY (garage_id) REFERENCES garages(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_vehicule_modele FOREIGN KEY (modele_id) REFERENCES modeles_vehicules(id),
+    ADD CONSTRAINT chk_annee_fabrication CHECK (annee_fabrication >= 1900 AND annee_fabrication <= 2100),
+    ADD CONSTRAINT chk_type_carburant CHECK (type_carburant IN ('ESSENCE', 'DIESEL', 'ELECTRIQUE', 'HYBRIDE', 'GPL'));
+
+ALTER TABLE accessoires
+    ADD CONSTRAINT accessoires_pkey PRIMARY KEY (vehicule_id, id),
+    ADD CONSTRAINT chk_prix CHECK (prix >= 0),
+    ADD CONSTRAINT chk_type_accessoire CHECK (type IN ('INTERIEUR', 'EXTERIEUR', 'ELECTRONIQUE', 'SECURITE', 'CONFORT'));
+
+-- Index (créés sur chaque partition) : ceux préfixés par la clé de partition servent
+-- les requêtes d'un garage ou d'un véhicule ; les autres servent les recherches transversales
+CREATE INDEX idx_vehicule_garage_created ON vehicules (garage_id, created_at, id);
+CREATE INDEX idx_vehicule_modele_created ON vehicules (modele_id, created_at, id);
+CREATE INDEX idx_vehicule_carburant ON vehicules (type_carburant);
+CREATE INDEX idx_vehicule_id ON vehicules (id);
+CREATE INDEX idx_vehicule_brand_trgm ON vehicules USING GIN (lower(brand) gin_trgm_ops);
+
+CREATE INDEX idx_accessoire_vehicule_created ON accessoires (vehicule_id, created_at, id);
+CREATE INDEX idx_accessoire_type ON accessoires (type);
+CREATE INDEX idx_accessoire_nom_trgm ON accessoires USING GIN (lower(nom) gin_trgm_ops);
+
+-- Déclencheurs de V1, recréés sur la table partitionnée (propagés aux partitions)
+CREATE TRIGGER trg_check_garage_capacity
+BEFORE INSERT ON vehicules
+FOR EACH ROW
+EXECUTE FUNCTION check_garage_capacity();
+
+CREATE TRIGGER trg_vehicules_updated_at
+BEFORE UPDATE ON vehicules
+FOR EACH ROW
+EXECUTE FUNCTION update_updated_at_column();
+
+ANALYZE vehicules;
+ANALYZE accessoires;
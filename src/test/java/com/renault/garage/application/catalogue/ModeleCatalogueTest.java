@@ -0,0 +1,52 @@
+package com.renault.garage.application.catalogue;
+
+import com.renault.garage.domain.model.ModeleVehicule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du catalogue des modèles en mémoire
+ */
+class ModeleCatalogueTest {
+    
+    private final ModeleCatalogue catalogue = new ModeleCatalogue();
+    
+    @Test
+    @DisplayName("Le catalogue est trié par marque puis nom et résout les modèles par ID")
+    void shouldSortAndResolveModels() {
+        ModeleVehicule zoe = ModeleVehicule.creer("Zoe", "Renault", null, null);
+        ModeleVehicule clio = ModeleVehicule.creer("Clio", "Renault", null, null);
+        ModeleVehicule duster = ModeleVehicule.creer("Duster", "Dacia", null, null);
+        
+        catalogue.remplacer(List.of(zoe, clio, duster));
+        
+        assertEquals(List.of(duster, clio, zoe), catalogue.instantane().modeles());
+        assertEquals("Zoe", catalogue.get(zoe.id()).orElseThrow().nomModele());
+        assertTrue(catalogue.get(null).isEmpty());
+        assertTrue(catalogue.get(UUID.randomUUID()).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Un remplacement publie un nouvel instantané sans modifier celui déjà lu")
+    void shouldPublishNewSnapshotWithoutTouchingPreviousOne() {
+        ModeleVehicule clio = ModeleVehicule.creer("Clio", "Renault", null, Map.of("portes", 5));
+        catalogue.remplacer(List.of(clio));
+        ModeleCatalogue.Instantane avant = catalogue.instantane();
+        
+        ModeleVehicule clioV = clio.modifier("Clio V", null, null, null);
+        catalogue.remplacer(List.of(clioV));
+        
+        assertEquals("Clio", avant.get(clio.id()).orElseThrow().nomModele());
+        assertEquals("Clio V", catalogue.get(clio.id()).orElseThrow().nomModele());
+        assertEquals(Map.of("portes", 5), catalogue.get(clio.id()).orElseThrow().specifications());
+        assertEquals(avant.generation() + 1, catalogue.instantane().generation());
+        assertThrows(UnsupportedOperationException.class, () -> avant.modeles().add(clioV));
+        assertThrows(UnsupportedOperationException.class, () -> avant.parId().clear());
+    }
+}
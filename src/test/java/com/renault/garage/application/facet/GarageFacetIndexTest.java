@@ -0,0 +1,114 @@
+package com.renault.garage.application.facet;
+
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'index de facettes des garages
+ */
+class GarageFacetIndexTest {
+    
+    private final UUID paris = UUID.randomUUID();
+    private final UUID lyon = UUID.randomUUID();
+    private final UUID lille = UUID.randomUUID();
+    
+    private GarageFacetIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new GarageFacetIndex();
+        index.remplacer(List.of(
+            new GarageFacetIndex.Entree(paris, "Renault Paris", "Paris",
+                Set.of(TypeCarburant.DIESEL, TypeCarburant.ELECTRIQUE), Set.of(TypeAccessoire.ELECTRONIQUE)),
+            new GarageFacetIndex.Entree(lyon, "Renault Lyon", "Lyon",
+                Set.of(TypeCarburant.DIESEL), Set.of(TypeAccessoire.SECURITE)),
+            new GarageFacetIndex.Entree(lille, "Renault Lille", "Lille",
+                Set.of(TypeCarburant.ESSENCE), Set.of())
+        ));
+    }
+    
+    @Test
+    @DisplayName("Sans filtre, tous les garages et tous les comptes sont retournés")
+    void shouldReturnEverythingWithoutFilter() {
+        GarageFacetIndex.Resultat resultat = index.rechercher(Set.of(), Set.of(), Set.of(), 0, 10);
+        
+        assertEquals(3, resultat.total());
+        assertEquals(3, resultat.garages().size());
+        assertEquals(2L, resultat.carburants().get(TypeCarburant.DIESEL));
+        assertEquals(Map.of("Paris", 1L, "Lyon", 1L, "Lille", 1L), resultat.villes());
+    }
+    
+    @Test
+    @DisplayName("Les valeurs d'une facette sont combinées en OU, les facettes en ET")
+    void shouldCombineValuesWithOrAndFacetsWithAnd() {
+        GarageFacetIndex.Resultat resultat = index.rechercher(
+            Set.of(TypeCarburant.DIESEL, TypeCarburant.ESSENCE), Set.of(), Set.of("Paris", "Lille"), 0, 10);
+        
+        assertEquals(Set.of(paris, lille), ids(resultat));
+        
+        resultat = index.rechercher(Set.of(TypeCarburant.DIESEL), Set.of(TypeAccessoire.SECURITE), Set.of(), 0, 10);
+        assertEquals(Set.of(lyon), ids(resultat));
+    }
+    
+    @Test
+    @DisplayName("Les comptes d'une facette ignorent sa propre sélection")
+    void shouldComputeDisjunctiveCounts() {
+        GarageFacetIndex.Resultat resultat = index.rechercher(
+            Set.of(TypeCarburant.DIESEL), Set.of(), Set.of(), 0, 10);
+        
+        assertEquals(2, resultat.total());
+        // Facette carburant : calculée sans le filtre carburant
+        assertEquals(1L, resultat.carburants().get(TypeCarburant.ESSENCE));
+        // Facette ville : restreinte aux garages diesel
+        assertEquals(Map.of("Paris", 1L, "Lyon", 1L), resultat.villes());
+    }
+    
+    @Test
+    @DisplayName("Une mise à jour remplace les anciennes valeurs et une suppression libère le garage")
+    void shouldUpdateAndRemoveGarage() {
+        index.enregistrer(new GarageFacetIndex.Entree(lyon, "Renault Lyon", "Villeurbanne",
+            Set.of(TypeCarburant.HYBRIDE), Set.of()));
+        index.supprimer(paris);
+        
+        GarageFacetIndex.Resultat resultat = index.rechercher(Set.of(), Set.of(), Set.of(), 0, 10);
+        
+        assertEquals(Set.of(lyon, lille), ids(resultat));
+        assertNull(resultat.carburants().get(TypeCarburant.DIESEL));
+        assertEquals(1L, resultat.villes().get("Villeurbanne"));
+        assertFalse(resultat.villes().containsKey("Lyon"));
+        
+        UUID nantes = UUID.randomUUID();
+        index.enregistrer(new GarageFacetIndex.Entree(nantes, "Renault Nantes", "Nantes",
+            Set.of(TypeCarburant.DIESEL), Set.of()));
+        assertEquals(Set.of(nantes), ids(index.rechercher(Set.of(TypeCarburant.DIESEL), Set.of(), Set.of(), 0, 10)));
+    }
+    
+    @Test
+    @DisplayName("La pagination découpe le résultat sans modifier le total")
+    void shouldPaginateResults() {
+        GarageFacetIndex.Resultat page1 = index.rechercher(Set.of(), Set.of(), Set.of(), 0, 2);
+        GarageFacetIndex.Resultat page2 = index.rechercher(Set.of(), Set.of(), Set.of(), 2, 2);
+        
+        assertEquals(2, page1.garages().size());
+        assertEquals(1, page2.garages().size());
+        assertEquals(3, page2.total());
+        assertTrue(index.rechercher(Set.of(), Set.of(), Set.of(), 4, 2).garages().isEmpty());
+    }
+    
+    private static Set<UUID> ids(GarageFacetIndex.Resultat resultat) {
+        return resultat.garages().stream()
+            .map(GarageFacetIndex.Entree::garageId)
+            .collect(Collectors.toSet());
+    }
+}
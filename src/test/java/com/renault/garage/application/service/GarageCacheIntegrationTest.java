@@ -0,0 +1,109 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests d'intégration du cache des garages lus par ID
+ * Transactions réellement validées : les évictions ont lieu après commit
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:garage-cache",
+    "spring.kafka.admin.auto-create=false"
+})
+class GarageCacheIntegrationTest {
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehiculeService vehiculeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private GarageSummaryRepository summaryRepository;
+
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @Test
+    void shouldServeRepeatedReadsFromCacheUntilGarageChanges() {
+        UUID id = garageService.createGarage(request("Renault Cache", "Lille")).id();
+        clearInvocations(summaryRepository);
+
+        garageService.getGarageById(id);
+        garageService.getGarageById(id);
+        verify(summaryRepository, times(1)).findById(id);
+
+        GarageResponse modifie = garageService.updateGarage(id, new UpdateGarageRequest(
+            "Renault Cache Modifié", new AddressDTO("2 Rue Test", "Lille", "59000", "France"),
+            "+33123456789", "cache@renault.fr", horaires()));
+        clearInvocations(summaryRepository);
+
+        assertEquals(modifie.name(), garageService.getGarageById(id).name());
+        verify(summaryRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldEvictGarageWhenVehiculesAreAddedOrRemoved() {
+        UUID id = garageService.createGarage(request("Renault Véhicules", "Nantes")).id();
+        assertEquals(0, garageService.getGarageById(id).nombreVehicules());
+
+        UUID vehiculeId = vehiculeService.createVehicule(id,
+            new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2024, TypeCarburant.ELECTRIQUE)).id();
+        assertEquals(1, garageService.getGarageById(id).nombreVehicules());
+
+        vehiculeService.deleteVehicule(id, vehiculeId);
+        assertEquals(0, garageService.getGarageById(id).nombreVehicules());
+    }
+
+    @Test
+    void shouldExposeCacheMetrics() {
+        UUID id = garageService.createGarage(request("Renault Métriques", "Rennes")).id();
+        double hitsAvant = gets("hit");
+
+        garageService.getGarageById(id);
+        garageService.getGarageById(id);
+
+        assertEquals(hitsAvant + 1, gets("hit"));
+        assertTrue(gets("miss") >= 1);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", GarageService.GARAGES_CACHE)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+
+    private static CreateGarageRequest request(String name, String ville) {
+        return new CreateGarageRequest(
+            name, new AddressDTO("1 Rue Test", ville, "59000", "France"),
+            "+33123456789", "cache@renault.fr", horaires());
+    }
+
+    private static Map<DayOfWeek, List<OpeningTimeDTO>> horaires() {
+        return Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))));
+    }
+}
@@ -0,0 +1,123 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.exception.GarageNotFoundException;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration de la suppression logique des garages et de leur purge par lots
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:garage-purge",
+    "spring.kafka.admin.auto-create=false",
+    "garage.purge.batch-size=2"
+})
+class GaragePurgeServiceIntegrationTest {
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private VehiculeService vehiculeService;
+    
+    @Autowired
+    private AccessoireService accessoireService;
+    
+    @Autowired
+    private GaragePurgeService garagePurgeService;
+    
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    @Test
+    @DisplayName("Un garage supprimé disparaît aussitôt des lectures, ses lignes restent jusqu'à la purge")
+    void shouldHideDeletedGarageBeforePurge() {
+        UUID garageId = garageAvecVehicules("Garage Masqué", 3);
+        UUID modeleId = vehiculeService.getVehiculesByGarageId(garageId, ScrollPosition.keyset(), 1)
+            .getContent().get(0).modeleId();
+        
+        garageService.deleteGarage(garageId);
+        
+        assertThrows(GarageNotFoundException.class, () -> garageService.getGarageById(garageId));
+        assertThrows(GarageNotFoundException.class, () -> garageService.deleteGarage(garageId));
+        assertTrue(garageService.findGaragesByVille("Masqueville", ScrollPosition.keyset(), 10).stream()
+            .noneMatch(g -> g.id().equals(garageId)));
+        assertTrue(vehiculeRepository.findByModeleId(modeleId, ScrollPosition.keyset(), 10).isEmpty());
+        assertEquals(3, compter("SELECT COUNT(*) FROM vehicules WHERE garage_id = ?", garageId));
+    }
+    
+    @Test
+    @DisplayName("La purge supprime accessoires, véhicules puis garage par lots, sans toucher aux autres garages")
+    void shouldPurgeDeletedGaragesInBatches() {
+        UUID supprime = garageAvecVehicules("Garage Purgé", 5);
+        UUID conserve = garageAvecVehicules("Garage Conservé", 2);
+        double vehiculesAvant = lignesPurgees("vehicules");
+        double accessoiresAvant = lignesPurgees("accessoires");
+        
+        garageService.deleteGarage(supprime);
+        int purges = garagePurgeService.purger();
+        
+        assertTrue(purges >= 1);
+        assertEquals(0, compter("SELECT COUNT(*) FROM garages WHERE id = ?", supprime));
+        assertEquals(0, compter("SELECT COUNT(*) FROM vehicules WHERE garage_id = ?", supprime));
+        assertEquals(2, compter("SELECT COUNT(*) FROM vehicules WHERE garage_id = ?", conserve));
+        assertEquals(2, compter("SELECT COUNT(*) FROM accessoires a JOIN vehicules v ON v.id = a.vehicule_id "
+            + "WHERE v.garage_id = ?", conserve));
+        assertEquals(5, lignesPurgees("vehicules") - vehiculesAvant);
+        assertEquals(5, lignesPurgees("accessoires") - accessoiresAvant);
+        assertEquals(0, meterRegistry.get("garage.purge.pending").gauge().value());
+        assertEquals(2, garageService.getGarageById(conserve).nombreVehicules());
+    }
+    
+    private UUID garageAvecVehicules(String nom, int nombre) {
+        UUID garageId = garageService.createGarage(new CreateGarageRequest(
+            nom, new AddressDTO("1 Rue Test", "Masqueville", "75001", "France"),
+            "+33123456789", "purge@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))))).id();
+        List<VehiculeResponse> vehicules = vehiculeService.createVehicules(garageId, IntStream.range(0, nombre)
+            .mapToObj(i -> new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2022, TypeCarburant.DIESEL))
+            .toList());
+        vehicules.forEach(v -> accessoireService.create(garageId, v.id(), new CreateAccessoireRequest(
+            "Tapis", null, new BigDecimal("39.90"), TypeAccessoire.CONFORT)));
+        return garageId;
+    }
+    
+    private long compter(String sql, UUID garageId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, garageId);
+    }
+    
+    private double lignesPurgees(String table) {
+        return meterRegistry.get("garage.purge.rows").tag("table", table).counter().count();
+    }
+}
@@ -1,16 +1,36 @@
 package com.renault.garage.application.service;
 
 import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
 import com.renault.garage.domain.exception.GarageNotFoundException;
+import com.renault.garage.domain.model.Accessoire;
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.model.Vehicule;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +44,19 @@ class GarageServiceIntegrationTest {
     @Autowired
     private GarageService garageService;
     
+    @Autowired
+    private GarageRepository garageRepository;
+    
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+    
+    @Autowired
+    private AccessoireRepository accessoireRepository;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
     @Test
     void shouldCreateGarage() {
         // Étant donné
@@ -83,4 +116,112 @@ class GarageServiceIntegrationTest {
             garageService.getGarageById(java.util.UUID.randomUUID());
         });
     }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldRejectStaleGarageUpdate() {
+        // Étant donné un garage lu avant une modification concurrente
+        UUID id = garageService.createGarage(new CreateGarageRequest(
+            "Renault Version", new AddressDTO("1 Rue Test", "Versionville", "75001", "France"),
+            "+33123456789", "version@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))))).id();
+        Garage perime = garageRepository.findById(id).orElseThrow();
+        garageService.updateGarage(id, new UpdateGarageRequest("Renault Concurrent", null, null, null, null));
+        
+        // Quand & Alors : l'écriture de la copie périmée est refusée au lieu d'écraser l'autre
+        perime.update("Renault Écrasé", null, null, null, null);
+        assertThrows(OptimisticLockingFailureException.class, () -> garageRepository.save(perime));
+        assertEquals("Renault Concurrent", garageService.getGarageById(id).name());
+    }
+    
+    @Test
+    void shouldSearchGaragesByFuelAndAccessoryName() {
+        // Étant donné
+        GarageResponse diesel = garageService.createGarage(createRequest("Renault Diesel", "diesel@renault.fr"));
+        GarageResponse essence = garageService.createGarage(createRequest("Renault Essence", "essence@renault.fr"));
+        addVehiculeWithAccessoire(diesel.id(), TypeCarburant.DIESEL, "GPS Tomtom");
+        addVehiculeWithAccessoire(diesel.id(), TypeCarburant.DIESEL, "Attelage");
+        addVehiculeWithAccessoire(essence.id(), TypeCarburant.ESSENCE, "GPS Garmin");
+        
+        // Quand
+        List<GarageResponse> result = garageService.searchByFuelAndAccessoryName(
+            TypeCarburant.DIESEL, "gps", PageRequest.of(0, 20, Sort.by("name")));
+        
+        // Alors
+        assertEquals(1, result.size());
+        assertEquals(diesel.id(), result.get(0).id());
+        assertTrue(garageService.searchByFuelAndAccessoryName(
+            TypeCarburant.DIESEL, "gps%", PageRequest.of(0, 20)).isEmpty());
+    }
+    
+    @Test
+    void shouldScrollGaragesByVilleWithKeysetCursor() {
+        // Étant donné
+        for (String nom : List.of("Renault E", "Renault C", "Renault A", "Renault D", "Renault B")) {
+            garageService.createGarage(createRequest(nom, nom.replace(" ", "").toLowerCase() + "@renault.fr"));
+        }
+        
+        // Quand - parcours par pages de 2 en repartant de la position du dernier élément
+        List<String> noms = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<GarageResponse> page;
+        int pages = 0;
+        do {
+            page = garageService.findGaragesByVille("Paris", position, 2);
+            page.forEach(g -> noms.add(g.name()));
+            position = page.positionAt(page.size() - 1);
+            pages++;
+        } while (page.hasNext());
+        
+        // Alors
+        assertEquals(3, pages);
+        assertEquals(List.of("Renault A", "Renault B", "Renault C", "Renault D", "Renault E"), noms);
+    }
+    
+    @Test
+    void shouldReportPersistedVehiculeCounts() {
+        // Étant donné
+        GarageResponse deux = garageService.createGarage(createRequest("Renault Deux", "deux@renault.fr"));
+        GarageResponse vide = garageService.createGarage(createRequest("Renault Vide", "vide@renault.fr"));
+        addVehiculeWithAccessoire(deux.id(), TypeCarburant.DIESEL, "Tapis");
+        addVehiculeWithAccessoire(deux.id(), TypeCarburant.ESSENCE, "Tapis");
+        
+        // Quand
+        GarageResponse detail = garageService.getGarageById(deux.id());
+        Map<UUID, GarageResponse> page = garageService
+            .findGaragesByVille("Paris", ScrollPosition.keyset(), 10)
+            .stream()
+            .collect(Collectors.toMap(GarageResponse::id, g -> g));
+        
+        // Alors
+        assertEquals(2, detail.nombreVehicules());
+        assertEquals(48, detail.capaciteRestante());
+        assertEquals(2, page.get(deux.id()).nombreVehicules());
+        assertEquals(0, page.get(vide.id()).nombreVehicules());
+        assertEquals(50, page.get(vide.id()).capaciteRestante());
+    }
+    
+    private CreateGarageRequest createRequest(String name, String email) {
+        return new CreateGarageRequest(
+            name,
+            new AddressDTO("1 Rue Test", "Paris", "75001", "France"),
+            "+33123456789",
+            email,
+            Map.of(
+                DayOfWeek.MONDAY, List.of(
+                    new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))
+                )
+            )
+        );
+    }
+    
+    private void addVehiculeWithAccessoire(UUID garageId, TypeCarburant typeCarburant, String nomAccessoire) {
+        Vehicule vehicule = new Vehicule(UUID.randomUUID(), "Renault", 2022, typeCarburant);
+        vehicule.setGarageId(garageId);
+        vehiculeRepository.save(vehicule);
+        
+        Accessoire accessoire = new Accessoire(nomAccessoire, null, new BigDecimal("99.90"), TypeAccessoire.ELECTRONIQUE);
+        vehicule.ajouterAccessoire(accessoire);
+        accessoireRepository.save(accessoire);
+    }
 }
@@ -2,11 +2,15 @@ package com.renault.garage.application.service;
 
 import com.renault.garage.application.dto.*;
 import com.renault.garage.application.mapper.GarageMapper;
+import com.renault.garage.domain.event.DomainEventPublisher;
 import com.renault.garage.domain.exception.GarageNotFoundException;
 import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.GarageSummary;
 import com.renault.garage.domain.model.Address;
 import com.renault.garage.domain.model.OpeningTime;
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
 import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -28,9 +32,18 @@ class GarageServiceTest {
     @Mock
     private GarageRepository garageRepository;
     
+    @Mock
+    private GarageSummaryRepository summaryRepository;
+    
+    @Mock
+    private GarageCapaciteRepository capaciteRepository;
+    
     @Mock
     private GarageMapper garageMapper;
     
+    @Mock
+    private DomainEventPublisher eventPublisher;
+    
     @InjectMocks
     private GarageService garageService;
     
@@ -67,8 +80,9 @@ class GarageServiceTest {
     void shouldGetGarageById() {
         // Préparation
         UUID garageId = UUID.randomUUID();
-        when(garageRepository.findById(garageId)).thenReturn(Optional.of(garage));
-        when(garageMapper.toResponse(garage)).thenReturn(garageResponse);
+        GarageSummary summary = GarageSummary.vide(garage);
+        when(summaryRepository.findById(garageId)).thenReturn(Optional.of(summary));
+        when(garageMapper.toResponse(summary)).thenReturn(garageResponse);
         
         // Action
         GarageResponse result = garageService.getGarageById(garageId);
@@ -76,7 +90,7 @@ class GarageServiceTest {
         // Vérification
         assertNotNull(result);
         assertEquals("Renault Paris", result.name());
-        verify(garageRepository, times(1)).findById(garageId);
+        verify(summaryRepository, times(1)).findById(garageId);
     }
     
     @Test
@@ -84,7 +98,7 @@ class GarageServiceTest {
     void shouldThrowGarageNotFoundExceptionWhenNotFound() {
         // Préparation
         UUID garageId = UUID.randomUUID();
-        when(garageRepository.findById(garageId)).thenReturn(Optional.empty());
+        when(summaryRepository.findById(garageId)).thenReturn(Optional.empty());
         
         // Action & Vérification
         assertThrows(GarageNotFoundException.class, () -> {
@@ -97,9 +111,9 @@ class GarageServiceTest {
     void shouldGetAllGaragesWithPagination() {
         // Préparation
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Garage> garagePage = new PageImpl<>(List.of(garage));
-        when(garageRepository.findAll(pageable)).thenReturn(garagePage);
-        when(garageMapper.toResponse(any(Garage.class))).thenReturn(garageResponse);
+        Page<GarageSummary> garagePage = new PageImpl<>(List.of(GarageSummary.vide(garage)));
+        when(summaryRepository.findAll(pageable)).thenReturn(garagePage);
+        when(garageMapper.toResponse(any(GarageSummary.class))).thenReturn(garageResponse);
         
         // Action
         GarageListResponse result = garageService.getAllGarages(pageable);
@@ -116,13 +130,24 @@ class GarageServiceTest {
     void shouldDeleteGarage() {
         // Préparation
         UUID garageId = UUID.randomUUID();
-        when(garageRepository.existsById(garageId)).thenReturn(true);
+        when(garageRepository.marquerSupprime(garageId)).thenReturn(true);
         
         // Action
         garageService.deleteGarage(garageId);
         
-        // Vérification
-        verify(garageRepository, times(1)).deleteById(garageId);
+        // Vérification : suppression logique, la purge des lignes est différée
+        verify(garageRepository, times(1)).marquerSupprime(garageId);
+        verify(garageRepository, never()).deleteById(garageId);
+    }
+    
+    @Test
+    @DisplayName("Devrait lever une exception en supprimant un garage inexistant")
+    void shouldThrowWhenDeletingUnknownGarage() {
+        UUID garageId = UUID.randomUUID();
+        when(garageRepository.marquerSupprime(garageId)).thenReturn(false);
+        
+        assertThrows(GarageNotFoundException.class, () -> garageService.deleteGarage(garageId));
+        verifyNoInteractions(capaciteRepository, eventPublisher);
     }
     
     // Méthodes utilitaires
@@ -178,6 +203,9 @@ class GarageServiceTest {
             horaires,
             0,
             50,
+            Map.of(),
+            0,
+            java.math.BigDecimal.ZERO,
             java.time.LocalDateTime.now(),
             java.time.LocalDateTime.now()
         );
@@ -0,0 +1,154 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.Accessoire;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.model.Vehicule;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration du résumé des garages (garage_summary)
+ * Les compteurs suivent chaque écriture de véhicule ou d'accessoire et sont servis par les listes
+ */
+@SpringBootTest
+@Transactional
+class GarageSummaryIntegrationTest {
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehiculeService vehiculeService;
+
+    @Autowired
+    private AccessoireService accessoireService;
+
+    @Autowired
+    private AccessoireImportService accessoireImportService;
+
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+
+    @Autowired
+    private AccessoireRepository accessoireRepository;
+
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @Test
+    void shouldMaintainCountersOnVehiculeAndAccessoireWrites() {
+        // Étant donné
+        UUID garageId = garageService.createGarage(createRequest("Renault Résumé", "resume@renault.fr")).id();
+        Vehicule diesel = addVehicule(garageId, TypeCarburant.DIESEL);
+        Vehicule essence = addVehicule(garageId, TypeCarburant.ESSENCE);
+        addVehicule(garageId, TypeCarburant.ESSENCE);
+        AccessoireResponse gps = accessoireService.create(garageId, diesel.getId(),
+            new CreateAccessoireRequest("GPS", null, new BigDecimal("199.90"), TypeAccessoire.ELECTRONIQUE));
+        accessoireService.create(garageId, essence.getId(),
+            new CreateAccessoireRequest("Tapis", null, new BigDecimal("30.00"), TypeAccessoire.INTERIEUR));
+
+        // Quand
+        vehiculeService.updateVehicule(garageId, essence.getId(),
+            new UpdateVehiculeRequest(null, null, null, TypeCarburant.HYBRIDE));
+        accessoireService.update(garageId, diesel.getId(), gps.id(),
+            new UpdateAccessoireRequest(null, null, new BigDecimal("149.90"), null));
+        GarageResponse avantSuppression = garageService.getGarageById(garageId);
+        vehiculeRepository.deleteById(garageId, diesel.getId());
+
+        // Alors
+        assertEquals(3, avantSuppression.nombreVehicules());
+        assertEquals(Map.of(TypeCarburant.DIESEL, 1, TypeCarburant.ESSENCE, 1, TypeCarburant.HYBRIDE, 1),
+            avantSuppression.vehiculesParCarburant());
+        assertEquals(2, avantSuppression.nombreAccessoires());
+        assertEquals(0, new BigDecimal("179.90").compareTo(avantSuppression.valeurAccessoires()));
+
+        GarageResponse apres = garageService.getGarageById(garageId);
+        assertEquals(2, apres.nombreVehicules());
+        assertEquals(Map.of(TypeCarburant.ESSENCE, 1, TypeCarburant.HYBRIDE, 1), apres.vehiculesParCarburant());
+        assertEquals(1, apres.nombreAccessoires());
+        assertEquals(0, new BigDecimal("30.00").compareTo(apres.valeurAccessoires()));
+    }
+
+    @Test
+    void shouldServeImportedAccessoiresFromListings() {
+        // Étant donné
+        UUID garageId = garageService.createGarage(createRequest("Renault Import", "import@renault.fr")).id();
+        Vehicule vehicule = addVehicule(garageId, TypeCarburant.ELECTRIQUE);
+        Accessoire existant = new Accessoire("Chargeur", null, new BigDecimal("500.00"), TypeAccessoire.ELECTRONIQUE);
+        vehicule.ajouterAccessoire(existant);
+        accessoireRepository.save(existant);
+
+        // Quand
+        accessoireImportService.importer(List.of(
+            new AccessoireImportLine(1, vehicule.getId(), "Câble", null, new BigDecimal("80.00"),
+                TypeAccessoire.ELECTRONIQUE, null),
+            new AccessoireImportLine(2, vehicule.getId(), "Housse", null, new BigDecimal("45.50"),
+                TypeAccessoire.INTERIEUR, null)
+        ).iterator(), garageId);
+        accessoireService.delete(garageId, vehicule.getId(), existant.getId());
+        GarageResponse liste = garageService.findGaragesByVille("Lille", ScrollPosition.keyset(), 10)
+            .stream()
+            .filter(g -> g.id().equals(garageId))
+            .findFirst()
+            .orElseThrow();
+
+        // Alors
+        assertEquals(1, liste.nombreVehicules());
+        assertEquals(Map.of(TypeCarburant.ELECTRIQUE, 1), liste.vehiculesParCarburant());
+        assertEquals(2, liste.nombreAccessoires());
+        assertEquals(0, new BigDecimal("125.50").compareTo(liste.valeurAccessoires()));
+    }
+
+    @Test
+    void shouldSearchAccentedNamesIgnoringCase() {
+        // Étant donné
+        UUID garageId = garageService.createGarage(createRequest("Garage Hélène", "helene@renault.fr")).id();
+        garageService.createGarage(createRequest("Garage Helene", "helene.sans.accent@renault.fr"));
+        
+        // Quand
+        List<GarageResponse> trouves = garageService.findGaragesByName("HÉLÈNE", ScrollPosition.keyset(), 10)
+            .getContent();
+        
+        // Alors
+        assertEquals(List.of(garageId), trouves.stream().map(GarageResponse::id).toList());
+    }
+    
+    private CreateGarageRequest createRequest(String name, String email) {
+        return new CreateGarageRequest(
+            name,
+            new AddressDTO("1 Rue Test", "Lille", "59000", "France"),
+            "+33123456789",
+            email,
+            Map.of(
+                DayOfWeek.MONDAY, List.of(
+                    new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))
+                )
+            )
+        );
+    }
+
+    private Vehicule addVehicule(UUID garageId, TypeCarburant typeCarburant) {
+        Vehicule vehicule = new Vehicule(UUID.randomUUID(), "Renault", 2022, typeCarburant);
+        vehicule.setGarageId(garageId);
+        return vehiculeRepository.save(vehicule);
+    }
+}
@@ -0,0 +1,100 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.exception.ModeleVehiculeNotFoundException;
+import com.renault.garage.domain.exception.ModeleVehiculeUtiliseException;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration du catalogue des modèles et de son instantané en mémoire
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:modeles",
+    "spring.kafka.admin.auto-create=false"
+})
+class ModeleVehiculeIntegrationTest {
+    
+    @Autowired
+    private ModeleVehiculeService modeleVehiculeService;
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private VehiculeService vehiculeService;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    @Test
+    @DisplayName("Les réponses véhicules embarquent le modèle, rechargé après chaque modification")
+    void shouldEmbedModelFromRefreshedSnapshot() {
+        ModeleVehiculeResponse modele = modeleVehiculeService.create(new CreateModeleVehiculeRequest(
+            "Austral", "Renault", "SUV hybride", Map.of("places", 5, "hybride", true)));
+        
+        assertEquals(Map.of("places", 5, "hybride", true), modeleVehiculeService.get(modele.id()).specifications());
+        assertTrue(modeleVehiculeService.list().stream().anyMatch(m -> m.id().equals(modele.id())));
+        
+        UUID garageId = creerGarage();
+        VehiculeResponse vehicule = vehiculeService.createVehicule(garageId,
+            new CreateVehiculeRequest(modele.id(), "Renault", 2024, TypeCarburant.HYBRIDE));
+        assertEquals("Austral", vehicule.nomModele());
+        assertEquals("Renault", vehicule.brandModele());
+        
+        modeleVehiculeService.update(modele.id(), new UpdateModeleVehiculeRequest("Austral E-Tech", null, null, null));
+        
+        VehiculeResponse relu = vehiculeService.getVehiculeById(garageId, vehicule.id());
+        assertEquals("Austral E-Tech", relu.nomModele());
+        assertEquals("SUV hybride", modeleVehiculeService.get(modele.id()).description());
+    }
+    
+    @Test
+    @DisplayName("Un modèle inconnu du catalogue laisse le nom et la marque vides")
+    void shouldLeaveModelFieldsEmptyForUnknownModel() {
+        VehiculeResponse vehicule = vehiculeService.createVehicule(creerGarage(),
+            new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2022, TypeCarburant.ESSENCE));
+        
+        assertNull(vehicule.nomModele());
+        assertNull(vehicule.brandModele());
+    }
+    
+    @Test
+    @DisplayName("Un modèle utilisé ne peut pas être supprimé ; un modèle libre disparaît du catalogue")
+    void shouldDeleteOnlyUnusedModels() {
+        ModeleVehiculeResponse utilise = modeleVehiculeService.create(
+            new CreateModeleVehiculeRequest("Scenic", "Renault", null, null));
+        ModeleVehiculeResponse libre = modeleVehiculeService.create(
+            new CreateModeleVehiculeRequest("Espace", "Renault", null, null));
+        vehiculeService.createVehicule(creerGarage(),
+            new CreateVehiculeRequest(utilise.id(), "Renault", 2023, TypeCarburant.ELECTRIQUE));
+        
+        assertThrows(ModeleVehiculeUtiliseException.class, () -> modeleVehiculeService.delete(utilise.id()));
+        modeleVehiculeService.delete(libre.id());
+        
+        assertThrows(ModeleVehiculeNotFoundException.class, () -> modeleVehiculeService.get(libre.id()));
+        assertThrows(ModeleVehiculeNotFoundException.class, () -> modeleVehiculeService.delete(libre.id()));
+        assertEquals("Scenic", modeleVehiculeService.get(utilise.id()).nomModele());
+    }
+    
+    private UUID creerGarage() {
+        return garageService.createGarage(new CreateGarageRequest(
+            "Garage Modèles", new AddressDTO("1 Rue Test", "Modeleville", "75001", "France"),
+            "+33123456789", "modeles@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))))).id();
+    }
+}
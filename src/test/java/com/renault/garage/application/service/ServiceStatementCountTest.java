@@ -0,0 +1,140 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.Accessoire;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.renault.garage.support.SqlStatementCounter.assertStatementCount;
+import static com.renault.garage.support.SqlStatementCounter.statements;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garde-fou de non-régression : nombre exact de requêtes SQL par cas d'usage des services
+ * Un aller-retour supplémentaire (chargement d'entité pour une clé étrangère, SELECT avant
+ * INSERT, N+1...) fait échouer le build avec la liste des requêtes émises.
+ * Les écritures comptent la mise à jour du résumé du garage (garage_summary), faite dans la même
+ * transaction : un INSERT, UPDATE ou DELETE relatif, sans lecture préalable des compteurs.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:statement-count",
+    "spring.kafka.admin.auto-create=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.renault.garage.support.SqlStatementCounter"
+})
+class ServiceStatementCountTest {
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private VehiculeService vehiculeService;
+    
+    @Autowired
+    private AccessoireService accessoireService;
+    
+    @Autowired
+    private AccessoireRepository accessoireRepository;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    private UUID garageId;
+    private UUID vehiculeId;
+    
+    @BeforeEach
+    void setUp() {
+        garageId = garageService.createGarage(garageRequest()).id();
+        vehiculeId = vehiculeService.createVehicule(garageId, vehiculeRequest()).id();
+    }
+    
+    @Test
+    @DisplayName("Garages : création, lecture (cache froid puis chaud), mise à jour, suppression")
+    void garageUseCases() {
+        UUID id = assertStatementCount(3, () -> garageService.createGarage(garageRequest())).id();
+        assertStatementCount(1, () -> garageService.getGarageById(id));
+        assertStatementCount(0, () -> garageService.getGarageById(id));
+        assertStatementCount(4, () -> garageService.updateGarage(id, new UpdateGarageRequest(
+            "Garage Compté Modifié", null, null, null, null)));
+        assertStatementCount(3, () -> garageService.deleteGarage(id));
+    }
+    
+    @Test
+    @DisplayName("Véhicules : création, lecture, mise à jour, suppression")
+    void vehiculeUseCases() {
+        UUID id = assertStatementCount(6, () -> vehiculeService.createVehicule(garageId, vehiculeRequest())).id();
+        assertUpdate("update garages set updated_at=? where id=? and (garages.deleted_at IS NULL)");
+        assertStatementCount(1, () -> vehiculeService.getVehiculeById(garageId, id));
+        assertStatementCount(2, () -> vehiculeService.updateVehicule(garageId, id,
+            new UpdateVehiculeRequest(null, "Dacia", null, null)));
+        assertUpdate("update vehicules set brand=?,updated_at=?,version=? where id=? and garage_id=? and version=?");
+        assertStatementCount(8, () -> vehiculeService.deleteVehicule(garageId, id));
+        assertUpdate("update garages set updated_at=? where id=? and (garages.deleted_at IS NULL)");
+        // Lot : un seul INSERT groupé, date de modification du garage reportée une fois
+        assertStatementCount(6, () -> vehiculeService.createVehicules(garageId,
+            List.of(vehiculeRequest(), vehiculeRequest())));
+        assertUpdate("update garages set updated_at=? where id=? and (garages.deleted_at IS NULL)");
+    }
+    
+    @Test
+    @DisplayName("Accessoires : création, liste, mise à jour, suppression")
+    void accessoireUseCases() {
+        UUID id = assertStatementCount(3, () -> accessoireService.create(garageId, vehiculeId,
+            new CreateAccessoireRequest("GPS", null, new BigDecimal("299.00"), TypeAccessoire.ELECTRONIQUE))).id();
+        assertStatementCount(2, () -> accessoireService.list(garageId, vehiculeId, ScrollPosition.keyset(), 20));
+        assertStatementCount(3, () -> accessoireService.update(garageId, vehiculeId, id,
+            new UpdateAccessoireRequest("GPS Connect", null, null, null)));
+        assertPartitionKey("update accessoires set", "where id=? and vehicule_id=?");
+        // Accessoire hors contexte de persistance : ancien prix relu par la clé de partition
+        Accessoire accessoire = accessoireRepository.findById(vehiculeId, id).orElseThrow();
+        accessoire.update(null, null, new BigDecimal("249.00"), null);
+        assertStatementCount(3, () -> accessoireRepository.save(accessoire));
+        assertPartitionKey("select", "where aje1_0.vehicule_id=? and aje1_0.id=?");
+        assertStatementCount(3, () -> accessoireService.delete(garageId, vehiculeId, id));
+    }
+    
+    @Test
+    @DisplayName("Accessoires d'un véhicule : lecture et comptage par clé étrangère")
+    void accessoiresParVehicule() {
+        assertStatementCount(1, () -> accessoireRepository.findByVehiculeId(vehiculeId));
+        assertStatementCount(1, () -> accessoireRepository.countByVehiculeId(vehiculeId));
+    }
+    
+    private static CreateGarageRequest garageRequest() {
+        return new CreateGarageRequest("Garage Compté", new AddressDTO("1 Rue SQL", "Lyon", "69001", "France"),
+            "+33123456789", "sql@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))));
+    }
+    
+    // UPDATE partiel et versionné : seules les colonnes modifiées sont écrites
+    private static void assertUpdate(String attendu) {
+        assertTrue(statements().contains(attendu), () -> "UPDATE attendu : " + attendu + "\n" + statements());
+    }
+    
+    // Tables partitionnées sous PostgreSQL : l'instruction porte la clé de partition
+    private static void assertPartitionKey(String debut, String fin) {
+        assertTrue(statements().stream().anyMatch(sql -> sql.startsWith(debut) && sql.endsWith(fin)),
+            () -> "Instruction attendue : " + debut + " ... " + fin + "\n" + statements());
+    }
+    
+    private static CreateVehiculeRequest vehiculeRequest() {
+        return new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2023, TypeCarburant.HYBRIDE);
+    }
+}
@@ -0,0 +1,159 @@
+package com.renault.garage.application.service;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.exception.CapaciteGarageDepasseeException;
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge concurrente - Capacité maximale d'un garage
+ * Des créations simultanées dans le même garage ne doivent jamais dépasser la capacité.
+ * Base dédiée, transactions réellement validées (pas de rollback de test).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:capacite;LOCK_TIMEOUT=10000",
+    "spring.kafka.admin.auto-create=false"
+})
+class VehiculeCapaciteConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TENTATIVES = 120;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehiculeService vehiculeService;
+
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @Test
+    void concurrentCreationsNeverExceedCapacity() throws Exception {
+        UUID garageId = creerGarage();
+
+        AtomicInteger acceptees = new AtomicInteger();
+        AtomicInteger refusees = new AtomicInteger();
+        List<Throwable> erreurs = new CopyOnWriteArrayList<>();
+        CountDownLatch depart = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < TENTATIVES; i++) {
+            futures.add(executor.submit(() -> {
+                depart.await();
+                try {
+                    vehiculeService.createVehicule(garageId, nouveauVehicule());
+                    acceptees.incrementAndGet();
+                } catch (CapaciteGarageDepasseeException e) {
+                    refusees.incrementAndGet();
+                } catch (Throwable t) {
+                    erreurs.add(t);
+                }
+                return null;
+            }));
+        }
+        depart.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(erreurs.isEmpty(), () -> "Erreurs inattendues : " + erreurs);
+        assertEquals(Garage.getMaxCapacity(), acceptees.get());
+        assertEquals(TENTATIVES - Garage.getMaxCapacity(), refusees.get());
+        assertEquals(Garage.getMaxCapacity(), vehiculeRepository.countByGarageId(garageId));
+        assertEquals(Garage.getMaxCapacity(), garageService.getGarageById(garageId).nombreVehicules());
+    }
+
+    @Test
+    void deletingVehiculeReleasesPlace() {
+        UUID garageId = creerGarage();
+        List<UUID> vehicules = new ArrayList<>();
+        for (int i = 0; i < Garage.getMaxCapacity(); i++) {
+            vehicules.add(vehiculeService.createVehicule(garageId, nouveauVehicule()).id());
+        }
+        assertThrows(CapaciteGarageDepasseeException.class,
+            () -> vehiculeService.createVehicule(garageId, nouveauVehicule()));
+
+        vehiculeService.deleteVehicule(garageId, vehicules.get(0));
+
+        assertNotNull(vehiculeService.createVehicule(garageId, nouveauVehicule()).id());
+        assertThrows(CapaciteGarageDepasseeException.class,
+            () -> vehiculeService.createVehicule(garageId, nouveauVehicule()));
+    }
+
+    @Test
+    void batchCreationIsAllOrNothing() {
+        UUID garageId = creerGarage();
+
+        assertEquals(30, vehiculeService.createVehicules(garageId, lot(30)).size());
+        assertThrows(CapaciteGarageDepasseeException.class, () -> vehiculeService.createVehicules(garageId, lot(21)));
+        assertEquals(30, vehiculeRepository.countByGarageId(garageId));
+
+        assertEquals(20, vehiculeService.createVehicules(garageId, lot(20)).size());
+        assertThrows(CapaciteGarageDepasseeException.class,
+            () -> vehiculeService.createVehicule(garageId, nouveauVehicule()));
+        assertEquals(Garage.getMaxCapacity(), vehiculeRepository.countByGarageId(garageId));
+    }
+
+    @Test
+    void legacyGarageCounterIsCreatedOnFirstReservation() {
+        UUID garageId = creerGarage();
+        vehiculeService.createVehicules(garageId, lot(Garage.getMaxCapacity() - 1));
+        // Garage antérieur à la table des compteurs
+        jdbcTemplate.update("DELETE FROM garage_capacites WHERE garage_id = ?", garageId);
+
+        assertNotNull(vehiculeService.createVehicule(garageId, nouveauVehicule()).id());
+        assertThrows(CapaciteGarageDepasseeException.class,
+            () -> vehiculeService.createVehicule(garageId, nouveauVehicule()));
+        assertEquals(Garage.getMaxCapacity(), vehiculeRepository.countByGarageId(garageId));
+    }
+
+    private static List<CreateVehiculeRequest> lot(int taille) {
+        List<CreateVehiculeRequest> lot = new ArrayList<>();
+        for (int i = 0; i < taille; i++) {
+            lot.add(nouveauVehicule());
+        }
+        return lot;
+    }
+
+    private UUID creerGarage() {
+        return garageService.createGarage(new CreateGarageRequest(
+            "Renault Capacité",
+            new AddressDTO("1 Rue Test", "Lyon", "69001", "France"),
+            "+33123456789",
+            "capacite@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))))
+        )).id();
+    }
+
+    private static CreateVehiculeRequest nouveauVehicule() {
+        return new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2024, TypeCarburant.ESSENCE);
+    }
+}
@@ -1,7 +1,9 @@
 package com.renault.garage.application.service;
 
 import com.renault.garage.application.dto.CreateVehiculeRequest;
+import com.renault.garage.application.catalogue.ModeleCatalogue;
 import com.renault.garage.application.mapper.VehiculeMapper;
+import com.renault.garage.domain.event.DomainEvent;
 import com.renault.garage.domain.event.DomainEventPublisher;
 import com.renault.garage.domain.exception.CapaciteGarageDepasseeException;
 import com.renault.garage.domain.exception.GarageNotFoundException;
@@ -9,6 +11,7 @@ import com.renault.garage.domain.model.Address;
 import com.renault.garage.domain.model.Garage;
 import com.renault.garage.domain.model.TypeCarburant;
 import com.renault.garage.domain.model.Vehicule;
+import com.renault.garage.domain.repository.GarageCapaciteRepository;
 import com.renault.garage.domain.repository.GarageRepository;
 import com.renault.garage.domain.repository.VehiculeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +32,7 @@ class VehiculeServiceTest {
 
     private VehiculeRepository vehiculeRepository;
     private GarageRepository garageRepository;
+    private GarageCapaciteRepository capaciteRepository;
     private VehiculeMapper vehiculeMapper;
     private DomainEventPublisher eventPublisher;
     private VehiculeService vehiculeService;
@@ -40,9 +44,11 @@ class VehiculeServiceTest {
     void setup() {
         vehiculeRepository = mock(VehiculeRepository.class);
         garageRepository = mock(GarageRepository.class);
-        vehiculeMapper = new VehiculeMapper();
+        capaciteRepository = mock(GarageCapaciteRepository.class);
+        vehiculeMapper = new VehiculeMapper(new ModeleCatalogue());
         eventPublisher = mock(DomainEventPublisher.class);
-        vehiculeService = new VehiculeService(vehiculeRepository, garageRepository, vehiculeMapper, eventPublisher);
+        vehiculeService = new VehiculeService(vehiculeRepository, garageRepository, capaciteRepository,
+            vehiculeMapper, eventPublisher);
 
         garageId = UUID.randomUUID();
         garage = new Garage(
@@ -58,8 +64,8 @@ class VehiculeServiceTest {
     @Test
     void createVehicule_publishesEvent_andPersists() {
         when(garageRepository.findById(garageId)).thenReturn(Optional.of(garage));
+        when(capaciteRepository.reserver(garageId, 1, Garage.getMaxCapacity())).thenReturn(true);
         when(vehiculeRepository.save(Mockito.any(Vehicule.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(garageRepository.save(Mockito.any(Garage.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         CreateVehiculeRequest req = new CreateVehiculeRequest(
             UUID.randomUUID(),
@@ -73,12 +79,15 @@ class VehiculeServiceTest {
         assertNotNull(response);
         assertEquals("RENAULT", response.brand());
         verify(vehiculeRepository, times(1)).save(Mockito.any(Vehicule.class));
-        verify(garageRepository, times(1)).save(Mockito.any(Garage.class));
+        // Seule la date de mise à jour du garage est écrite, pas la ligne complète
+        verify(garageRepository, times(1)).marquerModifie(Mockito.eq(garageId), Mockito.any());
+        verify(garageRepository, never()).save(any());
+        verify(capaciteRepository, times(1)).reserver(garageId, 1, Garage.getMaxCapacity());
 
         // Vérifier que l'événement a été publié
-        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<DomainEvent> eventCaptor = ArgumentCaptor.forClass(DomainEvent.class);
         verify(eventPublisher, times(1)).publish(eventCaptor.capture());
-        Object event = eventCaptor.getValue();
+        DomainEvent event = eventCaptor.getValue();
         assertEquals("VehiculeCreatedEvent", event.getClass().getSimpleName());
     }
 
@@ -109,4 +118,57 @@ class VehiculeServiceTest {
         assertThrows(CapaciteGarageDepasseeException.class, () -> vehiculeService.createVehicule(garageId, req));
         verify(eventPublisher, times(0)).publish(any());
     }
+
+    @Test
+    void createVehicule_throwsWhenConcurrentReservationFillsGarage() {
+        // Le garage chargé a encore de la place, mais la réservation atomique est refusée
+        when(garageRepository.findById(garageId)).thenReturn(Optional.of(garage));
+        when(capaciteRepository.reserver(garageId, 1, Garage.getMaxCapacity())).thenReturn(false);
+
+        CreateVehiculeRequest req = new CreateVehiculeRequest(
+            UUID.randomUUID(), "RENAULT", 2024, TypeCarburant.ESSENCE
+        );
+
+        assertThrows(CapaciteGarageDepasseeException.class, () -> vehiculeService.createVehicule(garageId, req));
+        verify(vehiculeRepository, never()).save(any());
+        verify(eventPublisher, never()).publish(any());
+    }
+
+    @Test
+    void createVehicules_reservesOnce_insertsInBatch_andPublishesAll() {
+        when(garageRepository.existsById(garageId)).thenReturn(true);
+        when(capaciteRepository.reserver(garageId, 3, Garage.getMaxCapacity())).thenReturn(true);
+        when(vehiculeRepository.insertAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CreateVehiculeRequest> requests = List.of(
+            new CreateVehiculeRequest(UUID.randomUUID(), "RENAULT", 2024, TypeCarburant.ESSENCE),
+            new CreateVehiculeRequest(UUID.randomUUID(), "DACIA", 2023, TypeCarburant.GPL),
+            new CreateVehiculeRequest(UUID.randomUUID(), "ALPINE", 2024, TypeCarburant.ELECTRIQUE)
+        );
+
+        var responses = vehiculeService.createVehicules(garageId, requests);
+
+        assertEquals(3, responses.size());
+        assertTrue(responses.stream().allMatch(r -> garageId.equals(r.garageId())));
+        verify(capaciteRepository, times(1)).reserver(garageId, 3, Garage.getMaxCapacity());
+        verify(vehiculeRepository, times(1)).insertAll(Mockito.anyList());
+        verify(garageRepository, never()).save(any());
+        verify(garageRepository, times(1)).marquerModifie(Mockito.eq(garageId), Mockito.any());
+        verify(eventPublisher, times(1)).publishAll(argThat(events -> events.size() == 3));
+    }
+
+    @Test
+    void createVehicules_rejectsWholeBatchWhenCapacityIsInsufficient() {
+        when(garageRepository.existsById(garageId)).thenReturn(true);
+        when(capaciteRepository.reserver(garageId, 2, Garage.getMaxCapacity())).thenReturn(false);
+
+        List<CreateVehiculeRequest> requests = List.of(
+            new CreateVehiculeRequest(UUID.randomUUID(), "RENAULT", 2024, TypeCarburant.ESSENCE),
+            new CreateVehiculeRequest(UUID.randomUUID(), "RENAULT", 2024, TypeCarburant.DIESEL)
+        );
+
+        assertThrows(CapaciteGarageDepasseeException.class, () -> vehiculeService.createVehicules(garageId, requests));
+        verify(vehiculeRepository, never()).insertAll(any());
+        verify(eventPublisher, never()).publishAll(any());
+    }
 }
@@ -0,0 +1,120 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.domain.event.DomainEvent;
+import com.renault.garage.domain.event.VehiculeCreatedEvent;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.infrastructure.event.CodecAvroEvenements;
+import com.renault.garage.infrastructure.event.RegistreSchemas;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Benchmark - Sérialisation de VehiculeCreatedEvent : JSON (JsonSerializer, comme le producer)
+ * contre Avro binaire (CodecAvroEvenements)
+ * Pour chaque format : taille moyenne d'un message, taille d'un lot de 1 000 messages compressé
+ * en snappy (compression des topics), coût de sérialisation et de désérialisation en ns/événement.
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=EventSerializationBenchmark -Dbenchmark.events=200000 -Dbenchmark.rounds=5
+ */
+class EventSerializationBenchmark {
+    
+    private static final String TOPIC = "vehicule.created";
+    private static final int EVENEMENTS = Integer.getInteger("benchmark.events", 200_000);
+    private static final int TOURS = Integer.getInteger("benchmark.rounds", 5);
+    private static final int LOT = 1_000;
+    
+    @Test
+    void compareJsonAndAvro() {
+        VehiculeCreatedEvent[] events = new VehiculeCreatedEvent[EVENEMENTS];
+        for (int i = 0; i < EVENEMENTS; i++) {
+            events[i] = new VehiculeCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "Renault Clio", 2024,
+                TypeCarburant.values()[i % TypeCarburant.values().length].name());
+        }
+        
+        JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+        JsonDeserializer<VehiculeCreatedEvent> jsonDeserializer = new JsonDeserializer<>(VehiculeCreatedEvent.class, false);
+        CodecAvroEvenements avro = new CodecAvroEvenements(new RegistreSchemas(""));
+        List<Format> formats = List.of(
+            new Format("json", event -> jsonSerializer.serialize(TOPIC, event),
+                donnees -> jsonDeserializer.deserialize(TOPIC, donnees), events),
+            new Format("avro", avro::encoder, avro::decoder, events)
+        );
+        
+        // Premier tour : échauffement (JIT) ; formats alternés à chaque tour, meilleur tour retenu
+        for (int tour = 0; tour <= TOURS; tour++) {
+            for (Format format : formats) {
+                format.mesurer(events, tour > 0);
+            }
+        }
+        for (Format format : formats) {
+            System.out.printf("%-5s message=%.1f o  lot de %d snappy=%d o (%.1f o/év)  sér=%.0f ns/év  désér=%.0f ns/év%n",
+                format.nom, (double) format.octets / events.length, LOT, format.compresse(),
+                (double) format.compresse() / LOT, (double) format.meilleureSer / events.length,
+                (double) format.meilleureDeser / events.length);
+        }
+    }
+    
+    private static final class Format {
+        
+        private final String nom;
+        private final Function<VehiculeCreatedEvent, byte[]> serialiser;
+        private final Function<byte[], ?> deserialiser;
+        private final byte[][] messages;
+        private long octets;
+        private long meilleureSer = Long.MAX_VALUE;
+        private long meilleureDeser = Long.MAX_VALUE;
+        private long controle;
+        
+        Format(String nom, Function<VehiculeCreatedEvent, byte[]> serialiser, Function<byte[], ?> deserialiser,
+               VehiculeCreatedEvent[] events) {
+            this.nom = nom;
+            this.serialiser = serialiser;
+            this.deserialiser = deserialiser;
+            this.messages = new byte[events.length][];
+            for (int i = 0; i < events.length; i++) {
+                messages[i] = serialiser.apply(events[i]);
+                octets += messages[i].length;
+            }
+        }
+        
+        void mesurer(VehiculeCreatedEvent[] events, boolean retenir) {
+            long debut = System.nanoTime();
+            for (VehiculeCreatedEvent event : events) {
+                controle += serialiser.apply(event).length;
+            }
+            long ser = System.nanoTime() - debut;
+            debut = System.nanoTime();
+            for (byte[] message : messages) {
+                controle += ((DomainEvent) deserialiser.apply(message)).getGarageId().hashCode();
+            }
+            long deser = System.nanoTime() - debut;
+            if (retenir) {
+                meilleureSer = Math.min(meilleureSer, ser);
+                meilleureDeser = Math.min(meilleureDeser, deser);
+            }
+        }
+        
+        // Lot de LOT messages tel que le producer le compresse
+        int compresse() {
+            ByteArrayOutputStream lot = new ByteArrayOutputStream();
+            for (int i = 0; i < LOT; i++) {
+                lot.writeBytes(messages[i]);
+            }
+            try {
+                return Snappy.compress(lot.toByteArray()).length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.GarageService;
+import com.renault.garage.application.service.VehiculeService;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark - Créations de véhicules par seconde et par garage
+ * Chaque opération crée puis supprime un véhicule (le garage ne se remplit jamais) :
+ * un garage partagé par tous les threads mesure la contention sur son compteur de capacité,
+ * un garage par thread mesure le débit sans contention.
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=GarageCapaciteBenchmark -Dbenchmark.threads=8
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:capacite-bench;LOCK_TIMEOUT=10000",
+    "spring.kafka.admin.auto-create=false",
+    "logging.level.com.renault.garage=WARN"
+})
+class GarageCapaciteBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int OPERATIONS_PAR_THREAD = 500;
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehiculeService vehiculeService;
+
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @Test
+    void insertsPerSecondPerGarage() throws Exception {
+        UUID partage = creerGarage();
+        List<UUID> dedies = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            dedies.add(creerGarage());
+        }
+
+        measure("Garage partagé", 1, t -> partage);
+        measure("Un garage par thread", THREADS, dedies::get);
+    }
+
+    private void measure(String label, int garages, IntFunction<UUID> garageDuThread) throws Exception {
+        // Échauffement
+        run(garageDuThread, 50);
+        long start = System.nanoTime();
+        run(garageDuThread, OPERATIONS_PAR_THREAD);
+        double secondes = (System.nanoTime() - start) / 1_000_000_000.0;
+        double total = THREADS * OPERATIONS_PAR_THREAD / secondes;
+        System.out.printf("%-22s threads=%d créations/s=%.0f créations/s/garage=%.0f%n",
+            label, THREADS, total, total / garages);
+    }
+
+    private void run(IntFunction<UUID> garageDuThread, int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            UUID garageId = garageDuThread.apply(t);
+            futures.add(executor.submit(() -> {
+                depart.await();
+                for (int i = 0; i < operations; i++) {
+                    UUID vehiculeId = vehiculeService.createVehicule(garageId, new CreateVehiculeRequest(
+                        UUID.randomUUID(), "Renault", 2024, TypeCarburant.ESSENCE)).id();
+                    vehiculeService.deleteVehicule(garageId, vehiculeId);
+                }
+                return null;
+            }));
+        }
+        depart.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+
+    private UUID creerGarage() {
+        return garageService.createGarage(new CreateGarageRequest(
+            "Garage Bench", new AddressDTO("1 Rue Bench", "Paris", "75000", "France"),
+            "+33123456789", "bench@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))))
+        )).id();
+    }
+}
@@ -0,0 +1,56 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.application.facet.GarageFacetIndex;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark - Index de facettes en mémoire
+ * Latence d'une recherche filtrée avec calcul des comptes par facette.
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=GarageFacetBenchmark -Dbenchmark.garages=100000
+ */
+class GarageFacetBenchmark {
+    
+    private static final int GARAGES = Integer.getInteger("benchmark.garages", 100_000);
+    private static final int VILLES = 500;
+    private static final int ITERATIONS = 10_000;
+    
+    @Test
+    void measureFilteredSearchWithCounts() {
+        Random random = new Random(42);
+        TypeCarburant[] carburants = TypeCarburant.values();
+        TypeAccessoire[] accessoires = TypeAccessoire.values();
+        List<GarageFacetIndex.Entree> entrees = new ArrayList<>(GARAGES);
+        for (int g = 0; g < GARAGES; g++) {
+            entrees.add(new GarageFacetIndex.Entree(UUID.randomUUID(), "Garage " + g, "Ville" + random.nextInt(VILLES),
+                EnumSet.of(carburants[random.nextInt(carburants.length)], carburants[random.nextInt(carburants.length)]),
+                Set.of(accessoires[random.nextInt(accessoires.length)])));
+        }
+        GarageFacetIndex index = new GarageFacetIndex();
+        long debut = System.nanoTime();
+        index.remplacer(entrees);
+        System.out.printf("Construction: garages=%d en %.1f ms%n", GARAGES, (System.nanoTime() - debut) / 1_000_000.0);
+        
+        Set<TypeCarburant> filtreCarburant = EnumSet.of(TypeCarburant.DIESEL, TypeCarburant.HYBRIDE);
+        Set<TypeAccessoire> filtreAccessoire = EnumSet.of(TypeAccessoire.SECURITE);
+        Set<String> filtreVille = Set.of("Ville1", "Ville2", "Ville3");
+        
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            total += index.rechercher(filtreCarburant, filtreAccessoire, filtreVille, 0, 20).total();
+        }
+        debut = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            total += index.rechercher(filtreCarburant, filtreAccessoire, filtreVille, 0, 20).total();
+        }
+        double microsParRecherche = (System.nanoTime() - debut) / 1_000.0 / ITERATIONS;
+        System.out.printf("Recherche filtrée + comptes: garages=%d latence moyenne=%.1f µs%n", GARAGES, microsParRecherche);
+        assertTrue(total > 0);
+    }
+}
@@ -0,0 +1,130 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.domain.model.*;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.GarageSummaryRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark - Recherche des garages par carburant et accessoire
+ * Compare la boucle N+1 historique à la requête de jointure unique (nombre de requêtes SQL et latence).
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=GarageSearchBenchmark -Dbenchmark.garages=200
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GarageSearchBenchmark {
+
+    private static final int GARAGES = Integer.getInteger("benchmark.garages", 200);
+    private static final int VEHICULES_PAR_GARAGE = 10;
+    private static final int ITERATIONS = 20;
+    private static final TypeCarburant[] CARBURANTS = TypeCarburant.values();
+
+    @Autowired
+    private GarageRepository garageRepository;
+
+    @Autowired
+    private GarageSummaryRepository summaryRepository;
+
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+
+    @Autowired
+    private AccessoireRepository accessoireRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<DayOfWeek, List<OpeningTime>> horaires = Map.of(
+            DayOfWeek.MONDAY, List.of(new OpeningTime(LocalTime.of(8, 0), LocalTime.of(18, 0))));
+        for (int g = 0; g < GARAGES; g++) {
+            Garage garage = garageRepository.save(new Garage(
+                "Garage Bench " + g, new Address(g + " Rue Bench", "Ville" + (g % 20), "75000", "France"),
+                "+33123456789", "bench" + g + "@renault.fr", horaires));
+            for (int v = 0; v < VEHICULES_PAR_GARAGE; v++) {
+                Vehicule vehicule = new Vehicule(UUID.randomUUID(), "Renault", 2020, CARBURANTS[(g + v) % CARBURANTS.length]);
+                vehicule.setGarageId(garage.getId());
+                vehiculeRepository.save(vehicule);
+                for (String nom : List.of("Tapis", "Attelage", v % 4 == 0 ? "GPS Connect" : "Barres de toit")) {
+                    Accessoire accessoire = new Accessoire(nom, null, new BigDecimal("49.90"), TypeAccessoire.CONFORT);
+                    vehicule.ajouterAccessoire(accessoire);
+                    accessoireRepository.save(accessoire);
+                }
+            }
+        }
+    }
+
+    @Test
+    void compareNPlusOneLoopWithSingleJoinQuery() {
+        List<UUID> avant = measure("Boucle N+1 (avant)", this::rechercheAvant);
+        List<UUID> apres = measure("Jointure unique (après)", this::rechercheApres);
+        assertEquals(new HashSet<>(avant), new HashSet<>(apres));
+    }
+
+    private List<UUID> rechercheAvant() {
+        String nom = "gps";
+        return vehiculeRepository.findByTypeCarburant(TypeCarburant.DIESEL).stream()
+            .filter(v -> accessoireRepository.findByVehiculeId(v.getId()).stream()
+                .anyMatch(a -> a.getNom().toLowerCase().contains(nom)))
+            .map(Vehicule::getGarageId)
+            .distinct()
+            .map(garageRepository::findById)
+            .flatMap(Optional::stream)
+            .map(Garage::getId)
+            .toList();
+    }
+
+    private List<UUID> rechercheApres() {
+        return summaryRepository.findByTypeCarburantAndAccessoireNom(
+                TypeCarburant.DIESEL, "gps", PageRequest.of(0, GARAGES, Sort.by("name", "id")))
+            .map(summary -> summary.garage().getId())
+            .getContent();
+    }
+
+    private List<UUID> measure(String label, Supplier<List<UUID>> recherche) {
+        List<UUID> result = readOnly.execute(status -> recherche.get());
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            readOnly.execute(status -> recherche.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-26s garages=%d résultats=%d requêtes/recherche=%d latence moyenne=%.2f ms%n",
+            label, GARAGES, result.size(), statistics.getPrepareStatementCount() / ITERATIONS,
+            elapsed / 1_000_000.0 / ITERATIONS);
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.domain.event.VehiculeCreatedEvent;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.infrastructure.config.KafkaConfig;
+import com.renault.garage.infrastructure.config.ProfilProducteur;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Benchmark - Publication de VehiculeCreatedEvent selon le profil du producer (ProfilProducteur)
+ * Sur un broker embarqué (3 partitions comme vehicule.created), producer configuré comme en
+ * production (KafkaConfig.producerConfig, JsonSerializer) :
+ * - en rafale : envois asynchrones, un flush, débit en événements/s et latence envoi → accusé ;
+ * - à l'unité : chaque envoi attend son accusé avant le suivant (un appelant synchrone).
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=KafkaPublishBenchmark -Dbenchmark.events=100000 -Dbenchmark.sequential=2000
+ */
+@EmbeddedKafka(partitions = 3, topics = KafkaPublishBenchmark.TOPIC)
+class KafkaPublishBenchmark {
+    
+    static final String TOPIC = "bench.vehicule.created";
+    private static final int EVENEMENTS = Integer.getInteger("benchmark.events", 100_000);
+    private static final int UNITAIRES = Integer.getInteger("benchmark.sequential", 2_000);
+    private static final int GARAGES = 1_000;
+    
+    @Test
+    void compareProducerProfiles(EmbeddedKafkaBroker broker) throws Exception {
+        UUID[] garages = new UUID[GARAGES];
+        for (int i = 0; i < GARAGES; i++) {
+            garages[i] = UUID.randomUUID();
+        }
+        for (ProfilProducteur profil : ProfilProducteur.values()) {
+            DefaultKafkaProducerFactory<String, Object> producerFactory = producerFactory(broker, profil);
+            try {
+                KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory);
+                // Échauffement (connexions, métadonnées, JIT)
+                rafale(template, garages, EVENEMENTS / 10);
+                unitaires(template, garages, UNITAIRES / 10);
+                
+                Mesure rafale = rafale(template, garages, EVENEMENTS);
+                Mesure unitaires = unitaires(template, garages, UNITAIRES);
+                System.out.printf("%-10s rafale   événements=%d débit=%.0f év/s p50=%.2f ms p99=%.2f ms%n",
+                    profil, EVENEMENTS, rafale.debit(), rafale.percentile(50), rafale.percentile(99));
+                System.out.printf("%-10s unitaire événements=%d débit=%.0f év/s p50=%.2f ms p99=%.2f ms%n",
+                    profil, UNITAIRES, unitaires.debit(), unitaires.percentile(50), unitaires.percentile(99));
+            } finally {
+                producerFactory.destroy();
+            }
+        }
+    }
+    
+    private Mesure rafale(KafkaTemplate<String, Object> template, UUID[] garages, int nombre) {
+        long[] latences = new long[nombre];
+        CompletableFuture<?>[] envois = new CompletableFuture<?>[nombre];
+        long debut = System.nanoTime();
+        for (int i = 0; i < nombre; i++) {
+            int rang = i;
+            UUID garageId = garages[i % garages.length];
+            long envoi = System.nanoTime();
+            envois[i] = template.send(TOPIC, garageId.toString(), evenement(garageId, i))
+                .whenComplete((resultat, erreur) -> latences[rang] = System.nanoTime() - envoi);
+        }
+        template.flush();
+        CompletableFuture.allOf(envois).join();
+        return new Mesure(latences, System.nanoTime() - debut);
+    }
+    
+    private Mesure unitaires(KafkaTemplate<String, Object> template, UUID[] garages, int nombre)
+            throws ExecutionException, InterruptedException {
+        long[] latences = new long[nombre];
+        long debut = System.nanoTime();
+        for (int i = 0; i < nombre; i++) {
+            UUID garageId = garages[i % garages.length];
+            long envoi = System.nanoTime();
+            template.send(TOPIC, garageId.toString(), evenement(garageId, i)).get();
+            latences[i] = System.nanoTime() - envoi;
+        }
+        return new Mesure(latences, System.nanoTime() - debut);
+    }
+    
+    private static VehiculeCreatedEvent evenement(UUID garageId, int rang) {
+        return new VehiculeCreatedEvent(UUID.randomUUID(), garageId, "Renault Clio", 2024,
+            TypeCarburant.values()[rang % TypeCarburant.values().length].name());
+    }
+    
+    private static DefaultKafkaProducerFactory<String, Object> producerFactory(EmbeddedKafkaBroker broker,
+                                                                               ProfilProducteur profil) {
+        Map<String, Object> config = KafkaConfig.producerConfig(broker.getBrokersAsString(), profil);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+    
+    private record Mesure(long[] latences, long duree) {
+        
+        double debit() {
+            return latences.length / (duree / 1_000_000_000.0);
+        }
+        
+        double percentile(int rang) {
+            long[] triees = latences.clone();
+            Arrays.sort(triees);
+            int index = (int) Math.ceil(rang / 100.0 * triees.length) - 1;
+            return triees[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
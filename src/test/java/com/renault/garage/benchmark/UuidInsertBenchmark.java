@@ -0,0 +1,115 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.domain.identifiant.UuidV7Generateur;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark - Clés primaires UUID v4 (aléatoires) et UUID v7 (ordonnées dans le temps)
+ * Insère le même volume de lignes au format de la table accessoires avec chaque type de clé,
+ * puis compare le débit d'insertion et la taille occupée (index de clé primaire compris).
+ * H2 sur fichier temporaire par défaut ; PostgreSQL via -Dbenchmark.url (taille de l'index seul).
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=UuidInsertBenchmark -Dbenchmark.rows=500000
+ * mvn test -Dtest=UuidInsertBenchmark -Dbenchmark.url=jdbc:postgresql://localhost:5432/garage_db \
+ *     -Dbenchmark.user=garage_user -Dbenchmark.password=...
+ */
+class UuidInsertBenchmark {
+    
+    private static final int LIGNES = Integer.getInteger("benchmark.rows", 500_000);
+    private static final int LOT = 1000;
+    private static final int VEHICULES = 1000;
+    
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws Exception {
+        String url = System.getProperty("benchmark.url");
+        Path repertoire = null;
+        if (url == null) {
+            repertoire = Files.createTempDirectory("uuid-bench");
+            url = "jdbc:h2:file:" + repertoire.resolve("bench");
+        }
+        UUID[] vehicules = new UUID[VEHICULES];
+        for (int i = 0; i < VEHICULES; i++) {
+            vehicules[i] = UUID.randomUUID();
+        }
+        try (Connection connexion = DriverManager.getConnection(url,
+                System.getProperty("benchmark.user", "sa"), System.getProperty("benchmark.password", ""))) {
+            connexion.setAutoCommit(false);
+            mesurer(connexion, "bench_uuid_v4", UUID::randomUUID, vehicules);
+            mesurer(connexion, "bench_uuid_v7", new UuidV7Generateur()::nouveau, vehicules);
+        } finally {
+            if (repertoire != null) {
+                FileSystemUtils.deleteRecursively(repertoire);
+            }
+        }
+    }
+    
+    private void mesurer(Connection connexion, String table, Supplier<UUID> generateur, UUID[] vehicules)
+            throws SQLException {
+        executer(connexion, "DROP TABLE IF EXISTS " + table);
+        executer(connexion, "CREATE TABLE " + table + " (id UUID PRIMARY KEY, vehicule_id UUID NOT NULL, "
+            + "nom VARCHAR(255) NOT NULL, prix DECIMAL(10, 2) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        
+        // Clés générées hors chronomètre : seul le coût d'insertion dans l'index est comparé
+        long debutGeneration = System.nanoTime();
+        UUID[] cles = new UUID[LIGNES];
+        for (int i = 0; i < LIGNES; i++) {
+            cles[i] = generateur.get();
+        }
+        long generation = System.nanoTime() - debutGeneration;
+        
+        long debut = System.nanoTime();
+        try (PreparedStatement insert = connexion.prepareStatement(
+                "INSERT INTO " + table + " (id, vehicule_id, nom, prix, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            Timestamp maintenant = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < LIGNES; i++) {
+                insert.setObject(1, cles[i]);
+                insert.setObject(2, vehicules[i % VEHICULES]);
+                insert.setString(3, "Accessoire " + i);
+                insert.setBigDecimal(4, new BigDecimal("49.90"));
+                insert.setTimestamp(5, maintenant);
+                insert.addBatch();
+                if ((i + 1) % LOT == 0 || i == LIGNES - 1) {
+                    insert.executeBatch();
+                    connexion.commit();
+                }
+            }
+        }
+        long duree = System.nanoTime() - debut;
+        
+        System.out.printf("%-14s lignes=%d débit=%.0f lignes/s génération=%.0f ns/clé taille=%.1f Mo%n",
+            table, LIGNES, LIGNES / (duree / 1_000_000_000.0), (double) generation / LIGNES,
+            taille(connexion, table) / (1024.0 * 1024.0));
+        executer(connexion, "DROP TABLE " + table);
+    }
+    
+    // PostgreSQL : index de clé primaire seul ; H2 : table et index (pas de mesure par index)
+    private long taille(Connection connexion, String table) throws SQLException {
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connexion.getMetaData().getDatabaseProductName());
+        if (!postgres) {
+            executer(connexion, "CHECKPOINT");
+        }
+        String requete = postgres
+            ? "SELECT pg_relation_size('" + table + "_pkey')"
+            : "SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')";
+        try (Statement statement = connexion.createStatement(); ResultSet resultat = statement.executeQuery(requete)) {
+            resultat.next();
+            return resultat.getLong(1);
+        }
+    }
+    
+    private static void executer(Connection connexion, String sql) throws SQLException {
+        try (Statement statement = connexion.createStatement()) {
+            statement.execute(sql);
+        }
+        connexion.commit();
+    }
+}
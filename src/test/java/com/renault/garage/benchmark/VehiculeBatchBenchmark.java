@@ -0,0 +1,91 @@
+package com.renault.garage.benchmark;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.GarageService;
+import com.renault.garage.application.service.VehiculeService;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.TypeCarburant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark - Import des véhicules d'un garage complet (50 véhicules)
+ * Compare 50 créations unitaires à une création en lot (latence et nombre d'instructions SQL).
+ * Non exécuté par la suite de tests standard :
+ * mvn test -Dtest=VehiculeBatchBenchmark -Dbenchmark.garages=20
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:vehicule-batch-bench",
+    "spring.kafka.admin.auto-create=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.com.renault.garage=WARN",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class VehiculeBatchBenchmark {
+
+    private static final int GARAGES = Integer.getInteger("benchmark.garages", 20);
+
+    @Autowired
+    private GarageService garageService;
+
+    @Autowired
+    private VehiculeService vehiculeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+
+    @Test
+    void compareSingleCreationsWithBatch() {
+        List<CreateVehiculeRequest> lot = new ArrayList<>();
+        for (int i = 0; i < Garage.getMaxCapacity(); i++) {
+            lot.add(new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2024,
+                TypeCarburant.values()[i % TypeCarburant.values().length]));
+        }
+
+        // Échauffement
+        measure("(échauffement)", garageId -> lot.forEach(r -> vehiculeService.createVehicule(garageId, r)));
+        measure("(échauffement)", garageId -> vehiculeService.createVehicules(garageId, lot));
+
+        measure("Créations unitaires", garageId -> lot.forEach(r -> vehiculeService.createVehicule(garageId, r)));
+        measure("Création en lot", garageId -> vehiculeService.createVehicules(garageId, lot));
+    }
+
+    private void measure(String label, Consumer<UUID> importGarage) {
+        List<UUID> garages = new ArrayList<>();
+        for (int g = 0; g < GARAGES; g++) {
+            garages.add(creerGarage());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        garages.forEach(importGarage);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s garages=%d latence/garage=%.2f ms instructions SQL/garage=%d%n",
+            label, GARAGES, elapsed / 1_000_000.0 / GARAGES, statistics.getPrepareStatementCount() / GARAGES);
+    }
+
+    private UUID creerGarage() {
+        return garageService.createGarage(new CreateGarageRequest(
+            "Garage Bench", new AddressDTO("1 Rue Bench", "Paris", "75000", "France"),
+            "+33123456789", "bench@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0))))
+        )).id();
+    }
+}
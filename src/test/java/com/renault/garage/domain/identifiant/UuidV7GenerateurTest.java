@@ -0,0 +1,61 @@
+package com.renault.garage.domain.identifiant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du générateur d'UUID v7
+ */
+class UuidV7GenerateurTest {
+    
+    private static final long INSTANT = 1_718_000_000_000L;
+    
+    private final AtomicLong horloge = new AtomicLong(INSTANT);
+    private final UuidV7Generateur generateur = new UuidV7Generateur(horloge::get);
+    
+    @Test
+    @DisplayName("L'UUID porte la version 7, la variante RFC et l'horodatage en millisecondes")
+    void shouldEncodeVersionVariantAndTimestamp() {
+        UUID uuid = generateur.nouveau();
+        
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(INSTANT, UuidV7Generateur.instant(uuid));
+        assertThrows(IllegalArgumentException.class, () -> UuidV7Generateur.instant(UUID.randomUUID()));
+    }
+    
+    @Test
+    @DisplayName("Les clés sont strictement croissantes dans la même milliseconde et quand l'horloge recule")
+    void shouldBeMonotonic() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                horloge.addAndGet(-1_000);
+            }
+            uuids.add(generateur.nouveau());
+        }
+        
+        for (int i = 1; i < uuids.size(); i++) {
+            assertTrue(Long.compareUnsigned(uuids.get(i - 1).getMostSignificantBits(),
+                uuids.get(i).getMostSignificantBits()) < 0, "Clé non croissante à l'indice " + i);
+        }
+        // Plus de 4096 clés dans la même milliseconde : l'horodatage est prolongé
+        assertTrue(UuidV7Generateur.instant(uuids.get(uuids.size() - 1)) > INSTANT);
+    }
+    
+    @Test
+    @DisplayName("Une nouvelle milliseconde reprend l'horloge réelle")
+    void shouldFollowClockWhenItAdvances() {
+        generateur.nouveau();
+        horloge.addAndGet(5);
+        
+        assertEquals(INSTANT + 5, UuidV7Generateur.instant(generateur.nouveau()));
+    }
+}
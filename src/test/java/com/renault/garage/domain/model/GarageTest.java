@@ -104,6 +104,24 @@ class GarageTest {
         assertEquals(50, garage.getCapaciteRestante());
     }
     
+    @Test
+    @DisplayName("La capacité repose sur le nombre de véhicules persistés, sans charger les véhicules")
+    void shouldUsePersistedVehiculeCount() {
+        // Préparation - garage reconstruit depuis la base avec 50 véhicules non chargés
+        Garage garage = createTestGarage();
+        garage.setNombreVehicules(Garage.getMaxCapacity());
+        
+        // Assert
+        assertTrue(garage.getVehicules().isEmpty());
+        assertTrue(garage.estPlein());
+        assertEquals(0, garage.getCapaciteRestante());
+        assertThrows(CapaciteGarageDepasseeException.class, () -> garage.ajouterVehicule(createTestVehicule()));
+        
+        // Action - suppression d'un véhicule non chargé
+        garage.supprimerVehicule(UUID.randomUUID());
+        assertEquals(1, garage.getCapaciteRestante());
+    }
+    
     // Méthodes utilitaires
     private Garage createTestGarage() {
         Address address = new Address("123 Rue Test", "Paris", "75001", "France");
@@ -0,0 +1,168 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.domain.event.*;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.MissingSchemaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'encodage Avro des événements domaine et du registre de schémas
+ */
+class CodecAvroEvenementsTest {
+    
+    private static final String VEHICULE_CREATED = VehiculeCreatedEvent.class.getName();
+    
+    @TempDir
+    Path repertoire;
+    
+    @Test
+    @DisplayName("Chaque type d'événement est relu à l'identique, en moins d'octets qu'en JSON")
+    void shouldRoundTripEveryEventTypeMoreCompactlyThanJson() {
+        CodecAvroEvenements codec = new CodecAvroEvenements(new RegistreSchemas(""));
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        json.setAddTypeInfo(false);
+        UUID garageId = UUID.randomUUID();
+        UUID vehiculeId = UUID.randomUUID();
+        UUID accessoireId = UUID.randomUUID();
+        List<DomainEvent> events = List.of(
+            new GarageCreatedEvent(garageId, "Renault Lille", "Lille"),
+            new GarageUpdatedEvent(garageId, "Renault Lille Centre", "Lille"),
+            new GarageDeletedEvent(garageId),
+            new VehiculeCreatedEvent(vehiculeId, garageId, "Renault Clio", 2024, "ESSENCE"),
+            new VehiculeUpdatedEvent(vehiculeId, garageId, "HYBRIDE"),
+            new VehiculeDeletedEvent(vehiculeId, null),
+            new AccessoireCreatedEvent(accessoireId, vehiculeId, garageId, "ELECTRONIQUE"),
+            new AccessoireUpdatedEvent(accessoireId, vehiculeId, garageId, "INTERIEUR"),
+            new AccessoireDeletedEvent(accessoireId, vehiculeId, garageId)
+        );
+        
+        for (DomainEvent event : events) {
+            byte[] avro = codec.encoder(event);
+            DomainEvent relu = codec.decoder(avro);
+            
+            assertTrue(CodecAvroEvenements.estAvro(avro));
+            assertEquals(event.getClass(), relu.getClass());
+            // occurredOn exclu : daté par le constructeur à la lecture, comme en JSON
+            assertEquals(sansDate(event), sansDate(relu));
+            assertTrue(avro.length < json.serialize("topic", event).length / 2,
+                event.getClass().getSimpleName() + " : " + avro.length + " octets");
+        }
+    }
+    
+    @Test
+    @DisplayName("Le consumer lit indifféremment JSON et Avro sur le même topic")
+    void shouldDeserializeJsonAndAvroMessages() {
+        CodecAvroEvenements codec = new CodecAvroEvenements(new RegistreSchemas(""));
+        EvenementDeserializer deserializer = new EvenementDeserializer(codec);
+        deserializer.configure(Map.of(
+            JsonDeserializer.TRUSTED_PACKAGES, "*",
+            JsonDeserializer.VALUE_DEFAULT_TYPE, VEHICULE_CREATED), false);
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        json.setAddTypeInfo(false);
+        VehiculeCreatedEvent event = new VehiculeCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "Renault", 2023, "DIESEL");
+        
+        Object depuisJson = deserializer.deserialize(EventTopics.VEHICULE_CREATED, json.serialize("topic", event));
+        Object depuisAvro = deserializer.deserialize(EventTopics.VEHICULE_CREATED, codec.encoder(event));
+        
+        assertEquals(sansDate(event), sansDate((DomainEvent) depuisJson));
+        assertEquals(sansDate(event), sansDate((DomainEvent) depuisAvro));
+    }
+    
+    @Test
+    @DisplayName("Un message écrit avec un schéma plus récent (champ ajouté) est relu avec le schéma courant")
+    void shouldReadMessagesWrittenWithNewerCompatibleSchema() throws Exception {
+        RegistreSchemas registre = new RegistreSchemas(repertoire.toString());
+        Schema v2 = versionAvecChamp(registre.courant(VEHICULE_CREATED), true);
+        // Publiée dans le répertoire partagé par une instance plus récente
+        Files.writeString(repertoire.resolve("VehiculeCreatedEvent-v2.avsc"), v2.toString(true));
+        CodecAvroEvenements codec = new CodecAvroEvenements(new RegistreSchemas(repertoire.toString()));
+        
+        UUID vehiculeId = UUID.randomUUID();
+        GenericRecord record = new GenericData.Record(v2);
+        record.put("vehiculeId", uuid(v2, vehiculeId));
+        record.put("garageId", null);
+        record.put("brand", "Renault Austral");
+        record.put("anneeFabrication", 2025);
+        record.put("typeCarburant", "HYBRIDE");
+        record.put("occurredOn", 0L);
+        record.put("couleur", "Bleu");
+        byte[] message = new BinaryMessageEncoder<GenericRecord>(GenericData.get(), v2).encode(record).array();
+        
+        VehiculeCreatedEvent relu = (VehiculeCreatedEvent) codec.decoder(message);
+        
+        assertEquals(vehiculeId, relu.getVehiculeId());
+        assertNull(relu.getGarageId());
+        assertEquals("Renault Austral", relu.getBrand());
+        assertEquals(2025, relu.getAnneeFabrication());
+        // Schémas livrés recopiés dans le répertoire partagé au premier démarrage
+        try (var fichiers = Files.list(repertoire)) {
+            assertEquals(DomainEvent.class.getPermittedSubclasses().length + 1, fichiers.count());
+        }
+    }
+    
+    @Test
+    @DisplayName("Un schéma publié dans le répertoire partagé après le démarrage est trouvé à la lecture")
+    void shouldFindSchemaPublishedAfterStartup() throws Exception {
+        RegistreSchemas registre = new RegistreSchemas(repertoire.toString());
+        Schema v2 = versionAvecChamp(registre.courant(VEHICULE_CREATED), true);
+        long empreinte = SchemaNormalization.parsingFingerprint64(v2);
+        assertNull(registre.findByFingerprint(empreinte));
+        
+        // Une instance plus récente démarre sur le même répertoire et y publie sa version
+        Files.writeString(repertoire.resolve("VehiculeCreatedEvent-v2.avsc"), v2.toString(true));
+        
+        assertEquals(v2, registre.findByFingerprint(empreinte));
+        assertNull(registre.findByFingerprint(42L));
+    }
+    
+    @Test
+    @DisplayName("Un schéma qui casse la compatibilité est refusé, un message de schéma inconnu aussi")
+    void shouldRejectIncompatibleSchemaAndUnknownFingerprint() {
+        RegistreSchemas registre = new RegistreSchemas("");
+        CodecAvroEvenements codec = new CodecAvroEvenements(registre);
+        Schema sansDefaut = versionAvecChamp(registre.courant(VEHICULE_CREATED), false);
+        
+        assertThrows(IllegalStateException.class, () -> registre.enregistrer(sansDefaut));
+        
+        byte[] message = codec.encoder(new GarageDeletedEvent(UUID.randomUUID()));
+        ByteBuffer.wrap(message, 2, 8).putLong(42L);
+        assertThrows(MissingSchemaException.class, () -> codec.decoder(message));
+    }
+    
+    // Version suivante de VehiculeCreatedEvent : champ couleur, avec ou sans valeur par défaut
+    private static Schema versionAvecChamp(Schema courant, boolean avecDefaut) {
+        List<Schema.Field> champs = new ArrayList<>();
+        courant.getFields().forEach(champ -> champs.add(new Schema.Field(champ, champ.schema())));
+        champs.add(new Schema.Field("couleur", Schema.create(Schema.Type.STRING), null, avecDefaut ? "" : null));
+        return Schema.createRecord(courant.getName(), null, courant.getNamespace(), false, champs);
+    }
+    
+    private static GenericData.Fixed uuid(Schema schema, UUID id) {
+        Schema fixe = schema.getField("vehiculeId").schema().getTypes().get(1);
+        ByteBuffer octets = ByteBuffer.allocate(16);
+        octets.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        return new GenericData.Fixed(fixe, octets.array());
+    }
+    
+    private static String sansDate(DomainEvent event) {
+        return event.toString().replaceAll(", occurredOn=[^,}]*", "");
+    }
+}
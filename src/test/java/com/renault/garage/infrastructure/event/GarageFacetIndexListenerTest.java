@@ -0,0 +1,73 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.application.service.GarageFacetService;
+import com.renault.garage.domain.event.GarageDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests unitaires du regroupement des recalculs de l'index de facettes
+ */
+@ExtendWith(MockitoExtension.class)
+class GarageFacetIndexListenerTest {
+    
+    @Mock
+    private GarageFacetService garageFacetService;
+    
+    private final List<Runnable> taches = new ArrayList<>();
+    
+    private GarageFacetIndexListener listener;
+    
+    @BeforeEach
+    void setUp() {
+        listener = new GarageFacetIndexListener(garageFacetService, taches::add);
+    }
+    
+    @Test
+    @DisplayName("Les événements d'un garage en attente de recalcul ne planifient qu'un seul recalcul")
+    void shouldCoalesceRefreshesPerGarage() {
+        UUID garageId = UUID.randomUUID();
+        UUID autreGarageId = UUID.randomUUID();
+        
+        listener.onGarageEvent(new GarageDeletedEvent(garageId));
+        listener.onGarageEvent(new GarageDeletedEvent(garageId));
+        listener.onGarageEvent(new GarageDeletedEvent(autreGarageId));
+        listener.onGarageEvent(new GarageDeletedEvent(garageId));
+        
+        assertEquals(2, taches.size());
+        verifyNoInteractions(garageFacetService);
+        
+        taches.forEach(Runnable::run);
+        
+        verify(garageFacetService).refresh(garageId);
+        verify(garageFacetService).refresh(autreGarageId);
+    }
+    
+    @Test
+    @DisplayName("Un événement reçu après le début du recalcul en planifie un nouveau")
+    void shouldRescheduleAfterRefreshStarted() {
+        UUID garageId = UUID.randomUUID();
+        
+        listener.onGarageEvent(new GarageDeletedEvent(garageId));
+        taches.remove(0).run();
+        listener.onGarageEvent(new GarageDeletedEvent(garageId));
+        
+        assertEquals(1, taches.size());
+        taches.remove(0).run();
+        
+        verify(garageFacetService, times(2)).refresh(garageId);
+    }
+}
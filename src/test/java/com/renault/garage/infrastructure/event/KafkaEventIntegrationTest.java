@@ -13,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
@@ -23,7 +24,6 @@ import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.kafka.test.utils.ContainerTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -53,6 +53,12 @@ class KafkaEventIntegrationTest {
     @Autowired
     private EmbeddedKafkaBroker embeddedKafkaBroker;
     
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     private BlockingQueue<ConsumerRecord<String, VehiculeCreatedEvent>> records;
     private KafkaMessageListenerContainer<String, VehiculeCreatedEvent> container;
     
@@ -63,6 +69,9 @@ class KafkaEventIntegrationTest {
     
     @BeforeEach
     void setUp() {
+        // Base H2 partagée entre contextes : seuls les événements de ce test sont relayés
+        jdbcTemplate.update("DELETE FROM outbox_evenements");
+        
         // Créer un garage réel en base de test (H2)
         var addr = new com.renault.garage.domain.model.Address("1 Rue Test","Rabat","10000","MA");
         var horaires = new java.util.EnumMap<java.time.DayOfWeek, java.util.List<com.renault.garage.domain.model.OpeningTime>>(java.time.DayOfWeek.class);
@@ -96,7 +105,6 @@ class KafkaEventIntegrationTest {
     
     @Test
     @DisplayName("Devrait publier un événement Kafka lors de la création d'un véhicule")
-    @Transactional
     void shouldPublishKafkaEventWhenVehiculeIsCreated() throws InterruptedException {
         // Étant donné
         CreateVehiculeRequest request = new CreateVehiculeRequest(
@@ -106,8 +114,9 @@ class KafkaEventIntegrationTest {
             TypeCarburant.ELECTRIQUE
         );
         
-        // Quand
+        // Quand - création validée, puis passage du relais de l'outbox (désactivé dans les tests)
         var response = vehiculeService.createVehicule(garageId, request);
+        outboxRelay.relayer();
         
         // Alors
         ConsumerRecord<String, VehiculeCreatedEvent> received = records.poll(10, TimeUnit.SECONDS);
@@ -0,0 +1,158 @@
+package com.renault.garage.infrastructure.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.AccessoireService;
+import com.renault.garage.application.service.GarageService;
+import com.renault.garage.application.service.VehiculeService;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.infrastructure.config.KafkaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests d'intégration de l'outbox des événements domaine et de son relais vers Kafka
+ * Le producer du relais est simulé : les requêtes n'y touchent jamais, seul le relais l'appelle
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:garage-outbox",
+    "spring.kafka.admin.auto-create=false",
+    "garage.outbox.batch-size=2"
+})
+class OutboxRelayIntegrationTest {
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private VehiculeService vehiculeService;
+    
+    @Autowired
+    private AccessoireService accessoireService;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @MockBean(name = "outboxKafkaTemplate")
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM outbox_evenements");
+    }
+    
+    @Test
+    @DisplayName("Les événements sont écrits dans l'outbox puis relayés dans l'ordre, par lots")
+    void shouldRelayEventsInOrder() throws Exception {
+        // Étant donné
+        UUID garageId = createGarage("Garage Outbox", "outbox@renault.fr");
+        VehiculeResponse vehicule = vehiculeService.createVehicule(garageId,
+            new CreateVehiculeRequest(UUID.randomUUID(), "Renault Zoe", 2024, TypeCarburant.ELECTRIQUE));
+        accessoireService.create(garageId, vehicule.id(),
+            new CreateAccessoireRequest("Câble", null, new BigDecimal("80.00"), TypeAccessoire.ELECTRONIQUE));
+        verifyNoInteractions(kafkaTemplate);
+        assertEquals(3, enAttente());
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        
+        // Quand
+        int envoyes = outboxRelay.relayer();
+        
+        // Alors
+        assertEquals(3, envoyes);
+        assertEquals(0, enAttente());
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        InOrder ordre = inOrder(kafkaTemplate);
+        ordre.verify(kafkaTemplate).send(eq(KafkaConfig.GARAGE_EVENTS_TOPIC), eq(garageId.toString()), any(byte[].class));
+        ordre.verify(kafkaTemplate).send(eq(KafkaConfig.VEHICULE_CREATED_TOPIC), eq(garageId.toString()), payload.capture());
+        ordre.verify(kafkaTemplate).send(eq(KafkaConfig.ACCESSOIRE_EVENTS_TOPIC), eq(garageId.toString()), any(byte[].class));
+        
+        JsonNode event = new ObjectMapper().readTree(payload.getValue());
+        assertEquals(vehicule.id().toString(), event.get("vehiculeId").asText());
+        assertEquals("ELECTRIQUE", event.get("typeCarburant").asText());
+        assertTrue(event.hasNonNull("occurredOn"));
+        assertEquals(0, meterRegistry.get("garage.outbox.pending").gauge().value());
+    }
+    
+    @Test
+    @DisplayName("Aucun événement n'est conservé pour une transaction annulée")
+    void shouldNotKeepEventsOfRolledBackTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            createGarage("Garage Annulé", "annule@renault.fr");
+            status.setRollbackOnly();
+        });
+        
+        assertEquals(0, enAttente());
+        assertEquals(0, outboxRelay.relayer());
+        verifyNoInteractions(kafkaTemplate);
+    }
+    
+    @Test
+    @DisplayName("Un lot en échec reste dans l'outbox et part au passage suivant")
+    void shouldKeepEventsWhenSendFails() {
+        // Étant donné
+        createGarage("Garage Broker", "broker@renault.fr");
+        double echecsAvant = meterRegistry.get("garage.outbox.failures").counter().count();
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponible")));
+        
+        // Quand
+        int enEchec = outboxRelay.relayer();
+        
+        // Alors
+        assertEquals(0, enEchec);
+        assertEquals(1, enAttente());
+        assertEquals(1, meterRegistry.get("garage.outbox.failures").counter().count() - echecsAvant);
+        assertEquals(1, meterRegistry.get("garage.outbox.pending").gauge().value());
+        
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        assertEquals(1, outboxRelay.relayer());
+        assertEquals(0, enAttente());
+    }
+    
+    private UUID createGarage(String name, String email) {
+        return garageService.createGarage(new CreateGarageRequest(
+            name, new AddressDTO("1 Rue Test", "Lyon", "69001", "France"), "+33123456789", email,
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))))).id();
+    }
+    
+    private long enAttente() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_evenements", Long.class);
+    }
+}
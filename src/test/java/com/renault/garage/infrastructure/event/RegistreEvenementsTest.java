@@ -0,0 +1,54 @@
+package com.renault.garage.infrastructure.event;
+
+import com.renault.garage.domain.event.*;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du registre des événements domaine
+ */
+class RegistreEvenementsTest {
+    
+    private static final List<NewTopic> TOPICS = List.of(
+        TopicBuilder.name(EventTopics.VEHICULE_CREATED).build(),
+        TopicBuilder.name(EventTopics.GARAGE_EVENTS).build(),
+        TopicBuilder.name(EventTopics.VEHICULE_EVENTS).build(),
+        TopicBuilder.name(EventTopics.ACCESSOIRE_EVENTS).build()
+    );
+    
+    @Test
+    @DisplayName("Chaque événement est publié sur le topic déclaré par sa classe, clé = garage")
+    void shouldResolveTopicAndKeyPerEventClass() {
+        RegistreEvenements registre = new RegistreEvenements(TOPICS);
+        UUID garageId = UUID.randomUUID();
+        
+        VehiculeCreatedEvent cree = new VehiculeCreatedEvent(UUID.randomUUID(), garageId, "Renault", 2024, "DIESEL");
+        VehiculeDeletedEvent supprime = new VehiculeDeletedEvent(UUID.randomUUID(), garageId);
+        GarageDeletedEvent garage = new GarageDeletedEvent(garageId);
+        AccessoireDeletedEvent accessoire = new AccessoireDeletedEvent(UUID.randomUUID(), UUID.randomUUID(), garageId);
+        
+        assertEquals(EventTopics.VEHICULE_CREATED, registre.topic(cree));
+        assertEquals(EventTopics.VEHICULE_EVENTS, registre.topic(supprime));
+        assertEquals(EventTopics.GARAGE_EVENTS, registre.topic(garage));
+        assertEquals(EventTopics.ACCESSOIRE_EVENTS, registre.topic(accessoire));
+        assertEquals(garageId.toString(), cree.partitionKey());
+        assertEquals(garageId.toString(), accessoire.partitionKey());
+    }
+    
+    @Test
+    @DisplayName("Un événement dont le topic n'est pas déclaré empêche le démarrage")
+    void shouldRejectUndeclaredTopicAtStartup() {
+        List<NewTopic> sansAccessoires = TOPICS.subList(0, 3);
+        
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> new RegistreEvenements(sansAccessoires));
+        assertTrue(exception.getMessage().contains(EventTopics.ACCESSOIRE_EVENTS));
+    }
+}
@@ -1,13 +1,27 @@
 package com.renault.garage.infrastructure.event;
 
 import com.renault.garage.domain.event.VehiculeCreatedEvent;
+import com.renault.garage.infrastructure.config.KafkaConfig;
+import org.apache.avro.message.MissingSchemaException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class VehiculeKafkaConsumerTest {
 
@@ -23,4 +37,141 @@ class VehiculeKafkaConsumerTest {
         assertDoesNotThrow(() -> consumer.onVehiculeCreated(event, 0, 0L, ack));
         Mockito.verify(ack, Mockito.times(1)).acknowledge();
     }
+
+    @Test
+    void onVehiculesCreated_acknowledgesBatchOnce() {
+        VehiculeKafkaConsumer consumer = Mockito.spy(new VehiculeKafkaConsumer());
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, event("ESSENCE")),
+                record(1, event("DIESEL"))
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        assertDoesNotThrow(() -> consumer.onVehiculesCreated(records, ack));
+        Mockito.verify(ack, Mockito.times(1)).acknowledge();
+        Mockito.verify(consumer, Mockito.times(2)).sendNotification(Mockito.any());
+        Mockito.verify(consumer, Mockito.times(2)).syncWithExternalSystem(Mockito.any());
+    }
+
+    @Test
+    void onVehiculesCreated_reportsUnknownSchemaAsRetryableFailure() {
+        VehiculeKafkaConsumer consumer = Mockito.spy(new VehiculeKafkaConsumer());
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, event("ESSENCE")),
+                illisible(1, new MissingSchemaException("Schéma Avro inconnu, empreinte 2a")),
+                record(2, event("DIESEL"))
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVehiculesCreated(records, ack));
+        assertEquals(1, exception.getIndex());
+        // Pas de DeserializationException dans la chaîne : le gestionnaire d'erreurs rejoue le message
+        assertInstanceOf(MissingSchemaException.class, exception.getCause());
+        Mockito.verify(ack, Mockito.never()).acknowledge();
+        Mockito.verify(consumer, Mockito.times(1)).sendNotification(Mockito.any());
+    }
+
+    @Test
+    void onVehiculesCreated_reportsCorruptRecordAsDeserializationFailure() {
+        VehiculeKafkaConsumer consumer = new VehiculeKafkaConsumer();
+        List<ConsumerRecord<String, Object>> records = List.of(
+                illisible(0, new IllegalStateException("Contenu tronqué"))
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVehiculesCreated(records, ack));
+        assertEquals(0, exception.getIndex());
+        assertInstanceOf(DeserializationException.class, exception.getCause());
+        Mockito.verify(ack, Mockito.never()).acknowledge();
+    }
+
+    @Test
+    void onVehiculesCreated_reportsFailedRecordIndexWithoutAcknowledging() {
+        VehiculeKafkaConsumer consumer = Mockito.spy(new VehiculeKafkaConsumer());
+        VehiculeCreatedEvent enEchec = event("HYBRIDE");
+        Mockito.doThrow(new IllegalStateException("Système externe indisponible"))
+                .when(consumer).syncWithExternalSystem(enEchec);
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, event("ESSENCE")),
+                record(1, enEchec),
+                record(2, event("DIESEL"))
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVehiculesCreated(records, ack));
+        assertEquals(1, exception.getIndex());
+        Mockito.verify(ack, Mockito.never()).acknowledge();
+        // Pas de notification pour le message en échec : elle sera envoyée une seule fois, au rejeu réussi
+        Mockito.verify(consumer, Mockito.never()).sendNotification(enEchec);
+        // Le message suivant l'échec n'est pas traité : il sera rejoué avec le message fautif
+        Mockito.verify(consumer, Mockito.times(1)).sendNotification(Mockito.any());
+    }
+
+    @Test
+    void onVehiculesCreated_acknowledgesBatchWhenIndexingFails() {
+        VehiculeKafkaConsumer consumer = Mockito.spy(new VehiculeKafkaConsumer());
+        Mockito.doThrow(new IllegalStateException("Elasticsearch indisponible"))
+                .when(consumer).indexVehicules(Mockito.anyList());
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, event("ESSENCE")),
+                record(1, event("DIESEL"))
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        // Messages déjà notifiés : le lot est acquitté plutôt que rejoué en entier
+        assertDoesNotThrow(() -> consumer.onVehiculesCreated(records, ack));
+        Mockito.verify(ack, Mockito.times(1)).acknowledge();
+        Mockito.verify(consumer, Mockito.times(2)).sendNotification(Mockito.any());
+    }
+
+    @Test
+    void onVehiculesCreated_keepsFailedRecordIndexWhenStatisticsFail() {
+        VehiculeKafkaConsumer consumer = Mockito.spy(new VehiculeKafkaConsumer());
+        VehiculeCreatedEvent enEchec = event("HYBRIDE");
+        IllegalStateException echec = new IllegalStateException("Système externe indisponible");
+        Mockito.doThrow(echec).when(consumer).syncWithExternalSystem(enEchec);
+        Mockito.doThrow(new IllegalStateException("Statistiques indisponibles"))
+                .when(consumer).updateStatistics(Mockito.anyList());
+        List<ConsumerRecord<String, Object>> records = List.of(
+                record(0, event("ESSENCE")),
+                record(1, enEchec)
+        );
+
+        Acknowledgment ack = Mockito.mock(Acknowledgment.class);
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.onVehiculesCreated(records, ack));
+        assertEquals(1, exception.getIndex());
+        assertEquals(echec, exception.getCause());
+        Mockito.verify(ack, Mockito.never()).acknowledge();
+        Mockito.verify(consumer, Mockito.times(1)).sendNotification(Mockito.any());
+    }
+
+    private static VehiculeCreatedEvent event(String typeCarburant) {
+        return new VehiculeCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "RENAULT", 2024, typeCarburant);
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, Object value) {
+        return new ConsumerRecord<>(KafkaConfig.VEHICULE_CREATED_TOPIC, 0, offset, "cle", value);
+    }
+
+    // Message tel que livré par ErrorHandlingDeserializer : valeur nulle, échec dans l'en-tête
+    private static ConsumerRecord<String, Object> illisible(long offset, RuntimeException echec) {
+        Headers headers = new RecordHeaders();
+        try (ErrorHandlingDeserializer<Object> deserializer = new ErrorHandlingDeserializer<>((topic, data) -> {
+            throw echec;
+        })) {
+            Object value = deserializer.deserialize(KafkaConfig.VEHICULE_CREATED_TOPIC, headers, new byte[] {1, 2, 3});
+            return new ConsumerRecord<>(KafkaConfig.VEHICULE_CREATED_TOPIC, 0, offset, 0L, TimestampType.CREATE_TIME,
+                    3, 3, "cle", value, headers, Optional.empty());
+        }
+    }
 }
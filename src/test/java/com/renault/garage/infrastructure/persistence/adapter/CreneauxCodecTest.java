@@ -0,0 +1,66 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.model.OpeningTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'encodage des horaires en bitmap de quarts d'heure
+ */
+class CreneauxCodecTest {
+    
+    @Test
+    @DisplayName("Seuls les quarts d'heure entièrement couverts sont ouverts, fermeture exclue")
+    void shouldMarkFullyCoveredQuarterHours() {
+        long[] mots = CreneauxCodec.encoder(Map.of(
+            DayOfWeek.SATURDAY, List.of(new OpeningTime(LocalTime.of(8, 10), LocalTime.of(18, 0))))).toMots();
+        
+        assertFalse(ouvert(mots, DayOfWeek.SATURDAY, LocalTime.of(8, 12)));
+        assertTrue(ouvert(mots, DayOfWeek.SATURDAY, LocalTime.of(8, 15)));
+        assertTrue(ouvert(mots, DayOfWeek.SATURDAY, LocalTime.of(17, 59)));
+        assertFalse(ouvert(mots, DayOfWeek.SATURDAY, LocalTime.of(18, 0)));
+        assertFalse(ouvert(mots, DayOfWeek.FRIDAY, LocalTime.of(12, 0)));
+        // (08:15 -> 18:00) = 39 quarts d'heure
+        assertEquals(39, Arrays.stream(mots).map(Long::bitCount).sum());
+    }
+    
+    @Test
+    @DisplayName("Les bornes de la semaine tombent dans le premier et le dernier mot")
+    void shouldCoverWholeWeek() {
+        long[] mots = CreneauxCodec.encoder(Map.of(
+            DayOfWeek.MONDAY, List.of(new OpeningTime(LocalTime.MIDNIGHT, LocalTime.of(0, 15))),
+            DayOfWeek.SUNDAY, List.of(new OpeningTime(LocalTime.of(23, 45), LocalTime.of(23, 59))))).toMots();
+        
+        assertEquals(0, CreneauxCodec.mot(DayOfWeek.MONDAY, LocalTime.MIDNIGHT));
+        assertEquals(10, CreneauxCodec.mot(DayOfWeek.SUNDAY, LocalTime.of(23, 50)));
+        assertTrue(ouvert(mots, DayOfWeek.MONDAY, LocalTime.of(0, 5)));
+        // Fermeture à 23:59 = fin de journée : le dernier quart d'heure est ouvert
+        assertTrue(ouvert(mots, DayOfWeek.SUNDAY, LocalTime.of(23, 59)));
+    }
+    
+    @Test
+    @DisplayName("Une fermeture à 23:59 couvre la journée jusqu'à minuit, pas une fermeture à 23:58")
+    void shouldTreatLastMinuteAsEndOfDay() {
+        long[] mots = CreneauxCodec.encoder(Map.of(
+            DayOfWeek.WEDNESDAY, List.of(new OpeningTime(LocalTime.of(22, 0), LocalTime.of(23, 59))),
+            DayOfWeek.THURSDAY, List.of(new OpeningTime(LocalTime.of(22, 0), LocalTime.of(23, 58))))).toMots();
+        
+        assertTrue(ouvert(mots, DayOfWeek.WEDNESDAY, LocalTime.of(23, 59, 59)));
+        assertFalse(ouvert(mots, DayOfWeek.THURSDAY, LocalTime.of(23, 50)));
+        assertFalse(ouvert(mots, DayOfWeek.FRIDAY, LocalTime.MIDNIGHT));
+        // (22:00 -> 24:00) + (22:00 -> 23:45) = 8 + 7 quarts d'heure
+        assertEquals(15, Arrays.stream(mots).map(Long::bitCount).sum());
+    }
+    
+    private static boolean ouvert(long[] mots, DayOfWeek jour, LocalTime heure) {
+        return (mots[CreneauxCodec.mot(jour, heure)] & CreneauxCodec.masque(jour, heure)) != 0;
+    }
+}
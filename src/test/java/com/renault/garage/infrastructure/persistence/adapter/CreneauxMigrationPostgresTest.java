@@ -0,0 +1,137 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.renault.garage.domain.model.OpeningTime;
+import com.renault.garage.infrastructure.persistence.jpa.CreneauxHebdomadaires;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de la reprise V13 sur PostgreSQL : les bitmaps calculés par V6 (dernier quart d'heure
+ * fermé pour une fermeture à 23:59) sont corrigés dans garages et dans garage_summary
+ * Ignoré sans Docker
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CreneauxMigrationPostgresTest {
+    
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    private static final String COLONNES = IntStream.range(0, CreneauxHebdomadaires.MOTS)
+        .mapToObj(i -> "creneaux_" + i)
+        .collect(Collectors.joining(", "));
+    
+    private final Map<UUID, Map<DayOfWeek, List<OpeningTime>>> horairesParGarage = new HashMap<>();
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Colonnes lues ou écrites par V13, dans l'état laissé par V6 et V10
+        String creneaux = IntStream.range(0, CreneauxHebdomadaires.MOTS)
+            .mapToObj(i -> "creneaux_" + i + " BIGINT NOT NULL DEFAULT 0")
+            .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS garage_summary, garages");
+        jdbcTemplate.execute("CREATE TABLE garages (id UUID PRIMARY KEY, horaires_ouverture TEXT NOT NULL, "
+            + creneaux + ")");
+        jdbcTemplate.execute("CREATE TABLE garage_summary (garage_id UUID PRIMARY KEY REFERENCES garages(id), "
+            + creneaux + ")");
+    }
+    
+    @Test
+    @DisplayName("V13 ouvre le dernier quart d'heure des fermetures à 23:59, dans garages et garage_summary")
+    void shouldOpenLastQuarterHourInGaragesAndSummary() {
+        UUID finDeJournee = inserer(Map.of(
+            DayOfWeek.MONDAY, List.of(new OpeningTime(LocalTime.of(8, 0), LocalTime.of(18, 0))),
+            DayOfWeek.WEDNESDAY, List.of(new OpeningTime(LocalTime.of(22, 0), LocalTime.of(23, 59))),
+            DayOfWeek.SUNDAY, List.of(new OpeningTime(LocalTime.of(20, 0), LocalTime.of(23, 59)))));
+        UUID avantMinuit = inserer(Map.of(
+            DayOfWeek.WEDNESDAY, List.of(new OpeningTime(LocalTime.of(22, 0), LocalTime.of(23, 58)))));
+        
+        new ResourceDatabasePopulator(
+            new ClassPathResource("db/migration/postgresql/V13__creneaux_fin_de_journee.sql")).execute(dataSource);
+        
+        for (UUID id : List.of(finDeJournee, avantMinuit)) {
+            long[] attendus = CreneauxCodec.encoder(horairesParGarage.get(id)).toMots();
+            assertArrayEquals(attendus, lire("SELECT " + COLONNES + " FROM garages WHERE id = ?", id));
+            assertArrayEquals(attendus, lire("SELECT " + COLONNES + " FROM garage_summary WHERE garage_id = ?", id));
+        }
+        long[] summary = lire("SELECT " + COLONNES + " FROM garage_summary WHERE garage_id = ?", finDeJournee);
+        assertTrue(ouvert(summary, DayOfWeek.SUNDAY, LocalTime.of(23, 50)));
+        assertTrue(ouvert(summary, DayOfWeek.WEDNESDAY, LocalTime.of(23, 59)));
+    }
+    
+    // Garage et résumé tels que V6 puis V10 les ont remplis : fermeture à 23:59 arrondie à 23:45
+    private UUID inserer(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        UUID id = UUID.randomUUID();
+        horairesParGarage.put(id, horaires);
+        Map<DayOfWeek, List<OpeningTime>> avantV13 = horaires.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream()
+                .map(ot -> ot.endTime().equals(LocalTime.of(23, 59))
+                    ? new OpeningTime(ot.startTime(), LocalTime.of(23, 45)) : ot)
+                .toList()));
+        Object[] mots = Arrays.stream(CreneauxCodec.encoder(avantV13).toMots()).boxed().toArray();
+        String parametres = ", ?".repeat(CreneauxHebdomadaires.MOTS);
+        jdbcTemplate.update("INSERT INTO garages (id, horaires_ouverture, " + COLONNES + ") "
+            + "VALUES (?, ?" + parametres + ")", concat(id, json(horaires), mots));
+        jdbcTemplate.update("INSERT INTO garage_summary (garage_id, " + COLONNES + ") VALUES (?" + parametres + ")",
+            concat(id, null, mots));
+        return id;
+    }
+    
+    private long[] lire(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, (rs, n) -> {
+            long[] mots = new long[CreneauxHebdomadaires.MOTS];
+            for (int i = 0; i < mots.length; i++) {
+                mots[i] = rs.getLong(i + 1);
+            }
+            return mots;
+        }, id);
+    }
+    
+    private static Object[] concat(UUID id, String json, Object[] mots) {
+        List<Object> valeurs = new ArrayList<>();
+        valeurs.add(id);
+        if (json != null) {
+            valeurs.add(json);
+        }
+        valeurs.addAll(List.of(mots));
+        return valeurs.toArray();
+    }
+    
+    // Format écrit par HorairesCodec
+    private static String json(Map<DayOfWeek, List<OpeningTime>> horaires) {
+        return horaires.entrySet().stream()
+            .map(e -> "\"" + e.getKey() + "\":" + e.getValue().stream()
+                .map(ot -> "{\"startTime\":\"" + ot.startTime() + "\",\"endTime\":\"" + ot.endTime() + "\"}")
+                .collect(Collectors.joining(",", "[", "]")))
+            .collect(Collectors.joining(",", "{", "}"));
+    }
+    
+    private static boolean ouvert(long[] mots, DayOfWeek jour, LocalTime heure) {
+        return (mots[CreneauxCodec.mot(jour, heure)] & CreneauxCodec.masque(jour, heure)) != 0;
+    }
+}
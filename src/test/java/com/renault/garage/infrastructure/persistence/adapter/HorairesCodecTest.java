@@ -0,0 +1,70 @@
+package com.renault.garage.infrastructure.persistence.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.garage.domain.model.OpeningTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de la conversion canonicalisée des horaires
+ */
+class HorairesCodecTest {
+    
+    private static final OpeningTime MATIN = new OpeningTime(LocalTime.of(8, 0), LocalTime.of(12, 0));
+    private static final OpeningTime APRES_MIDI = new OpeningTime(LocalTime.of(14, 0), LocalTime.of(18, 30));
+    
+    private final HorairesCodec codec = new HorairesCodec(new ObjectMapper());
+    
+    @Test
+    @DisplayName("Un même planning lu plusieurs fois renvoie une instance partagée et immuable")
+    void shouldShareCanonicalInstance() {
+        String json = "{\"MONDAY\":[{\"startTime\":\"08:00\",\"endTime\":\"12:00\"}]," +
+                      "\"TUESDAY\":[{\"startTime\":\"14:00\",\"endTime\":\"18:30\"}]}";
+        String memeContenu = "{\"TUESDAY\":[{\"endTime\":\"18:30\",\"startTime\":\"14:00\"}]," +
+                             "\"MONDAY\":[{\"startTime\":\"08:00\",\"endTime\":\"12:00\"}]}";
+        
+        Map<DayOfWeek, List<OpeningTime>> horaires = codec.lire(json);
+        
+        assertEquals(Map.of(DayOfWeek.MONDAY, List.of(MATIN), DayOfWeek.TUESDAY, List.of(APRES_MIDI)), horaires);
+        assertSame(horaires, codec.lire(json));
+        assertSame(horaires, codec.lire(memeContenu));
+        assertThrows(UnsupportedOperationException.class, () -> horaires.remove(DayOfWeek.MONDAY));
+        assertThrows(UnsupportedOperationException.class, () -> horaires.get(DayOfWeek.MONDAY).clear());
+    }
+    
+    @Test
+    @DisplayName("Le JSON écrit est déterministe et relu à l'identique")
+    void shouldWriteDeterministicJson() {
+        Map<DayOfWeek, List<OpeningTime>> horaires = new HashMap<>();
+        horaires.put(DayOfWeek.FRIDAY, List.of(MATIN, APRES_MIDI));
+        horaires.put(DayOfWeek.MONDAY, List.of(MATIN));
+        
+        String json = codec.ecrire(horaires);
+        
+        assertEquals("{\"MONDAY\":[{\"startTime\":\"08:00\",\"endTime\":\"12:00\"}]," +
+                     "\"FRIDAY\":[{\"startTime\":\"08:00\",\"endTime\":\"12:00\"}," +
+                     "{\"startTime\":\"14:00\",\"endTime\":\"18:30\"}]}", json);
+        assertEquals(horaires, codec.lire(json));
+        assertSame(codec.lire(json), codec.lire(codec.ecrire(Map.copyOf(horaires))));
+    }
+    
+    @Test
+    @DisplayName("Modifier la Map source après écriture n'altère pas le planning canonique")
+    void shouldNotKeepCallerMap() {
+        Map<DayOfWeek, List<OpeningTime>> horaires = new HashMap<>(Map.of(DayOfWeek.MONDAY, List.of(MATIN)));
+        String json = codec.ecrire(horaires);
+        
+        horaires.put(DayOfWeek.SUNDAY, List.of(APRES_MIDI));
+        
+        assertEquals(Map.of(DayOfWeek.MONDAY, List.of(MATIN)), codec.lire(json));
+        assertNotEquals(json, codec.ecrire(horaires));
+    }
+}
@@ -0,0 +1,109 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires du choix de la source : stratégies, transactions d'écriture et repli sur le primaire
+ */
+class ReplicaRoutingDataSourceTest {
+    
+    private final DataSource primaire = mock(DataSource.class);
+    private final DataSource source1 = mock(DataSource.class);
+    private final DataSource source2 = mock(DataSource.class);
+    private final Replique replique1 = new Replique("replique-1", source1);
+    private final Replique replique2 = new Replique("replique-2", source2);
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primaire.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        when(source1.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        when(source2.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    
+    @Test
+    @DisplayName("Round-robin : les lectures alternent entre les répliques")
+    void shouldAlternateReplicasWithRoundRobin() throws SQLException {
+        ReplicaRoutingDataSource routage = routage(StrategieReplique.ROUND_ROBIN);
+        
+        for (int i = 0; i < 4; i++) {
+            routage.getConnection().close();
+        }
+        
+        verify(source1, times(2)).getConnection();
+        verify(source2, times(2)).getConnection();
+        verifyNoInteractions(primaire);
+    }
+    
+    @Test
+    @DisplayName("Least-connections : la réplique la moins chargée est choisie")
+    void shouldPickLeastBusyReplica() throws SQLException {
+        ReplicaRoutingDataSource routage = routage(StrategieReplique.LEAST_CONNECTIONS);
+        
+        Connection ouverte = routage.getConnection();
+        routage.getConnection();
+        ouverte.close();
+        routage.getConnection();
+        
+        assertEquals(1, replique1.getConnexionsActives());
+        assertEquals(1, replique2.getConnexionsActives());
+        verify(source1, times(2)).getConnection();
+        verify(source2).getConnection();
+    }
+    
+    @Test
+    @DisplayName("Une transaction d'écriture est servie par le primaire")
+    void shouldUsePrimaryOutsideReadOnlyTransactions() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        
+        routage(StrategieReplique.ROUND_ROBIN).getConnection();
+        
+        verify(primaire).getConnection();
+        verifyNoInteractions(source1, source2);
+    }
+    
+    @Test
+    @DisplayName("Une réplique injoignable est écartée et la lecture repliée sur le primaire")
+    void shouldFallBackToPrimaryWhenReplicaFails() throws SQLException {
+        when(source1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource routage = new ReplicaRoutingDataSource(primaire, List.of(replique1),
+            StrategieReplique.ROUND_ROBIN, new LectureApresEcriture(Duration.ZERO), "", Duration.ofSeconds(10));
+        
+        routage.getConnection();
+        routage.getConnection();
+        
+        assertFalse(replique1.isDisponible());
+        verify(source1).getConnection();
+        verify(primaire, times(2)).getConnection();
+    }
+    
+    @Test
+    @DisplayName("Stratégie inconnue refusée au démarrage")
+    void shouldRejectUnknownStrategy() {
+        assertEquals(StrategieReplique.LEAST_CONNECTIONS, StrategieReplique.parse("least-connections"));
+        assertThrows(IllegalStateException.class, () -> StrategieReplique.parse("random"));
+    }
+    
+    private ReplicaRoutingDataSource routage(StrategieReplique strategie) {
+        return new ReplicaRoutingDataSource(primaire, List.of(replique1, replique2), strategie,
+            new LectureApresEcriture(Duration.ZERO), "", Duration.ofSeconds(10));
+    }
+}
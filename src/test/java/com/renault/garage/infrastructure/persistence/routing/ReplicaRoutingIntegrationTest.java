@@ -0,0 +1,190 @@
+package com.renault.garage.infrastructure.persistence.routing;
+
+import com.renault.garage.application.dto.AddressDTO;
+import com.renault.garage.application.dto.CreateGarageRequest;
+import com.renault.garage.application.dto.GarageResponse;
+import com.renault.garage.application.dto.OpeningTimeDTO;
+import com.renault.garage.application.service.GarageService;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration du routage primaire / réplique sur deux bases H2 embarquées
+ * La "réplication" est une copie explicite du primaire vers la réplique : tout écart entre
+ * les deux bases révèle celle qui a servi la lecture.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMAIRE,
+    "spring.kafka.admin.auto-create=false",
+    "garage.datasource.replicas.enabled=true",
+    "garage.datasource.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLIQUE + ";IFEXISTS=TRUE",
+    "garage.datasource.replicas.lag-query=SELECT secondes FROM retard_replication",
+    "garage.datasource.replicas.check-interval=1h",
+    "garage.datasource.replicas.connection-timeout=500ms"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIntegrationTest {
+    
+    static final String PRIMAIRE = "jdbc:h2:mem:routage-primaire";
+    static final String REPLIQUE = "jdbc:h2:mem:routage-replique";
+    
+    static {
+        // La réplique doit exister avant son pool (IFEXISTS) et survivre à ses connexions
+        try (Connection connexion = DriverManager.getConnection(REPLIQUE + ";DB_CLOSE_DELAY=-1", "sa", "")) {
+            connexion.isValid(1);
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private ReplicaRoutingDataSource routage;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    // Le listener de test lie une requête factice au thread : les appels directs au service
+    // sont traités comme hors requête HTTP, donc sans lecture de ses écritures
+    @BeforeEach
+    void horsRequeteHttp() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Les transactions en lecture seule sont servies par la réplique")
+    void shouldServeReadOnlyTransactionsFromReplica() throws SQLException {
+        // Réplique vide au démarrage : écartée par la première vérification
+        assertFalse(routage.getRepliques().get(0).isDisponible());
+        
+        garageService.createGarage(request("Garage Grenoble", "Grenoble"));
+        repliquer();
+        executerSurReplique("UPDATE garage_summary SET name = 'Garage vu de la réplique' WHERE ville = 'Grenoble'");
+        routage.verifierRepliques();
+        assertTrue(routage.getRepliques().get(0).isDisponible());
+        
+        List<GarageResponse> garages = garageService.findGaragesByVille("Grenoble", ScrollPosition.keyset(), 10)
+            .getContent();
+        
+        assertEquals(List.of("Garage vu de la réplique"), garages.stream().map(GarageResponse::name).toList());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Après une écriture, le cookie maintient les lectures du client sur le primaire")
+    void shouldReadOwnWritesFromPrimary() throws Exception {
+        Cookie cookie = mockMvc.perform(post("/api/v1/garages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name":"Garage Annecy","address":{"rue":"1 Rue du Lac","ville":"Annecy",
+                     "codePostal":"74000","pays":"France"},"telephone":"+33123456789",
+                     "email":"annecy@renault.fr","horairesOuverture":{"MONDAY":[{"startTime":"08:00","endTime":"18:00"}]}}
+                    """))
+            .andExpect(status().isCreated())
+            .andExpect(cookie().exists(LectureApresEcriture.COOKIE))
+            .andReturn().getResponse().getCookie(LectureApresEcriture.COOKIE);
+        
+        mockMvc.perform(get("/api/v1/garages/search/by-ville").param("ville", "Annecy"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)))
+            .andExpect(cookie().doesNotExist(LectureApresEcriture.COOKIE));
+        
+        mockMvc.perform(get("/api/v1/garages/search/by-ville").param("ville", "Annecy").cookie(cookie))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Une réplique en retard est écartée jusqu'à ce qu'elle rattrape le primaire")
+    void shouldSkipLaggingReplica() throws SQLException {
+        garageService.createGarage(request("Garage Chambéry", "Chambery"));
+        
+        executerSurReplique("UPDATE retard_replication SET secondes = 60");
+        routage.verifierRepliques();
+        assertEquals(1, garageService.findGaragesByVille("Chambery", ScrollPosition.keyset(), 10).getContent().size());
+        
+        executerSurReplique("UPDATE retard_replication SET secondes = 0");
+        routage.verifierRepliques();
+        assertEquals(0, garageService.findGaragesByVille("Chambery", ScrollPosition.keyset(), 10).getContent().size());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Une réplique arrêtée est écartée : lecture sur le primaire")
+    void shouldFallBackToPrimaryWhenReplicaIsDown() throws Exception {
+        executerSurReplique("SHUTDOWN");
+        // Au-delà de cette durée d'inactivité, le pool revalide ses connexions avant de les prêter
+        Thread.sleep(1_000);
+        
+        assertEquals(1, garageService.findGaragesByVille("Chambery", ScrollPosition.keyset(), 10).getContent().size());
+        assertFalse(routage.getRepliques().get(0).isDisponible());
+    }
+    
+    // Copie complète du primaire vers la réplique, plus la table interrogée pour le retard
+    private static void repliquer() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primaire = DriverManager.getConnection(PRIMAIRE, "sa", "");
+             Statement statement = primaire.createStatement();
+             ResultSet lignes = statement.executeQuery("SCRIPT")) {
+            while (lignes.next()) {
+                script.add(lignes.getString(1));
+            }
+        }
+        executerSurReplique("DROP ALL OBJECTS");
+        for (String instruction : script) {
+            executerSurReplique(instruction);
+        }
+        executerSurReplique("CREATE TABLE retard_replication (secondes INT)");
+        executerSurReplique("INSERT INTO retard_replication VALUES (0)");
+    }
+    
+    private static void executerSurReplique(String sql) throws SQLException {
+        try (Connection replique = DriverManager.getConnection(REPLIQUE, "sa", "");
+             Statement statement = replique.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    private static CreateGarageRequest request(String nom, String ville) {
+        return new CreateGarageRequest(nom, new AddressDTO("1 Rue Test", ville, "38000", "France"),
+            "+33123456789", "routage@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))));
+    }
+}
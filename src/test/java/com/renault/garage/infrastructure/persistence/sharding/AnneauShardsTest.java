@@ -0,0 +1,54 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'anneau de hachage cohérent
+ */
+class AnneauShardsTest {
+    
+    private static final List<UUID> GARAGES = IntStream.range(0, 20_000)
+        .mapToObj(i -> new UUID(0x0190_0000_0000_7000L + ((long) i << 16), 0x8000_0000_0000_0000L | i))
+        .toList();
+    
+    @Test
+    @DisplayName("Des IDs UUIDv7 consécutifs se répartissent équitablement entre les shards")
+    void shouldSpreadSequentialIdsEvenly() {
+        AnneauShards anneau = new AnneauShards(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        int[] parShard = new int[4];
+        GARAGES.forEach(id -> parShard[anneau.shardDe(id)]++);
+        
+        for (int nombre : parShard) {
+            assertEquals(GARAGES.size() / 4.0, nombre, GARAGES.size() * 0.05);
+        }
+    }
+    
+    @Test
+    @DisplayName("Ajouter un shard ne déplace qu'environ 1/N des garages, tous vers le nouveau shard")
+    void shouldOnlyMoveGaragesToAddedShard() {
+        AnneauShards avant = new AnneauShards(List.of("shard-0", "shard-1", "shard-2"), 128);
+        AnneauShards apres = new AnneauShards(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        
+        long deplaces = GARAGES.stream().filter(id -> avant.shardDe(id) != apres.shardDe(id)).count();
+        
+        assertTrue(GARAGES.stream().filter(id -> avant.shardDe(id) != apres.shardDe(id))
+            .allMatch(id -> apres.shardDe(id) == 3));
+        assertEquals(GARAGES.size() / 4.0, deplaces, GARAGES.size() * 0.05);
+    }
+    
+    @Test
+    @DisplayName("La répartition ne dépend que des noms des shards et des IDs")
+    void shouldBeDeterministic() {
+        AnneauShards premier = new AnneauShards(List.of("shard-0", "shard-1"), 64);
+        AnneauShards second = new AnneauShards(List.of("shard-0", "shard-1"), 64);
+        
+        assertTrue(GARAGES.stream().allMatch(id -> premier.shardDe(id) == second.shardDe(id)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.infrastructure.persistence.adapter.SearchMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de la fusion des réponses des shards
+ */
+class FusionShardsTest {
+    
+    // Classement complet de chaque shard, du plus au moins similaire
+    private static final List<List<String>> CLASSEMENTS = List.of(
+        List.of("a1", "a2", "a3", "a4"),
+        List.of("b1", "b2"),
+        List.of("c1", "c2", "c3")
+    );
+    
+    @Test
+    @DisplayName("Les classements entrelacés se parcourent par rang jusqu'au dernier résultat")
+    void shouldPageInterleavedRankingsToTheEnd() {
+        List<String> parcourus = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.offset();
+        Window<String> fenetre;
+        do {
+            long debut = SearchMode.rang(position);
+            fenetre = FusionShards.entrelacer(prefixes(Math.toIntExact(debut + 2)), debut, 2);
+            parcourus.addAll(fenetre.getContent());
+            position = fenetre.isEmpty() ? position : fenetre.positionAt(fenetre.size() - 1);
+        } while (fenetre.hasNext());
+        
+        assertEquals(List.of("a1", "b1", "c1", "a2", "b2", "c2", "a3", "c3", "a4"), parcourus);
+    }
+    
+    @Test
+    @DisplayName("Les textes se comparent par point de code, comme sous la collation \"C\"")
+    void shouldCompareTextsByCodePoint() {
+        List<String> noms = new ArrayList<>(List.of("\uFB01at", "Zoé", "\uD83D\uDE97 Auto", "Élan", "garage", "Garage", "Gar"));
+        
+        noms.sort(FusionShards.ORDRE_TEXTE);
+        
+        // U+1F697 (hors plan de base) passe après U+FB01, à l'inverse de String.compareTo
+        assertEquals(List.of("Gar", "Garage", "Zoé", "garage", "Élan", "\uFB01at", "\uD83D\uDE97 Auto"), noms);
+        assertTrue("\uD83D\uDE97".compareTo("\uFB01") < 0);
+    }
+    
+    // Ce que renvoie chaque shard pour une fenêtre lue depuis le début
+    private static List<Window<String>> prefixes(int limit) {
+        return CLASSEMENTS.stream()
+            .map(classement -> Window.from(classement.subList(0, Math.min(limit, classement.size())),
+                ScrollPosition::offset, classement.size() > limit))
+            .toList();
+    }
+}
@@ -0,0 +1,217 @@
+package com.renault.garage.infrastructure.persistence.sharding;
+
+import com.renault.garage.application.dto.*;
+import com.renault.garage.application.service.AccessoireService;
+import com.renault.garage.application.service.GarageService;
+import com.renault.garage.application.service.VehiculeService;
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.event.EvenementOutbox;
+import com.renault.garage.domain.model.TypeAccessoire;
+import com.renault.garage.domain.model.TypeCarburant;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.OutboxRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests d'intégration du sharding par garage sur trois bases H2 embarquées
+ * Chaque base est relue directement en JDBC : une ligne trouvée ailleurs que sur le shard
+ * de son garage révèle une erreur de routage.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ShardingIntegrationTest.SHARD_0,
+    "spring.kafka.admin.auto-create=false",
+    "garage.sharding.enabled=true",
+    "garage.sharding.urls=" + ShardingIntegrationTest.SHARD_1 + "," + ShardingIntegrationTest.SHARD_2
+})
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardingIntegrationTest {
+    
+    static final String SHARD_0 = "jdbc:h2:mem:sharding-0";
+    static final String SHARD_1 = "jdbc:h2:mem:sharding-1";
+    static final String SHARD_2 = "jdbc:h2:mem:sharding-2";
+    private static final List<String> URLS = List.of(SHARD_0, SHARD_1, SHARD_2);
+    private static final int GARAGES = 12;
+    
+    @Autowired
+    private GarageService garageService;
+    
+    @Autowired
+    private VehiculeService vehiculeService;
+    
+    @Autowired
+    private AccessoireService accessoireService;
+    
+    @Autowired
+    private GarageRepository garageRepository;
+    
+    @Autowired
+    private OutboxRepository outboxRepository;
+    
+    @Autowired
+    private Shards shards;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    private final Map<UUID, String> noms = new HashMap<>();
+    private final Map<UUID, UUID> vehicules = new HashMap<>();
+    
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < GARAGES; i++) {
+            String nom = String.format("Renault Shard %02d", i);
+            UUID garageId = garageService.createGarage(new CreateGarageRequest(
+                nom, new AddressDTO(i + " Rue Test", "Shardville", "75001", "France"),
+                "+33123456789", "shard" + i + "@renault.fr",
+                Map.of(DayOfWeek.MONDAY, List.of(new OpeningTimeDTO(LocalTime.of(8, 0), LocalTime.of(18, 0)))))).id();
+            TypeCarburant carburant = i % 2 == 0 ? TypeCarburant.DIESEL : TypeCarburant.ESSENCE;
+            UUID vehiculeId = vehiculeService.createVehicule(garageId,
+                new CreateVehiculeRequest(UUID.randomUUID(), "Renault", 2022, carburant)).id();
+            accessoireService.create(garageId, vehiculeId, new CreateAccessoireRequest(
+                i % 3 == 0 ? "GPS Connect" : "Tapis", null, new BigDecimal("49.90"), TypeAccessoire.ELECTRONIQUE));
+            noms.put(garageId, nom);
+            vehicules.put(garageId, vehiculeId);
+        }
+    }
+    
+    @Test
+    @DisplayName("Un garage, ses véhicules et accessoires vivent uniquement sur le shard de son ID")
+    void shouldStoreEachAggregateOnItsGarageShard() throws SQLException {
+        Set<Integer> utilises = new HashSet<>();
+        for (int shard = 0; shard < URLS.size(); shard++) {
+            Set<UUID> attendus = new HashSet<>();
+            for (UUID garageId : noms.keySet()) {
+                if (shards.shardDe(garageId) == shard) {
+                    attendus.add(garageId);
+                }
+            }
+            if (!attendus.isEmpty()) {
+                utilises.add(shard);
+            }
+            assertEquals(attendus, ids(URLS.get(shard), "SELECT CAST(id AS VARCHAR) FROM garages"));
+            assertEquals(attendus, ids(URLS.get(shard), "SELECT CAST(garage_id AS VARCHAR) FROM vehicules"));
+            assertEquals(attendus, ids(URLS.get(shard), "SELECT CAST(v.garage_id AS VARCHAR) FROM accessoires a "
+                + "JOIN vehicules v ON v.id = a.vehicule_id"));
+            assertEquals(attendus, ids(URLS.get(shard), "SELECT CAST(garage_id AS VARCHAR) FROM garage_capacites"));
+        }
+        assertTrue(utilises.size() > 1, "Les garages doivent être répartis sur plusieurs shards");
+    }
+    
+    @Test
+    @DisplayName("Le parcours par ville fusionne les curseurs de tous les shards sans perte ni doublon")
+    void shouldScrollAcrossShardsWithKeysetCursor() {
+        List<String> lus = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<GarageResponse> page;
+        do {
+            page = garageService.findGaragesByVille("Shardville", position, 5);
+            page.forEach(g -> lus.add(g.name()));
+            position = page.positionAt(page.size() - 1);
+        } while (page.hasNext());
+        
+        assertEquals(noms.values().stream().sorted().toList(), lus);
+    }
+    
+    @Test
+    @DisplayName("Les pages triées et les recherches carburant + accessoire réunissent tous les shards")
+    void shouldMergePagesAndSearchesFromAllShards() {
+        GarageListResponse page = garageService.getAllGarages(PageRequest.of(1, 5, Sort.by("name")));
+        assertEquals(GARAGES, page.totalElements());
+        assertEquals(noms.values().stream().sorted().skip(5).limit(5).toList(),
+            page.garages().stream().map(GarageResponse::name).toList());
+        
+        List<String> trouves = garageService.searchByFuelAndAccessoryName(
+            TypeCarburant.DIESEL, "gps", PageRequest.of(0, 20, Sort.by("name", "id")))
+            .stream().map(GarageResponse::name).toList();
+        assertEquals(List.of("Renault Shard 00", "Renault Shard 06"), trouves);
+    }
+    
+    @Test
+    @DisplayName("Les accessoires sont lus sur le shard du garage du véhicule")
+    void shouldReadAccessoriesFromVehiculeShard() {
+        noms.keySet().forEach(garageId -> {
+            Window<AccessoireResponse> accessoires = accessoireService.list(
+                garageId, vehicules.get(garageId), ScrollPosition.keyset(), 10);
+            assertEquals(1, accessoires.size());
+            assertEquals(1, garageService.getGarageById(garageId).nombreVehicules());
+        });
+    }
+    
+    @Test
+    @DisplayName("Une transaction ne peut pas porter sur deux shards")
+    void shouldRejectTransactionSpanningTwoShards() {
+        List<UUID> ids = new ArrayList<>(noms.keySet());
+        UUID premier = ids.get(0);
+        UUID autre = ids.stream().filter(id -> shards.shardDe(id) != shards.shardDe(premier)).findFirst().orElseThrow();
+        
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            garageRepository.findById(premier);
+            garageRepository.findById(autre);
+        }));
+    }
+    
+    @Test
+    @DisplayName("Les événements sont écrits dans l'outbox du shard de leur garage et relayés depuis chaque shard")
+    void shouldStoreOutboxEventsOnGarageShard() throws SQLException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> outboxRepository.ajouterTous(noms.keySet().stream()
+            .map(garageId -> new EvenementOutbox(null, garageId, "garage.events", garageId.toString(),
+                "GarageUpdatedEvent", new byte[] {1}, LocalDateTime.now()))
+            .toList()));
+        
+        for (int shard = 0; shard < URLS.size(); shard++) {
+            int cible = shard;
+            Set<UUID> attendus = new HashSet<>(noms.keySet());
+            attendus.removeIf(garageId -> shards.shardDe(garageId) != cible);
+            assertEquals(attendus, ids(URLS.get(shard), "SELECT CAST(garage_id AS VARCHAR) FROM outbox_evenements"));
+        }
+        
+        List<UUID> relayes = new ArrayList<>();
+        int envoyes = outboxRepository.traiterLot(100,
+            lot -> lot.forEach(evenement -> relayes.add(evenement.garageId())));
+        assertEquals(GARAGES, envoyes);
+        assertEquals(noms.keySet(), new HashSet<>(relayes));
+        assertEquals(0, outboxRepository.compter());
+    }
+    
+    private static Set<UUID> ids(String url, String requete) throws SQLException {
+        Set<UUID> ids = new HashSet<>();
+        try (Connection connexion = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connexion.createStatement();
+             ResultSet resultat = statement.executeQuery(requete)) {
+            while (resultat.next()) {
+                ids.add(UUID.fromString(resultat.getString(1)));
+            }
+        }
+        return ids;
+    }
+}
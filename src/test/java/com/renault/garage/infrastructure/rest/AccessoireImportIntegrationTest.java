@@ -0,0 +1,164 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.*;
+import com.renault.garage.domain.repository.AccessoireRepository;
+import com.renault.garage.domain.repository.GarageRepository;
+import com.renault.garage.domain.repository.VehiculeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration de l'import en masse d'accessoires (lots réellement validés)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:accessoire-import",
+    "spring.kafka.admin.auto-create=false"
+})
+@AutoConfigureMockMvc
+class AccessoireImportIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private GarageRepository garageRepository;
+    
+    @Autowired
+    private VehiculeRepository vehiculeRepository;
+    
+    @Autowired
+    private AccessoireRepository accessoireRepository;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    @Test
+    @DisplayName("NDJSON : lignes valides importées, rejets détaillés par ligne")
+    void shouldImportNdjsonAndReportRejectedLines() throws Exception {
+        UUID garageId = creerGarage();
+        UUID vehiculeId = creerVehicule(garageId);
+        UUID autreVehicule = creerVehicule(creerGarage());
+        String ndjson = String.join("\n",
+            ligneJson(vehiculeId, "GPS", "299.00"),
+            ligneJson(UUID.randomUUID(), "Tapis", "49.90"),
+            ligneJson(autreVehicule, "Attelage", "150"),
+            ligneJson(vehiculeId, "Alarme", "-1"),
+            "{pas du json",
+            ligneJson(vehiculeId, "Barres de toit", "89.00"));
+        
+        mockMvc.perform(post("/api/v1/accessoires/import")
+                .param("garageId", garageId.toString())
+                .contentType(AccessoireImportController.NDJSON)
+                .content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.lignesLues").value(6))
+            .andExpect(jsonPath("$.importes").value(2))
+            .andExpect(jsonPath("$.rejetes").value(4))
+            .andExpect(jsonPath("$.erreurs[*].ligne").value(org.hamcrest.Matchers.containsInAnyOrder(2, 3, 4, 5)));
+        
+        assertEquals(2, accessoireRepository.countByVehiculeId(vehiculeId));
+        assertEquals(0, accessoireRepository.countByVehiculeId(autreVehicule));
+        verify(eventPublisher, atLeastOnce()).publishAll(argThat(events -> events.size() == 2));
+    }
+    
+    @Test
+    @DisplayName("Erreur inattendue dans un lot : lot rejeté ligne par ligne, import poursuivi")
+    void shouldRejectFailedBatchAndContinue() throws Exception {
+        UUID garageId = creerGarage();
+        UUID vehiculeId = creerVehicule(garageId);
+        doThrow(new IllegalStateException("Outbox indisponible")).doNothing()
+            .when(eventPublisher).publishAll(any());
+        int lignes = 1_000 + 500;
+        StringBuilder csv = new StringBuilder("vehiculeId,nom,description,prix,type\n");
+        for (int i = 0; i < lignes; i++) {
+            csv.append(vehiculeId).append(",Accessoire ").append(i).append(",,19.90,CONFORT\n");
+        }
+        
+        mockMvc.perform(post("/api/v1/accessoires/import")
+                .contentType(AccessoireImportController.CSV)
+                .content(csv.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importes").value(500))
+            .andExpect(jsonPath("$.rejetes").value(1_000))
+            .andExpect(jsonPath("$.erreurs[0].ligne").value(2))
+            .andExpect(jsonPath("$.erreurs[0].message").value("Lot annulé: Outbox indisponible"));
+        
+        assertEquals(500, accessoireRepository.countByVehiculeId(vehiculeId));
+    }
+    
+    @Test
+    @DisplayName("CSV : import sur plusieurs lots et plusieurs véhicules")
+    void shouldImportCsvAcrossSeveralBatches() throws Exception {
+        UUID garageId = creerGarage();
+        List<UUID> vehicules = List.of(creerVehicule(garageId), creerVehicule(garageId), creerVehicule(garageId));
+        int lignes = 2 * 1_000 + 500;
+        StringBuilder csv = new StringBuilder("vehiculeId,nom,description,prix,type\n");
+        for (int i = 0; i < lignes; i++) {
+            csv.append(vehicules.get(i % vehicules.size())).append(",Accessoire ").append(i)
+                .append(",\"Catalogue, réf ").append(i).append("\",19.90,CONFORT\n");
+        }
+        
+        mockMvc.perform(post("/api/v1/accessoires/import")
+                .contentType(AccessoireImportController.CSV)
+                .content(csv.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importes").value(lignes))
+            .andExpect(jsonPath("$.rejetes").value(0));
+        
+        long total = 0;
+        for (UUID vehiculeId : vehicules) {
+            total += accessoireRepository.countByVehiculeId(vehiculeId);
+        }
+        assertEquals(lignes, total);
+    }
+    
+    @Test
+    @DisplayName("CSV sans colonne obligatoire : 400")
+    void shouldRejectCsvWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/v1/accessoires/import")
+                .contentType(AccessoireImportController.CSV)
+                .content("vehiculeId,nom\n"))
+            .andExpect(status().isBadRequest());
+    }
+    
+    private static String ligneJson(UUID vehiculeId, String nom, String prix) {
+        return "{\"vehiculeId\":\"" + vehiculeId + "\",\"nom\":\"" + nom + "\",\"prix\":" + prix
+            + ",\"type\":\"CONFORT\"}";
+    }
+    
+    private UUID creerGarage() {
+        return garageRepository.save(new Garage(
+            "Garage Import", new Address("1 Rue Import", "Paris", "75001", "France"),
+            "+33123456789", "import@renault.fr",
+            Map.of(DayOfWeek.MONDAY, List.of(new OpeningTime(LocalTime.of(8, 0), LocalTime.of(18, 0))))
+        )).getId();
+    }
+    
+    private UUID creerVehicule(UUID garageId) {
+        Vehicule vehicule = new Vehicule(UUID.randomUUID(), "Renault", 2022, TypeCarburant.DIESEL);
+        vehicule.setGarageId(garageId);
+        return vehiculeRepository.save(vehicule).getId();
+    }
+}
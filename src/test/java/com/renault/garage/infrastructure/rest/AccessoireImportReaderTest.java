@@ -0,0 +1,93 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.renault.garage.application.dto.AccessoireImportLine;
+import com.renault.garage.domain.model.TypeAccessoire;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires du décodage des imports d'accessoires
+ */
+class AccessoireImportReaderTest {
+    
+    private static final UUID VEHICULE = UUID.fromString("7b0c8f6e-0f3a-4a55-9d1b-2f6a4c1e9a10");
+    
+    @Test
+    @DisplayName("CSV : colonnes dans un ordre libre, guillemets et lignes vides")
+    void shouldDecodeCsv() {
+        String csv = "type,prix,vehiculeId,nom,description\n"
+            + "confort,49.90," + VEHICULE + ",\"Tapis \"\"Premium\"\"\",\"Caoutchouc, noir\"\n"
+            + "\n"
+            + "SECURITE,120," + VEHICULE + ",Alarme,\n";
+        
+        List<AccessoireImportLine> lignes = lire(AccessoireImportReader.csv(reader(csv)));
+        
+        assertEquals(2, lignes.size());
+        assertEquals(new AccessoireImportLine(2, VEHICULE, "Tapis \"Premium\"", "Caoutchouc, noir",
+            new BigDecimal("49.90"), TypeAccessoire.CONFORT), lignes.get(0));
+        assertEquals(4, lignes.get(1).ligne());
+        assertNull(lignes.get(1).description());
+    }
+    
+    @Test
+    @DisplayName("CSV : une valeur invalide rejette la ligne sans interrompre la lecture")
+    void shouldReportInvalidCsvLine() {
+        String csv = """
+            vehiculeId,nom,prix,type
+            pas-un-uuid,Tapis,10,CONFORT
+            %s,Tapis,dix,CONFORT
+            %s,Tapis,10,CONFORT
+            """.formatted(VEHICULE, VEHICULE);
+        
+        List<AccessoireImportLine> lignes = lire(AccessoireImportReader.csv(reader(csv)));
+        
+        assertEquals("Valeur invalide pour la colonne vehiculeId", lignes.get(0).erreurLecture());
+        assertEquals("Valeur invalide pour la colonne prix", lignes.get(1).erreurLecture());
+        assertNull(lignes.get(2).erreurLecture());
+    }
+    
+    @Test
+    @DisplayName("CSV : en-tête incomplet refusé")
+    void shouldRejectIncompleteCsvHeader() {
+        assertThrows(IllegalArgumentException.class,
+            () -> AccessoireImportReader.csv(reader("vehiculeId,nom,type\n")));
+    }
+    
+    @Test
+    @DisplayName("NDJSON : un objet par ligne, ligne illisible signalée avec son numéro")
+    void shouldDecodeNdjson() {
+        String ndjson = """
+            {"vehiculeId":"%s","nom":"GPS","prix":299.00,"type":"ELECTRONIQUE"}
+            {"vehiculeId":
+            {"vehiculeId":"%s","nom":"Attelage","prix":150,"type":"EXTERIEUR","description":"Rotule"}
+            """.formatted(VEHICULE, VEHICULE);
+        
+        List<AccessoireImportLine> lignes = lire(AccessoireImportReader.ndjson(reader(ndjson), new ObjectMapper()));
+        
+        assertEquals(3, lignes.size());
+        assertEquals(TypeAccessoire.ELECTRONIQUE, lignes.get(0).type());
+        assertEquals(2, lignes.get(1).ligne());
+        assertTrue(lignes.get(1).erreurLecture().startsWith("JSON invalide"));
+        assertEquals("Rotule", lignes.get(2).description());
+    }
+    
+    private static BufferedReader reader(String contenu) {
+        return new BufferedReader(new StringReader(contenu));
+    }
+    
+    private static List<AccessoireImportLine> lire(AccessoireImportReader reader) {
+        List<AccessoireImportLine> lignes = new ArrayList<>();
+        reader.forEachRemaining(lignes::add);
+        return lignes;
+    }
+}
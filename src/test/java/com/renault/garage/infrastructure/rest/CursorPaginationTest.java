@@ -0,0 +1,67 @@
+package com.renault.garage.infrastructure.rest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires de l'encodage des curseurs de pagination
+ */
+class CursorPaginationTest {
+    
+    @Test
+    @DisplayName("Le curseur suivant restitue les clés typées du dernier élément")
+    void shouldRoundTripKeysetPosition() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123456000);
+        Window<String> window = Window.from(List.of("a", "b"),
+            i -> ScrollPosition.forward(Map.of("createdAt", createdAt, "id", id)), true);
+        
+        ResponseEntity<List<String>> response = CursorPagination.ok(window);
+        String cursor = response.getHeaders().getFirst(CursorPagination.NEXT_CURSOR_HEADER);
+        
+        assertNotNull(cursor);
+        KeysetScrollPosition position = (KeysetScrollPosition) CursorPagination.position(cursor);
+        assertEquals(Map.of("createdAt", createdAt, "id", id), position.getKeys());
+        assertEquals(List.of("a", "b"), response.getBody());
+    }
+    
+    @Test
+    @DisplayName("Un classement sans clé de tri est repris à son rang")
+    void shouldRoundTripOffsetPosition() {
+        Window<String> window = Window.from(List.of("a", "b"), i -> ScrollPosition.offset(40 + i + 1), true);
+        
+        String cursor = CursorPagination.ok(window).getHeaders().getFirst(CursorPagination.NEXT_CURSOR_HEADER);
+        
+        assertNotNull(cursor);
+        assertEquals(ScrollPosition.offset(42), CursorPagination.position(cursor));
+    }
+    
+    @Test
+    @DisplayName("Pas d'en-tête sur la dernière page, position initiale sans curseur")
+    void shouldOmitCursorOnLastPage() {
+        Window<String> window = Window.from(List.of("a"),
+            i -> ScrollPosition.forward(Map.of("name", "a", "id", UUID.randomUUID())), false);
+        
+        assertFalse(CursorPagination.ok(window).getHeaders().containsKey(CursorPagination.NEXT_CURSOR_HEADER));
+        assertTrue(CursorPagination.position(null).isInitial());
+    }
+    
+    @Test
+    @DisplayName("Un curseur altéré ou une taille invalide sont rejetés, la taille est plafonnée")
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> CursorPagination.position("pas-un-curseur"));
+        assertThrows(IllegalArgumentException.class, () -> CursorPagination.limit(0));
+        assertEquals(CursorPagination.MAX_SIZE, CursorPagination.limit(100_000));
+    }
+}
@@ -146,6 +146,9 @@ class GarageControllerIntegrationTest {
             horaires,
             0,
             50,
+            Map.of(),
+            0,
+            java.math.BigDecimal.ZERO,
             java.time.LocalDateTime.now(),
             java.time.LocalDateTime.now()
         );
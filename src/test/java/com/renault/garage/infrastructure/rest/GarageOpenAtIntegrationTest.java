@@ -0,0 +1,103 @@
+package com.renault.garage.infrastructure.rest;
+
+import com.renault.garage.domain.event.DomainEventPublisher;
+import com.renault.garage.domain.model.Address;
+import com.renault.garage.domain.model.Garage;
+import com.renault.garage.domain.model.OpeningTime;
+import com.renault.garage.domain.repository.GarageRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests d'intégration de la recherche des garages ouverts à un instant donné (bitmap en base)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:garage-open-at",
+    "spring.kafka.admin.auto-create=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GarageOpenAtIntegrationTest {
+    
+    private static final OpeningTime JOURNEE = new OpeningTime(LocalTime.of(8, 0), LocalTime.of(18, 0));
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private GarageRepository garageRepository;
+    
+    // Pas de broker Kafka dans ce test : les événements domaine ne sont pas publiés
+    @MockBean
+    private DomainEventPublisher eventPublisher;
+    
+    @BeforeAll
+    void seed() {
+        creer("Lyon Centre", "Lyon", Map.of(DayOfWeek.SATURDAY, List.of(JOURNEE)));
+        creer("Lyon Matin", "Lyon", Map.of(DayOfWeek.SATURDAY,
+            List.of(new OpeningTime(LocalTime.of(8, 0), LocalTime.of(12, 0)))));
+        creer("Lyon Semaine", "Lyon", Map.of(DayOfWeek.MONDAY, List.of(JOURNEE)));
+        creer("Paris Samedi", "Paris", Map.of(DayOfWeek.SATURDAY, List.of(JOURNEE)));
+        creer("Lyon Nocturne", "Lyon", Map.of(
+            DayOfWeek.SATURDAY, List.of(new OpeningTime(LocalTime.of(14, 0), LocalTime.of(21, 0))),
+            DayOfWeek.SUNDAY, List.of(new OpeningTime(LocalTime.of(20, 0), LocalTime.of(23, 45)))));
+    }
+    
+    @Test
+    @DisplayName("Samedi 17:30 à Lyon : seuls les garages lyonnais ouverts ce quart d'heure")
+    void shouldReturnGaragesOpenAtGivenTime() throws Exception {
+        // 2024-06-15 est un samedi
+        mockMvc.perform(get("/api/v1/garages/search/open-at")
+                .param("ville", "Lyon")
+                .param("at", "2024-06-15T17:30"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name").value(contains("Lyon Centre", "Lyon Nocturne")));
+    }
+    
+    @Test
+    @DisplayName("Dimanche soir : le créneau tombe dans le dernier mot du bitmap")
+    void shouldHandleLastWordOfWeek() throws Exception {
+        mockMvc.perform(get("/api/v1/garages/search/open-at")
+                .param("ville", "Lyon")
+                .param("at", "2024-06-16T23:30"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name").value(contains("Lyon Nocturne")));
+        
+        mockMvc.perform(get("/api/v1/garages/search/open-at")
+                .param("ville", "Lyon")
+                .param("at", "2024-06-16T23:50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").value(empty()));
+    }
+    
+    @Test
+    @DisplayName("Instant invalide : 400")
+    void shouldRejectInvalidInstant() throws Exception {
+        mockMvc.perform(get("/api/v1/garages/search/open-at")
+                .param("ville", "Lyon")
+                .param("at", "samedi 17h30"))
+            .andExpect(status().isBadRequest());
+    }
+    
+    private void creer(String nom, String ville, Map<DayOfWeek, List<OpeningTime>> horaires) {
+        garageRepository.save(new Garage(nom, new Address("1 Rue Test", ville, "69001", "France"),
+            "+33123456789", "open-at@renault.fr", horaires));
+    }
+}
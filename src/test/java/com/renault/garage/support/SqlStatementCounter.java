@@ -0,0 +1,53 @@
+package com.renault.garage.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Support de test - Compte les requêtes SQL réellement préparées par Hibernate
+ * À activer sur le contexte de test :
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector=com.renault.garage.support.SqlStatementCounter
+ * Les requêtes sont enregistrées globalement : réservé aux tests exécutés sur un seul thread.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+    
+    /**
+     * Exécute l'action et vérifie le nombre exact de requêtes SQL émises (commit compris)
+     * Le message d'échec liste les requêtes pour identifier l'aller-retour en trop
+     */
+    public static <T> T assertStatementCount(int attendu, Supplier<T> action) {
+        STATEMENTS.clear();
+        T resultat = action.get();
+        List<String> emises = List.copyOf(STATEMENTS);
+        assertEquals(attendu, emises.size(),
+            () -> "Requêtes SQL émises :\n  " + String.join("\n  ", emises));
+        return resultat;
+    }
+    
+    /**
+     * Requêtes émises par la dernière action mesurée
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+    
+    public static void assertStatementCount(int attendu, Runnable action) {
+        assertStatementCount(attendu, () -> {
+            action.run();
+            return null;
+        });
+    }
+}